@@ -83,4 +83,10 @@ object Deps {
     val kaml = "com.charleskorn.kaml:kaml:${Versions.kaml}"
 
     val nuprocess = "com.zaxxer:nuprocess:${Versions.nuprocess}"
+
+    object Jmh {
+
+        val core = "org.openjdk.jmh:jmh-core:${Versions.jmh}"
+        val annprocess = "org.openjdk.jmh:jmh-generator-annprocess:${Versions.jmh}"
+    }
 }
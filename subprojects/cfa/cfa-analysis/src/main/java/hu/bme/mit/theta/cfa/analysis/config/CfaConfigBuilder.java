@@ -22,12 +22,14 @@ import hu.bme.mit.theta.analysis.*;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators.ArgNodeComparator;
 import hu.bme.mit.theta.analysis.algorithm.cegar.ArgAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.ArgCegarChecker;
 import hu.bme.mit.theta.analysis.algorithm.cegar.ArgRefiner;
 import hu.bme.mit.theta.analysis.algorithm.cegar.BasicArgAbstractor;
+import hu.bme.mit.theta.analysis.algorithm.cegar.ParallelArgAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
 import hu.bme.mit.theta.analysis.expl.*;
@@ -38,6 +40,9 @@ import hu.bme.mit.theta.analysis.multi.MultiAnalysisSide;
 import hu.bme.mit.theta.analysis.pred.*;
 import hu.bme.mit.theta.analysis.pred.ExprSplitters.ExprSplitter;
 import hu.bme.mit.theta.analysis.pred.PredAbstractors.PredAbstractor;
+import hu.bme.mit.theta.analysis.reachedset.CoveringIndex;
+import hu.bme.mit.theta.analysis.reachedset.PartitionedCoveringIndex;
+import hu.bme.mit.theta.analysis.reachedset.StateIndex;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.analysis.unit.UnitState;
 import hu.bme.mit.theta.analysis.waitlist.PriorityWaitlist;
@@ -58,6 +63,7 @@ import hu.bme.mit.theta.solver.SolverFactory;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class CfaConfigBuilder {
 
@@ -73,6 +79,7 @@ public class CfaConfigBuilder {
     private int maxEnum = 0;
     private InitPrec initPrec = InitPrec.EMPTY;
     private PruneStrategy pruneStrategy = PruneStrategy.LAZY;
+    private int parallelism = 1;
 
     public CfaConfigBuilder(
             final Domain domain, final Refinement refinement, final SolverFactory solverFactory) {
@@ -133,6 +140,15 @@ public class CfaConfigBuilder {
         return this;
     }
 
+    /**
+     * Sets the number of threads used for building the ARG. If greater than one, each thread
+     * gets its own analysis with a solver from the abstraction solver factory.
+     */
+    public CfaConfigBuilder parallelism(final int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
     public CfaConfig<? extends State, ? extends Action, ? extends Prec> build(
             final CFA cfa, final CFA.Loc errLoc) {
         if (domain == Domain.EXPL) {
@@ -635,6 +651,8 @@ public class CfaConfigBuilder {
 
         public abstract CfaPrec<P> createInitPrec();
 
+        public abstract StateIndex<S, ArgNode<CfaState<S>, CfaAction>> createStateIndex();
+
         public CfaLts getLts(CFA.Loc errLoc) {
             return encoding.getLts(errLoc);
         }
@@ -648,12 +666,36 @@ public class CfaConfigBuilder {
             final Analysis<CfaState<S>, CfaAction, CfaPrec<P>> analysis = getAnalysis();
             final ArgBuilder<CfaState<S>, CfaAction, CfaPrec<P>> argBuilder =
                     ArgBuilder.create(getLts(errLoc), analysis, target, true);
-            final ArgAbstractor<CfaState<S>, CfaAction, CfaPrec<P>> abstractor =
-                    BasicArgAbstractor.builder(argBuilder)
-                            .waitlist(PriorityWaitlist.create(search.getComp(cfa, errLoc)))
-                            .stopCriterion(refinement.getStopCriterion())
-                            .logger(logger)
-                            .build();
+            final Supplier<CoveringIndex<CfaState<S>, CfaAction>> coveringIndexFactory =
+                    () ->
+                            PartitionedCoveringIndex.create(
+                                    CfaState::getLoc, CfaState::getState, this::createStateIndex);
+            final ArgAbstractor<CfaState<S>, CfaAction, CfaPrec<P>> abstractor;
+            if (parallelism > 1) {
+                abstractor =
+                        ParallelArgAbstractor.builder(
+                                        argBuilder,
+                                        () ->
+                                                ArgBuilder.create(
+                                                        getLts(errLoc),
+                                                        getAnalysis(),
+                                                        target,
+                                                        true))
+                                .coveringIndex(coveringIndexFactory)
+                                .waitlist(PriorityWaitlist.create(search.getComp(cfa, errLoc)))
+                                .stopCriterion(refinement.getStopCriterion())
+                                .parallelism(parallelism)
+                                .logger(logger)
+                                .build();
+            } else {
+                abstractor =
+                        BasicArgAbstractor.builder(argBuilder)
+                                .coveringIndex(coveringIndexFactory)
+                                .waitlist(PriorityWaitlist.create(search.getComp(cfa, errLoc)))
+                                .stopCriterion(refinement.getStopCriterion())
+                                .logger(logger)
+                                .build();
+            }
             final ArgRefiner<CfaState<S>, CfaAction, CfaPrec<P>> refiner =
                     refinement.getRefiner(this);
             final SafetyChecker<
@@ -731,6 +773,11 @@ public class CfaConfigBuilder {
                                         "initial precision"));
             };
         }
+
+        @Override
+        public StateIndex<ExplState, ArgNode<CfaState<ExplState>, CfaAction>> createStateIndex() {
+            return ExplStateIndex.create();
+        }
     }
 
     public final class PredStrategy extends BuilderStrategy<PredState, PredPrec> {
@@ -792,5 +839,11 @@ public class CfaConfigBuilder {
                                         "initial precision"));
             };
         }
+
+        @Override
+        public StateIndex<PredState, ArgNode<CfaState<PredState>, CfaAction>>
+                createStateIndex() {
+            return PredStateIndex.create();
+        }
     }
 }
@@ -29,6 +29,7 @@ import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
 import hu.bme.mit.theta.analysis.algorithm.bounded.BoundedCheckerBuilderKt;
 import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr;
+import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExprVarOrderingKt;
 import hu.bme.mit.theta.analysis.algorithm.bounded.pipeline.MonolithicExprPass;
 import hu.bme.mit.theta.analysis.algorithm.bounded.pipeline.passes.L2SMEPass;
 import hu.bme.mit.theta.analysis.algorithm.bounded.pipeline.passes.PredicateAbstractionMEPass;
@@ -36,6 +37,8 @@ import hu.bme.mit.theta.analysis.algorithm.bounded.pipeline.passes.ReverseMEPass
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarStatistics;
 import hu.bme.mit.theta.analysis.algorithm.ic3.Ic3Checker;
 import hu.bme.mit.theta.analysis.algorithm.mdd.MddChecker;
+import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.MddCachePolicy;
+import hu.bme.mit.theta.analysis.algorithm.mdd.varordering.VarOrderingStrategy;
 import hu.bme.mit.theta.analysis.expl.ExplState;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.expr.refinement.ExprTraceCheckerFactoriesKt;
@@ -156,7 +159,13 @@ public class CfaCli {
                                 monolithicExpr,
                                 new SolverPool(solverFactory),
                                 logger,
-                                cfaCli.iterationStrategy));
+                                cfaCli.iterationStrategy,
+                                10,
+                                MonolithicExprVarOrderingKt.orderVars(
+                                        monolithicExpr, cfaCli.variableOrdering),
+                                MddCachePolicy.unbounded(),
+                                true,
+                                cfaCli.reorderNodeLimit));
             }
         },
         IC3 {
@@ -261,6 +270,11 @@ public class CfaCli {
             description = "Strategy for pruning the ARG after refinement")
     PruneStrategy pruneStrategy = PruneStrategy.LAZY;
 
+    @Parameter(
+            names = "--parallelism",
+            description = "Number of threads used for building the ARG (1: sequential)")
+    Integer parallelism = 1;
+
     @Parameter(
             names = {"--reversed"},
             description = "Reversed state space exploration")
@@ -281,6 +295,18 @@ public class CfaCli {
             description = "MDD iteration strategy")
     MddChecker.IterationStrategy iterationStrategy = MddChecker.IterationStrategy.GSAT;
 
+    @Parameter(
+            names = {"--variable-ordering"},
+            description = "Heuristic for the MDD variable ordering")
+    VarOrderingStrategy variableOrdering = VarOrderingStrategy.FORCE;
+
+    @Parameter(
+            names = {"--reorder-node-limit"},
+            description =
+                    "Restart MDD enumeration with a sifted variable ordering when the unique table"
+                            + " grows larger than this (0: disabled)")
+    Long reorderNodeLimit = 0L;
+
     @Parameter(names = "--loglevel", description = "Detailedness of logging")
     Logger.Level logLevel = Level.SUBSTEP;
 
@@ -484,6 +510,7 @@ public class CfaCli {
                     .maxEnum(maxEnum)
                     .initPrec(initPrec)
                     .pruneStrategy(pruneStrategy)
+                    .parallelism(parallelism)
                     .logger(logger)
                     .build(cfa, errLoc);
         } catch (final Exception ex) {
@@ -31,8 +31,12 @@ public abstract class SafetyResult<Pr extends Proof, C extends Cex> implements R
     }
 
     private SafetyResult() {
+        this(Optional.empty());
+    }
+
+    private SafetyResult(final Optional<Statistics> stats) {
         this.proof = null;
-        this.stats = Optional.empty();
+        this.stats = checkNotNull(stats);
     }
 
     @Override
@@ -171,7 +175,7 @@ public abstract class SafetyResult<Pr extends Proof, C extends Cex> implements R
         }
 
         public Unknown(final Optional<Statistics> stats) {
-            super(null, stats);
+            super(stats);
         }
 
         @Override
@@ -24,12 +24,24 @@ import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.algorithm.Proof;
 import hu.bme.mit.theta.analysis.algorithm.arg.debug.ARGWebDebugger;
 import hu.bme.mit.theta.common.container.Containers;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Stream;
 
-/** Represents an abstract reachability graph (ARG). See the related class ArgBuilder. */
+/**
+ * Represents an abstract reachability graph (ARG). See the related class ArgBuilder.
+ *
+ * <p>The ARG keeps track of the excluded, incomplete and unsafe nodes incrementally as nodes are
+ * created, covered, expanded and pruned, so that queries like {@link #isSafe()} or {@link
+ * #getIncompleteNodes()} do not have to traverse the whole ARG.
+ */
 public final class ARG<S extends State, A extends Action> implements Proof {
 
     private final Collection<ArgNode<S, A>> initNodes;
@@ -37,10 +49,17 @@ public final class ARG<S extends State, A extends Action> implements Proof {
     private int nextId = 0;
     private final PartialOrd<S> partialOrd;
 
+    private final Set<ArgNode<S, A>> incompleteNodes; // Unexcluded and not expanded
+    private final Set<ArgNode<S, A>> unsafeNodes; // Unexcluded and target
+    private long nodeCount = 0;
+    private long excludedNodeCount = 0;
+
     private ARG(final PartialOrd<S> partialOrd) {
         initNodes = Containers.createSet();
         this.partialOrd = partialOrd;
         this.initialized = false;
+        incompleteNodes = new TreeSet<>(Comparator.comparingInt(ArgNode::getId));
+        unsafeNodes = new TreeSet<>(Comparator.comparingInt(ArgNode::getId));
     }
 
     public static <S extends State, A extends Action> ARG<S, A> create(
@@ -62,12 +81,27 @@ public final class ARG<S extends State, A extends Action> implements Proof {
         return getInitNodes().flatMap(ArgNode::descendants);
     }
 
+    /**
+     * Gets the unexcluded target nodes in the order of their creation (i.e., by their IDs), which
+     * may differ from the depth-first order of the ARG. The stream is a view of the ARG, so it has
+     * to be consumed before the ARG is modified.
+     */
     public Stream<ArgNode<S, A>> getUnsafeNodes() {
-        return getInitNodes().flatMap(ArgNode::unexcludedDescendants).filter(ArgNode::isTarget);
+        return unsafeNodes.stream();
     }
 
+    /**
+     * Gets the unexcluded nodes that are not expanded in the order of their creation (i.e., by
+     * their IDs), which may differ from the depth-first order of the ARG. The stream is a view of
+     * the ARG, so it has to be consumed before the ARG is modified.
+     */
     public Stream<ArgNode<S, A>> getIncompleteNodes() {
-        return getInitNodes().flatMap(ArgNode::unexcludedDescendants).filter(n -> !n.isExpanded());
+        return incompleteNodes.stream();
+    }
+
+    /** Gets the number of excluded nodes. */
+    public long getExcludedNodeCount() {
+        return excludedNodeCount;
     }
 
     PartialOrd<S> getPartialOrd() {
@@ -81,12 +115,12 @@ public final class ARG<S extends State, A extends Action> implements Proof {
      * complete.
      */
     public boolean isComplete() {
-        return isInitialized() && getNodes().allMatch(ArgNode::isComplete);
+        return isInitialized() && incompleteNodes.isEmpty();
     }
 
     /** Checks if the ARG is safe, i.e., whether all of its nodes are safe. */
     public boolean isSafe() {
-        return getNodes().allMatch(ArgNode::isSafe);
+        return unsafeNodes.isEmpty();
     }
 
     /** Checks if the ARG is initialized, i.e., all of its initial nodes are present. */
@@ -100,6 +134,8 @@ public final class ARG<S extends State, A extends Action> implements Proof {
         checkNotNull(initState);
         final ArgNode<S, A> initNode = createNode(initState, 0, target);
         initNodes.add(initNode);
+        initNode.excluded = initNode.isSubsumed();
+        track(initNode);
         ARGWebDebugger.create(initNode);
         return initNode;
     }
@@ -113,6 +149,8 @@ public final class ARG<S extends State, A extends Action> implements Proof {
         checkArgument(!node.isTarget(), "Node is target");
         final ArgNode<S, A> succNode = createNode(succState, node.getDepth() + 1, target);
         createEdge(node, action, succNode);
+        succNode.excluded = node.excluded || succNode.isSubsumed();
+        track(succNode);
         return succNode;
     }
 
@@ -135,30 +173,141 @@ public final class ARG<S extends State, A extends Action> implements Proof {
     public void prune(final ArgNode<S, A> node) {
         checkNotNull(node);
         checkArgument(node.arg == this, "Node does not belong to this ARG");
+        final List<ArgNode<S, A>> removedNodes = node.descendants().collect(toList());
+        for (final ArgNode<S, A> removedNode : removedNodes) {
+            untrack(removedNode);
+            removedNode.detached = true;
+        }
         if (node.getInEdge().isPresent()) {
             final ArgEdge<S, A> edge = node.getInEdge().get();
             final ArgNode<S, A> parent = edge.getSource();
             parent.outEdges.remove(edge);
             ARGWebDebugger.remove(edge);
-            parent.expanded = false;
+            setExpanded(parent, false);
         } else {
             assert initNodes.contains(node);
             initNodes.remove(node);
             this.initialized = false;
         }
-        node.descendants().forEach(ArgNode::unsetCoveringNode);
-        node.descendants().forEach(ArgNode::clearCoveredNodes);
+        removedNodes.forEach(ArgNode::unsetCoveringNode);
+        removedNodes.forEach(ArgNode::clearCoveredNodes);
     }
 
     /** Prune the whole ARG, making it uninitialized. */
     public void pruneAll() {
+        getNodes().forEach(n -> n.detached = true);
         initNodes.clear();
+        incompleteNodes.clear();
+        unsafeNodes.clear();
+        nodeCount = 0;
+        excludedNodeCount = 0;
         this.initialized = false;
     }
 
     /** Marks the node for reexpanding without pruning it. */
     public void markForReExpansion(final ArgNode<S, A> node) {
-        node.expanded = false;
+        setExpanded(node, false);
+    }
+
+    ////
+
+    void setExpanded(final ArgNode<S, A> node, final boolean expanded) {
+        if (node.expanded == expanded) {
+            return;
+        }
+        if (node.detached) {
+            node.expanded = expanded;
+        } else {
+            untrack(node);
+            node.expanded = expanded;
+            track(node);
+        }
+    }
+
+    /**
+     * Updates the excluded flag of a node and its subtree after the node became subsumed or stopped
+     * being subsumed. The traversal stops at nodes whose flag does not change.
+     */
+    void updateExclusion(final ArgNode<S, A> node) {
+        if (node.detached) {
+            return;
+        }
+        final boolean parentExcluded = node.getParent().map(p -> p.excluded).orElse(false);
+        if (node.excluded == (parentExcluded || node.isSubsumed())) {
+            return;
+        }
+        final Deque<ArgNode<S, A>> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            final ArgNode<S, A> current = stack.pop();
+            final boolean excluded =
+                    current.getParent().map(p -> p.excluded).orElse(false) || current.isSubsumed();
+            if (current.excluded == excluded) {
+                continue;
+            }
+            untrack(current);
+            current.excluded = excluded;
+            track(current);
+            current.children().forEach(stack::push);
+        }
+    }
+
+    private void track(final ArgNode<S, A> node) {
+        nodeCount++;
+        if (node.excluded) {
+            excludedNodeCount++;
+        } else {
+            if (!node.expanded) {
+                incompleteNodes.add(node);
+            }
+            if (node.isTarget()) {
+                unsafeNodes.add(node);
+            }
+        }
+    }
+
+    private void untrack(final ArgNode<S, A> node) {
+        nodeCount--;
+        if (node.excluded) {
+            excludedNodeCount--;
+        } else {
+            incompleteNodes.remove(node);
+            unsafeNodes.remove(node);
+        }
+    }
+
+    /**
+     * Checks whether the incrementally maintained information (excluded flags, incomplete and
+     * unsafe nodes, counters) matches the result of a full traversal of the ARG. Intended for
+     * testing, as it walks the whole ARG.
+     */
+    public boolean isConsistent() {
+        final List<ArgNode<S, A>> nodes = getNodes().collect(toList());
+        if (nodes.size() != nodeCount) {
+            return false;
+        }
+        long excludedCount = 0;
+        final Set<ArgNode<S, A>> expectedIncomplete = Containers.createSet();
+        final Set<ArgNode<S, A>> expectedUnsafe = Containers.createSet();
+        for (final ArgNode<S, A> node : nodes) {
+            final boolean excluded = node.ancestors().anyMatch(ArgNode::isSubsumed);
+            if (node.detached || node.excluded != excluded) {
+                return false;
+            }
+            if (excluded) {
+                excludedCount++;
+            } else {
+                if (!node.isExpanded()) {
+                    expectedIncomplete.add(node);
+                }
+                if (node.isTarget()) {
+                    expectedUnsafe.add(node);
+                }
+            }
+        }
+        return excludedCount == excludedNodeCount
+                && expectedIncomplete.equals(Containers.createSet(incompleteNodes))
+                && expectedUnsafe.equals(Containers.createSet(unsafeNodes));
     }
 
     public void minimize() {
@@ -183,7 +332,7 @@ public final class ARG<S extends State, A extends Action> implements Proof {
 
     /** Gets the size of the ARG, i.e., the number of nodes. */
     public long size() {
-        return getNodes().count();
+        return nodeCount;
     }
 
     /**
@@ -20,6 +20,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import hu.bme.mit.theta.analysis.*;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -84,15 +85,26 @@ public final class ArgBuilder<S extends State, A extends Action, P extends Prec>
     }
 
     public Collection<ArgNode<S, A>> expand(final ArgNode<S, A> node, final P prec) {
+        return addSuccessors(node, computeSuccessors(node, prec));
+    }
+
+    /**
+     * Computes the successors of a node without modifying the ARG. Different builders (e.g., with
+     * different solvers) may compute successors of different nodes concurrently, as long as the
+     * ARG is not modified in the meantime. The result can be added to the ARG by {@link
+     * #addSuccessors}.
+     */
+    public List<Successor<S, A>> computeSuccessors(final ArgNode<S, A> node, final P prec) {
         checkNotNull(node);
         checkNotNull(prec);
-        final Collection<ArgNode<S, A>> newSuccNodes = new ArrayList<>();
+        final List<Successor<S, A>> successors = new ArrayList<>();
         final S state = node.getState();
         final Collection<A> exploredActions =
                 node.getOutEdges().map(ArgEdge::getAction).collect(Collectors.toSet());
         final Collection<? extends A> actions =
                 lts.getEnabledActionsFor(state, exploredActions, prec);
         final TransFunc<S, ? super A, ? super P> transFunc = analysis.getTransFunc();
+        final PartialOrd<S> partialOrd = analysis.getPartialOrd();
         for (final A action : actions) {
             final Collection<? extends S> succStates = transFunc.getSuccStates(state, action, prec);
             for (final S succState : succStates) {
@@ -101,20 +113,43 @@ public final class ArgBuilder<S extends State, A extends Action, P extends Prec>
                 }
                 // Only add state if there is no covering sibling (with the same action)
                 if (node.getSuccNodes()
-                        .noneMatch(
-                                n ->
-                                        n.getInEdge().get().getAction().equals(action)
-                                                && analysis.getPartialOrd()
-                                                        .isLeq(succState, n.getState()))) {
+                                .noneMatch(
+                                        n ->
+                                                n.getInEdge().get().getAction().equals(action)
+                                                        && partialOrd.isLeq(
+                                                                succState, n.getState()))
+                        && successors.stream()
+                                .noneMatch(
+                                        s ->
+                                                s.action().equals(action)
+                                                        && partialOrd.isLeq(
+                                                                succState, s.state()))) {
                     final boolean isTarget = target.test(succState);
-                    final ArgNode<S, A> newNode =
-                            node.arg.createSuccNode(node, action, succState, isTarget);
-                    newSuccNodes.add(newNode);
+                    successors.add(new Successor<>(action, succState, isTarget));
                 }
             }
         }
-        node.expanded = true;
+        return successors;
+    }
+
+    /** Adds previously computed successors of a node to the ARG and marks the node as expanded. */
+    public Collection<ArgNode<S, A>> addSuccessors(
+            final ArgNode<S, A> node, final Collection<Successor<S, A>> successors) {
+        checkNotNull(node);
+        checkNotNull(successors);
+        final Collection<ArgNode<S, A>> newSuccNodes = new ArrayList<>();
+        for (final Successor<S, A> successor : successors) {
+            final ArgNode<S, A> newNode =
+                    node.arg.createSuccNode(
+                            node, successor.action(), successor.state(), successor.target());
+            newSuccNodes.add(newNode);
+        }
+        node.setExpanded(true);
 
         return newSuccNodes;
     }
+
+    /** A successor of a node that is not yet added to the ARG. */
+    public record Successor<S extends State, A extends Action>(
+            A action, S state, boolean target) {}
 }
@@ -44,7 +44,9 @@ public final class ArgNode<S extends State, A extends Action> {
     Optional<ArgNode<S, A>> coveringNode; // Set by ARG
     final Collection<ArgNode<S, A>> coveredNodes;
 
-    public boolean expanded; // Set by ArgBuilder
+    boolean expanded; // Set by ArgBuilder and ARG
+    boolean excluded; // Maintained by ARG
+    boolean detached; // Set by ARG when the node is pruned
 
     ArgNode(
             final ARG<S, A> arg,
@@ -84,7 +86,11 @@ public final class ArgNode<S extends State, A extends Action> {
 
     public void setState(final S state) {
         checkNotNull(state);
+        final boolean wasBottom = this.state.isBottom();
         this.state = state;
+        if (wasBottom != state.isBottom()) {
+            arg.updateExclusion(this);
+        }
     }
 
     public boolean mayCover(final ArgNode<S, A> node) {
@@ -107,21 +113,29 @@ public final class ArgNode<S extends State, A extends Action> {
         if (!node.canCover) return;
         checkNotNull(node);
         checkArgument(node.arg == this.arg, "Nodes belong to different ARGs");
-        unsetCoveringNode();
+        if (coveringNode.isPresent()) {
+            coveringNode.get().coveredNodes.remove(this);
+        }
         coveringNode = Optional.of(node);
         node.coveredNodes.add(this);
+        arg.updateExclusion(this);
     }
 
     public void unsetCoveringNode() {
         if (coveringNode.isPresent()) {
             coveringNode.get().coveredNodes.remove(this);
             coveringNode = Optional.empty();
+            arg.updateExclusion(this);
         }
     }
 
     public void clearCoveredNodes() {
-        coveredNodes.forEach(n -> n.coveringNode = Optional.empty());
+        final Collection<ArgNode<S, A>> oldCoveredNodes = new ArrayList<>(coveredNodes);
         coveredNodes.clear();
+        for (final ArgNode<S, A> coveredNode : oldCoveredNodes) {
+            coveredNode.coveringNode = Optional.empty();
+            arg.updateExclusion(coveredNode);
+        }
     }
 
     public void cover(final ArgNode<S, A> node) {
@@ -183,7 +197,7 @@ public final class ArgNode<S extends State, A extends Action> {
 
     /** Checks if the node is excluded, i.e., the node is subsumed or has an excluded parent. */
     public boolean isExcluded() {
-        return ancestors().anyMatch(ArgNode::isSubsumed);
+        return excluded;
     }
 
     /**
@@ -198,6 +212,10 @@ public final class ArgNode<S extends State, A extends Action> {
         return expanded;
     }
 
+    public void setExpanded(final boolean expanded) {
+        arg.setExpanded(this, expanded);
+    }
+
     /** Checks if the node is leaf, i.e., it has no successors. */
     public boolean isLeaf() {
         return outEdges.isEmpty();
@@ -39,6 +39,15 @@ import hu.bme.mit.theta.solver.ItpSolver
 import hu.bme.mit.theta.solver.Solver
 import hu.bme.mit.theta.solver.utils.WithPushPop
 import java.util.*
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicReference
+
+private const val BMC = "bmc"
+private const val KIND = "kind"
+private const val IMC = "imc"
 
 /**
  * A checker for bounded model checking.
@@ -58,6 +67,17 @@ import java.util.*
  * @param indSolver The solver for induction checking in KIND.
  * @param kindEnabled A function determining whether k-induction (KIND) is enabled.
  * @param logger The logger for logging.
+ * @param needProof Whether to extract a proof (an inductive invariant) for safe results.
+ * @param parallel Whether to run the enabled engines (BMC, KIND and IMC) concurrently on separate
+ *   threads, each with its own unrolling depth. An engine is started only if its solver is given
+ *   and it is enabled in the first iteration. The first conclusive result wins, the other engines
+ *   are stopped at their next iteration. A k-induction proof is only accepted once BMC has reached
+ *   the same depth without a counterexample. [shouldGiveUp] is called with the depth of the
+ *   calling engine, and never by two engines at the same time. If the calling thread is
+ *   interrupted, the engines are stopped as well, and the check returns with the interrupt flag set
+ *   once all of them finished.
+ * @param lazySimplePath Whether BMC should add loop-freeness constraints lazily, only for pairs of
+ *   states the solver found to be equal, instead of for all pairs of states.
  */
 class BoundedChecker
 @JvmOverloads
@@ -73,16 +93,16 @@ constructor(
   private val kindEnabled: (Int) -> Boolean = { indSolver != null },
   private val logger: Logger,
   private val needProof: Boolean = false,
+  private val parallel: Boolean = false,
+  private val lazySimplePath: Boolean = true,
 ) : SafetyChecker<PredState, Trace<ExplState, ExprAction>, UnitPrec> {
 
   private val vars = monolithicExpr.vars
   private val unfoldedInitExpr =
     PathUtils.unfold(monolithicExpr.initExpr, VarIndexingFactory.indexing(0))
   private val unfoldedPropExpr = { i: VarIndexing -> PathUtils.unfold(monolithicExpr.propExpr, i) }
-  private val indices = mutableListOf(VarIndexingFactory.indexing(0))
-  private val exprs = mutableListOf<Expr<BoolType>>()
-  private var kindLastIterLookup = 0
-  private var iteration = 0
+  private var engineStats = createEngineStats()
+  private val giveUpLock = Any()
 
   init {
     check(bmcSolver != itpSolver || bmcSolver == null) { "Use distinct solvers for BMC and IMC!" }
@@ -91,9 +111,11 @@ constructor(
   }
 
   override fun check(prec: UnitPrec?): SafetyResult<PredState, Trace<ExplState, ExprAction>> {
+    engineStats = createEngineStats()
+    return if (parallel) checkParallel() else Unrolling().checkSequential()
+  }
 
-    iteration = 0
-
+  private fun Unrolling.checkSequential(): SafetyResult<PredState, Trace<ExplState, ExprAction>> {
     val isBmcEnabled = bmcEnabled() // we don't allow per-iteration setting of bmc enabledness
     bmcSolver?.add(unfoldedInitExpr)
 
@@ -110,37 +132,171 @@ constructor(
         "K-Induction needs BMC as an external substep."
       }
 
-      exprs.add(PathUtils.unfold(monolithicExpr.transExpr, indices.last()))
-
-      indices.add(indices.last().add(monolithicExpr.transOffsetIndex))
+      unroll()
 
       if (isBmcEnabled) {
-        bmc()?.let {
-          return it
-        }
+        timed(BMC) { bmc() }
+          ?.let {
+            return it
+          }
       }
 
       if (kindEnabled(iteration)) {
         if (!isBmcEnabled) {
           error("Bad configuration: induction check should always be preceded by a BMC/SAT check")
         }
-        kind()?.let {
-          return it
-        }
-        kindLastIterLookup = iteration
+        timed(KIND) { kind() }
+          ?.let {
+            return it
+          }
       }
 
       if (imcEnabled(iteration)) {
-        itp()?.let {
-          return it
+        timed(IMC) { itp() }
+          ?.let {
+            return it
+          }
+      }
+    }
+    return SafetyResult.unknown(statistics())
+  }
+
+  private fun checkParallel(): SafetyResult<PredState, Trace<ExplState, ExprAction>> {
+    val isBmcEnabled = bmcEnabled()
+    val isKindEnabled = indSolver != null && kindEnabled(1)
+    val isImcEnabled = itpSolver != null && imcEnabled(1)
+    check(!isKindEnabled || isBmcEnabled) { "K-Induction needs BMC as an external substep." }
+    engineStats =
+      engineStats.filterKeys {
+        when (it) {
+          KIND -> isKindEnabled
+          IMC -> isImcEnabled
+          else -> true
         }
       }
+
+    val winner = AtomicReference<SafetyResult<PredState, Trace<ExplState, ExprAction>>?>()
+    val failure = AtomicReference<Throwable?>()
+    val cancelled = AtomicBoolean(false)
+    val stopped = { winner.get() != null || failure.get() != null || cancelled.get() }
+
+    // A k-induction proof at depth k is only sound once BMC found no counterexample up to k
+    val lock = Any()
+    var bmcDepth = 0
+    var pendingKind: Pair<Int, SafetyResult<PredState, Trace<ExplState, ExprAction>>>? = null
+
+    val engines = mutableListOf<() -> Unit>()
+    if (isBmcEnabled) {
+      engines.add {
+        bmcSolver!!.add(unfoldedInitExpr)
+        Unrolling()
+          .runEngine(BMC, { true }, stopped, { bmc() }) {
+            synchronized(lock) {
+              bmcDepth = iteration
+              pendingKind?.let { (depth, result) ->
+                if (depth <= bmcDepth) winner.compareAndSet(null, result)
+              }
+            }
+          }
+          ?.let { winner.compareAndSet(null, it) }
+      }
+    }
+    if (isKindEnabled) {
+      engines.add {
+        val unrolling = Unrolling()
+        unrolling
+          .runEngine(KIND, kindEnabled, stopped, { kind() })
+          ?.let { result ->
+            synchronized(lock) {
+              if (unrolling.iteration <= bmcDepth) winner.compareAndSet(null, result)
+              else pendingKind = unrolling.iteration to result
+            }
+          }
+      }
+    }
+    if (isImcEnabled) {
+      engines.add {
+        Unrolling().runEngine(IMC, imcEnabled, stopped, { itp() })?.let {
+          winner.compareAndSet(null, it)
+        }
+      }
+    }
+
+    val executor = Executors.newFixedThreadPool(maxOf(engines.size, 1))
+    try {
+      for (engine in engines) {
+        executor.execute {
+          try {
+            engine()
+          } catch (e: Throwable) {
+            failure.compareAndSet(null, e)
+          }
+        }
+      }
+      executor.shutdown()
+      // Engines stop at their next iteration once a result is found, solvers are not shared
+      // with the caller until all of them finished
+      while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {}
+    } catch (e: InterruptedException) {
+      logger.write(Logger.Level.MAINSTEP, "Interrupted, stopping engines\n")
+      Thread.currentThread().interrupt()
+    } finally {
+      cancelled.set(true)
+      executor.shutdownNow()
+      awaitTerminationUninterruptibly(executor)
+    }
+
+    winner.get()?.let {
+      return it
+    }
+    failure.get()?.let { throw it }
+    return SafetyResult.unknown(
+      BoundedStatistics(engineStats.values.maxOfOrNull { it.depth } ?: 0, engineStats)
+    )
+  }
+
+  /**
+   * Waits for the engines to stop even if interrupted, so the solvers are no longer in use when the
+   * caller gets them back. The interrupt flag is restored afterwards.
+   */
+  private fun awaitTerminationUninterruptibly(executor: ExecutorService) {
+    var interrupted = Thread.interrupted()
+    while (true) {
+      try {
+        if (executor.awaitTermination(1, TimeUnit.SECONDS)) break
+      } catch (e: InterruptedException) {
+        interrupted = true
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt()
     }
-    return SafetyResult.unknown(BoundedStatistics(iteration))
   }
 
-  private fun bmc(): SafetyResult<PredState, Trace<ExplState, ExprAction>>? {
-    val bmcSolver = this.bmcSolver!!
+  private fun Unrolling.runEngine(
+    engine: String,
+    enabled: (Int) -> Boolean,
+    stopped: () -> Boolean,
+    step: Unrolling.() -> SafetyResult<PredState, Trace<ExplState, ExprAction>>?,
+    afterStep: Unrolling.() -> Unit = {},
+  ): SafetyResult<PredState, Trace<ExplState, ExprAction>>? {
+    while (!stopped() && !synchronized(giveUpLock) { shouldGiveUp(iteration) }) {
+      iteration++
+      logger.write(Logger.Level.MAINSTEP, "Starting $engine iteration $iteration\n")
+      unroll()
+      if (enabled(iteration)) {
+        timed(engine) { step() }
+          ?.let {
+            return it
+          }
+      }
+      afterStep()
+    }
+    return null
+  }
+
+  private fun Unrolling.bmc(): SafetyResult<PredState, Trace<ExplState, ExprAction>>? {
+    val bmcSolver = this@BoundedChecker.bmcSolver!!
     logger.write(Logger.Level.MAINSTEP, "\tStarting BMC\n")
 
     if (iteration == 1) {
@@ -153,7 +309,7 @@ constructor(
             Logger.Level.MAINSTEP,
             "CeX found in the initial state (length ${trace.length()})\n",
           )
-          return SafetyResult.unsafe(trace, PredState.of(), BoundedStatistics(iteration))
+          return SafetyResult.unsafe(trace, PredState.of(), statistics())
         }
       }
     }
@@ -161,21 +317,23 @@ constructor(
     bmcSolver.add(exprs.last())
 
     if (lfPathOnly()) { // indices contains currIndex as last()
-      val loopfree = LinkedList<Expr<BoolType>>()
-      for (indexing in indices) {
-        if (indexing != indices.last()) {
-          val allVarsSame =
-            And(
-              vars.map {
-                Eq(PathUtils.unfold(it.ref, indexing), PathUtils.unfold(it.ref, indices.last()))
-              }
-            )
-          loopfree += Not(allVarsSame)
+      val loopfreePathExists =
+        if (lazySimplePath) {
+          checkLoopfreeLazily(bmcSolver)
+        } else {
+          val loopfree = LinkedList<Expr<BoolType>>()
+          for (indexing in indices) {
+            if (indexing != indices.last()) {
+              loopfree += Not(allVarsSame(indexing, indices.last()))
+            }
+          }
+          bmcSolver.add(loopfree)
+          loopfreeConstraints += loopfree.size
+          recordLoopfreeConstraints()
+          bmcSolver.check().isSat
         }
-      }
-      bmcSolver.add(loopfree)
 
-      if (bmcSolver.check().isUnsat) {
+      if (!loopfreePathExists) {
         logger.write(Logger.Level.MAINSTEP, "Safety proven in BMC step\n")
         val proof =
           if (needProof) {
@@ -190,7 +348,7 @@ constructor(
           } else {
             True()
           }
-        return SafetyResult.safe(PredState.of(proof), BoundedStatistics(iteration))
+        return SafetyResult.safe(PredState.of(proof), statistics())
       }
     }
 
@@ -200,13 +358,54 @@ constructor(
       if (bmcSolver.check().isSat) {
         val trace = getTrace(bmcSolver.model)
         logger.write(Logger.Level.MAINSTEP, "CeX found in BMC step (length ${trace.length()})\n")
-        SafetyResult.unsafe(trace, PredState.of(), BoundedStatistics(iteration))
+        SafetyResult.unsafe(trace, PredState.of(), statistics())
       } else null
     }
   }
 
-  private fun kind(): SafetyResult<PredState, Trace<ExplState, ExprAction>>? {
-    val indSolver = this.indSolver!!
+  /**
+   * Checks whether a loop-free path of the current length exists. Instead of requiring every pair
+   * of states to differ, distinctness constraints are only added for pairs of states that are equal
+   * in the model found by the solver, until a model without repeated states is found or no model
+   * remains. The added constraints stay valid for longer paths as well.
+   */
+  private fun Unrolling.checkLoopfreeLazily(solver: Solver): Boolean {
+    while (solver.check().isSat) {
+      val model = solver.model
+      val repeatedStates =
+        indices
+          .groupBy { PathUtils.extractValuation(model, it, vars) }
+          .values
+          .filter { it.size > 1 }
+      if (repeatedStates.isEmpty()) {
+        break
+      }
+      for (equalIndices in repeatedStates) {
+        for (i in equalIndices.indices) {
+          for (j in i + 1 until equalIndices.size) {
+            solver.add(Not(allVarsSame(equalIndices[i], equalIndices[j])))
+            loopfreeConstraints++
+          }
+        }
+      }
+    }
+    recordLoopfreeConstraints()
+    return solver.status.isSat
+  }
+
+  private fun Unrolling.recordLoopfreeConstraints() {
+    engineStats[BMC]?.let {
+      it.loopfreeConstraints = loopfreeConstraints
+      val allPairs = indices.size.toLong() * (indices.size - 1) / 2
+      it.loopfreeConstraintsAvoided = allPairs - loopfreeConstraints
+    }
+  }
+
+  private fun allVarsSame(first: VarIndexing, second: VarIndexing): Expr<BoolType> =
+    And(vars.map { Eq(PathUtils.unfold(it.ref, first), PathUtils.unfold(it.ref, second)) })
+
+  private fun Unrolling.kind(): SafetyResult<PredState, Trace<ExplState, ExprAction>>? {
+    val indSolver = this@BoundedChecker.indSolver!!
 
     logger.write(Logger.Level.MAINSTEP, "\tStarting k-induction\n")
 
@@ -216,6 +415,7 @@ constructor(
       allSafe.add(unfoldedPropExpr(it))
     }
     indSolver.add(allSafe)
+    kindLastIterLookup = iteration
 
     return WithPushPop(indSolver).use {
       indSolver.add(Not(unfoldedPropExpr(indices.last())))
@@ -240,13 +440,13 @@ constructor(
             True()
           }
 
-        SafetyResult.safe(PredState.of(proof), BoundedStatistics(iteration))
+        SafetyResult.safe(PredState.of(proof), statistics())
       } else null
     }
   }
 
-  private fun itp(): SafetyResult<PredState, Trace<ExplState, ExprAction>>? {
-    val itpSolver = this.itpSolver!!
+  private fun Unrolling.itp(): SafetyResult<PredState, Trace<ExplState, ExprAction>>? {
+    val itpSolver = this@BoundedChecker.itpSolver!!
     logger.write(Logger.Level.MAINSTEP, "\tStarting IMC\n")
 
     itpSolver.push()
@@ -266,7 +466,7 @@ constructor(
             Logger.Level.MAINSTEP,
             "CeX found in the initial state (length ${trace.length()})\n",
           )
-          return SafetyResult.unsafe(trace, PredState.of(), BoundedStatistics(iteration))
+          return SafetyResult.unsafe(trace, PredState.of(), statistics())
         }
       }
     }
@@ -282,13 +482,7 @@ constructor(
       val loopfree = LinkedList<Expr<BoolType>>()
       for (indexing in indices) {
         if (indexing != indices.last()) {
-          val allVarsSame =
-            And(
-              vars.map {
-                Eq(PathUtils.unfold(it.ref, indexing), PathUtils.unfold(it.ref, indices.last()))
-              }
-            )
-          loopfree.add(Not(allVarsSame))
+          loopfree.add(Not(allVarsSame(indexing, indices.last())))
         }
       }
       itpSolver.add(a, loopfree)
@@ -310,7 +504,7 @@ constructor(
           } else {
             True()
           }
-        return SafetyResult.safe(PredState.of(proof), BoundedStatistics(iteration))
+        return SafetyResult.safe(PredState.of(proof), statistics())
       }
       itpSolver.pop()
     }
@@ -324,7 +518,7 @@ constructor(
       logger.write(Logger.Level.MAINSTEP, "CeX found in IMC/BMC step (length ${trace.length()})\n")
       itpSolver.pop()
       itpSolver.pop()
-      return SafetyResult.unsafe(trace, PredState.of(), BoundedStatistics(iteration))
+      return SafetyResult.unsafe(trace, PredState.of(), statistics())
     }
 
     var img = unfoldedInitExpr
@@ -344,7 +538,7 @@ constructor(
         itpSolver.pop()
         return SafetyResult.safe(
           PredState.of(extractModel(img, indices.subList(0, 1))),
-          BoundedStatistics(iteration),
+          statistics(),
         )
       }
       itpSolver.pop()
@@ -362,7 +556,42 @@ constructor(
     return null
   }
 
-  private fun getTrace(model: Valuation): Trace<ExplState, ExprAction> {
+  private fun createEngineStats(): Map<String, BoundedEngineStatistics> {
+    val stats = linkedMapOf<String, BoundedEngineStatistics>()
+    if (bmcSolver != null) stats[BMC] = BoundedEngineStatistics(lfPathOnly())
+    if (indSolver != null) stats[KIND] = BoundedEngineStatistics()
+    if (itpSolver != null) stats[IMC] = BoundedEngineStatistics()
+    return stats
+  }
+
+  /** The unrolled transitions of one engine. Engines running in parallel have separate ones. */
+  private inner class Unrolling {
+    val indices = mutableListOf(VarIndexingFactory.indexing(0))
+    val exprs = mutableListOf<Expr<BoolType>>()
+    var kindLastIterLookup = 0
+    var iteration = 0
+    var loopfreeConstraints = 0L
+
+    fun unroll() {
+      exprs.add(PathUtils.unfold(monolithicExpr.transExpr, indices.last()))
+      indices.add(indices.last().add(monolithicExpr.transOffsetIndex))
+    }
+
+    fun statistics() = BoundedStatistics(iteration, engineStats)
+
+    fun <T> timed(engine: String, step: () -> T): T {
+      val stats = engineStats[engine] ?: return step()
+      val start = System.nanoTime()
+      try {
+        return step()
+      } finally {
+        stats.timeMs += TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        stats.depth = iteration
+      }
+    }
+  }
+
+  private fun Unrolling.getTrace(model: Valuation): Trace<ExplState, ExprAction> {
     val stateList = LinkedList<ExplState>()
     val actionList = LinkedList<ExprAction>()
     var lastValuation: Valuation? = null
@@ -377,7 +606,7 @@ constructor(
     return Trace.of(stateList, actionList)
   }
 
-  private fun extractModel(
+  private fun Unrolling.extractModel(
     expr: Expr<BoolType>,
     indices: List<VarIndexing> = this.indices,
   ): Expr<BoolType> {
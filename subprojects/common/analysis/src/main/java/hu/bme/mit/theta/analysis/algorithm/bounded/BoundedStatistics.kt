@@ -17,9 +17,40 @@ package hu.bme.mit.theta.analysis.algorithm.bounded
 
 import hu.bme.mit.theta.analysis.algorithm.Statistics
 
-class BoundedStatistics(val iterations: Int) : Statistics() {
+/**
+ * Statistics of a bounded check.
+ *
+ * @param iterations The number of iterations (unrolling depth) reached.
+ * @param engines The statistics of the individual engines (BMC, KIND, IMC) by their name.
+ */
+class BoundedStatistics
+@JvmOverloads
+constructor(val iterations: Int, val engines: Map<String, BoundedEngineStatistics> = emptyMap()) :
+  Statistics() {
 
   init {
     addStat("iterations", this::iterations)
+    engines.forEach { (name, stats) ->
+      addStat("${name}Depth", stats::depth)
+      addStat("${name}TimeMs", stats::timeMs)
+      if (stats.loopfree) {
+        addStat("${name}LoopfreeConstraints", stats::loopfreeConstraints)
+        addStat("${name}LoopfreeConstraintsAvoided", stats::loopfreeConstraintsAvoided)
+      }
+    }
   }
 }
+
+/**
+ * The depth reached and the time spent by a single engine of a bounded check.
+ *
+ * @param loopfree Whether the engine adds loop-freeness constraints, in which case the number of
+ *   added constraints and the number of constraints avoided compared to adding a constraint for
+ *   every pair of states (when they are added lazily) are also reported.
+ */
+class BoundedEngineStatistics @JvmOverloads constructor(val loopfree: Boolean = false) {
+  @Volatile var depth: Int = 0
+  @Volatile var timeMs: Long = 0
+  @Volatile var loopfreeConstraints: Long = 0
+  @Volatile var loopfreeConstraintsAvoided: Long = 0
+}
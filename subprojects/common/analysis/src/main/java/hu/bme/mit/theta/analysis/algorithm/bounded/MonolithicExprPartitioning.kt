@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.bounded
+
+import hu.bme.mit.theta.core.decl.IndexedConstDecl
+import hu.bme.mit.theta.core.decl.VarDecl
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.abstracttype.EqExpr
+import hu.bme.mit.theta.core.type.anytype.RefExpr
+import hu.bme.mit.theta.core.type.booltype.AndExpr
+import hu.bme.mit.theta.core.type.booltype.BoolType
+import hu.bme.mit.theta.core.type.booltype.OrExpr
+import hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.And
+import hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.Or
+import hu.bme.mit.theta.core.utils.ExprUtils
+import hu.bme.mit.theta.core.utils.PathUtils
+import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory
+
+/**
+ * A part of a disjunctively partitioned transition relation. The expression only constrains the
+ * variables of its support: variables that are not written keep their values, even though the
+ * expression does not state this explicitly.
+ */
+data class TransitionPartition(
+  val expr: Expr<BoolType>,
+  val readVars: Set<VarDecl<*>>,
+  val writtenVars: Set<VarDecl<*>>,
+) {
+  val support: Set<VarDecl<*>>
+    get() = readVars union writtenVars
+}
+
+/**
+ * Partitions the transition relation into events with small supports. Disjunctions are split,
+ * and conjunctions of disjunctions are distributed if at most [maxDistributedDisjuncts] events
+ * result, or if the rest of the conjunction only constrains control variables (which is then a
+ * cheap guard to copy into each event). Identity constraints (x' = x) are removed from the events
+ * and events with the same read and written variables are merged.
+ */
+@JvmOverloads
+fun MonolithicExpr.partition(maxDistributedDisjuncts: Int = 64): List<TransitionPartition> {
+  val disjuncts = disjunctsOf(ExprUtils.simplify(transExpr), maxDistributedDisjuncts)
+  return disjuncts
+    .map { toPartition(it) }
+    .groupBy { it.readVars to it.writtenVars }
+    .map { (vars, group) ->
+      if (group.size == 1) group[0]
+      else TransitionPartition(Or(group.map { it.expr }), vars.first, vars.second)
+    }
+}
+
+private fun MonolithicExpr.disjunctsOf(expr: Expr<BoolType>, limit: Int): List<Expr<BoolType>> =
+  when (expr) {
+    is OrExpr -> expr.ops.flatMap { disjunctsOf(it, limit) }
+    is AndExpr -> {
+      val (disjunctions, rest) = expr.ops.partition { it is OrExpr }
+      if (disjunctions.isEmpty()) {
+        listOf(expr)
+      } else {
+        val isCtrlGuard =
+          ctrlVars.isNotEmpty() && rest.all { ctrlVars.containsAll(ExprUtils.getVars(it)) }
+        val branches = disjunctions.map { disjunctsOf(it, limit) }
+        val count = branches.fold(1L) { acc, branch -> acc * branch.size }
+        if (count > limit && !(isCtrlGuard && branches.size == 1)) {
+          listOf(expr)
+        } else {
+          branches
+            .fold(listOf(rest)) { acc, branch ->
+              acc.flatMap { conjuncts -> branch.map { conjuncts + conjunctsOf(it) } }
+            }
+            .map { And(it) }
+        }
+      }
+    }
+    else -> listOf(expr)
+  }
+
+private fun MonolithicExpr.toPartition(disjunct: Expr<BoolType>): TransitionPartition {
+  val conjuncts = conjunctsOf(disjunct)
+  val unchangedVars = mutableSetOf<VarDecl<*>>()
+  val constraints = mutableListOf<Expr<BoolType>>()
+  for (conjunct in conjuncts) {
+    val identityOf = identityVarOf(conjunct)
+    if (identityOf != null) unchangedVars.add(identityOf) else constraints.add(conjunct)
+  }
+  val writtenVars = vars.filter { transOffsetIndex[it] > 0 && it !in unchangedVars }.toSet()
+  val readVars = constraints.flatMap { ExprUtils.getVars(it) }.toSet() - writtenVars
+  return TransitionPartition(And(constraints), readVars, writtenVars)
+}
+
+private fun conjunctsOf(expr: Expr<BoolType>): List<Expr<BoolType>> =
+  if (expr is AndExpr) expr.ops.flatMap { conjunctsOf(it) } else listOf(expr)
+
+/** Gets the variable if the expression is of the form x' = x (with the offset of x). */
+private fun MonolithicExpr.identityVarOf(expr: Expr<BoolType>): VarDecl<*>? {
+  val unfolded = PathUtils.unfold(expr, VarIndexingFactory.indexing(0))
+  if (unfolded !is EqExpr<*>) return null
+  val left = (unfolded.leftOp as? RefExpr<*>)?.decl as? IndexedConstDecl<*> ?: return null
+  val right = (unfolded.rightOp as? RefExpr<*>)?.decl as? IndexedConstDecl<*> ?: return null
+  val varDecl = left.varDecl
+  if (right.varDecl != varDecl) return null
+  val offset = transOffsetIndex[varDecl]
+  return if (offset > 0 && setOf(left.index, right.index) == setOf(0, offset)) varDecl else null
+}
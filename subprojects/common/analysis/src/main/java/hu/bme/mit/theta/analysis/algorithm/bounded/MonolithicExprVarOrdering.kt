@@ -16,7 +16,9 @@
 package hu.bme.mit.theta.analysis.algorithm.bounded
 
 import hu.bme.mit.theta.analysis.algorithm.mdd.varordering.Event
+import hu.bme.mit.theta.analysis.algorithm.mdd.varordering.VarOrderingStrategy
 import hu.bme.mit.theta.analysis.algorithm.mdd.varordering.orderVarsFromRandomStartingPoints
+import hu.bme.mit.theta.analysis.algorithm.mdd.varordering.siftVars
 import hu.bme.mit.theta.core.decl.VarDecl
 import hu.bme.mit.theta.core.model.BasicSubstitution
 import hu.bme.mit.theta.core.type.Expr
@@ -25,13 +27,26 @@ import hu.bme.mit.theta.core.utils.ExprUtils
 import hu.bme.mit.theta.core.utils.PathUtils
 import hu.bme.mit.theta.core.utils.indexings.VarIndexing
 
-fun MonolithicExpr.orderVars(): List<VarDecl<*>> {
-  val events = this.split().map { MonolithicExprEvent(it, this.transOffsetIndex) }.toList()
-  val orderedVars = orderVarsFromRandomStartingPoints(this.vars, events)
+@JvmOverloads
+fun MonolithicExpr.orderVars(
+  strategy: VarOrderingStrategy = VarOrderingStrategy.FORCE
+): List<VarDecl<*>> {
+  val orderedVars =
+    when (strategy) {
+      VarOrderingStrategy.DECLARATION -> this.vars
+      VarOrderingStrategy.FORCE -> orderVarsFromRandomStartingPoints(this.vars, events())
+      VarOrderingStrategy.SIFTING -> {
+        val events = events()
+        siftVars(orderVarsFromRandomStartingPoints(this.vars, events), events)
+      }
+    }
   return orderedVars.filter { !it.name.contains("_messageQueueOf") } +
     orderedVars.filter { it.name.contains("_messageQueueOf") }
 }
 
+fun MonolithicExpr.events(): List<Event> =
+  this.split().map { MonolithicExprEvent(it, this.transOffsetIndex) }.toList()
+
 // Filters affected variables
 class MonolithicExprEvent : Event {
 
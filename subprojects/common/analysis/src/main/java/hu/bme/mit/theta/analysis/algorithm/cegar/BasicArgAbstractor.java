@@ -26,7 +26,8 @@ import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder;
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
-import hu.bme.mit.theta.analysis.reachedset.Partition;
+import hu.bme.mit.theta.analysis.reachedset.CoveringIndex;
+import hu.bme.mit.theta.analysis.reachedset.PartitionedCoveringIndex;
 import hu.bme.mit.theta.analysis.waitlist.FifoWaitlist;
 import hu.bme.mit.theta.analysis.waitlist.Waitlist;
 import hu.bme.mit.theta.common.Utils;
@@ -36,6 +37,7 @@ import hu.bme.mit.theta.common.logging.NullLogger;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /** Basic implementation for the abstractor, relying on an ArgBuilder. */
 public class BasicArgAbstractor<S extends State, A extends Action, P extends Prec>
@@ -43,6 +45,7 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
 
     protected final ArgBuilder<S, A, P> argBuilder;
     protected final Function<? super S, ?> projection;
+    protected final Supplier<? extends CoveringIndex<S, A>> coveringIndexFactory;
     protected final Waitlist<ArgNode<S, A>> waitlist;
     protected final StopCriterion<S, A> stopCriterion;
     protected final Logger logger;
@@ -53,8 +56,25 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
             final Waitlist<ArgNode<S, A>> waitlist,
             final StopCriterion<S, A> stopCriterion,
             final Logger logger) {
+        this(
+                argBuilder,
+                projection,
+                () -> PartitionedCoveringIndex.create(projection),
+                waitlist,
+                stopCriterion,
+                logger);
+    }
+
+    protected BasicArgAbstractor(
+            final ArgBuilder<S, A, P> argBuilder,
+            final Function<? super S, ?> projection,
+            final Supplier<? extends CoveringIndex<S, A>> coveringIndexFactory,
+            final Waitlist<ArgNode<S, A>> waitlist,
+            final StopCriterion<S, A> stopCriterion,
+            final Logger logger) {
         this.argBuilder = checkNotNull(argBuilder);
         this.projection = checkNotNull(projection);
+        this.coveringIndexFactory = checkNotNull(coveringIndexFactory);
         this.waitlist = checkNotNull(waitlist);
         this.stopCriterion = checkNotNull(stopCriterion);
         this.logger = checkNotNull(logger);
@@ -92,27 +112,14 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
                 arg.getUnsafeNodes().count());
         logger.write(Level.SUBSTEP, "|  |  Building ARG...");
 
-        final Partition<ArgNode<S, A>, ?> reachedSet =
-                Partition.of(n -> projection.apply(n.getState()));
+        final CoveringIndex<S, A> reachedSet = coveringIndexFactory.get();
         waitlist.clear();
 
         reachedSet.addAll(arg.getNodes());
         waitlist.addAll(arg.getIncompleteNodes());
 
         if (!stopCriterion.canStop(arg)) {
-            while (!waitlist.isEmpty()) {
-                final ArgNode<S, A> node = waitlist.remove();
-
-                Collection<ArgNode<S, A>> newNodes = Collections.emptyList();
-                close(node, reachedSet.get(node));
-                if (!node.isSubsumed() && !node.isTarget()) {
-                    newNodes = argBuilder.expand(node, prec);
-                    reachedSet.addAll(newNodes);
-                    waitlist.addAll(newNodes);
-                }
-
-                if (stopCriterion.canStop(arg, newNodes)) break;
-            }
+            explore(arg, prec, reachedSet);
         }
 
         logger.write(Level.SUBSTEP, "done%n");
@@ -133,6 +140,26 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
         }
     }
 
+    /**
+     * Expands the nodes of the waitlist until it becomes empty or the stop criterion is satisfied.
+     */
+    protected void explore(
+            final ARG<S, A> arg, final P prec, final CoveringIndex<S, A> reachedSet) {
+        while (!waitlist.isEmpty()) {
+            final ArgNode<S, A> node = waitlist.remove();
+
+            Collection<ArgNode<S, A>> newNodes = Collections.emptyList();
+            close(node, reachedSet.getCandidates(node));
+            if (!node.isSubsumed() && !node.isTarget()) {
+                newNodes = argBuilder.expand(node, prec);
+                reachedSet.addAll(newNodes);
+                waitlist.addAll(newNodes);
+            }
+
+            if (stopCriterion.canStop(arg, newNodes)) break;
+        }
+    }
+
     protected void close(final ArgNode<S, A> node, final Collection<ArgNode<S, A>> candidates) {
         if (!node.isLeaf()) {
             return;
@@ -153,6 +180,7 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
     public static class Builder<S extends State, A extends Action, P extends Prec> {
         protected final ArgBuilder<S, A, P> argBuilder;
         protected Function<? super S, ?> projection;
+        protected Supplier<? extends CoveringIndex<S, A>> coveringIndexFactory;
         protected Waitlist<ArgNode<S, A>> waitlist;
         protected StopCriterion<S, A> stopCriterion;
         protected Logger logger;
@@ -170,6 +198,24 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
             return this;
         }
 
+        /**
+         * Sets the factory of the covering index used for finding covering nodes. If not set, a
+         * (linear) partition based on the projection is used.
+         */
+        public Builder<S, A, P> coveringIndex(
+                final Supplier<? extends CoveringIndex<S, A>> coveringIndexFactory) {
+            this.coveringIndexFactory = coveringIndexFactory;
+            return this;
+        }
+
+        protected Supplier<? extends CoveringIndex<S, A>> getCoveringIndexFactory() {
+            if (coveringIndexFactory != null) {
+                return coveringIndexFactory;
+            }
+            final Function<? super S, ?> projection = this.projection;
+            return () -> PartitionedCoveringIndex.create(projection);
+        }
+
         public Builder<S, A, P> waitlist(final Waitlist<ArgNode<S, A>> waitlist) {
             this.waitlist = waitlist;
             return this;
@@ -187,7 +233,12 @@ public class BasicArgAbstractor<S extends State, A extends Action, P extends Pre
 
         public BasicArgAbstractor<S, A, P> build() {
             return new BasicArgAbstractor<>(
-                    argBuilder, projection, waitlist, stopCriterion, logger);
+                    argBuilder,
+                    projection,
+                    getCoveringIndexFactory(),
+                    waitlist,
+                    stopCriterion,
+                    logger);
         }
     }
 }
@@ -0,0 +1,357 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.cegar;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.Prec;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder.Successor;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
+import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
+import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
+import hu.bme.mit.theta.analysis.reachedset.CoveringIndex;
+import hu.bme.mit.theta.analysis.reachedset.PartitionedCoveringIndex;
+import hu.bme.mit.theta.analysis.waitlist.FifoWaitlist;
+import hu.bme.mit.theta.analysis.waitlist.Waitlist;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.common.logging.NullLogger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Abstractor that computes the successors of multiple frontier nodes concurrently on a
+ * work-stealing pool. Each worker uses its own ArgBuilder (and thus its own analysis and solver),
+ * created by a factory, while the ARG, the reached set and the waitlist are only modified by the
+ * thread calling {@link #check}.
+ *
+ * <p>By default, nodes are taken from the waitlist in batches, and the computed successors are
+ * added to the ARG in the order of the batch, so the resulting ARG (including node IDs) is
+ * deterministic. In nondeterministic mode, successors are added as soon as they are computed and
+ * workers are refilled immediately, which keeps them busier but makes the ARG depend on timing.
+ * In both modes, the stop criterion is checked after each node, as in {@link BasicArgAbstractor}.
+ *
+ * <p>Components that are shared by the workers anyway, such as variable declarations (whose
+ * indexed constants are created lazily while unfolding statements) are accessed concurrently, so
+ * they have to be thread-safe.
+ */
+public final class ParallelArgAbstractor<S extends State, A extends Action, P extends Prec>
+        extends BasicArgAbstractor<S, A, P> {
+
+    private final Supplier<? extends ArgBuilder<S, A, P>> workerBuilderFactory;
+    private final Queue<ArgBuilder<S, A, P>> idleWorkerBuilders;
+    private final int parallelism;
+    private final int batchSize;
+    private final boolean deterministic;
+
+    private ParallelArgAbstractor(
+            final ArgBuilder<S, A, P> argBuilder,
+            final Supplier<? extends ArgBuilder<S, A, P>> workerBuilderFactory,
+            final Function<? super S, ?> projection,
+            final Supplier<? extends CoveringIndex<S, A>> coveringIndexFactory,
+            final Waitlist<ArgNode<S, A>> waitlist,
+            final StopCriterion<S, A> stopCriterion,
+            final Logger logger,
+            final int parallelism,
+            final int batchSize,
+            final boolean deterministic) {
+        super(argBuilder, projection, coveringIndexFactory, waitlist, stopCriterion, logger);
+        checkArgument(parallelism > 0, "Parallelism must be positive");
+        checkArgument(batchSize > 0, "Batch size must be positive");
+        this.workerBuilderFactory = checkNotNull(workerBuilderFactory);
+        this.idleWorkerBuilders = new ConcurrentLinkedQueue<>();
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * Creates a builder for the abstractor. The factory is called (at most once per worker) to
+     * create the ArgBuilders of the workers, which must not share non thread-safe components
+     * (e.g., solvers) with each other or with the given ArgBuilder.
+     */
+    public static <S extends State, A extends Action, P extends Prec> Builder<S, A, P> builder(
+            final ArgBuilder<S, A, P> argBuilder,
+            final Supplier<? extends ArgBuilder<S, A, P>> workerBuilderFactory) {
+        return new Builder<>(argBuilder, workerBuilderFactory);
+    }
+
+    @Override
+    protected void explore(
+            final ARG<S, A> arg, final P prec, final CoveringIndex<S, A> reachedSet) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            if (deterministic) {
+                exploreInBatches(arg, prec, reachedSet, pool);
+            } else {
+                exploreAsCompleted(arg, prec, reachedSet, pool);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void exploreInBatches(
+            final ARG<S, A> arg,
+            final P prec,
+            final CoveringIndex<S, A> reachedSet,
+            final ForkJoinPool pool) {
+        while (!waitlist.isEmpty()) {
+            final List<ArgNode<S, A>> batch = new ArrayList<>();
+            while (batch.size() < batchSize && !waitlist.isEmpty()) {
+                final ArgNode<S, A> node = waitlist.remove();
+                if (closeOrSchedule(node, reachedSet)) {
+                    batch.add(node);
+                } else if (stopCriterion.canStop(arg, Collections.emptyList())) {
+                    return;
+                }
+            }
+
+            final List<Future<List<Successor<S, A>>>> futures = new ArrayList<>();
+            for (final ArgNode<S, A> node : batch) {
+                futures.add(pool.submit(() -> computeSuccessors(node, prec)));
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                final Collection<ArgNode<S, A>> newNodes =
+                        addSuccessors(batch.get(i), getResult(futures.get(i)), reachedSet);
+                if (stopCriterion.canStop(arg, newNodes)) {
+                    futures.forEach(f -> f.cancel(true));
+                    return;
+                }
+            }
+        }
+    }
+
+    private void exploreAsCompleted(
+            final ARG<S, A> arg,
+            final P prec,
+            final CoveringIndex<S, A> reachedSet,
+            final ForkJoinPool pool) {
+        final CompletionService<Expansion<S, A>> completionService =
+                new ExecutorCompletionService<>(pool);
+        int running = 0;
+        while (running > 0 || !waitlist.isEmpty()) {
+            while (running < batchSize && !waitlist.isEmpty()) {
+                final ArgNode<S, A> node = waitlist.remove();
+                if (closeOrSchedule(node, reachedSet)) {
+                    completionService.submit(
+                            () -> new Expansion<>(node, computeSuccessors(node, prec)));
+                    running++;
+                } else if (stopCriterion.canStop(arg, Collections.emptyList())) {
+                    return;
+                }
+            }
+
+            if (running > 0) {
+                final Expansion<S, A> expansion = getResult(takeCompleted(completionService));
+                running--;
+                final Collection<ArgNode<S, A>> newNodes =
+                        addSuccessors(expansion.node(), expansion.successors(), reachedSet);
+                if (stopCriterion.canStop(arg, newNodes)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Tries to cover the node, and returns whether it has to be expanded. */
+    private boolean closeOrSchedule(
+            final ArgNode<S, A> node, final CoveringIndex<S, A> reachedSet) {
+        close(node, reachedSet.getCandidates(node));
+        return !node.isSubsumed() && !node.isTarget();
+    }
+
+    private Collection<ArgNode<S, A>> addSuccessors(
+            final ArgNode<S, A> node,
+            final List<Successor<S, A>> successors,
+            final CoveringIndex<S, A> reachedSet) {
+        final Collection<ArgNode<S, A>> newNodes = argBuilder.addSuccessors(node, successors);
+        reachedSet.addAll(newNodes);
+        waitlist.addAll(newNodes);
+        return newNodes;
+    }
+
+    private List<Successor<S, A>> computeSuccessors(final ArgNode<S, A> node, final P prec) {
+        ArgBuilder<S, A, P> workerBuilder = idleWorkerBuilders.poll();
+        if (workerBuilder == null) {
+            workerBuilder = createWorkerBuilder();
+        }
+        try {
+            return workerBuilder.computeSuccessors(node, prec);
+        } finally {
+            idleWorkerBuilders.add(workerBuilder);
+        }
+    }
+
+    private synchronized ArgBuilder<S, A, P> createWorkerBuilder() {
+        return checkNotNull(workerBuilderFactory.get());
+    }
+
+    private static <T> Future<T> takeCompleted(final CompletionService<T> completionService) {
+        try {
+            return completionService.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the ARG", e);
+        }
+    }
+
+    private static <T> T getResult(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the ARG", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Utils.lispStringBuilder(getClass().getSimpleName())
+                .add(waitlist)
+                .add(parallelism)
+                .add(deterministic ? "deterministic" : "nondeterministic")
+                .toString();
+    }
+
+    private record Expansion<S extends State, A extends Action>(
+            ArgNode<S, A> node, List<Successor<S, A>> successors) {}
+
+    public static final class Builder<S extends State, A extends Action, P extends Prec> {
+        private final ArgBuilder<S, A, P> argBuilder;
+        private final Supplier<? extends ArgBuilder<S, A, P>> workerBuilderFactory;
+        private Function<? super S, ?> projection;
+        private Supplier<? extends CoveringIndex<S, A>> coveringIndexFactory;
+        private Waitlist<ArgNode<S, A>> waitlist;
+        private StopCriterion<S, A> stopCriterion;
+        private Logger logger;
+        private int parallelism;
+        private int batchSize;
+        private boolean deterministic;
+
+        private Builder(
+                final ArgBuilder<S, A, P> argBuilder,
+                final Supplier<? extends ArgBuilder<S, A, P>> workerBuilderFactory) {
+            this.argBuilder = argBuilder;
+            this.workerBuilderFactory = workerBuilderFactory;
+            this.projection = s -> 0;
+            this.waitlist = FifoWaitlist.create();
+            this.stopCriterion = StopCriterions.firstCex();
+            this.logger = NullLogger.getInstance();
+            this.parallelism = Runtime.getRuntime().availableProcessors();
+            this.batchSize = 0;
+            this.deterministic = true;
+        }
+
+        public Builder<S, A, P> projection(final Function<? super S, ?> projection) {
+            this.projection = projection;
+            return this;
+        }
+
+        /** Sets the factory of the covering index used for finding covering nodes. */
+        public Builder<S, A, P> coveringIndex(
+                final Supplier<? extends CoveringIndex<S, A>> coveringIndexFactory) {
+            this.coveringIndexFactory = coveringIndexFactory;
+            return this;
+        }
+
+        public Builder<S, A, P> waitlist(final Waitlist<ArgNode<S, A>> waitlist) {
+            this.waitlist = waitlist;
+            return this;
+        }
+
+        public Builder<S, A, P> stopCriterion(final StopCriterion<S, A> stopCriterion) {
+            this.stopCriterion = stopCriterion;
+            return this;
+        }
+
+        public Builder<S, A, P> logger(final Logger logger) {
+            this.logger = logger;
+            return this;
+        }
+
+        /** Sets the number of worker threads. Defaults to the number of available processors. */
+        public Builder<S, A, P> parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the maximal number of nodes expanded concurrently. Defaults to four times the
+         * parallelism.
+         */
+        public Builder<S, A, P> batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Allows adding successors in the order they are computed instead of the order of the
+         * waitlist. This keeps the workers busier, but node IDs and the shape of the ARG may differ
+         * between runs.
+         */
+        public Builder<S, A, P> nondeterministic(final boolean nondeterministic) {
+            this.deterministic = !nondeterministic;
+            return this;
+        }
+
+        public ParallelArgAbstractor<S, A, P> build() {
+            final Supplier<? extends CoveringIndex<S, A>> coveringIndexFactory;
+            if (this.coveringIndexFactory != null) {
+                coveringIndexFactory = this.coveringIndexFactory;
+            } else {
+                final Function<? super S, ?> projection = this.projection;
+                coveringIndexFactory = () -> PartitionedCoveringIndex.create(projection);
+            }
+            return new ParallelArgAbstractor<>(
+                    argBuilder,
+                    workerBuilderFactory,
+                    projection,
+                    coveringIndexFactory,
+                    waitlist,
+                    stopCriterion,
+                    logger,
+                    parallelism,
+                    batchSize > 0 ? batchSize : 4 * parallelism,
+                    deterministic);
+        }
+    }
+}
@@ -19,60 +19,73 @@ import static hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.*;
 import static hu.bme.mit.theta.core.utils.ExprUtils.getConjuncts;
 
 import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr;
+import hu.bme.mit.theta.analysis.algorithm.ic3.Ic3Statistics.Phase;
 import hu.bme.mit.theta.core.model.MutableValuation;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.anytype.RefExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.utils.PathUtils;
 import hu.bme.mit.theta.solver.SolverStatus;
-import hu.bme.mit.theta.solver.UCSolver;
 import hu.bme.mit.theta.solver.utils.WithPushPop;
 import java.util.*;
 
+/**
+ * A frame of IC3. The lemmas of the frame are asserted to the shared solver once, guarded by the
+ * activation literal of the frame, so queries on the frame only have to assume the literal.
+ */
 public class Frame {
     private final Frame parent;
     private final Set<Expr<BoolType>> exprs;
 
-    private final UCSolver solver;
+    private final Ic3Solver solver;
+    private final RefExpr<BoolType> activationLiteral;
     private final MonolithicExpr monolithicExpr;
 
-    Frame(final Frame parent, UCSolver solver, MonolithicExpr monolithicExpr) {
+    Frame(final Frame parent, Ic3Solver solver, MonolithicExpr monolithicExpr) {
         this.parent = parent;
         this.solver = solver;
         this.monolithicExpr = monolithicExpr;
-        exprs = new HashSet<>();
+        activationLiteral = solver.freshLiteral();
+        exprs = new LinkedHashSet<>();
     }
 
     public void refine(Expr<BoolType> expression) {
         Collection<Expr<BoolType>> col = getConjuncts(expression);
         for (Expr<BoolType> e : col) {
-            exprs.add(e);
+            if (exprs.add(e)) {
+                solver.addGuarded(activationLiteral, PathUtils.unfold(e, 0));
+            }
         }
     }
 
     public Set<Expr<BoolType>> getExprs() {
-        return exprs;
+        return Collections.unmodifiableSet(exprs);
+    }
+
+    /** Gets the literal that has to be assumed for the lemmas of the frame to hold. */
+    public RefExpr<BoolType> getActivationLiteral() {
+        return activationLiteral;
     }
 
     public Collection<Expr<BoolType>> check(Expr<BoolType> target) {
-        try (var wpp = new WithPushPop(solver)) {
-            solver.track(PathUtils.unfold(target, 0));
-            for (Expr<BoolType> ex : exprs) {
-                solver.track(PathUtils.unfold(ex, 0));
-            }
-            SolverStatus status = solver.check();
+        SolverStatus status =
+                solver.check(
+                        Phase.BAD_STATE,
+                        List.of(
+                                activationLiteral,
+                                solver.literalOf(PathUtils.unfold(target, 0))));
 
-            if (status.isSat()) {
-                final Valuation model = solver.getModel();
-                final MutableValuation filteredModel = new MutableValuation();
-                monolithicExpr.getVars().stream()
-                        .map(varDecl -> varDecl.getConstDecl(0))
-                        .filter(model.toMap()::containsKey)
-                        .forEach(decl -> filteredModel.put(decl, model.eval(decl).get()));
-                return getConjuncts(PathUtils.foldin(filteredModel.toExpr(), 0));
-            } else {
-                return null;
-            }
+        if (status.isSat()) {
+            final Valuation model = solver.getModel();
+            final MutableValuation filteredModel = new MutableValuation();
+            monolithicExpr.getVars().stream()
+                    .map(varDecl -> varDecl.getConstDecl(0))
+                    .filter(model.toMap()::containsKey)
+                    .forEach(decl -> filteredModel.put(decl, model.eval(decl).get()));
+            return getConjuncts(PathUtils.foldin(filteredModel.toExpr(), 0));
+        } else {
+            return null;
         }
     }
 
@@ -80,10 +93,12 @@ public class Frame {
         if (this.parent.parent == null) {
             return false;
         }
-        try (var wpp = new WithPushPop(solver)) {
-            solver.track(PathUtils.unfold(Not(And(parent.getExprs())), 0));
-            solver.track(PathUtils.unfold(And(exprs), 0));
-            return solver.check().isUnsat();
+        if (exprs.containsAll(parent.exprs)) {
+            return true;
+        }
+        try (var wpp = new WithPushPop(solver.getSolver())) {
+            solver.getSolver().add(PathUtils.unfold(Not(And(parent.getExprs())), 0));
+            return solver.check(Phase.PROPAGATION, List.of(activationLiteral)).isUnsat();
         }
     }
 }
@@ -27,6 +27,7 @@ import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr;
 import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExprKt;
+import hu.bme.mit.theta.analysis.algorithm.ic3.Ic3Statistics.Phase;
 import hu.bme.mit.theta.analysis.expl.ExplState;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.expr.ExprState;
@@ -37,30 +38,65 @@ import hu.bme.mit.theta.analysis.expr.refinement.ItpRefutation;
 import hu.bme.mit.theta.analysis.pred.PredState;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.model.MutableValuation;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
-import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
+import hu.bme.mit.theta.core.type.anytype.RefExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.ExprUtils;
 import hu.bme.mit.theta.core.utils.PathUtils;
+import hu.bme.mit.theta.core.utils.indexings.VarIndexing;
 import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory;
 import hu.bme.mit.theta.solver.SolverFactory;
-import hu.bme.mit.theta.solver.UCSolver;
 import hu.bme.mit.theta.solver.utils.WithPushPop;
 import java.util.*;
+import java.util.function.BooleanSupplier;
 
+/**
+ * IC3 (property directed reachability) over a {@link MonolithicExpr}. All queries go to a single
+ * incremental solver: the initial states, the transition relation and the cube literals are
+ * asserted once and enabled by activation literals, and frame lemmas are guarded by the activation
+ * literal of their frame. Proof obligations are processed from a priority queue ordered by frame.
+ *
+ * <p>The options enable the following:
+ *
+ * <ul>
+ *   <li>unSatOpt: shrinking blocked cubes by unsat cores, followed by inductive generalization
+ *       that blocks counterexamples to generalization (CTGs),
+ *   <li>notBOpt: assuming the negation of the cube when blocking it (relative induction),
+ *   <li>propagateOpt: pushing lemmas to later frames,
+ *   <li>filterOpt: lifting predecessors to partial cubes using the solver,
+ *   <li>propertyOpt: checking the bad states one step ahead and adding the property to frames.
+ * </ul>
+ *
+ * formerFramesOpt is accepted for compatibility but has no effect.
+ */
 public class Ic3Checker
         implements SafetyChecker<EmptyProof, Trace<ExplState, ExprAction>, UnitPrec> {
+    private static final int MAX_CTGS = 3;
+    private static final VarIndexing ZERO = VarIndexingFactory.indexing(0);
+
     private final MonolithicExpr monolithicExpr;
     private final List<Frame> frames;
     private final SolverFactory solverFactory;
-    private final UCSolver solver;
-    private final boolean formerFramesOpt;
+    private final Ic3Solver solver;
+    private final Ic3Statistics statistics;
+    private final RefExpr<BoolType> transLiteral;
+    private final Set<ConstDecl<?>> modelConsts;
+    private final Set<ConstDecl<?>> liftingConsts;
     private final boolean unSatOpt;
     private final boolean notBOpt;
     private final boolean propagateOpt;
     private final boolean filterOpt;
     private int currentFrameNumber;
+    private long obligationCount;
+    private LemmaStore lemmaStore;
+    private int workerId;
+    private int lemmaCursor;
+    private final List<LemmaStore.Lemma> pendingLemmas = new ArrayList<>();
+    private Random random;
+    private BooleanSupplier cancelled = () -> false;
     private final boolean propertyOpt;
     private final Logger logger;
 
@@ -79,7 +115,6 @@ public class Ic3Checker
             boolean propertyOpt,
             Logger logger) {
         this.monolithicExpr = monolithicExpr;
-        this.formerFramesOpt = formerFramesOpt;
         this.unSatOpt = unSatOpt;
         this.notBOpt = notBOpt;
         this.propagateOpt = propagateOpt;
@@ -87,204 +122,477 @@ public class Ic3Checker
         this.propertyOpt = propertyOpt;
         this.logger = logger;
         this.solverFactory = solverFactory;
+        statistics = new Ic3Statistics();
+        solver = new Ic3Solver(solverFactory.createSolver(), statistics);
+
+        final Expr<BoolType> unfoldedTrans = PathUtils.unfold(monolithicExpr.getTransExpr(), ZERO);
+        transLiteral = solver.literalOf(unfoldedTrans);
+        final Set<ConstDecl<?>> stateConsts = new LinkedHashSet<>();
+        monolithicExpr.getVars().forEach(v -> stateConsts.add(v.getConstDecl(0)));
+        liftingConsts = new LinkedHashSet<>(ExprUtils.getConstants(unfoldedTrans));
+        liftingConsts.removeAll(stateConsts);
+        modelConsts = new LinkedHashSet<>(stateConsts);
+        modelConsts.addAll(liftingConsts);
+
         frames = new ArrayList<>();
-        solver = solverFactory.createUCSolver();
         frames.add(new Frame(null, solver, monolithicExpr));
         frames.get(0).refine(monolithicExpr.getInitExpr());
         currentFrameNumber = 0;
     }
 
+    /**
+     * Makes the checker a worker of {@link ParallelIc3Checker}: learnt lemmas are published to the
+     * store and lemmas of other workers are imported, generalization uses a literal order depending
+     * on the worker and the check gives up (returning unknown) once cancelled.
+     */
+    void shareLemmas(LemmaStore lemmaStore, int workerId, BooleanSupplier cancelled) {
+        this.lemmaStore = lemmaStore;
+        this.workerId = workerId;
+        this.random = workerId == 0 ? null : new Random(workerId);
+        this.cancelled = cancelled;
+    }
+
     @Override
     public SafetyResult<EmptyProof, Trace<ExplState, ExprAction>> check(UnitPrec prec) {
         // check if init violates prop
         var firstTrace = checkFirst();
         if (firstTrace != null) {
-            final var result = SafetyResult.unsafe(firstTrace, EmptyProof.getInstance());
-            return result;
+            statistics.setFrames(frames.size());
+            return SafetyResult.unsafe(firstTrace, EmptyProof.getInstance(), statistics);
         }
         while (true) {
+            if (cancelled.getAsBoolean()) {
+                statistics.setFrames(frames.size());
+                return SafetyResult.unknown(statistics);
+            }
+            importLemmas();
             final Collection<Expr<BoolType>> counterExample =
                     checkCurrentFrame(Not(monolithicExpr.getPropExpr()));
             if (counterExample != null) {
                 var proofObligationsList =
                         tryBlock(
                                 new ProofObligation(
-                                        new HashSet<>(counterExample), currentFrameNumber));
+                                        new LinkedHashSet<>(counterExample),
+                                        currentFrameNumber,
+                                        null,
+                                        obligationCount++));
                 if (proofObligationsList != null) {
                     var trace = makeTrace(proofObligationsList);
-                    final var result = SafetyResult.unsafe(trace, EmptyProof.getInstance());
-                    return result;
+                    statistics.setFrames(frames.size());
+                    logger.write(Logger.Level.MAINSTEP, "IC3 statistics:%n%s", statistics);
+                    return SafetyResult.unsafe(trace, EmptyProof.getInstance(), statistics);
                 }
             } else {
                 if (propagate()) {
-                    final SafetyResult<EmptyProof, Trace<ExplState, ExprAction>> result =
-                            SafetyResult.safe(EmptyProof.getInstance());
-                    return result;
+                    statistics.setFrames(frames.size());
+                    logger.write(Logger.Level.MAINSTEP, "IC3 statistics:%n%s", statistics);
+                    return SafetyResult.safe(EmptyProof.getInstance(), statistics);
                 }
             }
         }
     }
 
+    /** Releases the solver of the checker, which cannot be used afterwards. */
+    void close() {
+        solver.close();
+    }
+
+    /** Gets the statistics collected so far. */
+    public Ic3Statistics getStatistics() {
+        return statistics;
+    }
+
     LinkedList<ProofObligation> tryBlock(ProofObligation mainProofObligation) {
-        final LinkedList<ProofObligation> proofObligationsQueue = new LinkedList<ProofObligation>();
+        final PriorityQueue<ProofObligation> proofObligationsQueue = new PriorityQueue<>();
         proofObligationsQueue.add(mainProofObligation);
+        statistics.addObligation();
         while (!proofObligationsQueue.isEmpty()) {
-            final ProofObligation proofObligation = proofObligationsQueue.getLast();
+            if (cancelled.getAsBoolean()) {
+                return null;
+            }
+            final ProofObligation proofObligation = proofObligationsQueue.peek();
+            final int time = proofObligation.getTime();
 
-            if (proofObligation.getTime() == 0) {
-                return proofObligationsQueue;
+            if (time == 0) {
+                return proofObligation.getChain();
+            }
+            if (isBlocked(proofObligation)) {
+                proofObligationsQueue.poll();
+                continue;
             }
 
-            final Collection<Expr<BoolType>> b;
-            final Collection<Expr<BoolType>> unSatCore;
-            try (var wpp = new WithPushPop(solver)) {
+            final RelativeResult result =
+                    checkRelative(
+                            Phase.BLOCKING, time - 1, proofObligation.getExpressions(), notBOpt);
+            if (result.isSat()) {
+                final Set<Expr<BoolType>> predecessor = predecessor(result.model());
+                // a predecessor intersecting the initial states completes a counterexample
+                final int predecessorTime =
+                        time > 1 && intersectsInit(Phase.BLOCKING, predecessor) ? 0 : time - 1;
+                proofObligationsQueue.add(
+                        newObligation(predecessor, predecessorTime, proofObligation));
+            } else {
+                final Set<Expr<BoolType>> lemma =
+                        generalize(proofObligation.getExpressions(), result.core(), time);
+                addLemma(lemma, time);
+                proofObligationsQueue.poll();
+                if (time < currentFrameNumber) {
+                    proofObligationsQueue.add(
+                            newObligation(
+                                    proofObligation.getExpressions(),
+                                    time + 1,
+                                    proofObligation.getSuccessor()));
+                }
+            }
+        }
+        return null;
+    }
+
+    private ProofObligation newObligation(
+            Set<Expr<BoolType>> cube, int time, ProofObligation successor) {
+        statistics.addObligation();
+        return new ProofObligation(cube, time, successor, obligationCount++);
+    }
+
+    private boolean isBlocked(ProofObligation proofObligation) {
+        final List<Expr<BoolType>> assumptions = new ArrayList<>();
+        assumptions.add(frames.get(proofObligation.getTime()).getActivationLiteral());
+        assumptions.addAll(literals(proofObligation.getExpressions(), ZERO).keySet());
+        return solver.check(Phase.BLOCKING, assumptions).isUnsat();
+    }
+
+    private void addLemma(Set<Expr<BoolType>> cube, int time) {
+        final Expr<BoolType> lemma = Not(And(cube));
+        for (int i = 1; i <= time; ++i) {
+            frames.get(i).refine(lemma);
+        }
+        statistics.addLemma();
+        publish(lemma, time);
+    }
 
-                frames.get(proofObligation.getTime() - 1)
-                        .getExprs()
-                        .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                if (notBOpt) {
-                    solver.track(PathUtils.unfold(Not(And(proofObligation.getExpressions())), 0));
+    private void publish(Expr<BoolType> clause, int level) {
+        if (lemmaStore != null
+                && lemmaStore.publish(new LemmaStore.Lemma(clause, level, workerId))) {
+            statistics.addSharedLemma();
+        }
+    }
+
+    /**
+     * Adds the lemmas published by other workers to the frames. Lemmas of levels not reached yet
+     * are kept until the frame is created.
+     */
+    private void importLemmas() {
+        if (lemmaStore == null) {
+            return;
+        }
+        lemmaCursor =
+                lemmaStore.read(
+                        lemmaCursor,
+                        lemma -> {
+                            if (lemma.worker() != workerId) {
+                                pendingLemmas.add(lemma);
+                            }
+                        });
+        final Iterator<LemmaStore.Lemma> pending = pendingLemmas.iterator();
+        while (pending.hasNext()) {
+            final LemmaStore.Lemma lemma = pending.next();
+            if (lemma.level() > currentFrameNumber) {
+                continue;
+            }
+            pending.remove();
+            if (!frames.get(lemma.level()).getExprs().contains(lemma.clause())) {
+                for (int i = 1; i <= lemma.level(); ++i) {
+                    frames.get(i).refine(lemma.clause());
                 }
-                if (proofObligation.getTime() > 2 && formerFramesOpt) { // lehet, hogy 1, vagy 2??
-                    solver.track(
+                statistics.addImportedLemma();
+            }
+        }
+    }
+
+    /**
+     * Checks whether a frame is inductive. Without sharing, a frame equal to the next one is
+     * inductive by construction, but imported lemmas were only checked relative to the frames of
+     * the worker that learnt them.
+     */
+    private boolean isInductive(int frame) {
+        if (lemmaStore == null) {
+            return true;
+        }
+        try (var wpp = new WithPushPop(solver.getSolver())) {
+            solver.getSolver()
+                    .add(
                             PathUtils.unfold(
-                                    Not(And(frames.get(proofObligation.getTime() - 2).getExprs())),
-                                    monolithicExpr
-                                            .getTransOffsetIndex())); // 2 vel korábbi frame-ban
-                    // levő dolgok
-                }
+                                    Not(And(frames.get(frame).getExprs())),
+                                    monolithicExpr.getTransOffsetIndex()));
+            return solver.check(
+                            Phase.PROPAGATION,
+                            List.of(frames.get(frame).getActivationLiteral(), transLiteral))
+                    .isUnsat();
+        }
+    }
 
-                getConjuncts(monolithicExpr.getTransExpr())
-                        .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                proofObligation
-                        .getExpressions()
-                        .forEach(
-                                ex ->
-                                        solver.track(
-                                                PathUtils.unfold(
-                                                        ex, monolithicExpr.getTransOffsetIndex())));
-
-                if (solver.check().isSat()) {
-                    final Valuation model = solver.getModel();
-
-                    final MutableValuation filteredModel = new MutableValuation();
-                    monolithicExpr.getVars().stream()
-                            .map(varDecl -> varDecl.getConstDecl(0))
-                            .filter(model.toMap()::containsKey)
-                            .forEach(decl -> filteredModel.put(decl, model.eval(decl).get()));
-                    if (filterOpt) {
-                        var vars = new HashSet<>(filteredModel.toMap().keySet());
-                        for (var var : vars) {
-                            if (!(var.getType() instanceof BoolType)) {
-                                continue;
-                            }
-                            var origValue = model.eval(var).get();
-                            var negatedValue =
-                                    BoolLitExpr.of(!((BoolLitExpr) origValue).getValue());
-                            filteredModel.put(var, negatedValue);
-                            try (var wpp2 = new WithPushPop(solver)) {
-                                solver.track(PathUtils.unfold(filteredModel.toExpr(), 0));
-                                if (solver.check().isSat()) {
-                                    filteredModel.remove(var);
-                                } else {
-                                    filteredModel.put(var, origValue);
-                                }
-                            }
-                        }
-                    }
-                    b =
-                            getConjuncts(
-                                    PathUtils.foldin(
-                                            PathUtils.extractValuation(filteredModel, 0).toExpr(),
-                                            0));
-                    unSatCore = null;
-                } else {
-                    b = null;
-                    unSatCore = solver.getUnsatCore();
+    /**
+     * Shrinks a blocked cube to the literals in the unsat core, then tries to drop further
+     * literals while the cube stays inductive relative to the previous frame.
+     */
+    private Set<Expr<BoolType>> generalize(
+            Set<Expr<BoolType>> cube, Set<Expr<BoolType>> core, int time) {
+        if (!unSatOpt) {
+            return cube;
+        }
+        Set<Expr<BoolType>> result =
+                core.size() < cube.size() ? excludeInit(Phase.GENERALIZATION, core, cube) : cube;
+        final List<Expr<BoolType>> order = new ArrayList<>(result);
+        if (random != null) {
+            Collections.shuffle(order, random);
+        }
+        for (final Expr<BoolType> literal : order) {
+            if (result.size() == 1 || !result.contains(literal)) {
+                continue;
+            }
+            final Set<Expr<BoolType>> candidate = new LinkedHashSet<>(result);
+            candidate.remove(literal);
+            final Set<Expr<BoolType>> inductive = down(candidate, time);
+            if (inductive != null) {
+                result = inductive;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Searches for an inductive subcube of the candidate. Counterexamples to generalization (lifted
+     * like predecessors) that are inductive relative to an earlier frame are blocked there, others
+     * are used to drop the literals they violate. Returns null if no such subcube is found.
+     */
+    private Set<Expr<BoolType>> down(Set<Expr<BoolType>> candidate, int time) {
+        Set<Expr<BoolType>> cube = candidate;
+        int ctgs = 0;
+        while (true) {
+            if (cube.isEmpty() || intersectsInit(Phase.GENERALIZATION, cube)) {
+                return null;
+            }
+            final RelativeResult result = checkRelative(Phase.GENERALIZATION, time - 1, cube, true);
+            if (!result.isSat()) {
+                return result.core().size() < cube.size()
+                        ? excludeInit(Phase.GENERALIZATION, result.core(), cube)
+                        : cube;
+            }
+            final Set<Expr<BoolType>> ctg = predecessor(result.model());
+            if (ctgs < MAX_CTGS && time > 1 && !intersectsInit(Phase.GENERALIZATION, ctg)) {
+                final RelativeResult ctgResult =
+                        checkRelative(Phase.GENERALIZATION, time - 2, ctg, true);
+                if (!ctgResult.isSat()) {
+                    addLemma(excludeInit(Phase.GENERALIZATION, ctgResult.core(), ctg), time - 1);
+                    statistics.addCtg();
+                    ctgs++;
+                    continue;
                 }
             }
-            if (b == null) {
-
-                final Collection<Expr<BoolType>> newCore = new ArrayList<Expr<BoolType>>();
-                newCore.addAll(proofObligation.getExpressions());
-                if (unSatOpt) {
-                    for (Expr<BoolType> i : proofObligation.getExpressions()) {
-                        if (!unSatCore.contains(
-                                PathUtils.unfold(i, monolithicExpr.getTransOffsetIndex()))) {
-                            newCore.remove(i);
-                            final boolean isSat;
-                            try (var wpp = new WithPushPop(solver)) {
-                                for (Expr<BoolType> solverex : newCore) {
-                                    solver.track(PathUtils.unfold(solverex, 0));
-                                }
-                                solver.track(PathUtils.unfold(monolithicExpr.getInitExpr(), 0));
-                                isSat = solver.check().isSat();
-                            }
-                            if (isSat) {
-                                newCore.add(i);
-                            }
-                        }
-                    }
+            ctgs = 0;
+            final Set<Expr<BoolType>> joined = new LinkedHashSet<>(cube);
+            joined.retainAll(stateCube(result.model()));
+            cube = joined;
+        }
+    }
+
+    /** Adds literals of the cube to the core until it does not intersect the initial states. */
+    private Set<Expr<BoolType>> excludeInit(
+            Phase phase, Set<Expr<BoolType>> core, Set<Expr<BoolType>> cube) {
+        final Set<Expr<BoolType>> result = new LinkedHashSet<>(core);
+        final Iterator<Expr<BoolType>> remaining = cube.iterator();
+        while (remaining.hasNext() && intersectsInit(phase, result)) {
+            Expr<BoolType> literal = remaining.next();
+            while (result.contains(literal) && remaining.hasNext()) {
+                literal = remaining.next();
+            }
+            result.add(literal);
+        }
+        return result;
+    }
+
+    private boolean intersectsInit(Phase phase, Set<Expr<BoolType>> cube) {
+        final List<Expr<BoolType>> assumptions = new ArrayList<>();
+        assumptions.add(frames.get(0).getActivationLiteral());
+        assumptions.addAll(literals(cube, ZERO).keySet());
+        return solver.check(phase, assumptions).isSat();
+    }
+
+    /**
+     * The result of a relative induction query: a model if a predecessor exists, otherwise the
+     * literals of the cube that appear in the unsat core.
+     */
+    private record RelativeResult(Valuation model, Set<Expr<BoolType>> core) {
+        boolean isSat() {
+            return model != null;
+        }
+    }
+
+    /** Checks whether the cube has a predecessor in the given frame (outside the cube). */
+    private RelativeResult checkRelative(
+            Phase phase, int frame, Set<Expr<BoolType>> cube, boolean assumeNotCube) {
+        final Map<Expr<BoolType>, Expr<BoolType>> primedLiterals =
+                literals(cube, monolithicExpr.getTransOffsetIndex());
+        final List<Expr<BoolType>> assumptions = new ArrayList<>();
+        assumptions.add(frames.get(frame).getActivationLiteral());
+        assumptions.add(transLiteral);
+        assumptions.addAll(primedLiterals.keySet());
+        try (var wpp = new WithPushPop(solver.getSolver())) {
+            if (assumeNotCube) {
+                solver.getSolver().add(PathUtils.unfold(Not(And(cube)), ZERO));
+            }
+            if (solver.check(phase, assumptions).isSat()) {
+                return new RelativeResult(copyModel(), null);
+            }
+            return new RelativeResult(
+                    null, selectCore(solver.getUnsatAssumptions(assumptions), primedLiterals));
+        }
+    }
+
+    /** Gets the activation literals of the literals of a cube unfolded with the indexing. */
+    private Map<Expr<BoolType>, Expr<BoolType>> literals(
+            Collection<Expr<BoolType>> cube, VarIndexing indexing) {
+        final Map<Expr<BoolType>, Expr<BoolType>> result = new LinkedHashMap<>();
+        for (final Expr<BoolType> literal : cube) {
+            result.put(solver.literalOf(PathUtils.unfold(literal, indexing)), literal);
+        }
+        return result;
+    }
+
+    private static Set<Expr<BoolType>> selectCore(
+            Collection<? extends Expr<BoolType>> unsatAssumptions,
+            Map<Expr<BoolType>, Expr<BoolType>> literals) {
+        final Set<Expr<BoolType>> core = new LinkedHashSet<>();
+        for (final Expr<BoolType> assumption : unsatAssumptions) {
+            final Expr<BoolType> literal = literals.get(assumption);
+            if (literal != null) {
+                core.add(literal);
+            }
+        }
+        return core;
+    }
+
+    private Valuation copyModel() {
+        final Valuation model = solver.getModel();
+        final MutableValuation copy = new MutableValuation();
+        for (final ConstDecl<?> decl : modelConsts) {
+            model.eval(decl).ifPresent(value -> copy.put(decl, value));
+        }
+        return copy;
+    }
+
+    private Set<Expr<BoolType>> stateCube(Valuation model) {
+        final MutableValuation filteredModel = new MutableValuation();
+        monolithicExpr.getVars().stream()
+                .map(varDecl -> varDecl.getConstDecl(0))
+                .forEach(decl -> model.eval(decl).ifPresent(v -> filteredModel.put(decl, v)));
+        return new LinkedHashSet<>(getConjuncts(PathUtils.foldin(filteredModel.toExpr(), 0)));
+    }
+
+    /**
+     * Gets the cube of the predecessor state in the model. If lifting is enabled, literals are
+     * dropped as long as all states of the cube can step to the successor state of the model with
+     * the inputs of the model, which is checked by an unsat core of the negated transition
+     * relation. This is sound even if the transition relation is not total.
+     */
+    private Set<Expr<BoolType>> predecessor(Valuation model) {
+        final Set<Expr<BoolType>> cube = stateCube(model);
+        if (!filterOpt) {
+            return cube;
+        }
+        final MutableValuation fixed = new MutableValuation();
+        for (final ConstDecl<?> decl : liftingConsts) {
+            model.eval(decl).ifPresent(value -> fixed.put(decl, value));
+        }
+        final Map<Expr<BoolType>, Expr<BoolType>> cubeLiterals = literals(cube, ZERO);
+        try (var wpp = new WithPushPop(solver.getSolver())) {
+            solver.getSolver().add(fixed.toExpr());
+            Set<Expr<BoolType>> lifted = liftingCore(cube, cubeLiterals);
+            if (lifted == null) {
+                return cube;
+            }
+            // the core is not necessarily minimal, so try to drop the remaining literals too
+            for (final Expr<BoolType> literal : List.copyOf(lifted)) {
+                if (!lifted.contains(literal)) {
+                    continue;
                 }
-                for (int i = 1; i <= proofObligation.getTime(); ++i) {
-                    frames.get(i).refine(Not(And(newCore)));
+                final Set<Expr<BoolType>> candidate = new LinkedHashSet<>(lifted);
+                candidate.remove(literal);
+                final Set<Expr<BoolType>> core = liftingCore(candidate, cubeLiterals);
+                if (core != null) {
+                    lifted = core;
                 }
-                proofObligationsQueue.removeLast();
-            } else {
-                proofObligationsQueue.add(
-                        new ProofObligation(new HashSet<>(b), proofObligation.getTime() - 1));
             }
+            return lifted;
+        }
+    }
+
+    /**
+     * Checks whether the negated transition relation is unsatisfiable with the given part of the
+     * cube, returning the part of the cube in the unsat core, or null if it is satisfiable.
+     */
+    private Set<Expr<BoolType>> liftingCore(
+            Set<Expr<BoolType>> cube, Map<Expr<BoolType>, Expr<BoolType>> cubeLiterals) {
+        final Map<Expr<BoolType>, Expr<BoolType>> literals = new LinkedHashMap<>();
+        cubeLiterals.forEach(
+                (activationLiteral, literal) -> {
+                    if (cube.contains(literal)) {
+                        literals.put(activationLiteral, literal);
+                    }
+                });
+        final List<Expr<BoolType>> assumptions = new ArrayList<>(literals.keySet());
+        assumptions.add(Not(transLiteral));
+        if (solver.check(Phase.LIFTING, assumptions).isUnsat()) {
+            return selectCore(solver.getUnsatAssumptions(assumptions), literals);
         }
         return null;
     }
 
     public Trace<ExplState, ExprAction> checkFirst() {
-        try (var wpp = new WithPushPop(solver)) {
-            solver.track(
-                    PathUtils.unfold(monolithicExpr.getInitExpr(), VarIndexingFactory.indexing(0)));
-            solver.track(
-                    PathUtils.unfold(
-                            Not(monolithicExpr.getPropExpr()), VarIndexingFactory.indexing(0)));
-            if (solver.check().isSat()) {
+        final Expr<BoolType> initLiteral = frames.get(0).getActivationLiteral();
+        final var initViolates =
+                solver.check(
+                        Phase.INITIAL,
+                        List.of(
+                                initLiteral,
+                                solver.literalOf(
+                                        PathUtils.unfold(
+                                                Not(monolithicExpr.getPropExpr()), ZERO))));
+        if (initViolates.isSat()) {
+            return Trace.of(
+                    List.of(
+                            ExplState.of(
+                                    PathUtils.extractValuation(
+                                            solver.getModel(), ZERO, monolithicExpr.getVars()))),
+                    List.of());
+        }
+        if (propertyOpt) {
+            final var stepViolates =
+                    solver.check(
+                            Phase.INITIAL,
+                            List.of(
+                                    initLiteral,
+                                    transLiteral,
+                                    solver.literalOf(
+                                            PathUtils.unfold(
+                                                    Not(monolithicExpr.getPropExpr()),
+                                                    monolithicExpr.getTransOffsetIndex()))));
+            if (stepViolates.isSat()) {
                 return Trace.of(
                         List.of(
                                 ExplState.of(
                                         PathUtils.extractValuation(
                                                 solver.getModel(),
-                                                VarIndexingFactory.indexing(0),
+                                                ZERO,
+                                                monolithicExpr.getVars())),
+                                ExplState.of(
+                                        PathUtils.extractValuation(
+                                                solver.getModel(),
+                                                monolithicExpr.getTransOffsetIndex(),
                                                 monolithicExpr.getVars()))),
-                        List.of());
-            }
-        }
-        if (propertyOpt) {
-            try (var wpp = new WithPushPop(solver)) {
-                solver.track(
-                        PathUtils.unfold(
-                                monolithicExpr.getInitExpr(), VarIndexingFactory.indexing(0)));
-                solver.track(
-                        PathUtils.unfold(
-                                monolithicExpr.getTransExpr(), VarIndexingFactory.indexing(0)));
-                solver.track(
-                        PathUtils.unfold(
-                                Not(monolithicExpr.getPropExpr()),
-                                monolithicExpr.getTransOffsetIndex()));
-                if (solver.check().isSat()) {
-                    return Trace.of(
-                            List.of(
-                                    ExplState.of(
-                                            PathUtils.extractValuation(
-                                                    solver.getModel(),
-                                                    VarIndexingFactory.indexing(0),
-                                                    monolithicExpr.getVars())),
-                                    ExplState.of(
-                                            PathUtils.extractValuation(
-                                                    solver.getModel(),
-                                                    monolithicExpr.getTransOffsetIndex(),
-                                                    monolithicExpr.getVars()))),
-                            List.of(MonolithicExprKt.action(monolithicExpr)));
-                } else {
-                    return null;
-                }
+                        List.of(MonolithicExprKt.action(monolithicExpr)));
+            } else {
+                return null;
             }
         } else {
             return null;
@@ -293,24 +601,20 @@ public class Ic3Checker
 
     public Collection<Expr<BoolType>> checkCurrentFrame(Expr<BoolType> target) {
         if (propertyOpt) {
-            try (var wpp = new WithPushPop(solver)) {
-                frames.get(currentFrameNumber)
-                        .getExprs()
-                        .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                getConjuncts(monolithicExpr.getTransExpr())
-                        .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                solver.track(PathUtils.unfold(target, monolithicExpr.getTransOffsetIndex()));
-                if (solver.check().isSat()) {
-                    final Valuation model = solver.getModel();
-                    final MutableValuation filteredModel = new MutableValuation();
-                    monolithicExpr.getVars().stream()
-                            .map(varDecl -> varDecl.getConstDecl(0))
-                            .filter(model.toMap()::containsKey)
-                            .forEach(decl -> filteredModel.put(decl, model.eval(decl).get()));
-                    return getConjuncts(PathUtils.foldin(filteredModel.toExpr(), 0));
-                } else {
-                    return null;
-                }
+            final var status =
+                    solver.check(
+                            Phase.BAD_STATE,
+                            List.of(
+                                    frames.get(currentFrameNumber).getActivationLiteral(),
+                                    transLiteral,
+                                    solver.literalOf(
+                                            PathUtils.unfold(
+                                                    target,
+                                                    monolithicExpr.getTransOffsetIndex()))));
+            if (status.isSat()) {
+                return predecessor(copyModel());
+            } else {
+                return null;
             }
         } else {
             return frames.get(currentFrameNumber).check(target);
@@ -326,25 +630,34 @@ public class Ic3Checker
 
         if (propagateOpt) {
             for (int j = 1; j < currentFrameNumber; j++) {
-                for (var c : frames.get(j).getExprs()) {
-                    try (var wpp = new WithPushPop(solver)) {
-                        frames.get(j)
-                                .getExprs()
-                                .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                        getConjuncts(monolithicExpr.getTransExpr())
-                                .forEach(ex -> solver.track(PathUtils.unfold(ex, 0)));
-                        solver.track(
-                                PathUtils.unfold(Not(c), monolithicExpr.getTransOffsetIndex()));
-                        if (solver.check().isUnsat()) {
-                            frames.get(j + 1).refine(c);
-                        }
+                final Frame next = frames.get(j + 1);
+                for (var c : List.copyOf(frames.get(j).getExprs())) {
+                    if (next.getExprs().contains(c)) {
+                        continue;
+                    }
+                    final var status =
+                            solver.check(
+                                    Phase.PROPAGATION,
+                                    List.of(
+                                            frames.get(j).getActivationLiteral(),
+                                            transLiteral,
+                                            solver.literalOf(
+                                                    PathUtils.unfold(
+                                                            Not(c),
+                                                            monolithicExpr
+                                                                    .getTransOffsetIndex()))));
+                    if (status.isUnsat()) {
+                        next.refine(c);
+                        publish(c, j + 1);
                     }
                 }
-                if (frames.get(j + 1).equalsParent()) {
+                if (next.equalsParent() && isInductive(j)) {
                     return true;
                 }
             }
-        } else if (currentFrameNumber > 1 && frames.get(currentFrameNumber - 1).equalsParent()) {
+        } else if (currentFrameNumber > 1
+                && frames.get(currentFrameNumber - 1).equalsParent()
+                && isInductive(currentFrameNumber - 2)) {
             return true;
         }
         return false;
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.ic3;
+
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Imply;
+
+import hu.bme.mit.theta.analysis.algorithm.ic3.Ic3Statistics.Phase;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.anytype.RefExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverStatus;
+import hu.bme.mit.theta.solver.utils.ActivationLiterals;
+import java.util.Collection;
+
+/**
+ * The incremental solver shared by the frames of {@link Ic3Checker}. Expressions (the initial
+ * states, the transition relation, cube literals) are asserted once and enabled per query by
+ * activation literals, while frame lemmas are guarded by the activation literal of their frame.
+ */
+final class Ic3Solver {
+
+    private final Solver solver;
+    private final ActivationLiterals literals;
+    private final Ic3Statistics statistics;
+
+    Ic3Solver(final Solver solver, final Ic3Statistics statistics) {
+        this.solver = solver;
+        this.literals = ActivationLiterals.create(solver);
+        this.statistics = statistics;
+    }
+
+    /** Gets the activation literal of an expression over indexed constants. */
+    RefExpr<BoolType> literalOf(final Expr<BoolType> expr) {
+        return literals.of(expr);
+    }
+
+    /** Creates a fresh activation literal for guarding lemmas. */
+    RefExpr<BoolType> freshLiteral() {
+        return literals.fresh();
+    }
+
+    /** Adds an expression that only holds when the literal is assumed. */
+    void addGuarded(final RefExpr<BoolType> literal, final Expr<BoolType> expr) {
+        solver.add(Imply(literal, expr));
+    }
+
+    void close() {
+        try {
+            solver.close();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not close IC3 solver", e);
+        }
+    }
+
+    Solver getSolver() {
+        return solver;
+    }
+
+    SolverStatus check(final Phase phase, final Collection<? extends Expr<BoolType>> assumptions) {
+        final long start = System.nanoTime();
+        final SolverStatus status = literals.check(assumptions);
+        statistics.addQuery(phase, System.nanoTime() - start);
+        return status;
+    }
+
+    Valuation getModel() {
+        return solver.getModel();
+    }
+
+    /**
+     * Gets the assumptions of the last UNSAT query that are enough for unsatisfiability, or all of
+     * them if the solver cannot tell.
+     */
+    Collection<? extends Expr<BoolType>> getUnsatAssumptions(
+            final Collection<? extends Expr<BoolType>> assumptions) {
+        try {
+            return solver.getUnsatAssumptions();
+        } catch (final UnsupportedOperationException e) {
+            return assumptions;
+        }
+    }
+}
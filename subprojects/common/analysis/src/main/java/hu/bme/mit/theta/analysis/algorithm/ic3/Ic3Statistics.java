@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.ic3;
+
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Statistics collected by the IC3 algorithm: solver queries and time spent in each phase. */
+public final class Ic3Statistics extends Statistics {
+
+    /** The phases of the algorithm in which solver queries are made. */
+    public enum Phase {
+        INITIAL("initial"),
+        BAD_STATE("badState"),
+        BLOCKING("blocking"),
+        GENERALIZATION("generalization"),
+        LIFTING("lifting"),
+        PROPAGATION("propagation");
+
+        private final String key;
+
+        Phase(final String key) {
+            this.key = key;
+        }
+    }
+
+    private final Map<Phase, Long> queries = new EnumMap<>(Phase.class);
+    private final Map<Phase, Long> timeNanos = new EnumMap<>(Phase.class);
+    private int frames = 0;
+    private long lemmas = 0;
+    private long obligations = 0;
+    private long ctgs = 0;
+    private long sharedLemmas = 0;
+    private long importedLemmas = 0;
+
+    Ic3Statistics() {
+        addStat("frames", this::getFrames);
+        addStat("lemmas", this::getLemmas);
+        addStat("obligations", this::getObligations);
+        addStat("ctgs", this::getCtgs);
+        addStat("sharedLemmas", this::getSharedLemmas);
+        addStat("importedLemmas", this::getImportedLemmas);
+        for (final Phase phase : Phase.values()) {
+            queries.put(phase, 0L);
+            timeNanos.put(phase, 0L);
+            addStat(phase.key + "Queries", () -> getQueries(phase));
+            addStat(phase.key + "TimeMs", () -> getTimeMs(phase));
+        }
+    }
+
+    void addQuery(final Phase phase, final long nanos) {
+        queries.merge(phase, 1L, Long::sum);
+        timeNanos.merge(phase, nanos, Long::sum);
+    }
+
+    void setFrames(final int frames) {
+        this.frames = frames;
+    }
+
+    void addLemma() {
+        lemmas++;
+    }
+
+    void addObligation() {
+        obligations++;
+    }
+
+    void addCtg() {
+        ctgs++;
+    }
+
+    void addSharedLemma() {
+        sharedLemmas++;
+    }
+
+    void addImportedLemma() {
+        importedLemmas++;
+    }
+
+    /** Gets the number of frames at the end of the check. */
+    public int getFrames() {
+        return frames;
+    }
+
+    /** Gets the number of lemmas learnt while blocking proof obligations. */
+    public long getLemmas() {
+        return lemmas;
+    }
+
+    /** Gets the number of proof obligations created. */
+    public long getObligations() {
+        return obligations;
+    }
+
+    /** Gets the number of counterexamples to generalization blocked. */
+    public long getCtgs() {
+        return ctgs;
+    }
+
+    /** Gets the number of lemmas published to the other workers of a parallel check. */
+    public long getSharedLemmas() {
+        return sharedLemmas;
+    }
+
+    /** Gets the number of lemmas imported from the other workers of a parallel check. */
+    public long getImportedLemmas() {
+        return importedLemmas;
+    }
+
+    /** Gets the number of solver queries made in a phase. */
+    public long getQueries(final Phase phase) {
+        return queries.get(phase);
+    }
+
+    /** Gets the time spent in solver queries of a phase. */
+    public long getTimeMs(final Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(timeNanos.get(phase));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.ic3;
+
+import static hu.bme.mit.theta.core.utils.ExprUtils.getConjuncts;
+
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.booltype.NotExpr;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Lemmas shared between the workers of {@link ParallelIc3Checker}. A lemma at a level states that
+ * no state violating it is reachable in at most that many steps, so it holds in the frame of that
+ * level (and below) of every worker. The store is append-only: publishing claims a slot with an
+ * atomic counter, and readers follow the slots with their own cursor without locking.
+ *
+ * <p>For the subsumption check, the highest level of each clause is kept, and the blocked cube of
+ * each published lemma is computed once and indexed by one of its literals. A cube can only be
+ * subsumed by cubes indexed by one of its own literals, so a check only visits those buckets
+ * instead of every published lemma. The check is best-effort: concurrent publishers may both
+ * publish lemmas that subsume each other.
+ */
+final class LemmaStore {
+
+    /** A frame clause learnt by a worker at a level. */
+    record Lemma(Expr<BoolType> clause, int level, int worker) {}
+
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final ConcurrentMap<Integer, Lemma> lemmas = new ConcurrentHashMap<>();
+    private final AtomicLong subsumed = new AtomicLong();
+    private final ConcurrentMap<Expr<BoolType>, Integer> clauseLevels = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Expr<BoolType>, Queue<IndexedCube>> cubesByLiteral =
+            new ConcurrentHashMap<>();
+
+    /** The blocked cube of a published lemma with its level. */
+    private record IndexedCube(Set<Expr<BoolType>> cube, int level) {}
+
+    /**
+     * Publishes a lemma unless a published lemma of at least the same level subsumes it. Returns
+     * whether the lemma was published.
+     */
+    boolean publish(final Lemma lemma) {
+        final Set<Expr<BoolType>> cube = cubeOf(lemma.clause());
+        if (isSubsumed(lemma, cube)) {
+            subsumed.incrementAndGet();
+            return false;
+        }
+        clauseLevels.merge(lemma.clause(), lemma.level(), Math::max);
+        if (cube != null && !cube.isEmpty()) {
+            cubesByLiteral
+                    .computeIfAbsent(cube.iterator().next(), k -> new ConcurrentLinkedQueue<>())
+                    .add(new IndexedCube(cube, lemma.level()));
+        }
+        lemmas.put(nextSlot.getAndIncrement(), lemma);
+        return true;
+    }
+
+    /**
+     * Passes the lemmas published from the given slot on to the consumer and returns the slot to
+     * continue from. Stops at the first slot that is claimed but not yet filled.
+     */
+    int read(final int from, final Consumer<Lemma> consumer) {
+        int slot = from;
+        Lemma lemma;
+        while ((lemma = lemmas.get(slot)) != null) {
+            consumer.accept(lemma);
+            slot++;
+        }
+        return slot;
+    }
+
+    /** Gets the number of published lemmas. */
+    int size() {
+        return lemmas.size();
+    }
+
+    /** Gets the number of lemmas not published because they were subsumed. */
+    long getSubsumed() {
+        return subsumed.get();
+    }
+
+    private boolean isSubsumed(final Lemma lemma, final Set<Expr<BoolType>> cube) {
+        final Integer level = clauseLevels.get(lemma.clause());
+        if (level != null && level >= lemma.level()) {
+            return true;
+        }
+        if (cube == null) {
+            return false;
+        }
+        for (final Expr<BoolType> literal : cube) {
+            final Queue<IndexedCube> bucket = cubesByLiteral.get(literal);
+            if (bucket == null) {
+                continue;
+            }
+            for (final IndexedCube other : bucket) {
+                if (other.level() >= lemma.level() && cube.containsAll(other.cube())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Gets the blocked cube of a clause of the form not(and(...)), or null for other clauses. */
+    private static Set<Expr<BoolType>> cubeOf(final Expr<BoolType> clause) {
+        if (clause instanceof NotExpr notExpr) {
+            return Set.copyOf(getConjuncts(notExpr.getOp()));
+        }
+        return null;
+    }
+}
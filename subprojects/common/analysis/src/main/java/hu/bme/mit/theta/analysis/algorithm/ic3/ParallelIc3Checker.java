@@ -0,0 +1,158 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.ic3;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.EmptyProof;
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.solver.SolverFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs several IC3 workers on the same {@link MonolithicExpr} in parallel, each with its own
+ * solver. The workers generalize blocked cubes in different literal orders, so they learn
+ * different lemmas, and they exchange the lemmas through a shared {@link LemmaStore}. The first
+ * worker to finish determines the result, and the others are cancelled. The workers are created
+ * for each check and their solvers are closed once all of them have stopped.
+ */
+public class ParallelIc3Checker
+        implements SafetyChecker<EmptyProof, Trace<ExplState, ExprAction>, UnitPrec> {
+    private final Supplier<Ic3Checker> workerFactory;
+    private final int workers;
+    private final Logger logger;
+
+    public ParallelIc3Checker(
+            MonolithicExpr monolithicExpr,
+            SolverFactory solverFactory,
+            int workers,
+            Logger logger) {
+        this(monolithicExpr, solverFactory, workers, true, true, true, true, true, true, logger);
+    }
+
+    public ParallelIc3Checker(
+            MonolithicExpr monolithicExpr,
+            SolverFactory solverFactory,
+            int workers,
+            boolean formerFramesOpt,
+            boolean unSatOpt,
+            boolean notBOpt,
+            boolean propagateOpt,
+            boolean filterOpt,
+            boolean propertyOpt,
+            Logger logger) {
+        checkArgument(workers > 0, "At least one worker is needed");
+        this.workers = workers;
+        this.logger = logger;
+        this.workerFactory =
+                () ->
+                        new Ic3Checker(
+                                monolithicExpr,
+                                solverFactory,
+                                formerFramesOpt,
+                                unSatOpt,
+                                notBOpt,
+                                propagateOpt,
+                                filterOpt,
+                                propertyOpt,
+                                logger);
+    }
+
+    @Override
+    public SafetyResult<EmptyProof, Trace<ExplState, ExprAction>> check(UnitPrec prec) {
+        final LemmaStore lemmaStore = new LemmaStore();
+        final AtomicBoolean finished = new AtomicBoolean(false);
+        final List<Ic3Checker> checkers = new ArrayList<>(workers);
+        final ExecutorService executor = Executors.newFixedThreadPool(workers);
+        final CompletionService<SafetyResult<EmptyProof, Trace<ExplState, ExprAction>>>
+                completionService = new ExecutorCompletionService<>(executor);
+        try {
+            for (int i = 0; i < workers; i++) {
+                final Ic3Checker worker = workerFactory.get();
+                worker.shareLemmas(lemmaStore, i, finished::get);
+                checkers.add(worker);
+                completionService.submit(() -> worker.check(prec));
+            }
+            for (int i = 0; i < workers; i++) {
+                final SafetyResult<EmptyProof, Trace<ExplState, ExprAction>> result =
+                        completionService.take().get();
+                // cancelled workers return unknown
+                if (result.isSafe() || result.isUnsafe()) {
+                    finished.set(true);
+                    logger.write(
+                            Logger.Level.MAINSTEP,
+                            "Parallel IC3 finished: %d lemmas shared, %d subsumed%n",
+                            lemmaStore.size(),
+                            lemmaStore.getSubsumed());
+                    return result;
+                }
+            }
+            return SafetyResult.unknown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for IC3 workers", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            finished.set(true);
+            executor.shutdownNow();
+            // the solvers may only be closed once no worker uses them
+            awaitTerminationUninterruptibly(executor);
+            for (final Ic3Checker worker : checkers) {
+                worker.close();
+            }
+        }
+    }
+
+    /**
+     * Waits for the workers to stop even if interrupted (they check for cancellation between solver
+     * calls). The interrupt flag is restored afterwards.
+     */
+    private static void awaitTerminationUninterruptibly(final ExecutorService executor) {
+        boolean interrupted = Thread.interrupted();
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -17,15 +17,29 @@ package hu.bme.mit.theta.analysis.algorithm.ic3;
 
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
+import java.util.LinkedList;
 import java.util.Set;
 
-public class ProofObligation {
+/**
+ * A cube of states that has to be blocked at a frame. Obligations are ordered by their frame
+ * (lowest first), and among obligations of the same frame, the most recently created comes first.
+ */
+public class ProofObligation implements Comparable<ProofObligation> {
     private Set<Expr<BoolType>> expressions;
     private int time;
+    private final ProofObligation successor;
+    private final long id;
 
     ProofObligation(Set<Expr<BoolType>> expressions, int time) {
+        this(expressions, time, null, 0);
+    }
+
+    ProofObligation(
+            Set<Expr<BoolType>> expressions, int time, ProofObligation successor, long id) {
         this.expressions = expressions;
         this.time = time;
+        this.successor = successor;
+        this.id = id;
     }
 
     public int getTime() {
@@ -35,4 +49,29 @@ public class ProofObligation {
     public Set<Expr<BoolType>> getExpressions() {
         return expressions;
     }
+
+    /** Gets the obligation this one was created for as a predecessor, if any. */
+    public ProofObligation getSuccessor() {
+        return successor;
+    }
+
+    /**
+     * Gets the chain of obligations leading from this one to the original obligation, starting
+     * with the original one.
+     */
+    LinkedList<ProofObligation> getChain() {
+        final LinkedList<ProofObligation> chain = new LinkedList<>();
+        for (ProofObligation po = this; po != null; po = po.successor) {
+            chain.addFirst(po);
+        }
+        return chain;
+    }
+
+    @Override
+    public int compareTo(ProofObligation other) {
+        if (time != other.time) {
+            return Integer.compare(time, other.time);
+        }
+        return Long.compare(other.id, id);
+    }
 }
@@ -24,6 +24,9 @@ public class MddAnalysisStatistics extends Statistics {
     private final Long hitCount;
     private final Long queryCount;
     private final Long cacheSize;
+    private final Long evictionCount;
+    private final Long nodesBeforeReordering;
+    private final Long nodesAfterReordering;
 
     public MddAnalysisStatistics(
             Long violatingSize,
@@ -31,17 +34,58 @@ public class MddAnalysisStatistics extends Statistics {
             Long hitCount,
             Long queryCount,
             Long cacheSize) {
+        this(violatingSize, stateSpaceSize, hitCount, queryCount, cacheSize, 0L);
+    }
+
+    public MddAnalysisStatistics(
+            Long violatingSize,
+            Long stateSpaceSize,
+            Long hitCount,
+            Long queryCount,
+            Long cacheSize,
+            Long evictionCount) {
+        this(
+                violatingSize,
+                stateSpaceSize,
+                hitCount,
+                queryCount,
+                cacheSize,
+                evictionCount,
+                -1L,
+                -1L);
+    }
+
+    /**
+     * The node counts are the unique table sizes before and after reordering the variables during
+     * enumeration; they are equal if no reordering happened.
+     */
+    public MddAnalysisStatistics(
+            Long violatingSize,
+            Long stateSpaceSize,
+            Long hitCount,
+            Long queryCount,
+            Long cacheSize,
+            Long evictionCount,
+            Long nodesBeforeReordering,
+            Long nodesAfterReordering) {
         this.violatingSize = violatingSize;
         this.stateSpaceSize = stateSpaceSize;
         this.hitCount = hitCount;
         this.queryCount = queryCount;
         this.cacheSize = cacheSize;
+        this.evictionCount = evictionCount;
+        this.nodesBeforeReordering = nodesBeforeReordering;
+        this.nodesAfterReordering = nodesAfterReordering;
 
         addStat("ViolatingSize", this::getViolatingSize);
         addStat("StateSpaceSize", this::getStateSpaceSize);
         addStat("HitCount", this::getHitCount);
         addStat("QueryCount", this::getQueryCount);
+        addStat("MissCount", this::getMissCount);
         addStat("CacheSize", this::getCacheSize);
+        addStat("EvictionCount", this::getEvictionCount);
+        addStat("NodesBeforeReordering", this::getNodesBeforeReordering);
+        addStat("NodesAfterReordering", this::getNodesAfterReordering);
     }
 
     public Long getViolatingSize() {
@@ -63,4 +107,20 @@ public class MddAnalysisStatistics extends Statistics {
     public Long getCacheSize() {
         return cacheSize;
     }
+
+    public Long getMissCount() {
+        return queryCount - hitCount;
+    }
+
+    public Long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public Long getNodesBeforeReordering() {
+        return nodesBeforeReordering;
+    }
+
+    public Long getNodesAfterReordering() {
+        return nodesAfterReordering;
+    }
 }
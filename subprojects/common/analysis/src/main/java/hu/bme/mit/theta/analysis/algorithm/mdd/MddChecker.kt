@@ -18,6 +18,8 @@ package hu.bme.mit.theta.analysis.algorithm.mdd
 import com.google.common.base.Preconditions
 import hu.bme.mit.delta.java.mdd.JavaMddFactory
 import hu.bme.mit.delta.java.mdd.MddHandle
+import hu.bme.mit.delta.java.mdd.MddVariableHandle
+import hu.bme.mit.delta.java.mdd.MddVariableOrder
 import hu.bme.mit.delta.mdd.MddInterpreter
 import hu.bme.mit.delta.mdd.MddVariableDescriptor
 import hu.bme.mit.theta.analysis.Trace
@@ -25,14 +27,17 @@ import hu.bme.mit.theta.analysis.algorithm.SafetyChecker
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult
 import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr
 import hu.bme.mit.theta.analysis.algorithm.bounded.action
+import hu.bme.mit.theta.analysis.algorithm.bounded.events
 import hu.bme.mit.theta.analysis.algorithm.bounded.orderVars
-import hu.bme.mit.theta.analysis.algorithm.bounded.split
+import hu.bme.mit.theta.analysis.algorithm.bounded.partition
 import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor
 import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.impl.*
+import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.impl.NodeLimitNextStateDescriptor.NodeLimitExceededException
 import hu.bme.mit.theta.analysis.algorithm.mdd.expressionnode.ExprLatticeDefinition
 import hu.bme.mit.theta.analysis.algorithm.mdd.expressionnode.MddExplicitRepresentationExtractor
 import hu.bme.mit.theta.analysis.algorithm.mdd.expressionnode.MddExpressionTemplate
 import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.*
+import hu.bme.mit.theta.analysis.algorithm.mdd.varordering.siftVars
 import hu.bme.mit.theta.analysis.expl.ExplState
 import hu.bme.mit.theta.analysis.expr.ExprAction
 import hu.bme.mit.theta.analysis.unit.UnitPrec
@@ -43,6 +48,8 @@ import hu.bme.mit.theta.core.decl.VarDecl
 import hu.bme.mit.theta.core.type.Expr
 import hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq
 import hu.bme.mit.theta.core.type.booltype.BoolType
+import hu.bme.mit.theta.core.type.bvtype.BvType
+import hu.bme.mit.theta.core.type.enumtype.EnumType
 import hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.And
 import hu.bme.mit.theta.core.type.booltype.SmartBoolExprs.Not
 import hu.bme.mit.theta.core.utils.PathUtils
@@ -59,20 +66,35 @@ constructor(
   private val iterationStrategy: IterationStrategy = IterationStrategy.GSAT,
   private val traceTimeout: Long = 10,
   private val variableOrdering: List<VarDecl<*>> = monolithicExpr.orderVars(),
+  private val cachePolicy: MddCachePolicy = MddCachePolicy.unbounded(),
+  /** Whether the reachable and violating states are counted for the statistics (-1 if not). */
+  private val countStates: Boolean = true,
+  /**
+   * When positive, enumeration is restarted with a sifted variable ordering once the unique table
+   * grows larger than this.
+   */
+  private val reorderNodeLimit: Long = 0,
+  /**
+   * Variables with a finite domain of at most this size are encoded as bounded MDD levels, whose
+   * edges are enumerated by evaluation. Larger and infinite domains are explored with the solver.
+   */
+  private val maxFiniteDomainSize: Int = DEFAULT_MAX_FINITE_DOMAIN_SIZE,
 ) : SafetyChecker<MddProof, Trace<ExplState, ExprAction>, UnitPrec> {
 
+  companion object {
+
+    const val DEFAULT_MAX_FINITE_DOMAIN_SIZE = 256
+  }
+
   enum class IterationStrategy {
     BFS,
     SAT,
     GSAT,
+    /** Generalized saturation that saturates independent nodes in parallel. */
+    PSAT,
   }
 
   override fun check(prec: UnitPrec?): SafetyResult<MddProof, Trace<ExplState, ExprAction>> {
-    val mddGraph = JavaMddFactory.getDefault().createMddGraph(ExprLatticeDefinition.forExpr())
-
-    val stateOrder = JavaMddFactory.getDefault().createMddVariableOrder(mddGraph)
-    val transOrder = JavaMddFactory.getDefault().createMddVariableOrder(mddGraph)
-
     variableOrdering.forEach {
       Preconditions.checkArgument(
         monolithicExpr.vars.contains(it),
@@ -84,94 +106,231 @@ constructor(
       variableOrdering.size == Containers.createSet(variableOrdering).size,
       "Variable ordering contains duplicates",
     )
-    val identityExprs = mutableListOf<Expr<BoolType>>()
-    for (v in variableOrdering.reversed()) {
-      var domainSize: Int // = max(v.type.domainSize.finiteSize.toInt().toDouble(), 0.0).toInt()
-
-      //     if (domainSize > 100) {
-      domainSize = 0
-
-      //     }
-      stateOrder.createOnTop(MddVariableDescriptor.create(v.getConstDecl(0), domainSize))
-
-      val index = monolithicExpr.transOffsetIndex[v]
-      if (index > 0) {
-        transOrder.createOnTop(
-          MddVariableDescriptor.create(
-            v.getConstDecl(monolithicExpr.transOffsetIndex[v]),
-            domainSize,
-          )
+
+    var encoding = Encoding(variableOrdering)
+    val enumeration =
+      try {
+        encoding.enumerate(reorderNodeLimit)
+      } catch (e: RuntimeException) {
+        val limitExceeded = nodeLimitExceeded(e) ?: throw e
+        logger.write(
+          Logger.Level.INFO,
+          "Unique table grew to ${limitExceeded.nodeCount} nodes, reordering variables\n",
         )
-      } else {
-        transOrder.createOnTop(MddVariableDescriptor.create(v.getConstDecl(1), domainSize))
-        identityExprs.add(Eq(v.getConstDecl(0).ref, v.getConstDecl(1).ref))
+        encoding = Encoding(siftVars(variableOrdering, monolithicExpr.events()))
+        encoding.enumerate(0).copy(nodesBeforeReordering = limitExceeded.nodeCount)
       }
+    val stateSpace = enumeration.stateSpace
+    val initNode = encoding.initNode
 
-      transOrder.createOnTop(MddVariableDescriptor.create(v.getConstDecl(0), domainSize))
-    }
+    logger.write(Logger.Level.INFO, "Enumerated state-space\n")
 
-    val stateSig = stateOrder.defaultSetSignature
-    val transSig = transOrder.defaultSetSignature
+    val propViolating = stateSpace.intersection(encoding.propNode) as MddHandle
 
-    val initExpr = PathUtils.unfold(monolithicExpr.initExpr, 0)
-    val initNode =
-      stateSig.topVariableHandle.checkInNode(
-        MddExpressionTemplate.of(initExpr, { it as Decl<*> }, solverPool)
+    logger.write(Logger.Level.INFO, "Calculated violating states\n")
+
+    if (propViolating.isTerminalZero) {
+      return SafetyResult.safe(
+        MddProof.of(stateSpace),
+        collectStatistics(stateSpace, propViolating, enumeration),
       )
+    }
 
-    logger.write(Logger.Level.INFO, "Created initial node\n")
+    val trace =
+      computeTrace(
+        encoding.stateSig.variableOrder,
+        encoding.stateSig.topVariableHandle,
+        encoding.transSig.topVariableHandle,
+        encoding.transNodes,
+        stateSpace,
+        propViolating,
+        initNode,
+      )
+    return SafetyResult.unsafe(
+      trace,
+      MddProof.of(stateSpace),
+      collectStatistics(stateSpace, propViolating, enumeration),
+    )
+  }
 
+  private data class Enumeration(
+    val stateSpace: MddHandle,
+    val provider: StateSpaceEnumerationProvider,
+    val nodesBeforeReordering: Long,
+    val nodesAfterReordering: Long,
+  )
+
+  /** The MDD encoding of the initial states, transitions and property for a variable ordering. */
+  private inner class Encoding(ordering: List<VarDecl<*>>) {
+    val mddGraph = JavaMddFactory.getDefault().createMddGraph(ExprLatticeDefinition.forExpr())
+    val stateOrder: MddVariableOrder = JavaMddFactory.getDefault().createMddVariableOrder(mddGraph)
+    val transOrder: MddVariableOrder = JavaMddFactory.getDefault().createMddVariableOrder(mddGraph)
+    val stateSig
+      get() = stateOrder.defaultSetSignature
+
+    val transSig
+      get() = transOrder.defaultSetSignature
+
+    val initNode: MddHandle
     val transNodes = mutableListOf<MddHandle>()
-    val descriptors = mutableListOf<AbstractNextStateDescriptor>()
-    for (expr in monolithicExpr.split()) {
-      val transExpr =
-        And(PathUtils.unfold(expr, VarIndexingFactory.indexing(0)), And(identityExprs))
-      val transitionNode =
-        transSig.topVariableHandle.checkInNode(
-          MddExpressionTemplate.of(transExpr, { it as Decl<*> }, solverPool, true)
+    val nextStates: AbstractNextStateDescriptor
+    val propNode: MddHandle
+
+    init {
+      // Keeps a variable unchanged by the events that do not write it
+      val identityExprs = mutableMapOf<VarDecl<*>, Expr<BoolType>>()
+      for (v in ordering.reversed()) {
+        val domainSize = domainSizeOf(v)
+        stateOrder.createOnTop(MddVariableDescriptor.create(v.getConstDecl(0), domainSize))
+
+        val index = monolithicExpr.transOffsetIndex[v]
+        if (index > 0) {
+          transOrder.createOnTop(
+            MddVariableDescriptor.create(
+              v.getConstDecl(monolithicExpr.transOffsetIndex[v]),
+              domainSize,
+            )
+          )
+          identityExprs[v] = Eq(v.getConstDecl(0).ref, v.getConstDecl(index).ref)
+        } else {
+          transOrder.createOnTop(MddVariableDescriptor.create(v.getConstDecl(1), domainSize))
+          identityExprs[v] = Eq(v.getConstDecl(0).ref, v.getConstDecl(1).ref)
+        }
+
+        transOrder.createOnTop(MddVariableDescriptor.create(v.getConstDecl(0), domainSize))
+      }
+
+      val initExpr = PathUtils.unfold(monolithicExpr.initExpr, 0)
+      initNode =
+        stateSig.topVariableHandle.checkInNode(
+          MddExpressionTemplate.of(initExpr, { it as Decl<*> }, solverPool)
         )
-      transNodes.add(transitionNode)
-      descriptors.add(MddNodeNextStateDescriptor.of(transitionNode))
-    }
-    val nextStates: AbstractNextStateDescriptor = OrNextStateDescriptor.create(descriptors)
 
-    val negatedPropExpr = PathUtils.unfold(Not(monolithicExpr.propExpr), 0)
-    val propNode =
-      stateSig.topVariableHandle.checkInNode(
-        MddExpressionTemplate.of(negatedPropExpr, { it as Decl<*> }, solverPool)
+      logger.write(Logger.Level.INFO, "Created initial node\n")
+
+      val descriptors = mutableListOf<AbstractNextStateDescriptor>()
+      val partitions = monolithicExpr.partition()
+      logger.write(
+        Logger.Level.INFO,
+        "Partitioned transition relation into ${partitions.size} events\n",
       )
-    val targetedNextStates = OnTheFlyReachabilityNextStateDescriptor.of(nextStates, propNode)
+      for (partition in partitions) {
+        val unchanged = identityExprs.filterKeys { it !in partition.writtenVars }.values
+        val transExpr =
+          And(PathUtils.unfold(partition.expr, VarIndexingFactory.indexing(0)), And(unchanged))
+        val transitionNode =
+          transSig.topVariableHandle.checkInNode(
+            MddExpressionTemplate.of(transExpr, { it as Decl<*> }, solverPool, true)
+          )
+        transNodes.add(transitionNode)
+        descriptors.add(MddNodeNextStateDescriptor.of(transitionNode))
+      }
+      nextStates = OrNextStateDescriptor.create(descriptors)
 
-    logger.write(Logger.Level.INFO, "Created next-state node, starting fixed point calculation\n")
-    val stateSpaceProvider =
-      when (iterationStrategy) {
-        IterationStrategy.BFS -> {
-          BfsProvider(stateSig.variableOrder)
+      val negatedPropExpr = PathUtils.unfold(Not(monolithicExpr.propExpr), 0)
+      propNode =
+        stateSig.topVariableHandle.checkInNode(
+          MddExpressionTemplate.of(negatedPropExpr, { it as Decl<*> }, solverPool)
+        )
+    }
+
+    /**
+     * Enumerates the reachable states. If [nodeLimit] is positive, enumeration is aborted by a
+     * [NodeLimitNextStateDescriptor.NodeLimitExceededException] when the unique table grows larger.
+     */
+    fun enumerate(nodeLimit: Long): Enumeration {
+      // Violation is detected on the fly: by the initial states here, and by the first transition
+      // into a violating state during enumeration, which then stops expanding further states.
+      // Safety is still decided on the enumerated state space, as the on-the-fly check is only a
+      // shortcut for the transitions it can follow.
+      val initialViolating = !(initNode.intersection(propNode) as MddHandle).isTerminalZero
+      val targetedNextStates =
+        OnTheFlyReachabilityNextStateDescriptor.of(nextStates, propNode) {
+          logger.write(Logger.Level.INFO, "Violating state reached, stopping enumeration\n")
         }
-        IterationStrategy.SAT -> {
-          SimpleSaturationProvider(stateSig.variableOrder)
+      val limitedNextStates =
+        if (nodeLimit > 0) NodeLimitNextStateDescriptor.of(targetedNextStates, mddGraph, nodeLimit)
+        else targetedNextStates
+
+      val stateSpaceProvider =
+        when (iterationStrategy) {
+          IterationStrategy.BFS -> {
+            BfsProvider(stateSig.variableOrder)
+          }
+          IterationStrategy.SAT -> {
+            SimpleSaturationProvider(stateSig.variableOrder, cachePolicy)
+          }
+          IterationStrategy.GSAT -> {
+            GeneralizedSaturationProvider(stateSig.variableOrder, cachePolicy)
+          }
+          IterationStrategy.PSAT -> {
+            ParallelSaturationProvider(
+              stateSig.variableOrder,
+              Runtime.getRuntime().availableProcessors(),
+              cachePolicy,
+            )
+          }
         }
-        IterationStrategy.GSAT -> {
-          GeneralizedSaturationProvider(stateSig.variableOrder)
+      // Disposing the provider stops the worker threads of parallel saturation and unregisters
+      // its caches from the MDD graph; their statistics can still be read afterwards
+      val stateSpace =
+        try {
+          if (initialViolating) {
+            logger.write(Logger.Level.INFO, "Initial state violates the property\n")
+            initNode
+          } else {
+            logger.write(
+              Logger.Level.INFO,
+              "Created next-state node, starting fixed point calculation\n",
+            )
+            stateSpaceProvider.compute(
+              MddNodeInitializer.of(initNode),
+              limitedNextStates,
+              stateSig.topVariableHandle,
+            )
+          }
+        } finally {
+          stateSpaceProvider.dispose()
         }
-      }
-    val stateSpace =
-      stateSpaceProvider.compute(
-        MddNodeInitializer.of(initNode),
-        targetedNextStates,
-        stateSig.topVariableHandle,
-      )
-
-    logger.write(Logger.Level.INFO, "Enumerated state-space\n")
+      val nodeCount = mddGraph.uniqueTableSize.toLong()
+      return Enumeration(stateSpace, stateSpaceProvider, nodeCount, nodeCount)
+    }
+  }
 
-    val propViolating = stateSpace.intersection(propNode) as MddHandle
+  /** Gets the MDD domain size of a variable, 0 meaning an unbounded domain. */
+  private fun domainSizeOf(v: VarDecl<*>): Int {
+    // Only these types are converted to the integers 0 until the domain size by LitExprConverter
+    val type = v.type
+    if (type !is BoolType && type !is EnumType && type !is BvType) return 0
+    val domainSize = type.domainSize
+    return if (domainSize.isBiggerThan(maxFiniteDomainSize.toLong())) 0
+    else domainSize.finiteSize.toInt()
+  }
 
-    logger.write(Logger.Level.INFO, "Calculated violating states\n")
+  private fun nodeLimitExceeded(e: Throwable): NodeLimitExceededException? {
+    var current: Throwable? = e
+    while (current != null) {
+      if (current is NodeLimitExceededException) return current
+      current = current.cause
+    }
+    return null
+  }
 
-    val violatingSize = MddInterpreter.calculateNonzeroCount(propViolating)
+  /**
+   * Counting the states of a large MDD is expensive, so unless [countStates] is set, the sizes are
+   * reported as -1.
+   */
+  private fun collectStatistics(
+    stateSpace: MddHandle,
+    propViolating: MddHandle,
+    enumeration: Enumeration,
+  ): MddAnalysisStatistics {
+    val stateSpaceProvider = enumeration.provider
+    val violatingSize =
+      if (countStates) MddInterpreter.calculateNonzeroCount(propViolating) else -1L
     logger.write(Logger.Level.INFO, "States violating the property: $violatingSize\n")
 
-    val stateSpaceSize = MddInterpreter.calculateNonzeroCount(stateSpace)
+    val stateSpaceSize = if (countStates) MddInterpreter.calculateNonzeroCount(stateSpace) else -1L
     logger.write(Logger.Level.DETAIL, "State space size: $stateSpaceSize\n")
 
     val statistics =
@@ -181,71 +340,66 @@ constructor(
         stateSpaceProvider.hitCount,
         stateSpaceProvider.queryCount,
         stateSpaceProvider.cacheSize,
+        stateSpaceProvider.evictionCount,
+        enumeration.nodesBeforeReordering,
+        enumeration.nodesAfterReordering,
       )
 
     logger.write(Logger.Level.MAINSTEP, "%s\n", statistics)
+    return statistics
+  }
 
-    // var explTrans = MddExplicitRepresentationExtractor.INSTANCE.transform(transitionNode,
-    // transSig.getTopVariableHandle());
-    val result: SafetyResult<MddProof, Trace<ExplState, ExprAction>>
-    if (violatingSize != 0L) {
-      val executor = Executors.newSingleThreadExecutor()
-      val future =
-        executor.submit<Trace<ExplState, ExprAction>> {
-          val reversedDescriptors = mutableListOf<AbstractNextStateDescriptor>()
-          for (transNode in transNodes) {
-            val explTrans =
-              MddExplicitRepresentationExtractor.transform(transNode, transSig.topVariableHandle)
-            reversedDescriptors.add(ReverseNextStateDescriptor.of(stateSpace, explTrans))
-          }
-          val orReversed = OrNextStateDescriptor.create(reversedDescriptors)
-
-          val traceProvider = TraceProvider(stateSig.variableOrder)
-          val mddTrace =
-            traceProvider.compute(propViolating, orReversed, initNode, stateSig.topVariableHandle)
-          val valuations =
-            mddTrace
-              .map {
-                PathUtils.extractValuation(
-                  MddValuationCollector.collect(it).stream().findFirst().orElseThrow(),
-                  0,
-                )
-              }
-              .toList()
-          return@submit Trace.of(
-            valuations.stream().map(ExplState::of).toList(),
-            monolithicExpr.action(),
-          )
+  private fun computeTrace(
+    stateOrder: MddVariableOrder,
+    stateTop: MddVariableHandle,
+    transTop: MddVariableHandle,
+    transNodes: List<MddHandle>,
+    stateSpace: MddHandle,
+    propViolating: MddHandle,
+    initNode: MddHandle,
+  ): Trace<ExplState, ExprAction> {
+    val executor = Executors.newSingleThreadExecutor()
+    val future =
+      executor.submit<Trace<ExplState, ExprAction>> {
+        val reversedDescriptors = mutableListOf<AbstractNextStateDescriptor>()
+        for (transNode in transNodes) {
+          val explTrans = MddExplicitRepresentationExtractor.transform(transNode, transTop)
+          reversedDescriptors.add(ReverseNextStateDescriptor.of(stateSpace, explTrans))
         }
+        val orReversed = OrNextStateDescriptor.create(reversedDescriptors)
 
-      try {
-        logger.mainStep("Starting trace generation.\n")
-        val trace = future.get(traceTimeout, TimeUnit.SECONDS)
-        return SafetyResult.unsafe(trace, MddProof.of(stateSpace), statistics)
-      } catch (e: TimeoutException) {
-        logger.mainStep("Trace generation timed out, returning empty trace!\n")
-        future.cancel(true)
-        return SafetyResult.unsafe(
-          Trace.of(listOf(ExplState.top()), listOf()),
-          MddProof.of(stateSpace),
-          statistics,
-        )
-      } catch (e: InterruptedException) {
-        logger.mainStep("Trace generation timed out, returning empty trace!\n")
-        future.cancel(true)
-        return SafetyResult.unsafe(
-          Trace.of(listOf(ExplState.top()), listOf()),
-          MddProof.of(stateSpace),
-          statistics,
+        val traceProvider = TraceProvider(stateOrder)
+        val mddTrace = traceProvider.compute(propViolating, orReversed, initNode, stateTop)
+        val valuations =
+          mddTrace
+            .map {
+              PathUtils.extractValuation(
+                MddValuationCollector.collect(it).stream().findFirst().orElseThrow(),
+                0,
+              )
+            }
+            .toList()
+        return@submit Trace.of(
+          valuations.stream().map(ExplState::of).toList(),
+          monolithicExpr.action(),
         )
-      } catch (e: ExecutionException) {
-        throw RuntimeException(e)
-      } finally {
-        executor.shutdownNow()
       }
-    } else {
-      result = SafetyResult.safe(MddProof.of(stateSpace), statistics)
+
+    try {
+      logger.mainStep("Starting trace generation.\n")
+      return future.get(traceTimeout, TimeUnit.SECONDS)
+    } catch (e: TimeoutException) {
+      logger.mainStep("Trace generation timed out, returning empty trace!\n")
+      future.cancel(true)
+      return Trace.of(listOf(ExplState.top()), listOf())
+    } catch (e: InterruptedException) {
+      logger.mainStep("Trace generation timed out, returning empty trace!\n")
+      future.cancel(true)
+      return Trace.of(listOf(ExplState.top()), listOf())
+    } catch (e: ExecutionException) {
+      throw RuntimeException(e)
+    } finally {
+      executor.shutdownNow()
     }
-    return result
   }
 }
@@ -26,7 +26,11 @@ public class AnyNextStateDescriptor implements AbstractNextStateDescriptor {
             UniqueTable.newInstance();
 
     public static AbstractNextStateDescriptor withChild(AbstractNextStateDescriptor child) {
-        return uniqueTable.checkIn(new AnyNextStateDescriptor(child));
+        final AnyNextStateDescriptor descriptor = new AnyNextStateDescriptor(child);
+        // descriptors are also created from diagonals queried by parallel saturation
+        synchronized (uniqueTable) {
+            return uniqueTable.checkIn(descriptor);
+        }
     }
 
     private final AbstractNextStateDescriptor child;
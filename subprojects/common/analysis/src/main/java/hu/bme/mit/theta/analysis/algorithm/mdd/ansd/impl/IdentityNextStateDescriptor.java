@@ -29,7 +29,11 @@ public final class IdentityNextStateDescriptor implements AbstractNextStateDescr
             new IdentityNextStateDescriptor();
 
     public static AbstractNextStateDescriptor withChild(AbstractNextStateDescriptor child) {
-        return uniqueTable.checkIn(new IdentityNextStateDescriptor(child));
+        final IdentityNextStateDescriptor descriptor = new IdentityNextStateDescriptor(child);
+        // descriptors are also created from diagonals queried by parallel saturation
+        synchronized (uniqueTable) {
+            return uniqueTable.checkIn(descriptor);
+        }
     }
 
     private final AbstractNextStateDescriptor child;
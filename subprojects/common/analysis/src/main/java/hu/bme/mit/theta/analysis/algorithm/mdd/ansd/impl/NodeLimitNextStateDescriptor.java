@@ -0,0 +1,129 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.ansd.impl;
+
+import com.google.common.base.Preconditions;
+import hu.bme.mit.delta.collections.IntObjMapView;
+import hu.bme.mit.delta.collections.impl.IntObjMapViews;
+import hu.bme.mit.delta.java.mdd.MddGraph;
+import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor;
+import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.StateSpaceInfo;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Next-state descriptor that aborts state space enumeration when the unique table of the MDD graph
+ * grows above a limit, so that the caller can continue with a better variable ordering.
+ */
+public class NodeLimitNextStateDescriptor implements AbstractNextStateDescriptor {
+
+    /** Thrown when the unique table grows above the limit during enumeration. */
+    public static class NodeLimitExceededException extends RuntimeException {
+        private final long nodeCount;
+
+        private NodeLimitExceededException(long nodeCount) {
+            super("Unique table size exceeded the node limit: " + nodeCount);
+            this.nodeCount = nodeCount;
+        }
+
+        public long getNodeCount() {
+            return nodeCount;
+        }
+    }
+
+    private final AbstractNextStateDescriptor wrapped;
+
+    private final MddGraph<?> mddGraph;
+
+    private final long nodeLimit;
+
+    private NodeLimitNextStateDescriptor(
+            AbstractNextStateDescriptor wrapped, MddGraph<?> mddGraph, long nodeLimit) {
+        this.wrapped = wrapped;
+        this.mddGraph = Preconditions.checkNotNull(mddGraph);
+        this.nodeLimit = nodeLimit;
+    }
+
+    public static AbstractNextStateDescriptor of(
+            AbstractNextStateDescriptor wrapped, MddGraph<?> mddGraph, long nodeLimit) {
+        Preconditions.checkArgument(nodeLimit > 0, "Node limit must be positive");
+        return (wrapped == AbstractNextStateDescriptor.terminalEmpty())
+                ? AbstractNextStateDescriptor.terminalEmpty()
+                : new NodeLimitNextStateDescriptor(wrapped, mddGraph, nodeLimit);
+    }
+
+    private AbstractNextStateDescriptor wrap(AbstractNextStateDescriptor descriptor) {
+        return of(descriptor, mddGraph, nodeLimit);
+    }
+
+    private void checkLimit() {
+        final long nodeCount = mddGraph.getUniqueTableSize();
+        if (nodeCount > nodeLimit) {
+            throw new NodeLimitExceededException(nodeCount);
+        }
+    }
+
+    @Override
+    public IntObjMapView<AbstractNextStateDescriptor> getDiagonal(StateSpaceInfo localStateSpace) {
+        checkLimit();
+        return new IntObjMapViews.Transforming<>(
+                wrapped.getDiagonal(localStateSpace), this::wrap);
+    }
+
+    @Override
+    public IntObjMapView<IntObjMapView<AbstractNextStateDescriptor>> getOffDiagonal(
+            StateSpaceInfo localStateSpace) {
+        checkLimit();
+        return new IntObjMapViews.Transforming<>(
+                wrapped.getOffDiagonal(localStateSpace),
+                it -> new IntObjMapViews.Transforming<>(it, this::wrap));
+    }
+
+    @Override
+    public Optional<Iterable<AbstractNextStateDescriptor>> split() {
+        return wrapped.split()
+                .map(
+                        iterable -> {
+                            var list = new ArrayList<AbstractNextStateDescriptor>();
+                            iterable.forEach(it -> list.add(wrap(it)));
+                            return list;
+                        });
+    }
+
+    @Override
+    public boolean evaluate() {
+        return wrapped.evaluate();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NodeLimitNextStateDescriptor that = (NodeLimitNextStateDescriptor) o;
+        return Objects.equals(wrapped, that.wrapped);
+    }
+
+    @Override
+    public int hashCode() {
+        return wrapped.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return wrapped + "";
+    }
+}
@@ -24,6 +24,7 @@ import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.StateSpaceInfo;
 import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class OnTheFlyReachabilityNextStateDescriptor implements AbstractNextStateDescriptor {
 
@@ -34,14 +35,22 @@ public class OnTheFlyReachabilityNextStateDescriptor implements AbstractNextStat
     private final KillSwitch killSwitch;
 
     private static class KillSwitch {
-        private boolean killed = false;
+        private final AtomicBoolean killed = new AtomicBoolean(false);
+        private final Runnable onKilled;
+
+        private KillSwitch(Runnable onKilled) {
+            this.onKilled = onKilled;
+        }
 
         public boolean isKilled() {
-            return killed;
+            return killed.get();
         }
 
-        public void setKilled(boolean killed) {
-            this.killed = killed;
+        public void kill() {
+            // Parallel saturation may reach the target on several threads at once
+            if (killed.compareAndSet(false, true)) {
+                onKilled.run();
+            }
         }
     }
 
@@ -69,8 +78,7 @@ public class OnTheFlyReachabilityNextStateDescriptor implements AbstractNextStat
         this.target = Preconditions.checkNotNull(target);
         this.killSwitch = killSwitch;
         if (target.isTerminal() && !target.isTerminalZero()) {
-            System.out.println("Stopping state space enumeration, violating state reached.");
-            killSwitch.setKilled(true);
+            killSwitch.kill();
         }
     }
 
@@ -83,7 +91,21 @@ public class OnTheFlyReachabilityNextStateDescriptor implements AbstractNextStat
 
     public static AbstractNextStateDescriptor of(
             AbstractNextStateDescriptor wrapped, MddHandle target) {
-        return of(wrapped, target, new KillSwitch());
+        return of(
+                wrapped,
+                target,
+                () ->
+                        System.out.println(
+                                "Stopping state space enumeration, violating state reached."));
+    }
+
+    /**
+     * Wraps a next-state descriptor so that state space enumeration stops as soon as a transition
+     * to a state of the target is found. The callback is run once, when this happens.
+     */
+    public static AbstractNextStateDescriptor of(
+            AbstractNextStateDescriptor wrapped, MddHandle target, Runnable onTargetReached) {
+        return of(wrapped, target, new KillSwitch(onTargetReached));
     }
 
     @Override
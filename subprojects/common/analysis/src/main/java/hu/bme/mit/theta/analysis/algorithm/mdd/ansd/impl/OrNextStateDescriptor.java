@@ -17,7 +17,6 @@ package hu.bme.mit.theta.analysis.algorithm.mdd.ansd.impl;
 
 import com.koloboke.collect.map.IntObjMap;
 import com.koloboke.collect.map.hash.HashIntObjMaps;
-import com.koloboke.collect.map.hash.HashObjObjMaps;
 import hu.bme.mit.delta.collections.IntObjCursor;
 import hu.bme.mit.delta.collections.IntObjMapView;
 import hu.bme.mit.delta.collections.UniqueTable;
@@ -25,19 +24,28 @@ import hu.bme.mit.delta.collections.impl.MapUniqueTable;
 import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor;
 import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.StateSpaceInfo;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * The union of next state descriptors. Descriptors and their diagonals may be queried from several
+ * threads at once (see {@link
+ * hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.ParallelSaturationProvider}), so the unique
+ * table and the diagonal caches are safe for concurrent use.
+ */
 public class OrNextStateDescriptor implements AbstractNextStateDescriptor {
     private static final UniqueTable<OrNextStateDescriptor> uniqueTable = new MapUniqueTable<>();
 
     public static void clearUniqueTable() {
-        uniqueTable.clear();
+        synchronized (uniqueTable) {
+            uniqueTable.clear();
+        }
     }
 
     private List<AbstractNextStateDescriptor> operands;
 
-    private Map<Object, IntObjMapView<AbstractNextStateDescriptor>> diagonalCache =
-            HashObjObjMaps.newUpdatableMap();
+    private final Map<Object, IntObjMapView<AbstractNextStateDescriptor>> diagonalCache =
+            new ConcurrentHashMap<>();
 
     // private IntObjMap<IntObjMapView<AbstractNextStateDescriptor>> offDiagonalCache =
     // HashIntObjMaps.newUpdatableMap();
@@ -46,7 +54,10 @@ public class OrNextStateDescriptor implements AbstractNextStateDescriptor {
         final ArrayList<AbstractNextStateDescriptor> ops = new ArrayList<>(operands);
         ops.sort(Comparator.comparingInt(Object::hashCode));
 
-        return uniqueTable.checkIn(new OrNextStateDescriptor(ops));
+        final OrNextStateDescriptor descriptor = new OrNextStateDescriptor(ops);
+        synchronized (uniqueTable) {
+            return uniqueTable.checkIn(descriptor);
+        }
     }
 
     private OrNextStateDescriptor(final List<AbstractNextStateDescriptor> operands) {
@@ -60,8 +71,10 @@ public class OrNextStateDescriptor implements AbstractNextStateDescriptor {
             private final StateSpaceInfo localStateSpace;
             List<IntObjMapView<AbstractNextStateDescriptor>> diagonals = new ArrayList<>();
 
-            private IntObjMap<AbstractNextStateDescriptor> cache = HashIntObjMaps.newUpdatableMap();
-            private AbstractNextStateDescriptor defaultValue = null;
+            // guarded by itself; values are computed outside the lock, as they are canonical
+            private final IntObjMap<AbstractNextStateDescriptor> cache =
+                    HashIntObjMaps.newUpdatableMap();
+            private volatile AbstractNextStateDescriptor defaultValue = null;
 
             Diagonal(List<AbstractNextStateDescriptor> operands, StateSpaceInfo localStateSpace) {
                 this.localStateSpace = localStateSpace;
@@ -97,7 +110,10 @@ public class OrNextStateDescriptor implements AbstractNextStateDescriptor {
 
             @Override
             public AbstractNextStateDescriptor get(final int key) {
-                AbstractNextStateDescriptor ret = cache.get(key);
+                AbstractNextStateDescriptor ret;
+                synchronized (cache) {
+                    ret = cache.get(key);
+                }
                 if (ret != null) {
                     return ret;
                 }
@@ -116,7 +132,9 @@ public class OrNextStateDescriptor implements AbstractNextStateDescriptor {
                     ret = OrNextStateDescriptor.create(results);
                 }
 
-                cache.put(key, ret);
+                synchronized (cache) {
+                    cache.put(key, ret);
+                }
                 return ret;
             }
 
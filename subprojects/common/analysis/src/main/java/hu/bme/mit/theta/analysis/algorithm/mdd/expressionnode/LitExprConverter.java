@@ -59,12 +59,15 @@ public class LitExprConverter {
         if (litExpr instanceof ArrayLitExpr<?, ?>
                 || litExpr instanceof FpLitExpr
                 || litExpr instanceof RatLitExpr) {
-            if (objToInt.get(litExpr) != null) {
-                return objToInt.get(litExpr);
+            synchronized (objToInt) {
+                final Integer existing = objToInt.get(litExpr);
+                if (existing != null) {
+                    return existing;
+                }
+                final int id = cnt++;
+                objToInt.put(litExpr, id);
+                return id;
             }
-            final int id = cnt++;
-            objToInt.put(litExpr, id);
-            return id;
         }
         if (litExpr instanceof EnumLitExpr) {
             return ((EnumLitExpr) litExpr).getType().getIntValue((EnumLitExpr) litExpr);
@@ -72,6 +75,17 @@ public class LitExprConverter {
         throw new UnsupportedOperationException("Unsupported type");
     }
 
+    /**
+     * Forgets the integers assigned to literals without a natural integer value. Only call it when
+     * no MDD built with the previous assignment is used any more.
+     */
+    public static void clear() {
+        synchronized (objToInt) {
+            objToInt.clear();
+            cnt = 0;
+        }
+    }
+
     public static LitExpr<?> toLitExpr(int integer, Type type) {
         if (type instanceof IntType) {
             return IntLitExpr.of(BigInteger.valueOf(integer));
@@ -87,7 +101,9 @@ public class LitExprConverter {
                     BigInteger.valueOf(integer), ((BvType) type).getSize());
         }
         if (type instanceof ArrayType<?, ?> || type instanceof FpType || type instanceof RatType) {
-            return (LitExpr<?>) objToInt.inverse().get(integer);
+            synchronized (objToInt) {
+                return (LitExpr<?>) objToInt.inverse().get(integer);
+            }
         }
         if (type instanceof EnumType) {
             return ((EnumType) type).litFromIntValue(integer);
@@ -37,6 +37,7 @@ import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.type.booltype.FalseExpr;
+import hu.bme.mit.theta.core.type.booltype.TrueExpr;
 import hu.bme.mit.theta.core.utils.ExprUtils;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverPool;
@@ -54,6 +55,10 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
     private Traverser lazyTraverser;
     private final ExplicitRepresentation explicitRepresentation;
 
+    // Lazy expansion fills the explicit representation and checks in nodes, so it is guarded by
+    // the graph that owns the unique table
+    private final Object lock;
+
     private final SolverPool solverPool;
     private final boolean transExpr;
 
@@ -69,6 +74,7 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
         this.solverPool = solverPool;
         this.explicitRepresentation = new ExplicitRepresentation();
         this.transExpr = transExpr;
+        this.lock = mddVariable.getMddGraph();
     }
 
     // TODO only for debugging
@@ -118,8 +124,10 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
 
     @Override
     public boolean isEmpty() {
-        //        return false;
-        return explicitRepresentation.isComplete() && size() == 0;
+        synchronized (lock) {
+            //        return false;
+            return explicitRepresentation.isComplete() && size() == 0;
+        }
     }
 
     @Override
@@ -129,7 +137,9 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
 
     @Override
     public boolean containsKey(int key) {
-        return getLazyTraverser().queryEdge(key);
+        synchronized (lock) {
+            return getLazyTraverser().queryEdge(key);
+        }
     }
 
     public boolean isTransExpr() {
@@ -138,6 +148,12 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
 
     @Override
     public MddNode get(int key) {
+        synchronized (lock) {
+            return getOrExpand(key);
+        }
+    }
+
+    private MddNode getOrExpand(int key) {
         final var cached = explicitRepresentation.getCacheView().get(key);
         if (cached != null || this.explicitRepresentation.isComplete()) return cached;
         // TODO: this way null values are never cached and have to be recomputed every time
@@ -163,16 +179,23 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
 
             if (canonizedExpr instanceof FalseExpr) {
                 childNode = null;
+            } else if (canonizedExpr instanceof TrueExpr) {
+                childNode = mddGraph.getNodeFor(True());
             } else {
                 var solver = solverPool.requestSolver();
-                try (var wpp = new WithPushPop(solver)) {
-                    solver.add(canonizedExpr);
-                    if (solver.check().isSat()) {
-                        // TODO replace this with canonizedExpr if remainder expression is needed
-                        childNode = mddGraph.getNodeFor(True());
-                    } else {
-                        childNode = null;
+                try {
+                    try (var wpp = new WithPushPop(solver)) {
+                        solver.add(canonizedExpr);
+                        if (solver.check().isSat()) {
+                            // TODO replace this with canonizedExpr if remainder expression is
+                            // needed
+                            childNode = mddGraph.getNodeFor(True());
+                        } else {
+                            childNode = null;
+                        }
                     }
+                } finally {
+                    solverPool.returnSolver(solver);
                 }
             }
         }
@@ -243,9 +266,11 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
 
     @Override
     public int size() {
-        if (explicitRepresentation.isComplete())
-            return explicitRepresentation.getCacheView().size();
-        return -1;
+        synchronized (lock) {
+            if (explicitRepresentation.isComplete())
+                return explicitRepresentation.getCacheView().size();
+            return -1;
+        }
     }
 
     @Override
@@ -295,12 +320,15 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
         private final GrowingIntArray edgeOrdering;
         private MddNode defaultValue;
         private boolean complete;
+        // Next value of a finite domain to try when enumerating edges by evaluation
+        private int nextCandidate;
 
         public ExplicitRepresentation() {
             this.cache = HashIntObjMaps.newUpdatableMap();
             this.edgeOrdering = new GrowingIntArray(100, 100);
             this.defaultValue = null;
             this.complete = false;
+            this.nextCandidate = 0;
         }
 
         public void cacheNode(int key, MddNode node) {
@@ -349,6 +377,8 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
 
         private final Stack<MddExpressionRepresentation> stack;
 
+        private final Object lock;
+
         private Traverser(
                 MddExpressionRepresentation rootRepresentation,
                 Expr<BoolType> constraint,
@@ -357,6 +387,7 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
             this.stack = new Stack<>();
             this.constraint = constraint;
             this.currentRepresentation = rootRepresentation;
+            this.lock = rootRepresentation.lock;
         }
 
         public static Traverser create(
@@ -388,13 +419,29 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
                             != null) return true;
             else if (!currentRepresentation.explicitRepresentation.isComplete()) {
 
+                final LitExpr<?> litExpr =
+                        LitExprConverter.toLitExpr(
+                                assignment, currentRepresentation.decl.getType());
+                if (litExpr.isInvalid()) return false;
+
+                // Decide the edge without the solver if the assignment evaluates the expression
+                if (Objects.equals(constraint, True())) {
+                    final Expr<BoolType> evaluated = evaluate(litExpr);
+                    if (evaluated instanceof FalseExpr) {
+                        return false;
+                    } else if (evaluated instanceof TrueExpr) {
+                        cacheModel(
+                                ImmutableValuation.builder()
+                                        .put(currentRepresentation.decl, litExpr)
+                                        .build());
+                        return true;
+                    }
+                }
+
                 if (solver == null) solver = solverPool.requestSolver();
 
                 final SolverStatus status;
                 final Valuation model;
-                final LitExpr<?> litExpr =
-                        LitExprConverter.toLitExpr(
-                                assignment, currentRepresentation.decl.getType());
                 try (WithPushPop wpp = new WithPushPop(solver)) {
                     solver.add(currentRepresentation.expr);
                     solver.add(constraint);
@@ -420,6 +467,11 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
         public QueryResult queryEdge() {
             if (!currentRepresentation.explicitRepresentation.isComplete()) {
 
+                if (currentRepresentation.mddVariable.isBounded()
+                        && Objects.equals(constraint, True())) {
+                    return queryFiniteDomainEdge();
+                }
+
                 if (solver == null) solver = solverPool.requestSolver();
 
                 final Valuation model;
@@ -508,6 +560,48 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
             return QueryResult.failed();
         }
 
+        private Expr<BoolType> evaluate(LitExpr<?> litExpr) {
+            return ExprUtils.simplify(
+                    currentRepresentation.expr,
+                    ImmutableValuation.builder().put(currentRepresentation.decl, litExpr).build());
+        }
+
+        /**
+         * Finds the next edge of a variable with a finite domain by trying the values of the domain
+         * in order. The expression is evaluated with each value, and the solver is only called if
+         * the result still depends on lower variables.
+         */
+        private QueryResult queryFiniteDomainEdge() {
+            final ExplicitRepresentation explicitRepresentation =
+                    currentRepresentation.explicitRepresentation;
+            final Decl<?> decl = currentRepresentation.decl;
+            final int domainSize = currentRepresentation.mddVariable.getDomainSize();
+            while (explicitRepresentation.nextCandidate < domainSize) {
+                final int value = explicitRepresentation.nextCandidate++;
+                if (explicitRepresentation.getCacheView().containsKey(value)) continue;
+                final LitExpr<?> litExpr = LitExprConverter.toLitExpr(value, decl.getType());
+                if (litExpr.isInvalid()) continue;
+
+                final Expr<BoolType> evaluated = evaluate(litExpr);
+                if (evaluated instanceof FalseExpr) continue;
+
+                final MutableValuation modelToCache = new MutableValuation();
+                if (!(evaluated instanceof TrueExpr)) {
+                    if (solver == null) solver = solverPool.requestSolver();
+                    try (var wpp = new WithPushPop(solver)) {
+                        solver.add(evaluated);
+                        if (solver.check().isUnsat()) continue;
+                        modelToCache.putAll(solver.getModel());
+                    }
+                }
+                modelToCache.put(decl, litExpr);
+                cacheModel(modelToCache);
+                return QueryResult.singleEdge(value);
+            }
+            explicitRepresentation.setComplete();
+            return QueryResult.failed();
+        }
+
         // TODO osszevonni queryChilddal
         public MddNode moveDown(int assignment) {
             if (queryEdge(assignment)) {
@@ -752,34 +846,38 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
 
         @Override
         public boolean moveTo(int key) {
-            Preconditions.checkState(
-                    !blocked, "Cursor can't be moved until its children are disposed of");
-            Preconditions.checkState(!closed, "Cursor can't be moved if it was closed");
-
-            var currentRepresentation = traverser.currentRepresentation;
-            if (currentRepresentation.explicitRepresentation.getCacheView().containsKey(key)
-                    || !currentRepresentation.explicitRepresentation.isComplete()
-                            && traverser.queryEdge(key)) {
-                this.key = key;
-                this.value = currentRepresentation.get(key);
-                this.initialized = true;
-                return true;
+            synchronized (traverser.lock) {
+                Preconditions.checkState(
+                        !blocked, "Cursor can't be moved until its children are disposed of");
+                Preconditions.checkState(!closed, "Cursor can't be moved if it was closed");
+
+                var currentRepresentation = traverser.currentRepresentation;
+                if (currentRepresentation.explicitRepresentation.getCacheView().containsKey(key)
+                        || !currentRepresentation.explicitRepresentation.isComplete()
+                                && traverser.queryEdge(key)) {
+                    this.key = key;
+                    this.value = currentRepresentation.get(key);
+                    this.initialized = true;
+                    return true;
+                }
+                return false;
             }
-            return false;
         }
 
         @Override
         public RecursiveIntObjCursor<MddNode> valueCursor() {
-            Preconditions.checkState(!blocked, "Can't provide value cursor for blocked cursor");
-            Preconditions.checkState(!closed, "Can't provide value cursor for closed cursor");
-
-            this.blocked = true;
-            final MddNode childNode = this.traverser.peekDown(key);
-            if (childNode.isTerminal()) {
-                return new Terminal(this);
-            } else {
-                this.traverser.moveDown(key);
-                return new Cursor(this, traverser);
+            synchronized (traverser.lock) {
+                Preconditions.checkState(!blocked, "Can't provide value cursor for blocked cursor");
+                Preconditions.checkState(!closed, "Can't provide value cursor for closed cursor");
+
+                this.blocked = true;
+                final MddNode childNode = this.traverser.peekDown(key);
+                if (childNode.isTerminal()) {
+                    return new Terminal(this);
+                } else {
+                    this.traverser.moveDown(key);
+                    return new Cursor(this, traverser);
+                }
             }
         }
 
@@ -797,6 +895,12 @@ public class MddExpressionRepresentation implements RecursiveIntObjMapView<MddNo
 
         @Override
         public boolean moveNext() {
+            synchronized (traverser.lock) {
+                return advance();
+            }
+        }
+
+        private boolean advance() {
             Preconditions.checkState(
                     !blocked, "Cursor can't be moved until its children are not closed");
             Preconditions.checkState(!closed, "Cursor can't be moved if it was closed");
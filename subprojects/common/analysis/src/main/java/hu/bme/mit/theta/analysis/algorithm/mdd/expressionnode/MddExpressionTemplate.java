@@ -28,6 +28,7 @@ import hu.bme.mit.theta.core.model.Substitution;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.type.booltype.FalseExpr;
+import hu.bme.mit.theta.core.type.booltype.TrueExpr;
 import hu.bme.mit.theta.core.utils.ExprUtils;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverPool;
@@ -41,14 +42,17 @@ public class MddExpressionTemplate implements MddNode.Template {
     private final SolverPool solverPool;
     private final boolean transExpr;
 
-    private static Solver lazySolver;
-
     private static boolean isSat(Expr<BoolType> expr, SolverPool solverPool) {
-        if (lazySolver == null) lazySolver = solverPool.requestSolver();
+        // The pool hands the same solver back to the same thread if it is idle
+        final Solver solver = solverPool.requestSolver();
         boolean res;
-        try (var wpp = new WithPushPop(lazySolver)) {
-            lazySolver.add(expr);
-            res = lazySolver.check().isSat();
+        try {
+            try (var wpp = new WithPushPop(solver)) {
+                solver.add(expr);
+                res = solver.check().isSat();
+            }
+        } finally {
+            solverPool.returnSolver(solver);
         }
         return res;
     }
@@ -97,7 +101,8 @@ public class MddExpressionTemplate implements MddNode.Template {
         //        }
 
         // Check if terminal 0
-        if (canonizedExpr instanceof FalseExpr || !isSat(canonizedExpr, solverPool)) {
+        if (canonizedExpr instanceof FalseExpr
+                || !(canonizedExpr instanceof TrueExpr) && !isSat(canonizedExpr, solverPool)) {
             return null;
         }
 
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+import hu.bme.mit.delta.java.mdd.BinaryOperationCache;
+import hu.bme.mit.delta.java.mdd.Cache;
+
+/**
+ * Cache of a binary MDD operation that can be bounded by {@link MddCachePolicy}. It has the same
+ * interface as the unbounded operation caches of the MDD library, and an unbounded instance simply
+ * delegates to one of those, so the default policy keeps the original lookup path.
+ */
+public final class BoundedBinaryOperationCache<A, B, R> implements Cache {
+
+    @FunctionalInterface
+    public interface EntryPredicate<A, B, R> {
+        boolean test(A a, B b, R result);
+    }
+
+    private record Key(Object a, Object b) {}
+
+    // exactly one of them is used
+    private final BinaryOperationCache<A, B, R> unbounded;
+    private final OperationCacheStore<Key, R> store;
+
+    public BoundedBinaryOperationCache() {
+        this(0);
+    }
+
+    /** Creates a cache with the given number of slots, or an unbounded one if it is 0. */
+    public BoundedBinaryOperationCache(final int capacity) {
+        this.unbounded = capacity == 0 ? new BinaryOperationCache<>() : null;
+        this.store = capacity == 0 ? null : new OperationCacheStore<>(capacity);
+    }
+
+    public R getOrNull(final A a, final B b) {
+        return unbounded != null ? unbounded.getOrNull(a, b) : store.get(new Key(a, b));
+    }
+
+    public void addToCache(final A a, final B b, final R result) {
+        if (unbounded != null) {
+            unbounded.addToCache(a, b, result);
+        } else {
+            store.put(new Key(a, b), result);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void clearSelectively(final EntryPredicate<A, B, R> predicate) {
+        if (unbounded != null) {
+            unbounded.clearSelectively(predicate::test);
+        } else {
+            store.removeIf((key, result) -> predicate.test((A) key.a(), (B) key.b(), result));
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (unbounded != null) {
+            unbounded.clear();
+        } else {
+            store.clear();
+        }
+    }
+
+    @Override
+    public long getCacheSize() {
+        return unbounded != null ? unbounded.getCacheSize() : store.size();
+    }
+
+    @Override
+    public long getQueryCount() {
+        return unbounded != null ? unbounded.getQueryCount() : store.getQueryCount();
+    }
+
+    @Override
+    public long getHitCount() {
+        return unbounded != null ? unbounded.getHitCount() : store.getHitCount();
+    }
+
+    public long getEvictionCount() {
+        return unbounded != null ? 0 : store.getEvictionCount();
+    }
+}
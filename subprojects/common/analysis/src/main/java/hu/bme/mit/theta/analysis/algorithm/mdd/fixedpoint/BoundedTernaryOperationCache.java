@@ -0,0 +1,98 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+import hu.bme.mit.delta.java.mdd.Cache;
+import hu.bme.mit.delta.java.mdd.TernaryOperationCache;
+
+/**
+ * Cache of a ternary MDD operation that can be bounded by {@link MddCachePolicy}. Like {@link
+ * BoundedBinaryOperationCache}, an unbounded instance delegates to the cache of the MDD library.
+ */
+public final class BoundedTernaryOperationCache<A, B, C, R> implements Cache {
+
+    @FunctionalInterface
+    public interface EntryPredicate<A, B, C, R> {
+        boolean test(A a, B b, C c, R result);
+    }
+
+    private record Key(Object a, Object b, Object c) {}
+
+    // exactly one of them is used
+    private final TernaryOperationCache<A, B, C, R> unbounded;
+    private final OperationCacheStore<Key, R> store;
+
+    public BoundedTernaryOperationCache() {
+        this(0);
+    }
+
+    /** Creates a cache with the given number of slots, or an unbounded one if it is 0. */
+    public BoundedTernaryOperationCache(final int capacity) {
+        this.unbounded = capacity == 0 ? new TernaryOperationCache<>() : null;
+        this.store = capacity == 0 ? null : new OperationCacheStore<>(capacity);
+    }
+
+    public R getOrNull(final A a, final B b, final C c) {
+        return unbounded != null ? unbounded.getOrNull(a, b, c) : store.get(new Key(a, b, c));
+    }
+
+    public void addToCache(final A a, final B b, final C c, final R result) {
+        if (unbounded != null) {
+            unbounded.addToCache(a, b, c, result);
+        } else {
+            store.put(new Key(a, b, c), result);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void clearSelectively(final EntryPredicate<A, B, C, R> predicate) {
+        if (unbounded != null) {
+            unbounded.clearSelectively(predicate::test);
+        } else {
+            store.removeIf(
+                    (key, result) ->
+                            predicate.test((A) key.a(), (B) key.b(), (C) key.c(), result));
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (unbounded != null) {
+            unbounded.clear();
+        } else {
+            store.clear();
+        }
+    }
+
+    @Override
+    public long getCacheSize() {
+        return unbounded != null ? unbounded.getCacheSize() : store.size();
+    }
+
+    @Override
+    public long getQueryCount() {
+        return unbounded != null ? unbounded.getQueryCount() : store.getQueryCount();
+    }
+
+    @Override
+    public long getHitCount() {
+        return unbounded != null ? unbounded.getHitCount() : store.getHitCount();
+    }
+
+    public long getEvictionCount() {
+        return unbounded != null ? 0 : store.getEvictionCount();
+    }
+}
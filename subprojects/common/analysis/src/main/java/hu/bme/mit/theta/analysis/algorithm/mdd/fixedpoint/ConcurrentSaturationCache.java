@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+import hu.bme.mit.delta.java.mdd.Cache;
+import hu.bme.mit.delta.java.mdd.MddNode;
+import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe counterpart of {@link SaturationCache}, used by {@link ParallelSaturationProvider}.
+ * Entries are stored in concurrent hash maps, so lookups and insertions of different workers do not
+ * block each other. If two workers compute the same entry, the first insertion is kept; both
+ * results are the same canonical node anyway. A bounded cache is cleared when it becomes full, as
+ * a concurrent map has no cheap way to evict single entries.
+ */
+public final class ConcurrentSaturationCache implements Cache {
+
+    private record SaturateKey(MddNode node, AbstractNextStateDescriptor descriptor) {}
+
+    private record RelProdKey(
+            MddNode node, AbstractNextStateDescriptor dsat, AbstractNextStateDescriptor dfire) {}
+
+    private final Map<SaturateKey, MddNode> saturateCache = new ConcurrentHashMap<>();
+    private final Map<RelProdKey, MddNode> relProdCache = new ConcurrentHashMap<>();
+
+    private final LongAdder saturateQueries = new LongAdder();
+    private final LongAdder saturateHits = new LongAdder();
+    private final LongAdder relProdQueries = new LongAdder();
+    private final LongAdder relProdHits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxEntries;
+
+    public ConcurrentSaturationCache() {
+        this(0);
+    }
+
+    /** Creates a cache that holds at most the given number of entries of each kind, if positive. */
+    public ConcurrentSaturationCache(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    private void makeRoom(final Map<?, MddNode> cache) {
+        if (maxEntries > 0 && cache.size() >= maxEntries) {
+            evictions.add(cache.size());
+            cache.clear();
+        }
+    }
+
+    public MddNode getSaturated(final MddNode node, final AbstractNextStateDescriptor descriptor) {
+        saturateQueries.increment();
+        final MddNode result = saturateCache.get(new SaturateKey(node, descriptor));
+        if (result != null) {
+            saturateHits.increment();
+        }
+        return result;
+    }
+
+    public void addSaturated(
+            final MddNode node,
+            final AbstractNextStateDescriptor descriptor,
+            final MddNode result) {
+        makeRoom(saturateCache);
+        saturateCache.putIfAbsent(new SaturateKey(node, descriptor), result);
+    }
+
+    public MddNode getRelProd(
+            final MddNode node,
+            final AbstractNextStateDescriptor dsat,
+            final AbstractNextStateDescriptor dfire) {
+        relProdQueries.increment();
+        final MddNode result = relProdCache.get(new RelProdKey(node, dsat, dfire));
+        if (result != null) {
+            relProdHits.increment();
+        }
+        return result;
+    }
+
+    public void addRelProd(
+            final MddNode node,
+            final AbstractNextStateDescriptor dsat,
+            final AbstractNextStateDescriptor dfire,
+            final MddNode result) {
+        makeRoom(relProdCache);
+        relProdCache.putIfAbsent(new RelProdKey(node, dsat, dfire), result);
+    }
+
+    /** Removes the entries whose source or result node matches the given predicate. */
+    public void clearSelectively(final Predicate<MddNode> shouldClear) {
+        saturateCache
+                .entrySet()
+                .removeIf(
+                        e -> shouldClear.test(e.getKey().node()) || shouldClear.test(e.getValue()));
+        relProdCache
+                .entrySet()
+                .removeIf(
+                        e -> shouldClear.test(e.getKey().node()) || shouldClear.test(e.getValue()));
+    }
+
+    public Cache getSaturateCache() {
+        return new CacheView(saturateCache, saturateQueries, saturateHits);
+    }
+
+    public Cache getRelProdCache() {
+        return new CacheView(relProdCache, relProdQueries, relProdHits);
+    }
+
+    @Override
+    public void clear() {
+        saturateCache.clear();
+        relProdCache.clear();
+    }
+
+    @Override
+    public long getCacheSize() {
+        return saturateCache.size() + relProdCache.size();
+    }
+
+    @Override
+    public long getQueryCount() {
+        return saturateQueries.sum() + relProdQueries.sum();
+    }
+
+    @Override
+    public long getHitCount() {
+        return saturateHits.sum() + relProdHits.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private record CacheView(Map<?, MddNode> map, LongAdder queries, LongAdder hits)
+            implements Cache {
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public long getCacheSize() {
+            return map.size();
+        }
+
+        @Override
+        public long getQueryCount() {
+            return queries.sum();
+        }
+
+        @Override
+        public long getHitCount() {
+            return hits.sum();
+        }
+    }
+}
@@ -33,18 +33,34 @@ public final class CursorGeneralizedSaturationProvider
 
     private MddVariableOrder variableOrder;
     private RelationalProductProvider relProdProvider;
-    private final CacheManager<SaturationCache> cacheManager =
-            new CacheManager<>(v -> new SaturationCache());
+    private final CacheManager<SaturationCache> cacheManager;
+    private final OperationCacheStore.Maintenance<SaturationCache> cacheMaintenance;
     private MddNode terminalZeroNode;
 
     public CursorGeneralizedSaturationProvider(final MddVariableOrder variableOrder) {
         this(variableOrder, new LegacyRelationalProductProvider(variableOrder));
     }
 
+    public CursorGeneralizedSaturationProvider(
+            final MddVariableOrder variableOrder, final MddCachePolicy cachePolicy) {
+        this(variableOrder, new LegacyRelationalProductProvider(variableOrder), cachePolicy);
+    }
+
     public CursorGeneralizedSaturationProvider(
             final MddVariableOrder variableOrder, final RelationalProductProvider relProdProvider) {
+        this(variableOrder, relProdProvider, MddCachePolicy.unbounded());
+    }
+
+    public CursorGeneralizedSaturationProvider(
+            final MddVariableOrder variableOrder,
+            final RelationalProductProvider relProdProvider,
+            final MddCachePolicy cachePolicy) {
         this.variableOrder = variableOrder;
         this.relProdProvider = relProdProvider;
+        this.cacheManager = new CacheManager<>(v -> new SaturationCache(cachePolicy));
+        this.cacheMaintenance =
+                new OperationCacheStore.Maintenance<>(
+                        cachePolicy, cacheManager::forEachCache, this::cleanup);
         this.variableOrder.getMddGraph().registerCleanupListener(this);
         this.terminalZeroNode = variableOrder.getMddGraph().getTerminalZeroNode();
     }
@@ -217,6 +233,7 @@ public final class CursorGeneralizedSaturationProvider
         } while (changed);
 
         cache.getCache().getSaturateCache().addToCache(n, d, nsat);
+        cacheMaintenance.afterInsertion();
 
         if (verbose) {
             indent--;
@@ -464,6 +481,7 @@ public final class CursorGeneralizedSaturationProvider
         }
 
         cache.getCache().getRelProdCache().addToCache(n, dsat, dfire, ret);
+        cacheMaintenance.afterInsertion();
 
         if (verbose) {
             indent--;
@@ -627,4 +645,9 @@ public final class CursorGeneralizedSaturationProvider
 
         return new RelProdCache(cacheManager);
     }
+
+    /** The number of cache entries evicted by the lossy caches or cleared on memory pressure. */
+    public long getEvictionCount() {
+        return cacheMaintenance.getEvictionCount(SaturationCache::getEvictionCount);
+    }
 }
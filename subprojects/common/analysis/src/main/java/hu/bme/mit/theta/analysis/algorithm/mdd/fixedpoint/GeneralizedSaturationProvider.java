@@ -33,18 +33,34 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
 
     private MddVariableOrder variableOrder;
     private RelationalProductProvider relProdProvider;
-    private final CacheManager<SaturationCache> cacheManager =
-            new CacheManager<>(v -> new SaturationCache());
+    private final CacheManager<SaturationCache> cacheManager;
+    private final OperationCacheStore.Maintenance<SaturationCache> cacheMaintenance;
     private MddNode terminalZeroNode;
 
     public GeneralizedSaturationProvider(final MddVariableOrder variableOrder) {
         this(variableOrder, new LegacyRelationalProductProvider(variableOrder));
     }
 
+    public GeneralizedSaturationProvider(
+            final MddVariableOrder variableOrder, final MddCachePolicy cachePolicy) {
+        this(variableOrder, new LegacyRelationalProductProvider(variableOrder), cachePolicy);
+    }
+
     public GeneralizedSaturationProvider(
             final MddVariableOrder variableOrder, final RelationalProductProvider relProdProvider) {
+        this(variableOrder, relProdProvider, MddCachePolicy.unbounded());
+    }
+
+    public GeneralizedSaturationProvider(
+            final MddVariableOrder variableOrder,
+            final RelationalProductProvider relProdProvider,
+            final MddCachePolicy cachePolicy) {
         this.variableOrder = variableOrder;
         this.relProdProvider = relProdProvider;
+        this.cacheManager = new CacheManager<>(v -> new SaturationCache(cachePolicy));
+        this.cacheMaintenance =
+                new OperationCacheStore.Maintenance<>(
+                        cachePolicy, cacheManager::forEachCache, this::cleanup);
         this.variableOrder.getMddGraph().registerCleanupListener(this);
         this.terminalZeroNode = variableOrder.getMddGraph().getTerminalZeroNode();
     }
@@ -186,6 +202,7 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
         } while (changed);
 
         cache.getCache().getSaturateCache().addToCache(n, d, nsat);
+        cacheMaintenance.afterInsertion();
 
         if (verbose) {
             indent--;
@@ -438,6 +455,7 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
         ret = saturate(ret, dsat, variable, cache);
 
         cache.getCache().getRelProdCache().addToCache(n, dsat, dfire, ret);
+        cacheMaintenance.afterInsertion();
 
         if (verbose) {
             indent--;
@@ -618,4 +636,9 @@ public final class GeneralizedSaturationProvider implements StateSpaceEnumeratio
     public long getHitCount() {
         return getSaturateCache().getHitCount();
     }
+
+    @Override
+    public long getEvictionCount() {
+        return cacheMaintenance.getEvictionCount(SaturationCache::getEvictionCount);
+    }
 }
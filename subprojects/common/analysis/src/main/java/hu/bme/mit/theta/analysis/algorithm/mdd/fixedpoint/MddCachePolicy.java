@@ -0,0 +1,139 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Configures how the operation caches of the state space enumeration providers are bounded.
+ *
+ * <ul>
+ *   <li>A positive per-level budget turns the caches of each MDD variable into lossy,
+ *       direct-mapped caches with that many slots. A colliding insertion evicts the old entry.
+ *   <li>Every {@link #getCheckInterval()} cache insertions, the provider checks the heap. If the
+ *       used fraction of the maximal heap is above the pressure threshold, all operation caches
+ *       are cleared. Otherwise the entries whose source or result node is no longer referenced are
+ *       dropped, so the unique table can reclaim those nodes.
+ * </ul>
+ *
+ * The default policy is unbounded and never checks the heap, which is the original behavior.
+ */
+public final class MddCachePolicy {
+
+    /** The largest number of slots of a cache of a single level, a power of two array size. */
+    public static final int MAX_ENTRIES_PER_LEVEL = 1 << 30;
+
+    /** Rough size of a cache entry including the keys, used to convert memory budgets. */
+    private static final long BYTES_PER_ENTRY = 64;
+
+    private static final int DEFAULT_CHECK_INTERVAL = 1 << 16;
+    private static final double DEFAULT_PRESSURE_THRESHOLD = 0.9;
+
+    private static final MddCachePolicy UNBOUNDED = new MddCachePolicy(0, 1.0, 0);
+
+    private final int maxEntriesPerLevel;
+    private final double pressureThreshold;
+    private final int checkInterval;
+
+    private MddCachePolicy(
+            final int maxEntriesPerLevel, final double pressureThreshold, final int checkInterval) {
+        checkArgument(
+                maxEntriesPerLevel >= 0 && maxEntriesPerLevel <= MAX_ENTRIES_PER_LEVEL,
+                "Cache budget must be in [0, %s]",
+                MAX_ENTRIES_PER_LEVEL);
+        checkArgument(
+                pressureThreshold > 0 && pressureThreshold <= 1,
+                "Pressure threshold must be in (0, 1]");
+        checkArgument(checkInterval >= 0, "Check interval must not be negative");
+        this.maxEntriesPerLevel = maxEntriesPerLevel;
+        this.pressureThreshold = pressureThreshold;
+        this.checkInterval = checkInterval;
+    }
+
+    public static MddCachePolicy unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * Lossy caches with the given number of slots for each MDD variable, cleared on pressure. The
+     * number of slots must be at most {@link #MAX_ENTRIES_PER_LEVEL}.
+     */
+    public static MddCachePolicy bounded(final int maxEntriesPerLevel) {
+        checkArgument(
+                maxEntriesPerLevel > 0 && maxEntriesPerLevel <= MAX_ENTRIES_PER_LEVEL,
+                "Cache budget must be in [1, %s]",
+                MAX_ENTRIES_PER_LEVEL);
+        return new MddCachePolicy(
+                maxEntriesPerLevel, DEFAULT_PRESSURE_THRESHOLD, DEFAULT_CHECK_INTERVAL);
+    }
+
+    /**
+     * Splits a memory budget for the operation caches evenly among the levels of the MDD. A
+     * provider usually keeps two caches (saturation and relational product) for each level.
+     */
+    public static MddCachePolicy forMemoryBudget(final long budgetBytes, final int levels) {
+        checkArgument(budgetBytes > 0, "Memory budget must be positive");
+        checkArgument(levels > 0, "Number of levels must be positive");
+        final long entries = budgetBytes / BYTES_PER_ENTRY / (2L * levels);
+        return bounded((int) Math.max(1, Math.min(entries, MAX_ENTRIES_PER_LEVEL)));
+    }
+
+    public MddCachePolicy withPressureThreshold(final double pressureThreshold) {
+        return new MddCachePolicy(maxEntriesPerLevel, pressureThreshold, checkInterval);
+    }
+
+    public MddCachePolicy withCheckInterval(final int checkInterval) {
+        return new MddCachePolicy(maxEntriesPerLevel, pressureThreshold, checkInterval);
+    }
+
+    /** The number of slots of a cache of a single level, or 0 if the caches are unbounded. */
+    public int getMaxEntriesPerLevel() {
+        return maxEntriesPerLevel;
+    }
+
+    public boolean isBounded() {
+        return maxEntriesPerLevel > 0;
+    }
+
+    public double getPressureThreshold() {
+        return pressureThreshold;
+    }
+
+    /** The number of cache insertions between heap checks, or 0 if the heap is never checked. */
+    public int getCheckInterval() {
+        return checkInterval;
+    }
+
+    /** Whether the used part of the heap exceeds the pressure threshold. */
+    public boolean isUnderPressure() {
+        final Runtime runtime = Runtime.getRuntime();
+        final long used = runtime.totalMemory() - runtime.freeMemory();
+        return used > pressureThreshold * runtime.maxMemory();
+    }
+
+    @Override
+    public String toString() {
+        return isBounded()
+                ? "MddCachePolicy[maxEntriesPerLevel="
+                        + maxEntriesPerLevel
+                        + ", pressureThreshold="
+                        + pressureThreshold
+                        + ", checkInterval="
+                        + checkInterval
+                        + "]"
+                : "MddCachePolicy[unbounded]";
+    }
+}
@@ -112,14 +112,17 @@ public final class MddStateSpaceInfo implements StateSpaceInfo {
     @Override
     public MddNode toStructuralRepresentation() {
         if (structuralRepresentation == null) {
-            var cached = cache.getOrNull(variable, mddNode);
-            if (cached != null) {
-                structuralRepresentation = cached;
-                return structuralRepresentation;
+            // The shared cache and the unique table are guarded by the graph
+            synchronized (variable.getMddGraph()) {
+                var cached = cache.getOrNull(variable, mddNode);
+                if (cached != null) {
+                    structuralRepresentation = cached;
+                    return structuralRepresentation;
+                }
+                final BoundsCollector boundsCollector = new BoundsCollector(mddNode, variable);
+                structuralRepresentation = representBounds(variable, boundsCollector);
+                cache.addToCache(variable, mddNode, structuralRepresentation);
             }
-            final BoundsCollector boundsCollector = new BoundsCollector(mddNode, variable);
-            structuralRepresentation = representBounds(variable, boundsCollector);
-            cache.addToCache(variable, mddNode, structuralRepresentation);
         }
         return structuralRepresentation;
     }
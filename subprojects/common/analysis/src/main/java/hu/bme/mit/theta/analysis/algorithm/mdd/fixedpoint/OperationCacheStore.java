@@ -0,0 +1,172 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import hu.bme.mit.delta.java.mdd.Cache;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Storage of the bounded operation caches: a direct-mapped table, where every key has a single slot
+ * determined by its hash, and inserting into an occupied slot evicts the previous entry. Unbounded
+ * caches use the operation caches of the MDD library instead.
+ */
+final class OperationCacheStore<K, R> {
+
+    private final Object[] keys;
+    private final Object[] values;
+    private final int mask;
+    private int size = 0;
+
+    private long queryCount = 0;
+    private long hitCount = 0;
+    private long evictionCount = 0;
+
+    OperationCacheStore(final int capacity) {
+        checkArgument(
+                capacity > 0 && capacity <= MddCachePolicy.MAX_ENTRIES_PER_LEVEL,
+                "Capacity must be in [1, %s]",
+                MddCachePolicy.MAX_ENTRIES_PER_LEVEL);
+        final int slots = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.keys = new Object[slots];
+        this.values = new Object[slots];
+        this.mask = slots - 1;
+    }
+
+    private int slotOf(final K key) {
+        final int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    R get(final K key) {
+        queryCount++;
+        final int slot = slotOf(key);
+        final R result = key.equals(keys[slot]) ? (R) values[slot] : null;
+        if (result != null) {
+            hitCount++;
+        }
+        return result;
+    }
+
+    void put(final K key, final R value) {
+        final int slot = slotOf(key);
+        if (keys[slot] == null) {
+            size++;
+        } else if (!key.equals(keys[slot])) {
+            evictionCount++;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    void removeIf(final BiPredicate<K, R> predicate) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && predicate.test((K) keys[i], (R) values[i])) {
+                keys[i] = null;
+                values[i] = null;
+                size--;
+            }
+        }
+    }
+
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, null);
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    long getQueryCount() {
+        return queryCount;
+    }
+
+    long getHitCount() {
+        return hitCount;
+    }
+
+    long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Applies an {@link MddCachePolicy} to the operation caches of a provider: every few
+     * insertions, all caches are cleared if the heap is under pressure, otherwise the entries of
+     * unreferenced nodes are dropped by the cleanup of the provider. Can be used from multiple
+     * threads.
+     */
+    static final class Maintenance<C extends Cache> {
+
+        private final MddCachePolicy policy;
+        private final Consumer<Consumer<C>> forEachCache;
+        private final Runnable cleanup;
+        private final AtomicLong insertions = new AtomicLong();
+        private final LongAdder pressureEvictions = new LongAdder();
+
+        /**
+         * @param forEachCache iterates over the current caches of the provider
+         * @param cleanup drops the entries of unreferenced nodes
+         */
+        Maintenance(
+                final MddCachePolicy policy,
+                final Consumer<Consumer<C>> forEachCache,
+                final Runnable cleanup) {
+            this.policy = policy;
+            this.forEachCache = forEachCache;
+            this.cleanup = cleanup;
+        }
+
+        /** To be called after each cache insertion. */
+        void afterInsertion() {
+            final int interval = policy.getCheckInterval();
+            if (interval == 0 || insertions.incrementAndGet() % interval != 0) {
+                return;
+            }
+            if (policy.isUnderPressure()) {
+                forEachCache.accept(
+                        cache -> {
+                            pressureEvictions.add(cache.getCacheSize());
+                            cache.clear();
+                        });
+            } else {
+                cleanup.run();
+            }
+        }
+
+        /**
+         * The number of entries evicted by the caches themselves (as counted by the given function)
+         * and by clearing them on pressure.
+         */
+        long getEvictionCount(final ToLongFunction<? super C> cacheEvictions) {
+            final LongAdder result = new LongAdder();
+            result.add(pressureEvictions.sum());
+            forEachCache.accept(cache -> result.add(cacheEvictions.applyAsLong(cache)));
+            return result.sum();
+        }
+    }
+}
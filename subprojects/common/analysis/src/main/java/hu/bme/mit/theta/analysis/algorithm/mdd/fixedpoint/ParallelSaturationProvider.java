@@ -0,0 +1,581 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
+
+import com.google.common.base.Preconditions;
+import hu.bme.mit.delta.collections.IntObjCursor;
+import hu.bme.mit.delta.collections.IntObjMapView;
+import hu.bme.mit.delta.collections.RecursiveIntObjMapView;
+import hu.bme.mit.delta.java.mdd.*;
+import hu.bme.mit.delta.java.mdd.impl.MddStructuralTemplate;
+import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Multi-threaded variant of {@link GeneralizedSaturationProvider}. Saturating the children of a
+ * node and firing a transition from the different local states of a node are independent, so these
+ * are forked as tasks of a {@link ForkJoinPool} and their results are joined by union. The
+ * operation caches are {@link ConcurrentSaturationCache}s, and every interaction with the unique
+ * table of the MDD graph (node check-in and union) is serialized on the monitor of the graph. The
+ * tasks query the diagonals of the next state descriptor concurrently, so the descriptors used with
+ * this provider must be thread-safe (the union, identity and MDD node descriptors are). As MDDs are
+ * canonical, the result is the same node that the sequential providers compute.
+ */
+public final class ParallelSaturationProvider implements StateSpaceEnumerationProvider {
+
+    private final MddVariableOrder variableOrder;
+    private final RelationalProductProvider relProdProvider;
+    private final ForkJoinPool pool;
+    private final Map<MddVariable, ConcurrentSaturationCache> caches = new ConcurrentHashMap<>();
+    private final MddCachePolicy cachePolicy;
+    private final OperationCacheStore.Maintenance<ConcurrentSaturationCache> cacheMaintenance;
+    private final MddGraph<?> mddGraph;
+    private final MddNode terminalZeroNode;
+
+    public ParallelSaturationProvider(final MddVariableOrder variableOrder) {
+        this(variableOrder, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelSaturationProvider(final MddVariableOrder variableOrder, final int parallelism) {
+        this(variableOrder, new LegacyRelationalProductProvider(variableOrder), parallelism);
+    }
+
+    public ParallelSaturationProvider(
+            final MddVariableOrder variableOrder,
+            final int parallelism,
+            final MddCachePolicy cachePolicy) {
+        this(
+                variableOrder,
+                new LegacyRelationalProductProvider(variableOrder),
+                parallelism,
+                cachePolicy);
+    }
+
+    public ParallelSaturationProvider(
+            final MddVariableOrder variableOrder,
+            final RelationalProductProvider relProdProvider,
+            final int parallelism) {
+        this(variableOrder, relProdProvider, parallelism, MddCachePolicy.unbounded());
+    }
+
+    public ParallelSaturationProvider(
+            final MddVariableOrder variableOrder,
+            final RelationalProductProvider relProdProvider,
+            final int parallelism,
+            final MddCachePolicy cachePolicy) {
+        Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive");
+        this.variableOrder = variableOrder;
+        this.relProdProvider = relProdProvider;
+        this.cachePolicy = cachePolicy;
+        this.cacheMaintenance =
+                new OperationCacheStore.Maintenance<>(
+                        cachePolicy, action -> caches.values().forEach(action), this::cleanup);
+        this.pool = new ForkJoinPool(parallelism);
+        this.mddGraph = variableOrder.getMddGraph();
+        this.mddGraph.registerCleanupListener(this);
+        this.terminalZeroNode = mddGraph.getTerminalZeroNode();
+    }
+
+    @Override
+    public MddHandle compute(
+            AbstractNextStateDescriptor.Postcondition initializer,
+            AbstractNextStateDescriptor nextStateRelation,
+            MddVariableHandle highestAffectedVariable) {
+        final MddHandle initialStates =
+                relProdProvider.compute(
+                        variableOrder.getMddGraph().getHandleForTop(),
+                        initializer,
+                        highestAffectedVariable);
+
+        MddNode result;
+
+        if (highestAffectedVariable.getVariable().isPresent()) {
+            final MddVariable variable = highestAffectedVariable.getVariable().get();
+            result = this.compute(initialStates.getNode(), nextStateRelation, variable);
+        } else {
+            result =
+                    this.computeTerminal(
+                            initialStates.getNode(),
+                            nextStateRelation,
+                            highestAffectedVariable.getMddGraph());
+        }
+
+        return highestAffectedVariable.getHandleFor(result);
+    }
+
+    @Override
+    public MddNode compute(
+            final MddNode mddNode,
+            final AbstractNextStateDescriptor nextState,
+            final MddVariable mddVariable) {
+        return pool.invoke(new SaturateTask(mddNode, nextState, mddVariable));
+    }
+
+    private ConcurrentSaturationCache cacheFor(final MddVariable variable) {
+        return caches.computeIfAbsent(
+                variable, v -> new ConcurrentSaturationCache(cachePolicy.getMaxEntriesPerLevel()));
+    }
+
+    private MddNode checkIn(final MddVariable variable, final MddStructuralTemplate template) {
+        synchronized (mddGraph) {
+            return variable.checkInNode(template);
+        }
+    }
+
+    private MddNode union(final MddVariable variable, final MddNode lhs, final MddNode rhs) {
+        synchronized (mddGraph) {
+            return variable.union(lhs, rhs);
+        }
+    }
+
+    private MddNode unionChildren(
+            final MddNode lhs, final MddNode rhs, MddVariable currentVariable) {
+        synchronized (mddGraph) {
+            if (currentVariable.getLower().isPresent()) {
+                return currentVariable.getLower().get().union(lhs, rhs);
+            } else {
+                return currentVariable.getMddGraph().unionTerminal(lhs, rhs);
+            }
+        }
+    }
+
+    private RecursiveIntObjMapView<? extends MddNode> interpreterOf(
+            final MddNode n,
+            final MddVariable variable,
+            final IntObjMapView<IntObjMapView<AbstractNextStateDescriptor>> offDiagonal) {
+        final boolean lhsSkipped = !n.isOn(variable);
+        if ((lhsSkipped || (n.defaultValue() != null && n.isEmpty())) && !variable.isBounded()) {
+            final MddNode childCandidate = lhsSkipped ? n : n.defaultValue();
+            // We use the keyset of the ANSD to trim
+            return RecursiveIntObjMapView.of(
+                    IntObjMapView.empty(childCandidate).trim(offDiagonal.keySet()));
+        } else {
+            synchronized (mddGraph) {
+                return variable.getNodeInterpreter(n);
+            }
+        }
+    }
+
+    /**
+     * Runs the tasks in parallel and unions their results into the template builder under the key
+     * of each task. Results are added in the order of the tasks, not in the order of completion.
+     */
+    private void forkAndJoin(
+            final List<? extends KeyedTask> tasks,
+            final MddUnsafeTemplateBuilder templateBuilder,
+            final MddVariable variable) {
+        if (tasks.size() == 1) {
+            tasks.get(0).invoke();
+        } else {
+            ForkJoinTask.invokeAll(tasks);
+        }
+        for (KeyedTask task : tasks) {
+            final MddNode s = task.join();
+            if (s != terminalZeroNode) {
+                templateBuilder.set(
+                        task.key,
+                        terminalZeroToNull(
+                                unionChildren(templateBuilder.get(task.key), s, variable)));
+            }
+        }
+    }
+
+    private MddNode saturate(final MddNode n, AbstractNextStateDescriptor d, MddVariable variable) {
+        if (n.isTerminal()
+                || d == AbstractNextStateDescriptor.terminalIdentity()
+                || d == AbstractNextStateDescriptor.terminalEmpty()) {
+            // TODO this does not handle level skips
+            return n;
+        }
+
+        final ConcurrentSaturationCache cache = cacheFor(variable);
+        MddNode ret = cache.getSaturated(n, d);
+        if (ret != null) {
+            return ret;
+        }
+
+        final MddStateSpaceInfo stateSpaceInfo = new MddStateSpaceInfo(variable, n);
+        final MddVariable lower = variable.getLower().orElse(null);
+
+        final List<KeyedTask> children = new ArrayList<>();
+        for (IntObjCursor<? extends MddNode> cFrom = n.cursor(); cFrom.moveNext(); ) {
+            children.add(
+                    new SaturateTask(
+                            cFrom.key(),
+                            cFrom.value(),
+                            d.getDiagonal(stateSpaceInfo).get(cFrom.key()),
+                            lower));
+        }
+
+        MddUnsafeTemplateBuilder templateBuilder =
+                JavaMddFactory.getDefault().createUnsafeTemplateBuilder();
+        forkAndJoin(children, templateBuilder, variable);
+
+        MddNode nsat = checkIn(variable, MddStructuralTemplate.of(templateBuilder.buildAndReset()));
+
+        boolean changed;
+
+        do {
+            changed = false;
+
+            final Optional<Iterable<AbstractNextStateDescriptor>> splitNS = d.split();
+            if (splitNS.isPresent()) {
+                for (AbstractNextStateDescriptor dfire : splitNS.get()) {
+                    if (dfire.isLocallyIdentity(stateSpaceInfo)) {
+                        continue;
+                    }
+                    MddNode nfire = satFire(nsat, d, dfire, variable);
+                    nfire = union(variable, nsat, nfire);
+
+                    if (nfire != nsat) {
+                        nsat = nfire;
+                        changed = true;
+                    }
+                }
+            } else if (!d.isLocallyIdentity(stateSpaceInfo)) {
+                MddNode nfire = satFire(nsat, d, d, variable);
+                nfire = union(variable, nsat, nfire);
+
+                if (nfire != nsat) {
+                    nsat = nfire;
+                    changed = true;
+                }
+            }
+        } while (changed);
+
+        cache.addSaturated(n, d, nsat);
+        cacheMaintenance.afterInsertion();
+
+        return nsat;
+    }
+
+    private MddNode satFire(
+            MddNode n,
+            AbstractNextStateDescriptor dsat,
+            AbstractNextStateDescriptor dfire,
+            MddVariable variable) {
+        if (n == terminalZeroNode || dfire == AbstractNextStateDescriptor.terminalEmpty()) {
+            return terminalZeroNode;
+        }
+
+        if (dfire == AbstractNextStateDescriptor.terminalIdentity()) {
+            return n;
+        }
+
+        final var stateSpaceInfo = new MddStateSpaceInfo(variable, n);
+
+        final IntObjMapView<IntObjMapView<AbstractNextStateDescriptor>> offDiagonal =
+                dfire.getOffDiagonal(stateSpaceInfo);
+
+        final RecursiveIntObjMapView<? extends MddNode> lhsInterpreter =
+                interpreterOf(n, variable, offDiagonal);
+        final MddVariable lower = variable.getLower().orElse(null);
+
+        final List<KeyedTask> steps = new ArrayList<>();
+        for (IntObjCursor<? extends MddNode> cFrom = lhsInterpreter.cursor(); cFrom.moveNext(); ) {
+            for (IntObjCursor<? extends AbstractNextStateDescriptor> cTo =
+                            offDiagonal.get(cFrom.key()).cursor();
+                    cTo.moveNext(); ) {
+                if (cFrom.key() == cTo.key()) {
+                    continue;
+                }
+
+                assert cFrom.value() != terminalZeroNode;
+                assert cTo.value() != AbstractNextStateDescriptor.terminalEmpty();
+
+                steps.add(
+                        new RelProdTask(
+                                cTo.key(),
+                                cFrom.value(),
+                                dsat.getDiagonal(stateSpaceInfo).get(cTo.key()),
+                                cTo.value(),
+                                lower));
+            }
+        }
+
+        MddUnsafeTemplateBuilder templateBuilder =
+                JavaMddFactory.getDefault().createUnsafeTemplateBuilder();
+        if (!steps.isEmpty()) {
+            forkAndJoin(steps, templateBuilder, variable);
+        }
+
+        final var template = templateBuilder.buildAndReset();
+        if (!template.isEmpty())
+            Preconditions.checkArgument(
+                    n.defaultValue() == null, "Default value is not supported with explicit edges");
+        return checkIn(variable, MddStructuralTemplate.of(template));
+    }
+
+    private MddNode relProd(
+            MddNode n,
+            AbstractNextStateDescriptor dsat,
+            AbstractNextStateDescriptor dfire,
+            MddVariable variable) {
+        if (n == terminalZeroNode || dfire == AbstractNextStateDescriptor.terminalEmpty()) {
+            return terminalZeroNode;
+        }
+
+        if (dfire == AbstractNextStateDescriptor.terminalIdentity()) {
+            return n;
+        }
+
+        if (n.isTerminal() && dfire.evaluate()) {
+            return n;
+        }
+
+        final MddStateSpaceInfo stateSpaceInfo = new MddStateSpaceInfo(variable, n);
+
+        final ConcurrentSaturationCache cache = cacheFor(variable);
+        MddNode ret = cache.getRelProd(n, dsat, dfire);
+        if (ret != null) {
+            return ret;
+        }
+
+        final IntObjMapView<AbstractNextStateDescriptor> diagonal =
+                dfire.getDiagonal(stateSpaceInfo);
+        final IntObjMapView<IntObjMapView<AbstractNextStateDescriptor>> offDiagonal =
+                dfire.getOffDiagonal(stateSpaceInfo);
+
+        final RecursiveIntObjMapView<? extends MddNode> lhsInterpreter =
+                interpreterOf(n, variable, offDiagonal);
+        final MddVariable lower = variable.getLower().orElse(null);
+
+        MddUnsafeTemplateBuilder templateBuilder =
+                JavaMddFactory.getDefault().createUnsafeTemplateBuilder();
+
+        // The recursion below relProd is not forked: fan-out at this depth is usually small, and
+        // the tasks forked by saturate and satFire already keep the workers busy.
+        for (IntObjCursor<? extends MddNode> cFrom = lhsInterpreter.cursor(); cFrom.moveNext(); ) {
+            // Identity step
+            final AbstractNextStateDescriptor diagonalContinuation = diagonal.get(cFrom.key());
+            if (!AbstractNextStateDescriptor.isNullOrEmpty(diagonalContinuation)) {
+                MddNode s =
+                        relProd(
+                                cFrom.value(),
+                                dsat.getDiagonal(stateSpaceInfo).get(cFrom.key()),
+                                diagonalContinuation,
+                                lower);
+
+                if (s != terminalZeroNode) {
+                    templateBuilder.set(
+                            cFrom.key(),
+                            terminalZeroToNull(
+                                    unionChildren(templateBuilder.get(cFrom.key()), s, variable)));
+                }
+            }
+
+            for (IntObjCursor<? extends AbstractNextStateDescriptor> cTo =
+                            offDiagonal.get(cFrom.key()).cursor();
+                    cTo.moveNext(); ) {
+                if (cFrom.key() == cTo.key()) {
+                    continue;
+                }
+
+                assert cFrom.value() != terminalZeroNode;
+                assert cTo.value() != AbstractNextStateDescriptor.terminalEmpty();
+
+                MddNode s =
+                        relProd(
+                                cFrom.value(),
+                                dsat.getDiagonal(stateSpaceInfo).get(cTo.key()),
+                                cTo.value(),
+                                lower);
+
+                if (s != terminalZeroNode) {
+                    templateBuilder.set(
+                            cTo.key(),
+                            terminalZeroToNull(
+                                    unionChildren(templateBuilder.get(cTo.key()), s, variable)));
+                }
+            }
+        }
+
+        final var template = templateBuilder.buildAndReset();
+        if (!template.isEmpty())
+            Preconditions.checkArgument(
+                    n.defaultValue() == null, "Default value is not supported with explicit edges");
+        ret = checkIn(variable, MddStructuralTemplate.of(template));
+
+        ret = saturate(ret, dsat, variable);
+
+        cache.addRelProd(n, dsat, dfire, ret);
+        cacheMaintenance.afterInsertion();
+
+        return ret;
+    }
+
+    private abstract static class KeyedTask extends RecursiveTask<MddNode> {
+        private final int key;
+
+        private KeyedTask(final int key) {
+            this.key = key;
+        }
+    }
+
+    private final class SaturateTask extends KeyedTask {
+        private final MddNode node;
+        private final AbstractNextStateDescriptor descriptor;
+        private final MddVariable variable;
+
+        private SaturateTask(
+                final MddNode node,
+                final AbstractNextStateDescriptor descriptor,
+                final MddVariable variable) {
+            this(0, node, descriptor, variable);
+        }
+
+        private SaturateTask(
+                final int key,
+                final MddNode node,
+                final AbstractNextStateDescriptor descriptor,
+                final MddVariable variable) {
+            super(key);
+            this.node = node;
+            this.descriptor = descriptor;
+            this.variable = variable;
+        }
+
+        @Override
+        protected MddNode compute() {
+            return saturate(node, descriptor, variable);
+        }
+    }
+
+    private final class RelProdTask extends KeyedTask {
+        private final MddNode node;
+        private final AbstractNextStateDescriptor dsat;
+        private final AbstractNextStateDescriptor dfire;
+        private final MddVariable variable;
+
+        private RelProdTask(
+                final int key,
+                final MddNode node,
+                final AbstractNextStateDescriptor dsat,
+                final AbstractNextStateDescriptor dfire,
+                final MddVariable variable) {
+            super(key);
+            this.node = node;
+            this.dsat = dsat;
+            this.dfire = dfire;
+            this.variable = variable;
+        }
+
+        @Override
+        protected MddNode compute() {
+            return relProd(node, dsat, dfire, variable);
+        }
+    }
+
+    @Override
+    public MddNode computeTerminal(
+            final MddNode mddNode,
+            final AbstractNextStateDescriptor nextState,
+            final MddGraph<?> mddGraph) {
+        return mddNode;
+    }
+
+    private MddNode terminalZeroToNull(MddNode node) {
+        return node == terminalZeroNode ? null : node;
+    }
+
+    @Override
+    public void dispose() {
+        this.variableOrder.getMddGraph().unregisterCleanupListener(this);
+        this.pool.shutdown();
+    }
+
+    @Override
+    public void clear() {
+        caches.values().forEach(ConcurrentSaturationCache::clear);
+    }
+
+    @Override
+    public void cleanup() {
+        caches.values()
+                .forEach(cache -> cache.clearSelectively(node -> node.getReferenceCount() == 0));
+    }
+
+    public Cache getSaturateCache() {
+        return aggregatedCache(ConcurrentSaturationCache::getSaturateCache);
+    }
+
+    public Cache getRelProdCache() {
+        return aggregatedCache(ConcurrentSaturationCache::getRelProdCache);
+    }
+
+    private Cache aggregatedCache(final Function<ConcurrentSaturationCache, Cache> selector) {
+        class AggregatedCache implements Cache {
+            private long sum(final ToLongFunction<Cache> extractor) {
+                long result = 0;
+                for (ConcurrentSaturationCache cache : caches.values()) {
+                    result += extractor.applyAsLong(selector.apply(cache));
+                }
+                return result;
+            }
+
+            @Override
+            public void clear() {
+                caches.values().forEach(cache -> selector.apply(cache).clear());
+            }
+
+            @Override
+            public long getCacheSize() {
+                return sum(Cache::getCacheSize);
+            }
+
+            @Override
+            public long getQueryCount() {
+                return sum(Cache::getQueryCount);
+            }
+
+            @Override
+            public long getHitCount() {
+                return sum(Cache::getHitCount);
+            }
+        }
+
+        return new AggregatedCache();
+    }
+
+    @Override
+    public long getCacheSize() {
+        return getSaturateCache().getCacheSize();
+    }
+
+    @Override
+    public long getQueryCount() {
+        return getSaturateCache().getQueryCount();
+    }
+
+    @Override
+    public long getHitCount() {
+        return getSaturateCache().getHitCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return cacheMaintenance.getEvictionCount(ConcurrentSaturationCache::getEvictionCount);
+    }
+}
@@ -15,24 +15,32 @@
  */
 package hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint;
 
-import hu.bme.mit.delta.java.mdd.BinaryOperationCache;
 import hu.bme.mit.delta.java.mdd.Cache;
 import hu.bme.mit.delta.java.mdd.MddNode;
-import hu.bme.mit.delta.java.mdd.TernaryOperationCache;
 import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor;
 
 public final class SaturationCache implements Cache {
-    private final BinaryOperationCache<MddNode, AbstractNextStateDescriptor, MddNode>
-            saturateCache = new BinaryOperationCache<>();
-    private final TernaryOperationCache<
+    private final BoundedBinaryOperationCache<MddNode, AbstractNextStateDescriptor, MddNode>
+            saturateCache;
+    private final BoundedTernaryOperationCache<
                     MddNode, AbstractNextStateDescriptor, AbstractNextStateDescriptor, MddNode>
-            relProdCache = new TernaryOperationCache<>();
+            relProdCache;
 
-    public BinaryOperationCache<MddNode, AbstractNextStateDescriptor, MddNode> getSaturateCache() {
+    public SaturationCache() {
+        this(MddCachePolicy.unbounded());
+    }
+
+    public SaturationCache(final MddCachePolicy cachePolicy) {
+        this.saturateCache = new BoundedBinaryOperationCache<>(cachePolicy.getMaxEntriesPerLevel());
+        this.relProdCache = new BoundedTernaryOperationCache<>(cachePolicy.getMaxEntriesPerLevel());
+    }
+
+    public BoundedBinaryOperationCache<MddNode, AbstractNextStateDescriptor, MddNode>
+            getSaturateCache() {
         return saturateCache;
     }
 
-    public TernaryOperationCache<
+    public BoundedTernaryOperationCache<
                     MddNode, AbstractNextStateDescriptor, AbstractNextStateDescriptor, MddNode>
             getRelProdCache() {
         return relProdCache;
@@ -58,4 +66,8 @@ public final class SaturationCache implements Cache {
     public long getHitCount() {
         return saturateCache.getHitCount() + relProdCache.getHitCount();
     }
+
+    public long getEvictionCount() {
+        return saturateCache.getEvictionCount() + relProdCache.getEvictionCount();
+    }
 }
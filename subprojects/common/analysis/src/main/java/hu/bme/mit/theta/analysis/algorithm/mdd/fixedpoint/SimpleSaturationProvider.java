@@ -33,18 +33,34 @@ public final class SimpleSaturationProvider implements StateSpaceEnumerationProv
 
     private MddVariableOrder variableOrder;
     private RelationalProductProvider relProdProvider;
-    private final CacheManager<SaturationCache> cacheManager =
-            new CacheManager<>(v -> new SaturationCache());
+    private final CacheManager<SaturationCache> cacheManager;
+    private final OperationCacheStore.Maintenance<SaturationCache> cacheMaintenance;
     private MddNode terminalZeroNode;
 
     public SimpleSaturationProvider(final MddVariableOrder variableOrder) {
         this(variableOrder, new LegacyRelationalProductProvider(variableOrder));
     }
 
+    public SimpleSaturationProvider(
+            final MddVariableOrder variableOrder, final MddCachePolicy cachePolicy) {
+        this(variableOrder, new LegacyRelationalProductProvider(variableOrder), cachePolicy);
+    }
+
     public SimpleSaturationProvider(
             final MddVariableOrder variableOrder, final RelationalProductProvider relProdProvider) {
+        this(variableOrder, relProdProvider, MddCachePolicy.unbounded());
+    }
+
+    public SimpleSaturationProvider(
+            final MddVariableOrder variableOrder,
+            final RelationalProductProvider relProdProvider,
+            final MddCachePolicy cachePolicy) {
         this.variableOrder = variableOrder;
         this.relProdProvider = relProdProvider;
+        this.cacheManager = new CacheManager<>(v -> new SaturationCache(cachePolicy));
+        this.cacheMaintenance =
+                new OperationCacheStore.Maintenance<>(
+                        cachePolicy, cacheManager::forEachCache, this::cleanup);
         this.variableOrder.getMddGraph().registerCleanupListener(this);
         this.terminalZeroNode = variableOrder.getMddGraph().getTerminalZeroNode();
     }
@@ -186,6 +202,7 @@ public final class SimpleSaturationProvider implements StateSpaceEnumerationProv
         } while (changed);
 
         cache.getCache().getSaturateCache().addToCache(n, d, nsat);
+        cacheMaintenance.afterInsertion();
 
         if (verbose) {
             indent--;
@@ -464,6 +481,7 @@ public final class SimpleSaturationProvider implements StateSpaceEnumerationProv
         ret = saturate(ret, dsat, variable, cache);
 
         cache.getCache().getRelProdCache().addToCache(n, dsat, dfire, ret);
+        cacheMaintenance.afterInsertion();
 
         if (verbose) {
             indent--;
@@ -642,4 +660,9 @@ public final class SimpleSaturationProvider implements StateSpaceEnumerationProv
     public long getHitCount() {
         return getSaturateCache().getHitCount();
     }
+
+    @Override
+    public long getEvictionCount() {
+        return cacheMaintenance.getEvictionCount(SaturationCache::getEvictionCount);
+    }
 }
@@ -21,4 +21,10 @@ import hu.bme.mit.theta.analysis.algorithm.mdd.ansd.AbstractNextStateDescriptor;
 public interface StateSpaceEnumerationProvider
         extends MddTransformationProvider.Cached<AbstractNextStateDescriptor>,
                 MddTransformationProvider.Initializable<
-                        AbstractNextStateDescriptor, AbstractNextStateDescriptor.Postcondition> {}
+                        AbstractNextStateDescriptor, AbstractNextStateDescriptor.Postcondition> {
+
+    /** The number of operation cache entries evicted because of the cache policy. */
+    default long getEvictionCount() {
+        return 0;
+    }
+}
@@ -37,56 +37,169 @@ fun orderVarsFromRandomStartingPoints(
   return orderings.minBy { eventSpans(it, events) }
 }
 
-fun orderVars(vars: List<VarDecl<*>>, events: List<Event>): List<VarDecl<*>> {
+fun orderVars(vars: List<VarDecl<*>>, events: List<Event>): List<VarDecl<*>> =
+  forceOrder(vars, events.map { it.getAffectedVars() })
 
-  val affectedVars = events.associateWith { it.getAffectedVars() }
+/**
+ * Improves a variable ordering by sifting: every variable is moved through all positions of the
+ * ordering and is left at the position where the sum of the event spans is the smallest. The
+ * variables are sifted in decreasing order of the number of events affecting them.
+ */
+fun siftVars(vars: List<VarDecl<*>>, events: List<Event>): List<VarDecl<*>> =
+  siftOrder(vars, events.map { it.getAffectedVars() })
 
-  val affectingEvents =
-    vars.associateWith { varDecl -> events.filter { varDecl in affectedVars[it]!! }.toList() }
+/** Sum of the distances between the first and last affected variable of the events. */
+private fun eventSpans(vars: List<VarDecl<*>>, events: List<Event>): Int =
+  IndexedOrdering(vars, events.map { it.getAffectedVars() }).totalSpan()
 
-  var currentVarOrdering = vars.toList()
-  var currentEventSpans = eventSpans(currentVarOrdering, events)
+/** FORCE on an arbitrary set of items, where each event is given by the items it affects. */
+fun <T> forceOrder(items: List<T>, events: List<Collection<T>>): List<T> {
+  val ordering = IndexedOrdering(items, events)
+  var currentSpans = ordering.totalSpan()
 
   while (true) {
+    val previous = ordering.order.copyOf()
+    ordering.forceSweep()
+    val newSpans = ordering.totalSpan()
+
+    if (newSpans >= currentSpans) {
+      ordering.setOrder(previous)
+      break
+    } else {
+      currentSpans = newSpans
+    }
+  }
+
+  return ordering.toList()
+}
+
+/** Sifting on an arbitrary set of items, see [siftVars]. */
+fun <T> siftOrder(items: List<T>, events: List<Collection<T>>): List<T> {
+  val ordering = IndexedOrdering(items, events)
+  val bySize = (items.indices).sortedByDescending { ordering.eventsOf[it].size }
+  for (item in bySize) {
+    ordering.sift(item)
+  }
+  return ordering.toList()
+}
+
+/**
+ * Ordering of items stored as position arrays, so that the center of gravity and span computations
+ * of the heuristics take constant time per affected item instead of a list lookup.
+ */
+private class IndexedOrdering<T>(private val items: List<T>, events: List<Collection<T>>) {
+
+  /** Item indices of the events (items unknown to the ordering are ignored). */
+  val itemsOf: Array<IntArray>
+
+  /** Event indices of the items. */
+  val eventsOf: Array<IntArray>
+
+  /** Item at each position. */
+  val order = IntArray(items.size) { it }
+
+  /** Position of each item. */
+  private val position = IntArray(items.size) { it }
+
+  private val visited = IntArray(events.size)
+  private var visitStamp = 0
+
+  init {
+    val indexOf = HashMap<T, Int>(items.size * 2)
+    items.forEachIndexed { i, item -> indexOf[item] = i }
+    itemsOf = Array(events.size) { e -> events[e].mapNotNull { indexOf[it] }.toIntArray() }
+    val eventLists = Array(items.size) { mutableListOf<Int>() }
+    itemsOf.forEachIndexed { e, eventItems -> eventItems.forEach { eventLists[it].add(e) } }
+    eventsOf = Array(items.size) { eventLists[it].toIntArray() }
+  }
+
+  fun setOrder(newOrder: IntArray) {
+    newOrder.copyInto(order)
+    order.forEachIndexed { pos, item -> position[item] = pos }
+  }
+
+  fun toList(): List<T> = order.map { items[it] }
+
+  fun span(event: Int): Int {
+    val eventItems = itemsOf[event]
+    if (eventItems.isEmpty()) return 0
+    var min = Int.MAX_VALUE
+    var max = Int.MIN_VALUE
+    for (item in eventItems) {
+      val pos = position[item]
+      if (pos < min) min = pos
+      if (pos > max) max = pos
+    }
+    return max - min
+  }
+
+  fun totalSpan(): Int = itemsOf.indices.sumOf { span(it) }
+
+  /** One FORCE iteration: reorders the items by the mean center of gravity of their events. */
+  fun forceSweep() {
     val cogs =
-      events.associateWith {
-        affectedVars[it]!!
-          .map { varDecl -> currentVarOrdering.indexOf(varDecl) }
-          .fold(0, Int::plus)
-          .toDouble() / affectedVars[it]!!.size.toDouble()
+      DoubleArray(itemsOf.size) { e ->
+        itemsOf[e].sumOf { position[it] }.toDouble() / itemsOf[e].size.toDouble()
       }
     val newLocations =
-      vars.associateWith { varDecl ->
-        affectingEvents[varDecl]!!.map { cogs[it]!! }.fold(0.0, Double::plus) /
-          affectingEvents[varDecl]!!.size.toDouble()
+      DoubleArray(items.size) { item ->
+        eventsOf[item].sumOf { cogs[it] } / eventsOf[item].size.toDouble()
       }
+    setOrder(order.sortedBy { newLocations[it] }.toIntArray())
+  }
 
-    val newVarOrdering = currentVarOrdering.sortedBy { newLocations[it]!! }
-    val newEventSpans = eventSpans(newVarOrdering, events)
+  /** Swaps the items at pos and pos + 1, returning the change of the total span. */
+  private fun swap(pos: Int): Int {
+    val left = order[pos]
+    val right = order[pos + 1]
+    visitStamp++
+    var before = 0
+    for (e in eventsOf[left]) if (visit(e)) before += span(e)
+    for (e in eventsOf[right]) if (visit(e)) before += span(e)
 
-    if (newEventSpans >= currentEventSpans) {
-      break
-    } else {
-      currentVarOrdering = newVarOrdering
-      currentEventSpans = newEventSpans
-    }
+    order[pos] = right
+    order[pos + 1] = left
+    position[right] = pos
+    position[left] = pos + 1
+
+    visitStamp++
+    var after = 0
+    for (e in eventsOf[left]) if (visit(e)) after += span(e)
+    for (e in eventsOf[right]) if (visit(e)) after += span(e)
+    return after - before
   }
 
-  return currentVarOrdering
-}
+  private fun visit(event: Int): Boolean {
+    if (visited[event] == visitStamp) return false
+    visited[event] = visitStamp
+    return true
+  }
 
-private fun eventSpans(vars: List<VarDecl<*>>, events: List<Event>) =
-  events
-    .map { event ->
-      event.getAffectedVars().let {
-        when (it.isEmpty()) {
-          true -> 0
-          else -> {
-            val firstVar = it.minOf { vars.indexOf(it) }
-            val lastVar = it.maxOf { vars.indexOf(it) }
-            lastVar - firstVar
-          }
-        }
+  /** Moves the item to every position by adjacent swaps and leaves it at the best one. */
+  fun sift(item: Int) {
+    var pos = position[item]
+    var delta = 0
+    var bestDelta = 0
+    var bestPos = pos
+    while (pos > 0) {
+      delta += swap(pos - 1)
+      pos--
+      if (delta < bestDelta) {
+        bestDelta = delta
+        bestPos = pos
       }
     }
-    .fold(0, Int::plus)
+    while (pos < order.size - 1) {
+      delta += swap(pos)
+      pos++
+      if (delta < bestDelta) {
+        bestDelta = delta
+        bestPos = pos
+      }
+    }
+    while (pos > bestPos) {
+      swap(pos - 1)
+      pos--
+    }
+  }
+}
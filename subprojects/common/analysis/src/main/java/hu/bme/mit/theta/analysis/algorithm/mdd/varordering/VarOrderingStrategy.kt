@@ -0,0 +1,25 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd.varordering
+
+enum class VarOrderingStrategy {
+  /** Keep the order in which the variables are declared. */
+  DECLARATION,
+  /** FORCE heuristic from multiple random starting points. */
+  FORCE,
+  /** FORCE followed by sifting each variable to its best position. */
+  SIFTING,
+}
@@ -0,0 +1,106 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableSet;
+import hu.bme.mit.theta.analysis.reachedset.StateIndex;
+import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.type.LitExpr;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * State index for explicit states. A state is covered by another one iff the valuation of the
+ * latter is a sub-valuation of the former, so the elements are grouped by the set of variables
+ * they assign and the candidates can be looked up by hashing the corresponding sub-valuation of
+ * the queried state within each group.
+ */
+public final class ExplStateIndex<T> implements StateIndex<ExplState, T> {
+
+    private final List<T> bottomElems;
+    private final List<T> nonBottomElems;
+    private final Map<Set<Decl<?>>, Map<Map<Decl<?>, LitExpr<?>>, List<T>>> groups;
+
+    private ExplStateIndex() {
+        bottomElems = new ArrayList<>();
+        nonBottomElems = new ArrayList<>();
+        groups = Containers.createMap();
+    }
+
+    public static <T> ExplStateIndex<T> create() {
+        return new ExplStateIndex<>();
+    }
+
+    @Override
+    public void add(final ExplState state, final T elem) {
+        checkNotNull(state);
+        checkNotNull(elem);
+        if (state.isBottom()) {
+            bottomElems.add(elem);
+        } else {
+            nonBottomElems.add(elem);
+            final Map<Decl<?>, LitExpr<?>> valuation = state.toMap();
+            groups.computeIfAbsent(ImmutableSet.copyOf(valuation.keySet()), k -> Containers.createMap())
+                    .computeIfAbsent(valuation, k -> new ArrayList<>())
+                    .add(elem);
+        }
+    }
+
+    @Override
+    public Collection<T> getEqual(final ExplState state) {
+        checkNotNull(state);
+        if (state.isBottom()) {
+            return Collections.unmodifiableList(bottomElems);
+        }
+        final Map<Decl<?>, LitExpr<?>> valuation = state.toMap();
+        final Map<Map<Decl<?>, LitExpr<?>>, List<T>> group = groups.get(valuation.keySet());
+        if (group == null) {
+            return Collections.emptyList();
+        }
+        return group.getOrDefault(valuation, Collections.emptyList());
+    }
+
+    @Override
+    public Collection<T> getCandidates(final ExplState state) {
+        checkNotNull(state);
+        final List<T> result = new ArrayList<>(getEqual(state));
+        if (state.isBottom()) {
+            result.addAll(nonBottomElems);
+            return result;
+        }
+        final Map<Decl<?>, LitExpr<?>> valuation = state.toMap();
+        for (final Map.Entry<Set<Decl<?>>, Map<Map<Decl<?>, LitExpr<?>>, List<T>>> entry :
+                groups.entrySet()) {
+            final Set<Decl<?>> decls = entry.getKey();
+            if (decls.size() >= valuation.size() || !valuation.keySet().containsAll(decls)) {
+                continue;
+            }
+            final Map<Decl<?>, LitExpr<?>> subValuation = Containers.createMap();
+            for (final Decl<?> decl : decls) {
+                subValuation.put(decl, valuation.get(decl));
+            }
+            result.addAll(entry.getValue().getOrDefault(subValuation, Collections.emptyList()));
+        }
+        return result;
+    }
+}
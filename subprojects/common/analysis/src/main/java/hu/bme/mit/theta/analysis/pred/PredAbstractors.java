@@ -17,30 +17,31 @@ package hu.bme.mit.theta.analysis.pred;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
-import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Iff;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.common.container.Containers;
-import hu.bme.mit.theta.core.decl.ConstDecl;
-import hu.bme.mit.theta.core.decl.Decls;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.LitExpr;
-import hu.bme.mit.theta.core.type.booltype.BoolExprs;
+import hu.bme.mit.theta.core.type.anytype.RefExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.utils.ExprUtils;
 import hu.bme.mit.theta.core.utils.PathUtils;
 import hu.bme.mit.theta.core.utils.indexings.VarIndexing;
 import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.utils.ActivationLiterals;
 import hu.bme.mit.theta.solver.utils.WithPushPop;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -112,16 +113,10 @@ public class PredAbstractors {
     private static final class BooleanAbstractor implements PredAbstractor {
 
         private final Solver solver;
-        private final List<ConstDecl<BoolType>> actLits;
-        private final String litPrefix;
-        private static int instanceCounter = 0;
         private final boolean split;
 
         public BooleanAbstractor(final Solver solver, final boolean split) {
             this.solver = checkNotNull(solver);
-            this.actLits = new ArrayList<>();
-            this.litPrefix = "__" + getClass().getSimpleName() + "_" + instanceCounter + "_";
-            instanceCounter++;
             this.split = split;
         }
 
@@ -137,35 +132,31 @@ public class PredAbstractors {
             checkNotNull(precIndexing);
 
             final List<Expr<BoolType>> preds = new ArrayList<>(prec.getPreds());
-            generateActivationLiterals(preds.size());
-
-            assert actLits.size() >= preds.size();
-
             final List<PredState> states = new LinkedList<>();
             try (WithPushPop wp = new WithPushPop(solver)) {
-                solver.add(PathUtils.unfold(expr, exprIndexing));
-                for (int i = 0; i < preds.size(); ++i) {
-                    solver.add(
-                            Iff(
-                                    actLits.get(i).getRef(),
-                                    PathUtils.unfold(preds.get(i), precIndexing)));
+                // The predicates are defined in the frame of this call only
+                final ActivationLiterals lits = ActivationLiterals.create(solver);
+                final List<RefExpr<BoolType>> actLits = new ArrayList<>(preds.size());
+                for (final Expr<BoolType> pred : preds) {
+                    actLits.add(lits.of(PathUtils.unfold(pred, precIndexing)));
                 }
+                solver.add(PathUtils.unfold(expr, exprIndexing));
                 while (solver.check().isSat()) {
                     final Valuation model = solver.getModel();
                     final Set<Expr<BoolType>> newStatePreds = Containers.createSet();
                     final List<Expr<BoolType>> feedback = new LinkedList<>();
                     feedback.add(True());
                     for (int i = 0; i < preds.size(); ++i) {
-                        final ConstDecl<BoolType> lit = actLits.get(i);
+                        final RefExpr<BoolType> lit = actLits.get(i);
                         final Expr<BoolType> pred = preds.get(i);
-                        final Optional<LitExpr<BoolType>> eval = model.eval(lit);
+                        final Optional<LitExpr<BoolType>> eval = model.eval(lit.getDecl());
                         if (eval.isPresent()) {
                             if (eval.get().equals(True())) {
                                 newStatePreds.add(pred);
-                                feedback.add(lit.getRef());
+                                feedback.add(lit);
                             } else {
                                 newStatePreds.add(prec.negate(pred));
-                                feedback.add(Not(lit.getRef()));
+                                feedback.add(Not(lit));
                             }
                         }
                     }
@@ -182,19 +173,20 @@ public class PredAbstractors {
             }
         }
 
-        private void generateActivationLiterals(final int n) {
-            while (actLits.size() < n) {
-                actLits.add(Decls.Const(litPrefix + actLits.size(), BoolExprs.Bool()));
-            }
-        }
     }
 
     private static final class CartesianAbstractor implements PredAbstractor {
 
+        private static final int CACHE_SIZE = 10_000;
+
         private final Solver solver;
+        // Entailed predicates of already abstracted expressions, so that only new predicates
+        // have to be checked when the precision is refined
+        private final Cache<CartesianKey, CartesianEntry> entailmentCache;
 
         public CartesianAbstractor(final Solver solver) {
-            this.solver = solver;
+            this.solver = checkNotNull(solver);
+            this.entailmentCache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
         }
 
         @Override
@@ -203,40 +195,91 @@ public class PredAbstractors {
                 final VarIndexing exprIndexing,
                 final PredPrec prec,
                 final VarIndexing precIndexing) {
+            final CartesianKey key = new CartesianKey(expr, exprIndexing, precIndexing);
+            final CartesianEntry entry = getEntry(key);
+
+            if (entry.feasible == null
+                    || prec.getPreds().stream().anyMatch(p -> !entry.entailments.containsKey(p))) {
+                computeEntailments(entry, expr, exprIndexing, prec, precIndexing);
+            }
+            if (!entry.feasible) {
+                return Collections.emptySet();
+            }
+
             final List<Expr<BoolType>> newStatePreds = new ArrayList<>();
+            for (final Expr<BoolType> pred : prec.getPreds()) {
+                final Entailment entailment = entry.entailments.get(pred);
+                if (entailment == Entailment.PONATED) {
+                    newStatePreds.add(pred);
+                } else if (entailment == Entailment.NEGATED) {
+                    newStatePreds.add(prec.negate(pred));
+                }
+            }
+            return Collections.singleton(PredState.of(newStatePreds));
+        }
 
+        private CartesianEntry getEntry(final CartesianKey key) {
+            CartesianEntry entry = entailmentCache.getIfPresent(key);
+            if (entry == null) {
+                entry = new CartesianEntry();
+                entailmentCache.put(key, entry);
+            }
+            return entry;
+        }
+
+        private void computeEntailments(
+                final CartesianEntry entry,
+                final Expr<BoolType> expr,
+                final VarIndexing exprIndexing,
+                final PredPrec prec,
+                final VarIndexing precIndexing) {
+            // The expression and the predicates are defined once in a frame of this call, the
+            // queries are performed by enabling their activation literals
             try (WithPushPop wp = new WithPushPop(solver)) {
-                solver.add(PathUtils.unfold(expr, exprIndexing));
-                solver.check();
-                if (solver.getStatus().isUnsat()) {
-                    return Collections.emptySet();
+                final ActivationLiterals lits = ActivationLiterals.create(solver);
+                final Expr<BoolType> exprLit = lits.of(PathUtils.unfold(expr, exprIndexing));
+                if (entry.feasible == null) {
+                    entry.feasible = lits.check(List.of(exprLit)).isSat();
+                }
+                if (!entry.feasible) {
+                    return;
                 }
 
                 for (final Expr<BoolType> pred : prec.getPreds()) {
-                    final boolean ponEntailed;
-                    final boolean negEntailed;
-                    try (WithPushPop wp1 = new WithPushPop(solver)) {
-                        solver.add(PathUtils.unfold(prec.negate(pred), precIndexing));
-                        ponEntailed = solver.check().isUnsat();
-                    }
-                    try (WithPushPop wp2 = new WithPushPop(solver)) {
-                        solver.add(PathUtils.unfold(pred, precIndexing));
-                        negEntailed = solver.check().isUnsat();
+                    if (entry.entailments.containsKey(pred)) {
+                        continue;
                     }
+                    final Expr<BoolType> predLit = lits.of(PathUtils.unfold(pred, precIndexing));
+                    final boolean ponEntailed =
+                            lits.check(List.of(exprLit, Not(predLit))).isUnsat();
+                    final boolean negEntailed = lits.check(List.of(exprLit, predLit)).isUnsat();
 
                     assert !(ponEntailed && negEntailed)
                             : "Ponated and negated predicates are both entailed.";
 
                     if (ponEntailed) {
-                        newStatePreds.add(pred);
-                    }
-                    if (negEntailed) {
-                        newStatePreds.add(prec.negate(pred));
+                        entry.entailments.put(pred, Entailment.PONATED);
+                    } else if (negEntailed) {
+                        entry.entailments.put(pred, Entailment.NEGATED);
+                    } else {
+                        entry.entailments.put(pred, Entailment.NONE);
                     }
                 }
             }
+        }
 
-            return Collections.singleton(PredState.of(newStatePreds));
+        private enum Entailment {
+            PONATED,
+            NEGATED,
+            NONE
+        }
+
+        private record CartesianKey(
+                Expr<BoolType> expr, VarIndexing exprIndexing, VarIndexing precIndexing) {}
+
+        private static final class CartesianEntry {
+            private Boolean feasible = null;
+            private final Map<Expr<BoolType>, Entailment> entailments = Containers.createMap();
         }
 
         @Override
@@ -40,6 +40,8 @@ public final class PredPrec implements Prec {
 
     private final Map<Expr<BoolType>, Expr<BoolType>> predToNegMap;
 
+    private volatile int hashCode = 0;
+
     private PredPrec(final Iterable<Expr<BoolType>> preds) {
         checkNotNull(preds);
         this.predToNegMap = Containers.createMap();
@@ -119,7 +121,12 @@ public final class PredPrec implements Prec {
 
     @Override
     public int hashCode() {
-        return 31 * predToNegMap.keySet().hashCode();
+        int result = hashCode;
+        if (result == 0) {
+            result = 31 * predToNegMap.keySet().hashCode();
+            hashCode = result;
+        }
+        return result;
     }
 
     @Override
@@ -0,0 +1,140 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import hu.bme.mit.theta.analysis.reachedset.StateIndex;
+import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * State index for predicate states based on predicate set containment. Each predicate gets an
+ * index and each state is represented by a bitset. If the predicates of a state are a subset of
+ * the predicates of the queried state, it surely covers the queried state, so such states come
+ * first among the candidates. Other states can only cover the queried state semantically, so they
+ * are returned afterwards, unless the index is syntactic-only.
+ */
+public final class PredStateIndex<T> implements StateIndex<PredState, T> {
+
+    private final boolean syntacticOnly;
+    private final Map<Expr<BoolType>, Integer> predIds;
+    private final List<Entry<T>> entries;
+    private final Map<Set<Expr<BoolType>>, List<T>> equalClasses;
+
+    private PredStateIndex(final boolean syntacticOnly) {
+        this.syntacticOnly = syntacticOnly;
+        predIds = Containers.createMap();
+        entries = new ArrayList<>();
+        equalClasses = Containers.createMap();
+    }
+
+    public static <T> PredStateIndex<T> create() {
+        return new PredStateIndex<>(false);
+    }
+
+    /**
+     * Creates an index that only returns candidates whose predicates are a subset of the
+     * predicates of the queried state. This can miss semantic coverings, but it avoids solver calls
+     * for candidates that are unlikely to cover.
+     */
+    public static <T> PredStateIndex<T> createSyntactic() {
+        return new PredStateIndex<>(true);
+    }
+
+    @Override
+    public void add(final PredState state, final T elem) {
+        checkNotNull(state);
+        checkNotNull(elem);
+        final BitSet bits = new BitSet();
+        for (final Expr<BoolType> pred : state.getPreds()) {
+            bits.set(predIds.computeIfAbsent(pred, p -> predIds.size()));
+        }
+        entries.add(new Entry<>(bits, state.isBottom(), elem));
+        equalClasses.computeIfAbsent(state.getPreds(), k -> new ArrayList<>()).add(elem);
+    }
+
+    @Override
+    public Collection<T> getEqual(final PredState state) {
+        checkNotNull(state);
+        return equalClasses.getOrDefault(state.getPreds(), Collections.emptyList());
+    }
+
+    @Override
+    public Collection<T> getCandidates(final PredState state) {
+        checkNotNull(state);
+        if (state.isBottom()) {
+            final List<T> result = new ArrayList<>(entries.size());
+            entries.stream().filter(e -> e.bottom).forEach(e -> result.add(e.elem));
+            entries.stream().filter(e -> !e.bottom).forEach(e -> result.add(e.elem));
+            return result;
+        }
+
+        final BitSet query = new BitSet();
+        for (final Expr<BoolType> pred : state.getPreds()) {
+            final Integer id = predIds.get(pred);
+            if (id != null) {
+                query.set(id);
+            }
+        }
+
+        final List<T> equal = new ArrayList<>();
+        final List<T> subsets = new ArrayList<>();
+        final List<T> others = new ArrayList<>();
+        final int querySize = state.getPreds().size();
+        final BitSet diff = new BitSet();
+        for (final Entry<T> entry : entries) {
+            if (entry.bottom) {
+                continue; // A bottom state cannot cover a non-bottom state
+            }
+            diff.clear();
+            diff.or(entry.bits);
+            diff.andNot(query);
+            if (diff.isEmpty()) {
+                if (entry.bits.cardinality() == querySize) {
+                    equal.add(entry.elem);
+                } else {
+                    subsets.add(entry.elem);
+                }
+            } else if (!syntacticOnly) {
+                others.add(entry.elem);
+            }
+        }
+        equal.addAll(subsets);
+        equal.addAll(others);
+        return equal;
+    }
+
+    private static final class Entry<T> {
+        private final BitSet bits;
+        private final boolean bottom;
+        private final T elem;
+
+        private Entry(final BitSet bits, final boolean bottom, final T elem) {
+            this.bits = bits;
+            this.bottom = bottom;
+            this.elem = elem;
+        }
+    }
+}
@@ -15,28 +15,52 @@
  */
 package hu.bme.mit.theta.analysis.pred;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import hu.bme.mit.theta.analysis.TransFunc;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.pred.PredAbstractors.PredAbstractor;
 import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
+/**
+ * Transfer function for predicate abstraction. Results are cached by (state, action, precision),
+ * so the same abstraction is not recomputed in different branches of the ARG or in later CEGAR
+ * iterations. The cache is bounded and evicts the least recently used entries first.
+ */
 public final class PredTransFunc<A extends ExprAction>
         implements TransFunc<PredState, A, PredPrec> {
 
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+
     private final PredAbstractor predAbstractor;
+    private final Cache<CacheKey, Collection<PredState>> cache;
 
-    private PredTransFunc(final PredAbstractor predAbstractor) {
+    private PredTransFunc(final PredAbstractor predAbstractor, final int cacheSize) {
+        checkArgument(cacheSize >= 0, "Negative cache size");
         this.predAbstractor = checkNotNull(predAbstractor);
+        this.cache = CacheBuilder.newBuilder().maximumSize(cacheSize).recordStats().build();
     }
 
     public static <A extends ExprAction> PredTransFunc<A> create(
             final PredAbstractor predAbstractor) {
-        return new PredTransFunc<A>(predAbstractor);
+        return create(predAbstractor, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a transfer function that caches at most the given number of abstraction results (0
+     * disables caching).
+     */
+    public static <A extends ExprAction> PredTransFunc<A> create(
+            final PredAbstractor predAbstractor, final int cacheSize) {
+        return new PredTransFunc<A>(predAbstractor, cacheSize);
     }
 
     @Override
@@ -46,6 +70,12 @@ public final class PredTransFunc<A extends ExprAction>
         checkNotNull(action);
         checkNotNull(prec);
 
+        final CacheKey key = new CacheKey(state, action, prec);
+        final Collection<PredState> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
         final Collection<PredState> succStates =
                 predAbstractor.createStatesForExpr(
                         And(state.toExpr(), action.toExpr()),
@@ -54,6 +84,18 @@ public final class PredTransFunc<A extends ExprAction>
                         action.nextIndexing(),
                         state,
                         action);
-        return succStates.isEmpty() ? Collections.singleton(PredState.bottom()) : succStates;
+        final Collection<PredState> result =
+                succStates.isEmpty()
+                        ? Collections.singleton(PredState.bottom())
+                        : List.copyOf(succStates);
+        cache.put(key, result);
+        return result;
+    }
+
+    /** Gets the hit/miss statistics of the abstraction cache. */
+    public CacheStats getCacheStats() {
+        return cache.stats();
     }
+
+    private record CacheKey(PredState state, ExprAction action, PredPrec prec) {}
 }
@@ -46,6 +46,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -73,15 +74,18 @@ public class Prod2ExplPredAbstractors {
         private final Solver solver;
         private final List<ConstDecl<BoolType>> actLits;
         private final String litPrefix;
-        private static int instanceCounter = 0;
+        private static final AtomicInteger instanceCounter = new AtomicInteger();
         private final boolean split;
 
         public BooleanAbstractor(final Solver solver, final boolean split) {
             this.solver = checkNotNull(solver);
             this.actLits = new ArrayList<>();
             this.litPrefix =
-                    "__Prod2ExplPred" + getClass().getSimpleName() + "_" + instanceCounter + "_";
-            instanceCounter++;
+                    "__Prod2ExplPred"
+                            + getClass().getSimpleName()
+                            + "_"
+                            + instanceCounter.getAndIncrement()
+                            + "_";
             this.split = split;
         }
 
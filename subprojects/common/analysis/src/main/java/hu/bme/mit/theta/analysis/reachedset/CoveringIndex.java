@@ -0,0 +1,49 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.reachedset;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Index over the nodes of an ARG that can be used for finding covering nodes without comparing a
+ * node with every other node. Nodes are expected not to change their state after being added.
+ */
+public interface CoveringIndex<S extends State, A extends Action> {
+
+    void add(ArgNode<S, A> node);
+
+    default void addAll(final Iterable<? extends ArgNode<S, A>> nodes) {
+        nodes.forEach(this::add);
+    }
+
+    default void addAll(final Stream<? extends ArgNode<S, A>> nodes) {
+        nodes.forEach(this::add);
+    }
+
+    /** Gets the indexed nodes whose state is equal to the state of the given node. */
+    Collection<ArgNode<S, A>> getEqual(ArgNode<S, A> node);
+
+    /**
+     * Gets the indexed nodes that might cover the given node. The result contains every node whose
+     * state is greater than or equal to the state of the given node, but it may also contain nodes
+     * that cannot cover it. Nodes that are more likely to cover the given node come first.
+     */
+    Collection<ArgNode<S, A>> getCandidates(ArgNode<S, A> node);
+}
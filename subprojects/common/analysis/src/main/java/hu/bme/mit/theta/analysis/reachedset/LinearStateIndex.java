@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.reachedset;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import hu.bme.mit.theta.common.container.Containers;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Domain-independent state index that returns every element as a candidate in insertion order.
+ * Equal states are found by hashing.
+ */
+public final class LinearStateIndex<S, T> implements StateIndex<S, T> {
+
+    private final List<T> elems;
+    private final Map<S, List<T>> equalClasses;
+
+    private LinearStateIndex() {
+        elems = new ArrayList<>();
+        equalClasses = Containers.createMap();
+    }
+
+    public static <S, T> LinearStateIndex<S, T> create() {
+        return new LinearStateIndex<>();
+    }
+
+    @Override
+    public void add(final S state, final T elem) {
+        checkNotNull(state);
+        checkNotNull(elem);
+        elems.add(elem);
+        equalClasses.computeIfAbsent(state, s -> new ArrayList<>()).add(elem);
+    }
+
+    @Override
+    public Collection<T> getEqual(final S state) {
+        checkNotNull(state);
+        return equalClasses.getOrDefault(state, Collections.emptyList());
+    }
+
+    @Override
+    public Collection<T> getCandidates(final S state) {
+        checkNotNull(state);
+        return Collections.unmodifiableList(elems);
+    }
+}
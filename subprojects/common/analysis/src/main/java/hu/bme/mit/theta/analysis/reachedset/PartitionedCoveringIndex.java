@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.reachedset;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
+import hu.bme.mit.theta.common.container.Containers;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Covering index that partitions the nodes based on a projection of their states (e.g., the
+ * location) and uses a domain-specific {@link StateIndex} within each partition.
+ *
+ * @param <S> type of the states in the ARG
+ * @param <A> type of the actions in the ARG
+ * @param <D> type of the states the domain-specific index works on (e.g., the data state)
+ */
+public final class PartitionedCoveringIndex<S extends State, A extends Action, D>
+        implements CoveringIndex<S, A> {
+
+    private final Function<? super S, ?> projection;
+    private final Function<? super S, ? extends D> lens;
+    private final Supplier<? extends StateIndex<D, ArgNode<S, A>>> indexFactory;
+    private final Map<Object, StateIndex<D, ArgNode<S, A>>> partitions;
+
+    private PartitionedCoveringIndex(
+            final Function<? super S, ?> projection,
+            final Function<? super S, ? extends D> lens,
+            final Supplier<? extends StateIndex<D, ArgNode<S, A>>> indexFactory) {
+        this.projection = checkNotNull(projection);
+        this.lens = checkNotNull(lens);
+        this.indexFactory = checkNotNull(indexFactory);
+        partitions = Containers.createMap();
+    }
+
+    public static <S extends State, A extends Action, D> PartitionedCoveringIndex<S, A, D> create(
+            final Function<? super S, ?> projection,
+            final Function<? super S, ? extends D> lens,
+            final Supplier<? extends StateIndex<D, ArgNode<S, A>>> indexFactory) {
+        return new PartitionedCoveringIndex<>(projection, lens, indexFactory);
+    }
+
+    /**
+     * Creates a covering index that behaves like a {@link Partition}: every node in the same
+     * partition is a candidate.
+     */
+    public static <S extends State, A extends Action> PartitionedCoveringIndex<S, A, S> create(
+            final Function<? super S, ?> projection) {
+        return new PartitionedCoveringIndex<>(
+                projection, Function.identity(), LinearStateIndex::create);
+    }
+
+    @Override
+    public void add(final ArgNode<S, A> node) {
+        checkNotNull(node);
+        final S state = node.getState();
+        final Object key = projection.apply(state);
+        partitions.computeIfAbsent(key, k -> indexFactory.get()).add(lens.apply(state), node);
+    }
+
+    @Override
+    public Collection<ArgNode<S, A>> getEqual(final ArgNode<S, A> node) {
+        checkNotNull(node);
+        final S state = node.getState();
+        final StateIndex<D, ArgNode<S, A>> index = partitions.get(projection.apply(state));
+        return index == null ? Collections.emptyList() : index.getEqual(lens.apply(state));
+    }
+
+    @Override
+    public Collection<ArgNode<S, A>> getCandidates(final ArgNode<S, A> node) {
+        checkNotNull(node);
+        final S state = node.getState();
+        final StateIndex<D, ArgNode<S, A>> index = partitions.get(projection.apply(state));
+        return index == null ? Collections.emptyList() : index.getCandidates(lens.apply(state));
+    }
+}
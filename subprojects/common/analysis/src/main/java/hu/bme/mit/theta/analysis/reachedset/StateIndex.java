@@ -0,0 +1,39 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.reachedset;
+
+import java.util.Collection;
+
+/**
+ * Domain-specific index of elements keyed by abstract states, used by {@link
+ * PartitionedCoveringIndex} within a single partition.
+ *
+ * @param <S> type of the (domain) states
+ * @param <T> type of the indexed elements
+ */
+public interface StateIndex<S, T> {
+
+    void add(S state, T elem);
+
+    /** Gets the elements that were added with a state equal to the given state. */
+    Collection<T> getEqual(S state);
+
+    /**
+     * Gets the elements whose state might be greater than or equal to the given state. Elements
+     * with an equal state come first.
+     */
+    Collection<T> getCandidates(S state);
+}
@@ -457,6 +457,14 @@ final class DBM {
         return boundFunction.getLower(y).map(Ly -> Lt(-Ly)).orElse(Inf());
     }
 
+    Collection<VarDecl<RatType>> getVars() {
+        return signature.toList();
+    }
+
+    int getBound(final VarDecl<RatType> x, final VarDecl<RatType> y) {
+        return getOrDefault(x, y);
+    }
+
     public Collection<ClockConstr> getConstrs() {
         final Collection<ClockConstr> result = Containers.createSet();
 
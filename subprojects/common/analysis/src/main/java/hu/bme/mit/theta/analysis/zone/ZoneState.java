@@ -179,6 +179,18 @@ public final class ZoneState implements ExprState {
         return this.dbm.isConsistentWith(that.dbm);
     }
 
+    Collection<VarDecl<RatType>> getClocks() {
+        return dbm.getVars();
+    }
+
+    int getUpperBound(final VarDecl<RatType> clock) {
+        return dbm.getBound(clock, ZeroVar.getInstance());
+    }
+
+    int getLowerBound(final VarDecl<RatType> clock) {
+        return dbm.getBound(ZeroVar.getInstance(), clock);
+    }
+
     ////
 
     @Override
@@ -0,0 +1,171 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import hu.bme.mit.theta.analysis.reachedset.StateIndex;
+import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State index for zones with bound-based pruning. A zone can only be included in another zone if
+ * each of its clock upper and lower bounds is at most the corresponding bound of the other zone,
+ * so these bounds are stored in flat arrays for each indexed zone and candidates violating them
+ * are pruned without comparing the full DBMs.
+ */
+public final class ZoneStateIndex<T> implements StateIndex<ZoneState, T> {
+
+    private final List<VarDecl<RatType>> clocks;
+    private final Map<VarDecl<RatType>, Integer> clockIds;
+    private final List<Entry<T>> entries;
+
+    private ZoneStateIndex() {
+        clocks = new ArrayList<>();
+        clockIds = Containers.createMap();
+        entries = new ArrayList<>();
+    }
+
+    public static <T> ZoneStateIndex<T> create() {
+        return new ZoneStateIndex<>();
+    }
+
+    @Override
+    public void add(final ZoneState state, final T elem) {
+        checkNotNull(state);
+        checkNotNull(elem);
+        for (final VarDecl<RatType> clock : state.getClocks()) {
+            if (!clock.equals(ZeroVar.getInstance()) && !clockIds.containsKey(clock)) {
+                clockIds.put(clock, clocks.size());
+                clocks.add(clock);
+            }
+        }
+        entries.add(new Entry<>(state, upperBounds(state), lowerBounds(state), elem));
+    }
+
+    @Override
+    public Collection<T> getEqual(final ZoneState state) {
+        checkNotNull(state);
+        final List<T> result = new ArrayList<>();
+        if (state.isBottom()) {
+            entries.stream().filter(e -> e.bottom).forEach(e -> result.add(e.elem));
+            return result;
+        }
+
+        final int[] upper = upperBounds(state);
+        final int[] lower = lowerBounds(state);
+        for (final Entry<T> entry : entries) {
+            if (entry.hasBounds(upper, lower)
+                    && entry.state.isLeq(state)
+                    && state.isLeq(entry.state)) {
+                result.add(entry.elem);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<T> getCandidates(final ZoneState state) {
+        checkNotNull(state);
+        final List<T> result = new ArrayList<>();
+        if (state.isBottom()) {
+            entries.stream().filter(e -> e.bottom).forEach(e -> result.add(e.elem));
+            entries.stream().filter(e -> !e.bottom).forEach(e -> result.add(e.elem));
+            return result;
+        }
+
+        final int[] upper = upperBounds(state);
+        final int[] lower = lowerBounds(state);
+        final List<T> others = new ArrayList<>();
+        for (final Entry<T> entry : entries) {
+            if (entry.hasBounds(upper, lower)) {
+                result.add(entry.elem);
+            } else if (entry.mayInclude(upper, lower)) {
+                others.add(entry.elem);
+            }
+        }
+        result.addAll(others);
+        return result;
+    }
+
+    private int[] upperBounds(final ZoneState state) {
+        final int[] result = new int[clocks.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = state.getUpperBound(clocks.get(i));
+        }
+        return result;
+    }
+
+    private int[] lowerBounds(final ZoneState state) {
+        final int[] result = new int[clocks.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = state.getLowerBound(clocks.get(i));
+        }
+        return result;
+    }
+
+    private static final class Entry<T> {
+        private final ZoneState state;
+        private final boolean bottom;
+        private final int[] upper;
+        private final int[] lower;
+        private final T elem;
+
+        private Entry(final ZoneState state, final int[] upper, final int[] lower, final T elem) {
+            this.state = state;
+            this.bottom = state.isBottom();
+            this.upper = upper;
+            this.lower = lower;
+            this.elem = elem;
+        }
+
+        private boolean hasBounds(final int[] upper, final int[] lower) {
+            return !bottom
+                    && Arrays.equals(this.upper, 0, this.upper.length, upper, 0, this.upper.length)
+                    && Arrays.equals(this.lower, 0, this.lower.length, lower, 0, this.lower.length)
+                    && allInf(upper, this.upper.length)
+                    && allInf(lower, this.lower.length);
+        }
+
+        private boolean mayInclude(final int[] upper, final int[] lower) {
+            if (bottom) {
+                return false; // A bottom zone cannot include a consistent zone
+            }
+            // Clocks added to the index after this entry are unconstrained in it
+            for (int i = 0; i < this.upper.length; i++) {
+                if (upper[i] > this.upper[i] || lower[i] > this.lower[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean allInf(final int[] bounds, final int from) {
+            for (int i = from; i < bounds.length; i++) {
+                if (bounds[i] != DiffBounds.Inf()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package hu.bme.mit.theta.analysis.algorithm
 
 import hu.bme.mit.theta.analysis.algorithm.bounded.BoundedChecker
+import hu.bme.mit.theta.analysis.algorithm.bounded.BoundedStatistics
 import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr
 import hu.bme.mit.theta.common.logging.ConsoleLogger
 import hu.bme.mit.theta.common.logging.Logger
@@ -28,6 +29,8 @@ import hu.bme.mit.theta.core.type.inttype.IntExprs.Int
 import hu.bme.mit.theta.core.utils.StmtUtils
 import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory
 import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
 import org.junit.Assert
 import org.junit.Test
 
@@ -37,6 +40,7 @@ class BoundedTest {
 
     private var unsafeMonolithicExpr: MonolithicExpr? = null
     private var safeMonolithicExpr: MonolithicExpr? = null
+    private var finiteMonolithicExpr: MonolithicExpr? = null
 
     init {
       val x = Decls.Var("x", Int())
@@ -56,6 +60,18 @@ class BoundedTest {
           AbstractExprs.Neq(x.ref, Int(-5)),
           unfoldResult.indexing,
         )
+      val modUnfoldResult =
+        StmtUtils.toExpr(
+          Assign(x, IntExprs.Mod(IntExprs.Add(x.ref, Int(1)), Int(6))),
+          VarIndexingFactory.indexing(0),
+        )
+      finiteMonolithicExpr =
+        MonolithicExpr(
+          AbstractExprs.Eq(x.ref, Int(0)),
+          And(modUnfoldResult.exprs),
+          AbstractExprs.Neq(x.ref, Int(7)),
+          modUnfoldResult.indexing,
+        )
     }
   }
 
@@ -92,4 +108,124 @@ class BoundedTest {
     val safetyResult: SafetyResult<*, *> = checker.check()
     Assert.assertTrue(safetyResult.isSafe())
   }
+
+  @Test
+  fun testBoundedUnsafeParallel() {
+    val solver = Z3LegacySolverFactory.getInstance().createSolver()
+    val itpSolver = Z3LegacySolverFactory.getInstance().createItpSolver()
+    val indSolver = Z3LegacySolverFactory.getInstance().createSolver()
+    val checker: BoundedChecker =
+      BoundedChecker(
+        monolithicExpr = unsafeMonolithicExpr!!,
+        bmcSolver = solver,
+        itpSolver = itpSolver,
+        indSolver = indSolver,
+        logger = ConsoleLogger(Logger.Level.VERBOSE),
+        parallel = true,
+      )
+    val safetyResult: SafetyResult<*, *> = checker.check()
+    Assert.assertTrue(safetyResult.isUnsafe())
+  }
+
+  @Test
+  fun testBoundedSafeParallel() {
+    val solver = Z3LegacySolverFactory.getInstance().createSolver()
+    val itpSolver = Z3LegacySolverFactory.getInstance().createItpSolver()
+    val indSolver = Z3LegacySolverFactory.getInstance().createSolver()
+    val checker: BoundedChecker =
+      BoundedChecker(
+        monolithicExpr = safeMonolithicExpr!!,
+        bmcSolver = solver,
+        itpSolver = itpSolver,
+        indSolver = indSolver,
+        logger = ConsoleLogger(Logger.Level.VERBOSE),
+        parallel = true,
+      )
+    val safetyResult: SafetyResult<*, *> = checker.check()
+    Assert.assertTrue(safetyResult.isSafe())
+    val stats = safetyResult.stats.get() as BoundedStatistics
+    Assert.assertEquals(setOf("bmc", "kind", "imc"), stats.engines.keys)
+  }
+
+  @Test
+  fun testBoundedLoopfreeSafe() {
+    val constraints =
+      listOf(true, false).associateWith { lazySimplePath ->
+        val checker: BoundedChecker =
+          BoundedChecker(
+            monolithicExpr = finiteMonolithicExpr!!,
+            bmcSolver = Z3LegacySolverFactory.getInstance().createSolver(),
+            logger = ConsoleLogger(Logger.Level.VERBOSE),
+            lazySimplePath = lazySimplePath,
+          )
+        val safetyResult: SafetyResult<*, *> = checker.check()
+        Assert.assertTrue(safetyResult.isSafe())
+        val stats = safetyResult.stats.get() as BoundedStatistics
+        Assert.assertEquals(6, stats.iterations)
+        stats.engines["bmc"]!!.loopfreeConstraints
+      }
+    // eagerly, every pair of the 7 states gets a constraint
+    Assert.assertEquals(21L, constraints[false])
+    Assert.assertTrue(constraints[true]!! < constraints[false]!!)
+  }
+
+  @Test
+  fun testBoundedParallelSkipsDisabledEngines() {
+    val solver = Z3LegacySolverFactory.getInstance().createSolver()
+    val itpSolver = Z3LegacySolverFactory.getInstance().createItpSolver()
+    val indSolver = Z3LegacySolverFactory.getInstance().createSolver()
+    val engineThreads = ConcurrentHashMap.newKeySet<Thread>()
+    val checker: BoundedChecker =
+      BoundedChecker(
+        monolithicExpr = finiteMonolithicExpr!!,
+        shouldGiveUp = {
+          engineThreads.add(Thread.currentThread())
+          false
+        },
+        bmcSolver = solver,
+        itpSolver = itpSolver,
+        imcEnabled = { false },
+        indSolver = indSolver,
+        logger = ConsoleLogger(Logger.Level.VERBOSE),
+        parallel = true,
+      )
+    val safetyResult: SafetyResult<*, *> = checker.check()
+    Assert.assertTrue(safetyResult.isSafe())
+    Assert.assertEquals(2, engineThreads.size) // no thread for the disabled IMC engine
+    val stats = safetyResult.stats.get() as BoundedStatistics
+    Assert.assertEquals(setOf("bmc", "kind"), stats.engines.keys)
+  }
+
+  @Test
+  fun testBoundedParallelInterrupted() {
+    val iterations = AtomicInteger()
+    val checker: BoundedChecker =
+      BoundedChecker(
+        monolithicExpr = safeMonolithicExpr!!, // BMC alone never terminates on this one
+        shouldGiveUp = {
+          iterations.incrementAndGet()
+          false
+        },
+        bmcSolver = Z3LegacySolverFactory.getInstance().createSolver(),
+        logger = ConsoleLogger(Logger.Level.VERBOSE),
+        parallel = true,
+      )
+    var safetyResult: SafetyResult<*, *>? = null
+    var interrupted = false
+    val thread = Thread {
+      safetyResult = checker.check()
+      interrupted = Thread.currentThread().isInterrupted
+    }
+    thread.start()
+    while (iterations.get() < 3) Thread.sleep(10)
+    thread.interrupt()
+    thread.join(60_000)
+    Assert.assertFalse(thread.isAlive)
+    Assert.assertTrue(interrupted)
+    Assert.assertFalse(safetyResult!!.isSafe)
+    Assert.assertFalse(safetyResult!!.isUnsafe)
+    val stoppedAt = iterations.get()
+    Thread.sleep(100)
+    Assert.assertEquals(stoppedAt, iterations.get()) // no engine outlives the check
+  }
 }
@@ -0,0 +1,146 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm
+
+import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr
+import hu.bme.mit.theta.analysis.algorithm.ic3.Ic3Checker
+import hu.bme.mit.theta.analysis.algorithm.ic3.Ic3Statistics
+import hu.bme.mit.theta.analysis.algorithm.ic3.ParallelIc3Checker
+import hu.bme.mit.theta.analysis.unit.UnitPrec
+import hu.bme.mit.theta.common.logging.ConsoleLogger
+import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.core.decl.Decls
+import hu.bme.mit.theta.core.stmt.Stmts.Assign
+import hu.bme.mit.theta.core.stmt.Stmts.Assume
+import hu.bme.mit.theta.core.stmt.Stmts.Havoc
+import hu.bme.mit.theta.core.stmt.Stmts.SequenceStmt
+import hu.bme.mit.theta.core.type.abstracttype.AbstractExprs
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.And
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.Or
+import hu.bme.mit.theta.core.type.inttype.IntExprs
+import hu.bme.mit.theta.core.type.inttype.IntExprs.Int
+import hu.bme.mit.theta.core.utils.StmtUnfoldResult
+import hu.bme.mit.theta.core.utils.StmtUtils
+import hu.bme.mit.theta.core.utils.indexings.VarIndexingFactory
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory
+import org.junit.Assert
+import org.junit.Test
+
+class Ic3Test {
+
+  companion object {
+
+    private val x = Decls.Var("x", Int())
+    private val y = Decls.Var("y", Int())
+
+    // x := (x + 1) mod 6, the property also bounds x so that the frames are finite
+    private val counter =
+      StmtUtils.toExpr(
+        Assign(x, IntExprs.Mod(IntExprs.Add(x.ref, Int(1)), Int(6))),
+        VarIndexingFactory.indexing(0),
+      )
+
+    // while x < 10: x := (x + y) mod 12 with y nondeterministically 0 or 2
+    private val evenCounter =
+      StmtUtils.toExpr(
+        SequenceStmt(
+          listOf(
+            Assume(IntExprs.Lt(x.ref, Int(10))),
+            Havoc(y),
+            Assume(Or(IntExprs.Eq(y.ref, Int(0)), IntExprs.Eq(y.ref, Int(2)))),
+            Assign(x, IntExprs.Mod(IntExprs.Add(x.ref, y.ref), Int(12))),
+          )
+        ),
+        VarIndexingFactory.indexing(0),
+      )
+
+    private fun monolithicExpr(
+      unfoldResult: StmtUnfoldResult,
+      bound: Int,
+      excluded: Int,
+    ): MonolithicExpr =
+      MonolithicExpr(
+        AbstractExprs.Eq(x.ref, Int(0)),
+        And(unfoldResult.exprs),
+        And(
+          IntExprs.Geq(x.ref, Int(0)),
+          IntExprs.Lt(x.ref, Int(bound)),
+          AbstractExprs.Neq(x.ref, Int(excluded)),
+        ),
+        unfoldResult.indexing,
+      )
+  }
+
+  private fun check(monolithicExpr: MonolithicExpr): SafetyResult<*, *> =
+    Ic3Checker(
+        monolithicExpr,
+        Z3LegacySolverFactory.getInstance(),
+        ConsoleLogger(Logger.Level.VERBOSE),
+      )
+      .check(UnitPrec.getInstance())
+
+  @Test
+  fun testIc3Unsafe() {
+    val safetyResult = check(monolithicExpr(counter, 6, 4))
+    Assert.assertTrue(safetyResult.isUnsafe())
+    Assert.assertEquals(4, safetyResult.asUnsafe().cex.length())
+  }
+
+  @Test
+  fun testIc3Safe() {
+    val safetyResult = check(monolithicExpr(counter, 6, 7))
+    Assert.assertTrue(safetyResult.isSafe())
+  }
+
+  @Test
+  fun testIc3NondeterministicUnsafe() {
+    val safetyResult = check(monolithicExpr(evenCounter, 12, 10))
+    Assert.assertTrue(safetyResult.isUnsafe())
+  }
+
+  @Test
+  fun testIc3NondeterministicSafe() {
+    val safetyResult = check(monolithicExpr(evenCounter, 12, 11))
+    Assert.assertTrue(safetyResult.isSafe())
+    val stats = safetyResult.stats.get() as Ic3Statistics
+    Assert.assertTrue(stats.getQueries(Ic3Statistics.Phase.LIFTING) > 0)
+  }
+
+  @Test
+  fun testParallelIc3() {
+    for (workers in listOf(1, 3)) {
+      val unsafeResult =
+        ParallelIc3Checker(
+            monolithicExpr(evenCounter, 12, 10),
+            Z3LegacySolverFactory.getInstance(),
+            workers,
+            ConsoleLogger(Logger.Level.VERBOSE),
+          )
+          .check(UnitPrec.getInstance())
+      Assert.assertTrue(unsafeResult.isUnsafe())
+      val safeChecker =
+        ParallelIc3Checker(
+          monolithicExpr(evenCounter, 12, 11),
+          Z3LegacySolverFactory.getInstance(),
+          workers,
+          ConsoleLogger(Logger.Level.VERBOSE),
+        )
+      Assert.assertTrue(safeChecker.check(UnitPrec.getInstance()).isSafe())
+      // the workers of a check are closed afterwards, the next check creates new ones
+      Assert.assertTrue(safeChecker.check(UnitPrec.getInstance()).isSafe())
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.arg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.stubs.ActionStub;
+import hu.bme.mit.theta.analysis.stubs.PartialOrdStub;
+import hu.bme.mit.theta.analysis.stubs.StateStub;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class ArgBookkeepingTest {
+
+    private final Action a = new ActionStub("A");
+
+    @Test
+    public void testCoverAndUncover() {
+        final ARG<State, Action> arg = ARG.create(new PartialOrdStub());
+
+        final ArgNode<State, Action> n0 = arg.createInitNode(new StateStub("0"), false);
+        final ArgNode<State, Action> n1 = arg.createSuccNode(n0, a, new StateStub("1"), false);
+        final ArgNode<State, Action> n2 = arg.createSuccNode(n0, a, new StateStub("2"), false);
+        final ArgNode<State, Action> n20 = arg.createSuccNode(n2, a, new StateStub("20"), true);
+        final ArgNode<State, Action> n21 = arg.createSuccNode(n2, a, new StateStub("21"), false);
+        arg.initialized = true;
+        n0.setExpanded(true);
+        n2.setExpanded(true);
+
+        assertTrue(arg.isConsistent());
+        assertFalse(arg.isSafe());
+        assertEquals(List.of(n1, n20, n21), incomplete(arg));
+
+        n2.setCoveringNode(n1);
+        assertTrue(arg.isConsistent());
+        assertTrue(arg.isSafe());
+        assertTrue(n20.isExcluded());
+        assertEquals(3, arg.getExcludedNodeCount());
+        assertEquals(List.of(n1), incomplete(arg));
+
+        n1.setExpanded(true);
+        assertTrue(arg.isComplete());
+
+        n2.unsetCoveringNode();
+        assertTrue(arg.isConsistent());
+        assertFalse(arg.isSafe());
+        assertEquals(0, arg.getExcludedNodeCount());
+        assertEquals(List.of(n20, n21), incomplete(arg));
+    }
+
+    @Test
+    public void testPruneCoveringNode() {
+        final ARG<State, Action> arg = ARG.create(new PartialOrdStub());
+
+        final ArgNode<State, Action> n0 = arg.createInitNode(new StateStub("0"), false);
+        final ArgNode<State, Action> n1 = arg.createSuccNode(n0, a, new StateStub("1"), false);
+        final ArgNode<State, Action> n2 = arg.createSuccNode(n0, a, new StateStub("2"), false);
+        final ArgNode<State, Action> n20 = arg.createSuccNode(n2, a, new StateStub("20"), true);
+        n0.setExpanded(true);
+        n2.setExpanded(true);
+        n2.setCoveringNode(n1);
+        assertTrue(arg.isSafe());
+
+        arg.prune(n1);
+
+        assertTrue(arg.isConsistent());
+        assertFalse(n2.isExcluded());
+        assertEquals(List.of(n20), arg.getUnsafeNodes().collect(Collectors.toList()));
+        assertEquals(3, arg.size());
+        assertFalse(n0.isExpanded());
+
+        arg.pruneAll();
+        assertTrue(arg.isConsistent());
+        assertEquals(0, arg.size());
+        assertTrue(arg.isSafe());
+    }
+
+    @Test
+    public void testNodesAreInCreationOrder() {
+        final ARG<State, Action> arg = ARG.create(new PartialOrdStub());
+
+        final ArgNode<State, Action> n0 = arg.createInitNode(new StateStub("0"), false);
+        final ArgNode<State, Action> n1 = arg.createSuccNode(n0, a, new StateStub("1"), false);
+        final ArgNode<State, Action> n2 = arg.createSuccNode(n0, a, new StateStub("2"), true);
+        final ArgNode<State, Action> n10 = arg.createSuccNode(n1, a, new StateStub("10"), true);
+        n0.setExpanded(true);
+        n1.setExpanded(true);
+
+        assertEquals(List.of(n2, n10), incomplete(arg));
+        assertEquals(List.of(n2, n10), arg.getUnsafeNodes().collect(Collectors.toList()));
+    }
+
+    private static List<ArgNode<State, Action>> incomplete(final ARG<State, Action> arg) {
+        return arg.getIncompleteNodes().collect(Collectors.toList());
+    }
+}
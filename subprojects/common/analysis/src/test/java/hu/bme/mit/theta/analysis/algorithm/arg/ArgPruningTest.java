@@ -17,6 +17,7 @@ package hu.bme.mit.theta.analysis.algorithm.arg;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import hu.bme.mit.theta.analysis.Action;
 import hu.bme.mit.theta.analysis.State;
@@ -80,4 +81,25 @@ public class ArgPruningTest {
                 GraphvizWriter.getInstance()
                         .writeString(ArgVisualizer.getDefault().visualize(arg)));
     }
+
+    @Test
+    public void testConsistentAfterPruning() {
+        final ARG<State, Action> arg = ARG.create(new PartialOrdStub());
+        final Action a = new ActionStub("A");
+
+        final ArgNode<State, Action> n0 = arg.createInitNode(new StateStub("0"), false);
+        final ArgNode<State, Action> n00 = arg.createSuccNode(n0, a, new StateStub("00"), false);
+        final ArgNode<State, Action> n01 = arg.createSuccNode(n0, a, new StateStub("01"), false);
+        final ArgNode<State, Action> n02 = arg.createSuccNode(n0, a, new StateStub("02"), false);
+        final ArgNode<State, Action> n000 = arg.createSuccNode(n00, a, new StateStub("000"), false);
+        arg.createSuccNode(n00, a, new StateStub("001"), true);
+
+        n000.setCoveringNode(n0);
+        n01.setCoveringNode(n0);
+        n02.setCoveringNode(n00);
+        assertTrue(arg.isConsistent());
+
+        arg.prune(n00);
+        assertTrue(arg.isConsistent());
+    }
 }
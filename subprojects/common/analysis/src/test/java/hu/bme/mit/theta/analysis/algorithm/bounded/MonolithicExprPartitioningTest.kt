@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.bounded
+
+import hu.bme.mit.theta.core.decl.Decls
+import hu.bme.mit.theta.core.decl.VarDecl
+import hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Add
+import hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq
+import hu.bme.mit.theta.core.type.anytype.Exprs.Prime
+import hu.bme.mit.theta.core.type.booltype.AndExpr
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.And
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.Or
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.True
+import hu.bme.mit.theta.core.type.booltype.OrExpr
+import hu.bme.mit.theta.core.type.inttype.IntExprs.Int
+import hu.bme.mit.theta.core.type.inttype.IntType
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class MonolithicExprPartitioningTest {
+
+  private val x: VarDecl<IntType> = Decls.Var("x", Int())
+  private val y: VarDecl<IntType> = Decls.Var("y", Int())
+  private val loc: VarDecl<IntType> = Decls.Var("loc", Int())
+
+  private fun inc(v: VarDecl<IntType>, n: Int) = Eq(Prime(v.ref), Add(v.ref, Int(n)))
+
+  private fun keep(v: VarDecl<IntType>) = Eq(Prime(v.ref), v.ref)
+
+  @Test
+  fun `events with the same support are merged`() {
+    val expr =
+      MonolithicExpr(
+        initExpr = True(),
+        transExpr =
+          Or(And(inc(x, 1), keep(y)), And(inc(y, 1), keep(x)), And(inc(x, 2), keep(y))),
+        propExpr = True(),
+      )
+
+    val partitions = expr.partition()
+
+    assertEquals(2, partitions.size)
+    val xPartition = partitions.single { it.writtenVars == setOf(x) }
+    assertEquals(setOf(x), xPartition.support)
+    assertEquals(setOf(y), partitions.single { it.writtenVars == setOf(y) }.support)
+  }
+
+  @Test
+  fun `disjunctions under a control guard are distributed`() {
+    val expr =
+      MonolithicExpr(
+        initExpr = True(),
+        transExpr =
+          And(
+            Eq(loc.ref, Int(0)),
+            keep(loc),
+            Or(And(inc(x, 1), keep(y)), And(inc(y, 1), keep(x))),
+          ),
+        propExpr = True(),
+        ctrlVars = listOf(loc),
+      )
+
+    val partitions = expr.partition(maxDistributedDisjuncts = 1)
+
+    assertEquals(2, partitions.size)
+    partitions.forEach { assertTrue(loc in it.readVars) }
+    assertEquals(setOf(setOf(x), setOf(y)), partitions.map { it.writtenVars }.toSet())
+  }
+
+  @Test
+  fun `conjunctions are not distributed above the limit`() {
+    val expr =
+      MonolithicExpr(
+        initExpr = True(),
+        transExpr = And(Or(inc(x, 1), inc(x, 2)), Or(inc(y, 1), inc(y, 2))),
+        propExpr = True(),
+      )
+
+    // All four combinations write both variables, so they are merged back into one event
+    assertTrue(expr.partition(maxDistributedDisjuncts = 3).single().expr is AndExpr)
+    assertTrue(expr.partition(maxDistributedDisjuncts = 4).single().expr is OrExpr)
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.cegar;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.stmt.Stmts.Assume;
+import static hu.bme.mit.theta.core.stmt.Stmts.Havoc;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Leq;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.Analysis;
+import hu.bme.mit.theta.analysis.InitFunc;
+import hu.bme.mit.theta.analysis.LTS;
+import hu.bme.mit.theta.analysis.PartialOrd;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.TransFunc;
+import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgBuilder;
+import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode;
+import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
+import hu.bme.mit.theta.analysis.expl.ExplPrec;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expl.ExplStmtAnalysis;
+import hu.bme.mit.theta.analysis.expr.StmtAction;
+import hu.bme.mit.theta.analysis.stubs.ActionStub;
+import hu.bme.mit.theta.analysis.stubs.PartialOrdStub;
+import hu.bme.mit.theta.analysis.stubs.PrecStub;
+import hu.bme.mit.theta.analysis.stubs.StateStub;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.stmt.Stmt;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class ParallelArgAbstractorTest {
+
+    private static final int MOD = 97;
+
+    private static final Action INC = new ActionStub("INC");
+    private static final Action DBL = new ActionStub("DBL");
+
+    private static final Analysis<State, Action, PrecStub> ANALYSIS =
+            new Analysis<>() {
+                @Override
+                public PartialOrd<State> getPartialOrd() {
+                    return new PartialOrdStub();
+                }
+
+                @Override
+                public InitFunc<State, PrecStub> getInitFunc() {
+                    return prec -> List.of(new StateStub("0"));
+                }
+
+                @Override
+                public TransFunc<State, Action, PrecStub> getTransFunc() {
+                    return (state, action, prec) -> {
+                        final int value = Integer.parseInt(state.toString());
+                        final int succ = action == INC ? value + 1 : 2 * value;
+                        return List.of(new StateStub(Integer.toString(succ % MOD)));
+                    };
+                }
+            };
+
+    private static final LTS<State, Action> LTS = state -> List.of(INC, DBL);
+
+    private static ArgBuilder<State, Action, PrecStub> argBuilder(final String target) {
+        final Predicate<State> isTarget = s -> s.toString().equals(target);
+        return ArgBuilder.create(LTS, ANALYSIS, isTarget);
+    }
+
+    private static ARG<State, Action> build(
+            final ArgAbstractor<State, Action, PrecStub> abstractor) {
+        final ARG<State, Action> arg = abstractor.createProof();
+        abstractor.check(arg, new PrecStub());
+        assertTrue(arg.isConsistent());
+        return arg;
+    }
+
+    private static List<String> describe(final ARG<State, Action> arg) {
+        return arg.getNodes()
+                .map(
+                        n ->
+                                n.getId()
+                                        + ":"
+                                        + n.getState()
+                                        + n.getParent().map(p -> "<" + p.getId()).orElse("")
+                                        + n.getCoveringNode().map(c -> "~" + c.getId()).orElse(""))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSafeMatchesSequential() {
+        final ARG<State, Action> sequential =
+                build(BasicArgAbstractor.builder(argBuilder("-1")).build());
+        final ARG<State, Action> parallel =
+                build(
+                        ParallelArgAbstractor.builder(argBuilder("-1"), () -> argBuilder("-1"))
+                                .parallelism(4)
+                                .batchSize(1)
+                                .build());
+
+        assertTrue(sequential.isSafe());
+        assertTrue(parallel.isSafe());
+        assertTrue(parallel.isComplete());
+        // With a batch size of one, the exploration order is the same as the sequential one
+        assertEquals(describe(sequential), describe(parallel));
+    }
+
+    @Test
+    public void testDeterministic() {
+        final List<String> first =
+                describe(
+                        build(
+                                ParallelArgAbstractor.builder(
+                                                argBuilder("-1"), () -> argBuilder("-1"))
+                                        .parallelism(4)
+                                        .build()));
+        for (int i = 0; i < 5; i++) {
+            final List<String> other =
+                    describe(
+                            build(
+                                    ParallelArgAbstractor.builder(
+                                                    argBuilder("-1"), () -> argBuilder("-1"))
+                                            .parallelism(4)
+                                            .build()));
+            assertEquals(first, other);
+        }
+    }
+
+    @Test
+    public void testFirstCex() {
+        for (final boolean nondeterministic : List.of(false, true)) {
+            final ARG<State, Action> arg =
+                    build(
+                            ParallelArgAbstractor.builder(argBuilder("37"), () -> argBuilder("37"))
+                                    .stopCriterion(StopCriterions.firstCex())
+                                    .parallelism(4)
+                                    .nondeterministic(nondeterministic)
+                                    .build());
+            assertFalse(arg.isSafe());
+            assertEquals(1, arg.getUnsafeNodes().count());
+            assertEquals("37", arg.getUnsafeNodes().findFirst().get().getState().toString());
+        }
+    }
+
+    @Test
+    public void testNondeterministicFullExploration() {
+        final ARG<State, Action> arg =
+                build(
+                        ParallelArgAbstractor.builder(argBuilder("37"), () -> argBuilder("37"))
+                                .stopCriterion(StopCriterions.fullExploration())
+                                .parallelism(4)
+                                .nondeterministic(true)
+                                .build());
+        assertTrue(arg.getIncompleteNodes().allMatch(ArgNode::isTarget));
+        assertEquals(
+                MOD,
+                arg.getNodes()
+                        .filter(n -> !n.isCovered())
+                        .map(ArgNode::getState)
+                        .distinct()
+                        .count());
+    }
+
+    @Test
+    public void testWorkersShareDeclarations() {
+        // Fresh variables, so their indexed constants are first created concurrently by the
+        // workers (when unfolding the havocs for their own solvers)
+        final List<VarDecl<IntType>> vars = new ArrayList<>();
+        final List<Expr<BoolType>> inits = new ArrayList<>();
+        final List<StmtAction> actions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final VarDecl<IntType> x = Var("x" + i, Int());
+            vars.add(x);
+            inits.add(Eq(x.getRef(), Int(0)));
+            actions.add(
+                    new StmtAction() {
+                        @Override
+                        public List<Stmt> getStmts() {
+                            return List.of(
+                                    Havoc(x),
+                                    Assume(
+                                            And(
+                                                    Leq(Int(0), x.getRef()),
+                                                    Leq(x.getRef(), Int(2)))));
+                        }
+                    });
+        }
+        final Expr<BoolType> init = And(inits);
+        final LTS<ExplState, StmtAction> lts = s -> actions;
+
+        final ParallelArgAbstractor<ExplState, StmtAction, ExplPrec> abstractor =
+                ParallelArgAbstractor.builder(
+                                ArgBuilder.create(
+                                        lts,
+                                        ExplStmtAnalysis.create(
+                                                Z3LegacySolverFactory.getInstance().createSolver(),
+                                                init),
+                                        s -> false),
+                                () ->
+                                        ArgBuilder.create(
+                                                lts,
+                                                ExplStmtAnalysis.create(
+                                                        Z3LegacySolverFactory.getInstance()
+                                                                .createSolver(),
+                                                        init),
+                                                s -> false))
+                        .parallelism(4)
+                        .build();
+        final ARG<ExplState, StmtAction> arg = abstractor.createProof();
+        abstractor.check(arg, ExplPrec.of(vars));
+
+        assertTrue(arg.isConsistent());
+        assertTrue(arg.isSafe());
+        assertTrue(arg.isComplete());
+        // Each variable ranges over 0..2
+        assertEquals(
+                81,
+                arg.getNodes()
+                        .filter(n -> !n.isCovered())
+                        .map(ArgNode::getState)
+                        .distinct()
+                        .count());
+    }
+}
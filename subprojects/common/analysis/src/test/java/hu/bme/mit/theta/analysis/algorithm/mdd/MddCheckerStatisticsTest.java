@@ -0,0 +1,114 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.mdd;
+
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.*;
+import static hu.bme.mit.theta.core.type.anytype.Exprs.Prime;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr;
+import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExprVarOrderingKt;
+import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.MddCachePolicy;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expr.ExprAction;
+import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.core.decl.Decls;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.solver.SolverPool;
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory;
+import org.junit.Test;
+
+public class MddCheckerStatisticsTest {
+
+    private static final VarDecl<IntType> X = Decls.Var("x", IntType.getInstance());
+
+    @Test
+    public void testInitialViolation() throws Exception {
+        // The state space is infinite, so the check only terminates if enumeration is skipped
+        final var monolithicExpr =
+                new MonolithicExpr(
+                        Eq(X.getRef(), Int(0)),
+                        Eq(Prime(X.getRef()), Add(X.getRef(), Int(1))),
+                        Not(Eq(X.getRef(), Int(0))));
+
+        final var status = check(monolithicExpr, true);
+
+        assertTrue(status.isUnsafe());
+        assertEquals(0, status.asUnsafe().getCex().length());
+        final var statistics = (MddAnalysisStatistics) status.getStats().orElseThrow();
+        assertEquals(Long.valueOf(1), statistics.getViolatingSize());
+        assertEquals(Long.valueOf(1), statistics.getStateSpaceSize());
+    }
+
+    @Test
+    public void testUncountedSizes() throws Exception {
+        final var monolithicExpr =
+                new MonolithicExpr(
+                        Eq(X.getRef(), Int(0)),
+                        And(
+                                Eq(Prime(X.getRef()), Add(X.getRef(), Int(1))),
+                                Leq(Prime(X.getRef()), Int(4))),
+                        Not(Eq(X.getRef(), Int(5))));
+
+        final var status = check(monolithicExpr, false);
+
+        assertTrue(status.isSafe());
+        assertEquals(Long.valueOf(5), status.getProof().size());
+        final var statistics = (MddAnalysisStatistics) status.getStats().orElseThrow();
+        assertEquals(Long.valueOf(-1), statistics.getViolatingSize());
+        assertEquals(Long.valueOf(-1), statistics.getStateSpaceSize());
+    }
+
+    @Test
+    public void testUncountedSizesUnsafe() throws Exception {
+        final var monolithicExpr =
+                new MonolithicExpr(
+                        Eq(X.getRef(), Int(0)),
+                        Eq(Prime(X.getRef()), X.getRef()),
+                        Not(Eq(X.getRef(), Int(0))));
+
+        final var status = check(monolithicExpr, false);
+
+        assertTrue(status.isUnsafe());
+        final var statistics = (MddAnalysisStatistics) status.getStats().orElseThrow();
+        assertEquals(Long.valueOf(-1), statistics.getViolatingSize());
+        assertEquals(Long.valueOf(-1), statistics.getStateSpaceSize());
+    }
+
+    private SafetyResult<MddProof, Trace<ExplState, ExprAction>> check(
+            final MonolithicExpr monolithicExpr, final boolean countStates) throws Exception {
+        try (var solverPool = new SolverPool(Z3LegacySolverFactory.getInstance())) {
+            final MddChecker checker =
+                    new MddChecker(
+                            monolithicExpr,
+                            solverPool,
+                            NullLogger.getInstance(),
+                            MddChecker.IterationStrategy.GSAT,
+                            10,
+                            MonolithicExprVarOrderingKt.orderVars(monolithicExpr),
+                            MddCachePolicy.unbounded(),
+                            countStates,
+                            0L);
+            return checker.check(null);
+        }
+    }
+}
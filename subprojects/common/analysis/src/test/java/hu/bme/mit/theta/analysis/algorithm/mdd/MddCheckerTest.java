@@ -26,6 +26,9 @@ import static org.junit.Assert.assertTrue;
 import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExpr;
+import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExprVarOrderingKt;
+import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.MddCachePolicy;
+import hu.bme.mit.theta.analysis.algorithm.mdd.varordering.VarOrderingStrategy;
 import hu.bme.mit.theta.analysis.expl.ExplState;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.common.logging.ConsoleLogger;
@@ -165,8 +168,55 @@ public class MddCheckerTest {
         testWithIterationStrategy(MddChecker.IterationStrategy.GSAT);
     }
 
+    @Test
+    public void testPsat() throws Exception {
+        testWithIterationStrategy(MddChecker.IterationStrategy.PSAT);
+    }
+
+    @Test
+    public void testGsatBoundedCaches() throws Exception {
+        // A tiny lossy cache that is maintained on every insertion must not change the result
+        testWithIterationStrategy(
+                MddChecker.IterationStrategy.GSAT,
+                MddCachePolicy.bounded(2).withCheckInterval(1));
+    }
+
+    @Test
+    public void testGsatSifting() throws Exception {
+        testWithIterationStrategy(
+                MddChecker.IterationStrategy.GSAT,
+                MddCachePolicy.unbounded(),
+                VarOrderingStrategy.SIFTING,
+                0L);
+    }
+
+    @Test
+    public void testGsatDynamicReordering() throws Exception {
+        // A node limit of 1 is always exceeded, so enumeration is restarted with a sifted ordering
+        testWithIterationStrategy(
+                MddChecker.IterationStrategy.GSAT,
+                MddCachePolicy.unbounded(),
+                VarOrderingStrategy.DECLARATION,
+                1L);
+    }
+
     public void testWithIterationStrategy(MddChecker.IterationStrategy iterationStrategy)
             throws Exception {
+        testWithIterationStrategy(iterationStrategy, MddCachePolicy.unbounded());
+    }
+
+    public void testWithIterationStrategy(
+            MddChecker.IterationStrategy iterationStrategy, MddCachePolicy cachePolicy)
+            throws Exception {
+        testWithIterationStrategy(iterationStrategy, cachePolicy, VarOrderingStrategy.FORCE, 0L);
+    }
+
+    public void testWithIterationStrategy(
+            MddChecker.IterationStrategy iterationStrategy,
+            MddCachePolicy cachePolicy,
+            VarOrderingStrategy varOrdering,
+            long reorderNodeLimit)
+            throws Exception {
 
         final Logger logger = new ConsoleLogger(Logger.Level.SUBSTEP);
 
@@ -174,7 +224,16 @@ public class MddCheckerTest {
         try (var solverPool = new SolverPool(Z3LegacySolverFactory.getInstance())) {
             final var monolithicExpr = new MonolithicExpr(initExpr, tranExpr, propExpr);
             final MddChecker checker =
-                    new MddChecker(monolithicExpr, solverPool, logger, iterationStrategy);
+                    new MddChecker(
+                            monolithicExpr,
+                            solverPool,
+                            logger,
+                            iterationStrategy,
+                            10,
+                            MonolithicExprVarOrderingKt.orderVars(monolithicExpr, varOrdering),
+                            cachePolicy,
+                            true,
+                            reorderNodeLimit);
             status = checker.check(null);
         }
 
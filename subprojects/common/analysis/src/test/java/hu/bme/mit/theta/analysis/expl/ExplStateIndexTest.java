@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expl;
+
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+
+import hu.bme.mit.theta.core.decl.Decls;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.ImmutableValuation;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExplStateIndexTest {
+
+    private final VarDecl<IntType> X = Decls.Var("x", Int());
+    private final VarDecl<IntType> Y = Decls.Var("y", Int());
+
+    private final ExplState st = ExplState.top();
+    private final ExplState s1 = ExplState.of(ImmutableValuation.builder().put(X, Int(1)).build());
+    private final ExplState s2 = ExplState.of(ImmutableValuation.builder().put(X, Int(2)).build());
+    private final ExplState s3 = ExplState.of(ImmutableValuation.builder().put(Y, Int(1)).build());
+    private final ExplState s4 =
+            ExplState.of(ImmutableValuation.builder().put(X, Int(1)).put(Y, Int(1)).build());
+    private final ExplState sb = ExplState.bottom();
+
+    private final List<ExplState> states = List.of(st, s1, s2, s3, s4, sb);
+
+    @Test
+    public void testEqual() {
+        final ExplStateIndex<ExplState> index = ExplStateIndex.create();
+        states.forEach(s -> index.add(s, s));
+
+        for (final ExplState state : states) {
+            Assert.assertEquals(List.of(state), List.copyOf(index.getEqual(state)));
+        }
+        final ExplState s5 = ExplState.of(ImmutableValuation.builder().put(Y, Int(2)).build());
+        Assert.assertTrue(index.getEqual(s5).isEmpty());
+    }
+
+    @Test
+    public void testCandidates() {
+        final ExplStateIndex<ExplState> index = ExplStateIndex.create();
+        states.forEach(s -> index.add(s, s));
+
+        for (final ExplState state : states) {
+            final List<ExplState> candidates = List.copyOf(index.getCandidates(state));
+            Assert.assertEquals(state, candidates.get(0));
+            for (final ExplState other : states) {
+                if (!state.isBottom() && state.isLeq(other)) {
+                    Assert.assertTrue(candidates.contains(other));
+                }
+            }
+        }
+
+        Assert.assertEquals(List.of(s4, st, s1, s3), List.copyOf(index.getCandidates(s4)));
+        Assert.assertEquals(List.of(s2, st), List.copyOf(index.getCandidates(s2)));
+        Assert.assertEquals(states.size(), index.getCandidates(sb).size());
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Gt;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
+
+import hu.bme.mit.theta.core.decl.Decls;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PredStateIndexTest {
+
+    private final VarDecl<IntType> VX = Decls.Var("x", Int());
+
+    PredState sb = PredState.of(False());
+    PredState s1 = PredState.of(Gt(VX.getRef(), Int(1)));
+    PredState s2 = PredState.of(Gt(VX.getRef(), Int(0)));
+    PredState s3 = PredState.of(Gt(VX.getRef(), Int(1)), Lt(VX.getRef(), Int(5)));
+    PredState st = PredState.of();
+
+    private final List<PredState> states = List.of(sb, s1, s2, s3, st);
+
+    @Test
+    public void testEqual() {
+        final PredStateIndex<PredState> index = PredStateIndex.create();
+        states.forEach(s -> index.add(s, s));
+
+        for (final PredState state : states) {
+            Assert.assertEquals(List.of(state), List.copyOf(index.getEqual(state)));
+        }
+    }
+
+    @Test
+    public void testCandidates() {
+        final PredStateIndex<PredState> index = PredStateIndex.create();
+        states.forEach(s -> index.add(s, s));
+
+        Assert.assertEquals(List.of(s3, s1, st, s2), List.copyOf(index.getCandidates(s3)));
+        Assert.assertEquals(List.of(s1, st, s2, s3), List.copyOf(index.getCandidates(s1)));
+        Assert.assertEquals(states, List.copyOf(index.getCandidates(sb)));
+    }
+
+    @Test
+    public void testSyntacticCandidates() {
+        final PredStateIndex<PredState> index = PredStateIndex.createSyntactic();
+        states.forEach(s -> index.add(s, s));
+
+        Assert.assertEquals(List.of(s3, s1, st), List.copyOf(index.getCandidates(s3)));
+        Assert.assertEquals(List.of(s1, st), List.copyOf(index.getCandidates(s1)));
+        Assert.assertEquals(List.of(st), List.copyOf(index.getCandidates(st)));
+    }
+}
@@ -28,9 +28,13 @@ import hu.bme.mit.theta.analysis.expr.StmtAction;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.decl.VarDecl;
 import hu.bme.mit.theta.core.stmt.Stmt;
+import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.stmt.Stmts;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.type.inttype.IntType;
 import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverStatus;
 import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory;
 import java.util.Collection;
 import java.util.Collections;
@@ -86,6 +90,131 @@ public class PredTransFuncTest {
         Assert.assertEquals(PredState.bottom(), Utils.singleElementOf(succStates));
     }
 
+    @Test
+    public void testCache() {
+        final int[] calls = {0};
+        final PredTransFunc<ExprAction> cachingTransFunc =
+                PredTransFunc.create(
+                        (expr, exprIndexing, prec, precIndexing) -> {
+                            calls[0]++;
+                            return List.of(PredState.of(prec.getPreds()));
+                        });
+        final PredPrec prec1 = PredPrec.of(ImmutableList.of(Lt(x.getRef(), Int(5))));
+        final PredPrec prec2 =
+                PredPrec.of(ImmutableList.of(Lt(x.getRef(), Int(5)), Gt(y.getRef(), Int(0))));
+        final PredState state = PredState.of(Lt(x.getRef(), Int(4)));
+        final ExprAction action = new BasicStmtAction(Stmts.Assign(x, Add(x.getRef(), Int(1))));
+
+        final Collection<? extends PredState> succStates =
+                cachingTransFunc.getSuccStates(state, action, prec1);
+        Assert.assertEquals(succStates, cachingTransFunc.getSuccStates(state, action, prec1));
+        Assert.assertEquals(
+                succStates,
+                cachingTransFunc.getSuccStates(
+                        PredState.of(Lt(x.getRef(), Int(4))),
+                        action,
+                        PredPrec.of(ImmutableList.of(Lt(x.getRef(), Int(5))))));
+        Assert.assertEquals(1, calls[0]);
+        Assert.assertEquals(2, cachingTransFunc.getCacheStats().hitCount());
+
+        cachingTransFunc.getSuccStates(state, action, prec2);
+        Assert.assertEquals(2, calls[0]);
+        Assert.assertEquals(2, cachingTransFunc.getCacheStats().missCount());
+    }
+
+    @Test
+    public void testCartesianRefinement() {
+        // (x<4) ---[x := x+1]--> (x<5)? and then with the refined precision (x<5, y>0)?
+        final CountingSolver countingSolver = new CountingSolver(solver);
+        final PredTransFunc<ExprAction> cartesianTransFunc =
+                PredTransFunc.create(PredAbstractors.cartesianAbstractor(countingSolver), 0);
+        final PredPrec prec1 = PredPrec.of(ImmutableList.of(Lt(x.getRef(), Int(5))));
+        final PredPrec prec2 =
+                PredPrec.of(ImmutableList.of(Lt(x.getRef(), Int(5)), Gt(y.getRef(), Int(0))));
+        final PredState state = PredState.of(Lt(x.getRef(), Int(4)));
+        final ExprAction action = new BasicStmtAction(Stmts.Assign(x, Add(x.getRef(), Int(1))));
+
+        Assert.assertEquals(
+                PredState.of(Lt(x.getRef(), Int(5))),
+                Utils.singleElementOf(cartesianTransFunc.getSuccStates(state, action, prec1)));
+        // feasibility of the expression and both polarities of x<5
+        Assert.assertEquals(3, countingSolver.checks);
+
+        Assert.assertEquals(
+                PredState.of(Lt(x.getRef(), Int(5))),
+                Utils.singleElementOf(cartesianTransFunc.getSuccStates(state, action, prec2)));
+        // only both polarities of the new predicate y>0
+        Assert.assertEquals(5, countingSolver.checks);
+    }
+
+    /** Counts the satisfiability checks of a solver. */
+    private static final class CountingSolver implements Solver {
+
+        private final Solver solver;
+        private int checks = 0;
+
+        private CountingSolver(final Solver solver) {
+            this.solver = solver;
+        }
+
+        @Override
+        public void add(final Expr<BoolType> assertion) {
+            solver.add(assertion);
+        }
+
+        @Override
+        public SolverStatus check() {
+            checks++;
+            return solver.check();
+        }
+
+        @Override
+        public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+            checks++;
+            return solver.check(assumptions);
+        }
+
+        @Override
+        public Collection<Expr<BoolType>> getUnsatAssumptions() {
+            return solver.getUnsatAssumptions();
+        }
+
+        @Override
+        public void push() {
+            solver.push();
+        }
+
+        @Override
+        public void pop(final int n) {
+            solver.pop(n);
+        }
+
+        @Override
+        public void reset() {
+            solver.reset();
+        }
+
+        @Override
+        public SolverStatus getStatus() {
+            return solver.getStatus();
+        }
+
+        @Override
+        public Valuation getModel() {
+            return solver.getModel();
+        }
+
+        @Override
+        public Collection<Expr<BoolType>> getAssertions() {
+            return solver.getAssertions();
+        }
+
+        @Override
+        public void close() throws Exception {
+            solver.close();
+        }
+    }
+
     private static final class BasicStmtAction extends StmtAction {
 
         private final Stmt stmt;
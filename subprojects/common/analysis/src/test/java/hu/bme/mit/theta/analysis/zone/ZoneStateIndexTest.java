@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Geq;
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Leq;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+
+import hu.bme.mit.theta.core.decl.Decls;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ZoneStateIndexTest {
+
+    private final VarDecl<RatType> X = Decls.Var("x", Rat());
+    private final VarDecl<RatType> Y = Decls.Var("y", Rat());
+
+    private final ZoneState zt = ZoneState.top();
+    private final ZoneState zx = ZoneState.zero(List.of(X)).transform().up().and(Leq(X, 5)).build();
+    private final ZoneState z0 = ZoneState.zero(List.of(X, Y));
+    private final ZoneState z1 = z0.transform().up().build();
+    private final ZoneState z2 = z1.transform().and(Leq(X, 5)).build();
+    private final ZoneState z3 = z1.transform().and(Geq(X, 3)).build();
+    private final ZoneState z4 = z2.transform().and(Geq(X, 3)).build();
+    private final ZoneState zb = ZoneState.bottom();
+
+    private final List<ZoneState> states = List.of(zt, zx, z0, z1, z2, z3, z4, zb);
+
+    @Test
+    public void testEqual() {
+        final ZoneStateIndex<ZoneState> index = ZoneStateIndex.create();
+        states.forEach(s -> index.add(s, s));
+
+        for (final ZoneState state : states) {
+            Assert.assertEquals(List.of(state), List.copyOf(index.getEqual(state)));
+        }
+        final ZoneState z5 = z1.transform().and(Leq(X, 4)).build();
+        Assert.assertTrue(index.getEqual(z5).isEmpty());
+    }
+
+    @Test
+    public void testCandidates() {
+        final ZoneStateIndex<ZoneState> index = ZoneStateIndex.create();
+        states.forEach(s -> index.add(s, s));
+
+        for (final ZoneState state : states) {
+            final List<ZoneState> candidates = List.copyOf(index.getCandidates(state));
+            if (!state.isBottom()) {
+                Assert.assertEquals(state, candidates.get(0));
+            }
+            for (final ZoneState other : states) {
+                if (state.isLeq(other)) {
+                    Assert.assertTrue(candidates.contains(other));
+                }
+            }
+        }
+
+        Assert.assertEquals(List.of(z2, zt, zx, z1), List.copyOf(index.getCandidates(z2)));
+        Assert.assertEquals(List.of(z3, zt, z1), List.copyOf(index.getCandidates(z3)));
+        Assert.assertEquals(states.size(), index.getCandidates(zb).size());
+    }
+}
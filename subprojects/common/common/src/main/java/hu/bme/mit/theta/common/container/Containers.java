@@ -25,7 +25,7 @@ import java.util.Set;
 
 public class Containers {
 
-    private static ContainerFactory containerFactory = new LinkedHashContainerFactory();
+    private static volatile ContainerFactory containerFactory = new LinkedHashContainerFactory();
 
     public static void setContainerFactory(final ContainerFactory containerFactory) {
         checkNotNull(containerFactory);
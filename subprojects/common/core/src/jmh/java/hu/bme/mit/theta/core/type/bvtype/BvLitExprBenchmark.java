@@ -0,0 +1,208 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.type.bvtype;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the operations of {@link BvLitExpr} to the former representation, which stored the bits
+ * in a boolean array and computed arithmetic through {@link BigInteger}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BvLitExprBenchmark {
+
+    @Param({"8", "32", "64", "128"})
+    public int size;
+
+    private BvLitExpr left;
+    private BvLitExpr right;
+    private BvLitExpr shift;
+
+    private boolean[] leftBits;
+    private boolean[] rightBits;
+    private boolean[] shiftBits;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+        left = BvLitExpr.of(new BigInteger(size, random), size, null);
+        right = BvLitExpr.of(new BigInteger(size, random).setBit(0), size, null);
+        shift = BvLitExpr.of(size / 3, size, null);
+        leftBits = left.getValue();
+        rightBits = right.getValue();
+        shiftBits = shift.getValue();
+    }
+
+    @Benchmark
+    public BvLitExpr add() {
+        return left.add(right);
+    }
+
+    @Benchmark
+    public boolean[] addBaseline() {
+        return BooleanArrayBv.add(leftBits, rightBits);
+    }
+
+    @Benchmark
+    public BvLitExpr mul() {
+        return left.mul(right);
+    }
+
+    @Benchmark
+    public boolean[] mulBaseline() {
+        return BooleanArrayBv.mul(leftBits, rightBits);
+    }
+
+    @Benchmark
+    public BvLitExpr udiv() {
+        return left.udiv(right);
+    }
+
+    @Benchmark
+    public boolean[] udivBaseline() {
+        return BooleanArrayBv.udiv(leftBits, rightBits);
+    }
+
+    @Benchmark
+    public BvLitExpr and() {
+        return left.and(right);
+    }
+
+    @Benchmark
+    public boolean[] andBaseline() {
+        return BooleanArrayBv.and(leftBits, rightBits);
+    }
+
+    @Benchmark
+    public BvLitExpr xor() {
+        return left.xor(right);
+    }
+
+    @Benchmark
+    public boolean[] xorBaseline() {
+        return BooleanArrayBv.xor(leftBits, rightBits);
+    }
+
+    @Benchmark
+    public BvLitExpr shiftLeft() {
+        return left.shiftLeft(shift);
+    }
+
+    @Benchmark
+    public boolean[] shiftLeftBaseline() {
+        return BooleanArrayBv.shiftLeft(leftBits, shiftBits);
+    }
+
+    @Benchmark
+    public boolean ult() {
+        return left.ult(right).getValue();
+    }
+
+    @Benchmark
+    public boolean ultBaseline() {
+        return BooleanArrayBv.ult(leftBits, rightBits);
+    }
+
+    /** The former implementation of the operations, kept for comparison. */
+    private static final class BooleanArrayBv {
+
+        private BooleanArrayBv() {}
+
+        static boolean[] add(final boolean[] a, final boolean[] b) {
+            return fit(toBigInteger(a).add(toBigInteger(b)), a.length);
+        }
+
+        static boolean[] mul(final boolean[] a, final boolean[] b) {
+            return fit(toBigInteger(a).multiply(toBigInteger(b)), a.length);
+        }
+
+        static boolean[] udiv(final boolean[] a, final boolean[] b) {
+            return fit(toBigInteger(a).divide(toBigInteger(b)), a.length);
+        }
+
+        static boolean[] and(final boolean[] a, final boolean[] b) {
+            return toBits(toBigInteger(a).and(toBigInteger(b)), a.length);
+        }
+
+        static boolean[] xor(final boolean[] a, final boolean[] b) {
+            return toBits(toBigInteger(a).xor(toBigInteger(b)), a.length);
+        }
+
+        static boolean[] shiftLeft(final boolean[] a, final boolean[] b) {
+            final boolean[] shifted = Arrays.copyOf(a, a.length);
+            for (BigInteger i = BigInteger.ZERO;
+                    i.compareTo(toBigInteger(b)) < 0;
+                    i = i.add(BigInteger.ONE)) {
+                for (int j = 0; j < shifted.length - 1; j++) {
+                    shifted[j] = shifted[j + 1];
+                }
+                shifted[shifted.length - 1] = false;
+            }
+            return shifted;
+        }
+
+        static boolean ult(final boolean[] a, final boolean[] b) {
+            return toBigInteger(a).compareTo(toBigInteger(b)) < 0;
+        }
+
+        private static BigInteger toBigInteger(final boolean[] bits) {
+            BigInteger integer = BigInteger.ZERO;
+            for (int i = 0; i < bits.length; i++) {
+                if (bits[bits.length - 1 - i]) {
+                    integer = integer.setBit(i);
+                }
+            }
+            return integer;
+        }
+
+        private static boolean[] fit(BigInteger integer, final int size) {
+            while (integer.compareTo(BigInteger.ZERO) < 0) {
+                integer = integer.mod(BigInteger.TWO.pow(size));
+            }
+            while (integer.compareTo(BigInteger.TWO.pow(size)) >= 0) {
+                integer = integer.mod(BigInteger.TWO.pow(size));
+            }
+            return toBits(integer, size);
+        }
+
+        private static boolean[] toBits(final BigInteger integer, final int size) {
+            final boolean[] bits = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                bits[size - 1 - i] = integer.testBit(i);
+            }
+            return bits;
+        }
+    }
+}
@@ -18,14 +18,15 @@ package hu.bme.mit.theta.core.decl;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import hu.bme.mit.theta.common.Utils;
-import hu.bme.mit.theta.common.container.Containers;
 import hu.bme.mit.theta.core.type.Type;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Represents a variable declaration. Variables cannot be directly passed to the SMT solver, they
  * must be replaced with constants for a given index ({@link IndexedConstDecl}). See also {@link
- * hu.bme.mit.theta.core.utils.PathUtils}.
+ * hu.bme.mit.theta.core.utils.PathUtils}. The indexed constants are created lazily and can be
+ * safely requested from multiple threads: each index always maps to the same constant.
  *
  * @param <DeclType>
  */
@@ -33,11 +34,11 @@ public class VarDecl<DeclType extends Type> extends Decl<DeclType> {
 
     private static final String DECL_LABEL = "var";
 
-    private final Map<Integer, IndexedConstDecl<DeclType>> indexToConst;
+    private final ConcurrentMap<Integer, IndexedConstDecl<DeclType>> indexToConst;
 
     VarDecl(final String name, final DeclType type) {
         super(name, type);
-        indexToConst = Containers.createMap();
+        indexToConst = new ConcurrentHashMap<>();
     }
 
     public static <DeclType extends Type> VarDecl<DeclType> copyOf(VarDecl<DeclType> from) {
@@ -46,12 +47,11 @@ public class VarDecl<DeclType extends Type> extends Decl<DeclType> {
 
     public IndexedConstDecl<DeclType> getConstDecl(final int index) {
         checkArgument(index >= 0);
-        IndexedConstDecl<DeclType> constDecl = indexToConst.get(index);
-        if (constDecl == null) {
-            constDecl = new IndexedConstDecl<>(this, index);
-            indexToConst.put(index, constDecl);
+        final IndexedConstDecl<DeclType> constDecl = indexToConst.get(index);
+        if (constDecl != null) {
+            return constDecl;
         }
-        return constDecl;
+        return indexToConst.computeIfAbsent(index, i -> new IndexedConstDecl<>(this, i));
     }
 
     @Override
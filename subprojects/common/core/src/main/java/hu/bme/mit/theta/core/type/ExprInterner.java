@@ -0,0 +1,196 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.type;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.utils.TypeUtils.equalsWithSignedness;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+/**
+ * Opt-in hash-consing of expressions. When enabled, the factories of the expressions return a
+ * canonical instance for structurally equal expressions, so equal expressions are the same object
+ * and their {@code equals} returns at the reference check. Canonical instances are held weakly in
+ * a concurrent table, so expressions that are no longer referenced are garbage collected.
+ *
+ * <p>Hash-consing is disabled by default. It can be enabled by {@link #enable()} or by setting the
+ * {@code theta.expr.hashconsing} system property to {@code true}. Expressions created while it is
+ * disabled are not canonical, so {@code equals} remains structural.
+ *
+ * <p>Two expressions are only merged if they are of the same class, have the same operands (by
+ * reference), the same type (including the signedness of bitvectors) and are equal.
+ */
+public final class ExprInterner {
+
+    private static final int SEGMENT_COUNT = 64;
+
+    private static volatile boolean enabled = Boolean.getBoolean("theta.expr.hashconsing");
+
+    private static final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    static {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    private ExprInterner() {}
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the canonical instance of the expression if hash-consing is enabled, and the
+     * expression itself otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Expr<?>> E intern(final E expr) {
+        checkNotNull(expr);
+        if (!enabled) {
+            return expr;
+        }
+        final int hash = spread(expr.hashCode());
+        return (E) segments[hash >>> 26].intern(expr, hash);
+    }
+
+    /** Returns the number of canonical expressions currently stored. */
+    public static int size() {
+        int size = 0;
+        for (final Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean isSame(final Expr<?> expr1, final Expr<?> expr2) {
+        if (expr1.getClass() != expr2.getClass()) {
+            return false;
+        }
+        final List<? extends Expr<?>> ops1 = expr1.getOps();
+        final List<? extends Expr<?>> ops2 = expr2.getOps();
+        if (ops1.size() != ops2.size()) {
+            return false;
+        }
+        for (int i = 0; i < ops1.size(); i++) {
+            if (ops1.get(i) != ops2.get(i)) {
+                return false;
+            }
+        }
+        return equalsWithSignedness(expr1.getType(), expr2.getType()) && expr1.equals(expr2);
+    }
+
+    private static final class Entry extends WeakReference<Expr<?>> {
+        private final int hash;
+        private Entry next;
+
+        private Entry(
+                final Expr<?> expr,
+                final int hash,
+                final ReferenceQueue<Expr<?>> queue,
+                final Entry next) {
+            super(expr, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+
+    private static final class Segment {
+        private final ReferenceQueue<Expr<?>> queue = new ReferenceQueue<>();
+        private Entry[] table = new Entry[16];
+        private int count = 0;
+
+        private synchronized Expr<?> intern(final Expr<?> expr, final int hash) {
+            expungeStaleEntries();
+            final int index = hash & (table.length - 1);
+            for (Entry entry = table[index]; entry != null; entry = entry.next) {
+                if (entry.hash == hash) {
+                    final Expr<?> candidate = entry.get();
+                    if (candidate != null && isSame(candidate, expr)) {
+                        return candidate;
+                    }
+                }
+            }
+            table[index] = new Entry(expr, hash, queue, table[index]);
+            count++;
+            if (count > table.length * 3 / 4) {
+                resize();
+            }
+            return expr;
+        }
+
+        private synchronized int size() {
+            expungeStaleEntries();
+            return count;
+        }
+
+        private void expungeStaleEntries() {
+            Object ref;
+            while ((ref = queue.poll()) != null) {
+                final Entry stale = (Entry) ref;
+                final int index = stale.hash & (table.length - 1);
+                Entry prev = null;
+                for (Entry entry = table[index]; entry != null; entry = entry.next) {
+                    if (entry == stale) {
+                        if (prev == null) {
+                            table[index] = entry.next;
+                        } else {
+                            prev.next = entry.next;
+                        }
+                        count--;
+                        break;
+                    }
+                    prev = entry;
+                }
+            }
+        }
+
+        private void resize() {
+            final Entry[] newTable = new Entry[table.length * 2];
+            int newCount = 0;
+            for (Entry head : table) {
+                Entry entry = head;
+                while (entry != null) {
+                    final Entry next = entry.next;
+                    if (entry.get() != null) {
+                        final int index = entry.hash & (newTable.length - 1);
+                        entry.next = newTable[index];
+                        newTable[index] = entry;
+                        newCount++;
+                    }
+                    entry = next;
+                }
+            }
+            table = newTable;
+            count = newCount;
+        }
+    }
+}
@@ -17,6 +17,7 @@ package hu.bme.mit.theta.core.type.anytype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.UnaryExpr;
@@ -32,7 +33,7 @@ public final class PrimeExpr<ExprType extends Type> extends UnaryExpr<ExprType,
     }
 
     public static <ExprType extends Type> PrimeExpr<ExprType> of(final Expr<ExprType> op) {
-        return new PrimeExpr<>(op);
+        return ExprInterner.intern(new PrimeExpr<>(op));
     }
 
     @Override
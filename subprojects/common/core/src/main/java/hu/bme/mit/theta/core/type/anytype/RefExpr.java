@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.NullaryExpr;
 import hu.bme.mit.theta.core.type.Type;
@@ -35,7 +36,7 @@ public final class RefExpr<DeclType extends Type> extends NullaryExpr<DeclType>
     }
 
     public static <DeclType extends Type> RefExpr<DeclType> of(final Decl<DeclType> decl) {
-        return new RefExpr<>(decl);
+        return ExprInterner.intern(new RefExpr<>(decl));
     }
 
     public Decl<DeclType> getDecl() {
@@ -22,6 +22,7 @@ import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.common.Tuple2;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.MultiaryExpr;
 import hu.bme.mit.theta.core.type.Type;
@@ -73,7 +74,7 @@ public final class ArrayInitExpr<IndexType extends Type, ElemType extends Type>
                     final List<Tuple2<Expr<IndexType>, Expr<ElemType>>> elems,
                     final Expr<ElemType> elseElem,
                     final ArrayType<IndexType, ElemType> type) {
-        return new ArrayInitExpr<>(elems, elseElem, type);
+        return ExprInterner.intern(new ArrayInitExpr<>(elems, elseElem, type));
     }
 
     public static <IndexType extends Type, ElemType extends Type>
@@ -24,6 +24,7 @@ import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.model.ImmutableValuation;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.NullaryExpr;
 import hu.bme.mit.theta.core.type.Type;
@@ -83,7 +84,7 @@ public final class ArrayLitExpr<IndexType extends Type, ElemType extends Type>
                     final List<Tuple2<? extends Expr<IndexType>, ? extends Expr<ElemType>>> elems,
                     final Expr<ElemType> elseElem,
                     final ArrayType<IndexType, ElemType> type) {
-        return new ArrayLitExpr<>(elems, elseElem, type);
+        return ExprInterner.intern(new ArrayLitExpr<>(elems, elseElem, type));
     }
 
     public List<Tuple2<LitExpr<IndexType>, LitExpr<ElemType>>> getElements() {
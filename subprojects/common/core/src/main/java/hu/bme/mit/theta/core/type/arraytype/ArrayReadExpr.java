@@ -24,6 +24,7 @@ import hu.bme.mit.theta.common.Tuple2;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import java.util.List;
@@ -49,7 +50,7 @@ public final class ArrayReadExpr<IndexType extends Type, ElemType extends Type>
     public static <IndexType extends Type, ElemType extends Type>
             ArrayReadExpr<IndexType, ElemType> of(
                     final Expr<ArrayType<IndexType, ElemType>> array, final Expr<IndexType> index) {
-        return new ArrayReadExpr<>(array, index);
+        return ExprInterner.intern(new ArrayReadExpr<>(array, index));
     }
 
     public static <IndexType extends Type, ElemType extends Type> ArrayReadExpr<?, ?> create(
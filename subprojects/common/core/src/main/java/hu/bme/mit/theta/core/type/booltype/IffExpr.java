@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.EqExpr;
 
 public final class IffExpr extends EqExpr<BoolType> {
@@ -33,7 +34,7 @@ public final class IffExpr extends EqExpr<BoolType> {
     }
 
     public static IffExpr of(final Expr<BoolType> leftOp, final Expr<BoolType> rightOp) {
-        return new IffExpr(leftOp, rightOp);
+        return ExprInterner.intern(new IffExpr(leftOp, rightOp));
     }
 
     public static IffExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -59,7 +60,7 @@ public final class IffExpr extends EqExpr<BoolType> {
         if (leftOp == getLeftOp() && rightOp == getRightOp()) {
             return this;
         } else {
-            return new IffExpr(leftOp, rightOp);
+            return ExprInterner.intern(new IffExpr(leftOp, rightOp));
         }
     }
 
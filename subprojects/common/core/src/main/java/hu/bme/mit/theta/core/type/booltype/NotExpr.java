@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 
 public final class NotExpr extends UnaryExpr<BoolType, BoolType> {
@@ -33,7 +34,7 @@ public final class NotExpr extends UnaryExpr<BoolType, BoolType> {
     }
 
     public static NotExpr of(final Expr<BoolType> op) {
-        return new NotExpr(op);
+        return ExprInterner.intern(new NotExpr(op));
     }
 
     public static NotExpr create(final Expr<?> op) {
@@ -57,7 +58,7 @@ public final class NotExpr extends UnaryExpr<BoolType, BoolType> {
         if (op == getOp()) {
             return this;
         } else {
-            return new NotExpr(op);
+            return ExprInterner.intern(new NotExpr(op));
         }
     }
 
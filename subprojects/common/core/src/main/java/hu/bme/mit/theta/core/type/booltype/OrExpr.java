@@ -23,6 +23,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.MultiaryExpr;
 import java.util.List;
 
@@ -37,7 +38,7 @@ public final class OrExpr extends MultiaryExpr<BoolType, BoolType> {
     }
 
     public static OrExpr of(final Iterable<? extends Expr<BoolType>> ops) {
-        return new OrExpr(ops);
+        return ExprInterner.intern(new OrExpr(ops));
     }
 
     public static OrExpr create(final List<? extends Expr<?>> ops) {
@@ -65,7 +66,7 @@ public final class OrExpr extends MultiaryExpr<BoolType, BoolType> {
         if (ops == getOps()) {
             return this;
         } else {
-            return new OrExpr(ops);
+            return ExprInterner.intern(new OrExpr(ops));
         }
     }
 
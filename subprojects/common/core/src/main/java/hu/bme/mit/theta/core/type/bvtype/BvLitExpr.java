@@ -18,59 +18,145 @@ package hu.bme.mit.theta.core.type.bvtype;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
-import static hu.bme.mit.theta.core.type.bvtype.BvExprs.Bv;
 import static hu.bme.mit.theta.core.type.bvtype.BvExprs.BvType;
-import static hu.bme.mit.theta.core.utils.BvUtils.bigIntegerToNeutralBvLitExpr;
-import static hu.bme.mit.theta.core.utils.BvUtils.bigIntegerToSignedBvLitExpr;
-import static hu.bme.mit.theta.core.utils.BvUtils.bigIntegerToUnsignedBvLitExpr;
-import static hu.bme.mit.theta.core.utils.BvUtils.fitBigIntegerIntoNeutralDomain;
-import static hu.bme.mit.theta.core.utils.BvUtils.fitBigIntegerIntoSignedDomain;
-import static hu.bme.mit.theta.core.utils.BvUtils.fitBigIntegerIntoUnsignedDomain;
-import static hu.bme.mit.theta.core.utils.BvUtils.neutralBvLitExprToBigInteger;
-import static hu.bme.mit.theta.core.utils.BvUtils.signedBvLitExprToBigInteger;
-import static hu.bme.mit.theta.core.utils.BvUtils.unsignedBvLitExprToBigInteger;
 
 import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.NullaryExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
-import hu.bme.mit.theta.core.utils.BvUtils;
 import java.math.BigInteger;
 import java.util.Arrays;
 
+/**
+ * Bitvector literal. Values of at most 64 bits are stored in a single long, wider values in an
+ * array of longs (least significant word first). Bit 0 is the least significant bit; unused high
+ * bits are always zero.
+ */
 public final class BvLitExpr extends NullaryExpr<BvType>
         implements LitExpr<BvType>, Comparable<BvLitExpr> {
 
     private static final int HASH_SEED = 5624;
+    private static final int WORD_SIZE = Long.SIZE;
     private volatile int hashCode = 0;
 
-    private final boolean[] value;
+    private final int size;
+    private final long bits;
+    private final long[] words;
     private final Boolean signed;
 
-    private BvLitExpr(final boolean[] value, final Boolean signed) {
+    private BvLitExpr(final int size, final long bits, final long[] words, final Boolean signed) {
+        checkArgument(size > 0, "Bitvector must have positive size");
+        this.size = size;
+        this.bits = bits;
+        this.words = words;
         this.signed = signed;
-        checkNotNull(value);
-        checkArgument(value.length > 0, "Bitvector must have positive size");
-
-        this.value = value;
     }
 
     public static BvLitExpr of(final boolean[] value, final Boolean signed) {
-        return new BvLitExpr(value, signed);
+        checkNotNull(value);
+        checkArgument(value.length > 0, "Bitvector must have positive size");
+        final int size = value.length;
+        if (size <= WORD_SIZE) {
+            long bits = 0;
+            for (int i = 0; i < size; i++) {
+                if (value[size - 1 - i]) {
+                    bits |= 1L << i;
+                }
+            }
+            return ExprInterner.intern(new BvLitExpr(size, bits, null, signed));
+        } else {
+            final long[] words = new long[wordCount(size)];
+            for (int i = 0; i < size; i++) {
+                if (value[size - 1 - i]) {
+                    words[i >>> 6] |= 1L << i;
+                }
+            }
+            return ExprInterner.intern(new BvLitExpr(size, 0, words, signed));
+        }
     }
 
     public static BvLitExpr of(final boolean[] value) {
         return of(value, null);
     }
 
+    /**
+     * Creates a bitvector of the given size from the two's complement representation of a value.
+     * Bits that do not fit into the bitvector are discarded.
+     */
+    public static BvLitExpr of(final long value, final int size, final Boolean signed) {
+        if (size <= WORD_SIZE) {
+            return small(value, size, signed);
+        } else {
+            final long[] words = new long[wordCount(size)];
+            Arrays.fill(words, value < 0 ? -1L : 0L);
+            words[0] = value;
+            return wide(words, size, signed);
+        }
+    }
+
+    /**
+     * Creates a bitvector of the given size from the two's complement representation of a value.
+     * Bits that do not fit into the bitvector are discarded.
+     */
+    public static BvLitExpr of(final BigInteger value, final int size, final Boolean signed) {
+        checkNotNull(value);
+        if (size <= WORD_SIZE) {
+            return small(value.longValue(), size, signed);
+        } else {
+            final long[] words = new long[wordCount(size)];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = value.shiftRight(i * WORD_SIZE).longValue();
+            }
+            return wide(words, size, signed);
+        }
+    }
+
+    /** Returns a copy of the bits of the literal, the most significant bit being the first. */
     public boolean[] getValue() {
+        final boolean[] value = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            value[size - 1 - i] = testBit(i);
+        }
         return value;
     }
 
+    /** Returns the bit at the given index, index 0 being the least significant bit. */
+    public boolean testBit(final int index) {
+        checkArgument(index >= 0 && index < size);
+        final long word = words == null ? bits : words[index >>> 6];
+        return (word & (1L << index)) != 0;
+    }
+
+    public BigInteger toUnsignedBigInteger() {
+        if (words == null) {
+            final BigInteger result = BigInteger.valueOf(bits & Long.MAX_VALUE);
+            return bits < 0 ? result.setBit(WORD_SIZE - 1) : result;
+        } else {
+            final byte[] bytes = new byte[words.length * Long.BYTES];
+            for (int i = 0; i < words.length; i++) {
+                final long word = words[words.length - 1 - i];
+                for (int j = 0; j < Long.BYTES; j++) {
+                    bytes[i * Long.BYTES + j] = (byte) (word >>> (Long.SIZE - Byte.SIZE * (j + 1)));
+                }
+            }
+            return new BigInteger(1, bytes);
+        }
+    }
+
+    public BigInteger toSignedBigInteger() {
+        if (words == null) {
+            return BigInteger.valueOf(signExtend(bits, size));
+        } else {
+            final BigInteger unsigned = toUnsignedBigInteger();
+            return isNegative() ? unsigned.subtract(BigInteger.ONE.shiftLeft(size)) : unsigned;
+        }
+    }
+
     @Override
     public BvType getType() {
-        return BvType(value.length, signed);
+        return BvType(size, signed);
     }
 
     @Override
@@ -79,14 +165,13 @@ public final class BvLitExpr extends NullaryExpr<BvType>
     }
 
     public BvLitExpr concat(final BvLitExpr that) {
-        boolean[] concated = new boolean[this.getType().getSize() + that.getType().getSize()];
-        for (int i = 0; i < this.getType().getSize(); i++) {
-            concated[i] = this.getValue()[i];
-        }
-        for (int i = 0; i < that.getType().getSize(); i++) {
-            concated[this.getType().getSize() + i] = that.getValue()[i];
+        final int newSize = this.size + that.size;
+        if (newSize <= WORD_SIZE) {
+            return small((this.bits << that.size) | that.bits, newSize, null);
+        } else {
+            final int n = wordCount(newSize);
+            return wide(or(shiftLeft(this.toWords(n), that.size), that.toWords(n)), newSize, null);
         }
-        return Bv(concated);
     }
 
     public BvLitExpr extract(final IntLitExpr from, final IntLitExpr until) {
@@ -95,303 +180,321 @@ public final class BvLitExpr extends NullaryExpr<BvType>
         checkArgument(fromValue >= 0);
         checkArgument(untilValue >= 0);
         checkArgument(untilValue > fromValue);
+        checkArgument(untilValue <= size);
 
-        boolean[] extracted = new boolean[untilValue - fromValue];
-        for (int i = 0; i < extracted.length; i++) {
-            extracted[extracted.length - i - 1] =
-                    this.getValue()[this.getValue().length - (fromValue + i) - 1];
+        final int newSize = untilValue - fromValue;
+        if (words == null) {
+            return small(bits >>> fromValue, newSize, null);
+        } else {
+            final long[] shifted = logicShiftRight(words, fromValue);
+            return wide(Arrays.copyOf(shifted, wordCount(newSize)), newSize, null);
         }
-        return Bv(extracted);
     }
 
     public BvLitExpr zext(final BvType extendType) {
-        checkArgument(extendType.getSize() >= this.getType().getSize());
-
-        boolean[] extended = new boolean[extendType.getSize()];
-        for (int i = 0; i < this.getValue().length; i++) {
-            extended[extended.length - i - 1] = this.getValue()[this.getValue().length - i - 1];
-        }
-        for (int i = 0; i < extendType.getSize() - this.getType().getSize(); i++) {
-            extended[i] = false;
+        checkArgument(extendType.getSize() >= this.size);
+        final int newSize = extendType.getSize();
+        if (newSize <= WORD_SIZE) {
+            return small(bits, newSize, null);
+        } else {
+            return wide(toWords(wordCount(newSize)), newSize, null);
         }
-        return Bv(extended);
     }
 
     public BvLitExpr sext(final BvType extendType) {
-        checkArgument(extendType.getSize() >= this.getType().getSize());
-
-        boolean[] extended = new boolean[extendType.getSize()];
-        for (int i = 0; i < this.getValue().length; i++) {
-            extended[extended.length - i - 1] = this.getValue()[this.getValue().length - i - 1];
+        checkArgument(extendType.getSize() >= this.size);
+        if (!isNegative()) {
+            return zext(extendType);
         }
-        for (int i = 0; i < extendType.getSize() - this.getType().getSize(); i++) {
-            extended[i] = this.getValue()[0];
+        final int newSize = extendType.getSize();
+        if (newSize <= WORD_SIZE) {
+            return small(signExtend(bits, size), newSize, null);
+        } else {
+            final long[] extended = toWords(wordCount(newSize));
+            int i = size >>> 6;
+            if ((size & 63) != 0) {
+                extended[i] |= -1L << size;
+                i++;
+            }
+            Arrays.fill(extended, i, extended.length, -1L);
+            return wide(extended, newSize, null);
         }
-        return Bv(extended);
     }
 
     public BvLitExpr add(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        BigInteger sum = neutralBvLitExprToBigInteger(this).add(neutralBvLitExprToBigInteger(that));
-        sum = fitBigIntegerIntoNeutralDomain(sum, getType().getSize());
-        return bigIntegerToNeutralBvLitExpr(sum, getType().getSize());
+        checkSameSize(that);
+        if (words == null) {
+            return small(this.bits + that.bits, size, null);
+        } else {
+            return wide(add(this.words, that.words), size, null);
+        }
     }
 
     public BvLitExpr sub(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        BigInteger sub =
-                neutralBvLitExprToBigInteger(this).subtract(neutralBvLitExprToBigInteger(that));
-        sub = fitBigIntegerIntoNeutralDomain(sub, getType().getSize());
-        return bigIntegerToNeutralBvLitExpr(sub, getType().getSize());
+        checkSameSize(that);
+        if (words == null) {
+            return small(this.bits - that.bits, size, null);
+        } else {
+            return wide(add(this.words, negate(that.words)), size, null);
+        }
     }
 
     public BvLitExpr mul(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        BigInteger prod =
-                neutralBvLitExprToBigInteger(this).multiply(neutralBvLitExprToBigInteger(that));
-        prod = fitBigIntegerIntoNeutralDomain(prod, getType().getSize());
-        return bigIntegerToNeutralBvLitExpr(prod, getType().getSize());
+        checkSameSize(that);
+        if (words == null) {
+            return small(this.bits * that.bits, size, null);
+        } else {
+            return wide(multiply(this.words, that.words), size, null);
+        }
     }
 
     public BvLitExpr pos() {
-        BigInteger pos = signedBvLitExprToBigInteger(this);
-        pos = fitBigIntegerIntoSignedDomain(pos, getType().getSize());
-        return bigIntegerToSignedBvLitExpr(pos, getType().getSize());
+        return ExprInterner.intern(new BvLitExpr(size, bits, words, true));
     }
 
     public BvLitExpr neg() {
-        BigInteger neg = signedBvLitExprToBigInteger(this).negate();
-        neg = fitBigIntegerIntoSignedDomain(neg, getType().getSize());
-        return bigIntegerToSignedBvLitExpr(neg, getType().getSize());
+        if (words == null) {
+            return small(-bits, size, true);
+        } else {
+            return wide(negate(words), size, true);
+        }
     }
 
     public BvLitExpr udiv(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        BigInteger div =
-                unsignedBvLitExprToBigInteger(this).divide(unsignedBvLitExprToBigInteger(that));
-        div = fitBigIntegerIntoUnsignedDomain(div, getType().getSize());
-        return bigIntegerToUnsignedBvLitExpr(div, getType().getSize());
+        checkSameSize(that);
+        if (words == null) {
+            return small(Long.divideUnsigned(this.bits, that.bits), size, false);
+        } else {
+            return of(
+                    this.toUnsignedBigInteger().divide(that.toUnsignedBigInteger()), size, false);
+        }
     }
 
     public BvLitExpr sdiv(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        BigInteger div =
-                signedBvLitExprToBigInteger(this).divide(signedBvLitExprToBigInteger(that));
-        div = fitBigIntegerIntoSignedDomain(div, getType().getSize());
-        return bigIntegerToSignedBvLitExpr(div, getType().getSize());
+        checkSameSize(that);
+        if (words == null) {
+            return small(signExtend(this.bits, size) / signExtend(that.bits, size), size, true);
+        } else {
+            return of(this.toSignedBigInteger().divide(that.toSignedBigInteger()), size, true);
+        }
     }
 
     public BvLitExpr and(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        BigInteger and = neutralBvLitExprToBigInteger(this).and(neutralBvLitExprToBigInteger(that));
-        return bigIntegerToNeutralBvLitExpr(and, getType().getSize());
+        checkSameSize(that);
+        if (words == null) {
+            return small(this.bits & that.bits, size, null);
+        } else {
+            final long[] result = new long[words.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = this.words[i] & that.words[i];
+            }
+            return wide(result, size, null);
+        }
     }
 
     public BvLitExpr or(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        BigInteger or = neutralBvLitExprToBigInteger(this).or(neutralBvLitExprToBigInteger(that));
-        return bigIntegerToNeutralBvLitExpr(or, getType().getSize());
+        checkSameSize(that);
+        if (words == null) {
+            return small(this.bits | that.bits, size, null);
+        } else {
+            return wide(or(this.words, that.words), size, null);
+        }
     }
 
     public BvLitExpr xor(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        BigInteger xor = neutralBvLitExprToBigInteger(this).xor(neutralBvLitExprToBigInteger(that));
-        return bigIntegerToNeutralBvLitExpr(xor, getType().getSize());
+        checkSameSize(that);
+        if (words == null) {
+            return small(this.bits ^ that.bits, size, null);
+        } else {
+            final long[] result = new long[words.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = this.words[i] ^ that.words[i];
+            }
+            return wide(result, size, null);
+        }
     }
 
     public BvLitExpr not() {
-        BigInteger not = neutralBvLitExprToBigInteger(this).not();
-        return bigIntegerToNeutralBvLitExpr(not, getType().getSize());
+        if (words == null) {
+            return small(~bits, size, null);
+        } else {
+            final long[] result = new long[words.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = ~words[i];
+            }
+            return wide(result, size, null);
+        }
     }
 
     public BvLitExpr shiftLeft(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-
-        boolean[] shifted = Arrays.copyOf(this.getValue(), this.getValue().length);
-        for (BigInteger i = BigInteger.ZERO;
-                i.compareTo(neutralBvLitExprToBigInteger(that)) < 0;
-                i = i.add(BigInteger.ONE)) {
-            for (int j = 0; j < shifted.length - 1; j++) {
-                shifted[j] = shifted[j + 1];
-            }
-            shifted[shifted.length - 1] = false;
+        checkSameSize(that);
+        final int amount = shiftAmount(that);
+        if (amount == size) {
+            return of(0, size, null);
+        } else if (words == null) {
+            return small(bits << amount, size, null);
+        } else {
+            return wide(shiftLeft(words, amount), size, null);
         }
-        return Bv(shifted);
     }
 
     public BvLitExpr arithShiftRight(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-
-        boolean[] shifted = Arrays.copyOf(this.getValue(), this.getValue().length);
-        boolean insert = shifted[0];
-        for (BigInteger i = BigInteger.ZERO;
-                i.compareTo(neutralBvLitExprToBigInteger(that)) < 0;
-                i = i.add(BigInteger.ONE)) {
-            for (int j = shifted.length - 1; j > 0; j--) {
-                shifted[j] = shifted[j - 1];
+        checkSameSize(that);
+        final int amount = shiftAmount(that);
+        if (amount == size) {
+            return of(isNegative() ? -1 : 0, size, null);
+        } else if (words == null) {
+            return small(signExtend(bits, size) >> amount, size, null);
+        } else {
+            final long[] shifted = logicShiftRight(words, amount);
+            if (isNegative()) {
+                final long[] ones = new long[words.length];
+                Arrays.fill(ones, -1L);
+                ones[ones.length - 1] &= topWordMask(size);
+                return wide(or(shifted, shiftLeft(ones, size - amount)), size, null);
+            } else {
+                return wide(shifted, size, null);
             }
-            shifted[0] = insert;
         }
-        return Bv(shifted);
     }
 
     public BvLitExpr logicShiftRight(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-
-        boolean[] shifted = Arrays.copyOf(this.getValue(), this.getValue().length);
-        boolean insert = false;
-        for (BigInteger i = BigInteger.ZERO;
-                i.compareTo(neutralBvLitExprToBigInteger(that)) < 0;
-                i = i.add(BigInteger.ONE)) {
-            for (int j = shifted.length - 1; j > 0; j--) {
-                shifted[j] = shifted[j - 1];
-            }
-            shifted[0] = insert;
+        checkSameSize(that);
+        final int amount = shiftAmount(that);
+        if (amount == size) {
+            return of(0, size, null);
+        } else if (words == null) {
+            return small(bits >>> amount, size, null);
+        } else {
+            return wide(logicShiftRight(words, amount), size, null);
         }
-        return Bv(shifted);
     }
 
     public BvLitExpr rotateLeft(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-
-        boolean[] shifted = Arrays.copyOf(this.getValue(), this.getValue().length);
-        for (BigInteger i = BigInteger.ZERO;
-                i.compareTo(neutralBvLitExprToBigInteger(that)) < 0;
-                i = i.add(BigInteger.ONE)) {
-            boolean rotated = shifted[0];
-            for (int j = 0; j < shifted.length - 1; j++) {
-                shifted[j] = shifted[j + 1];
-            }
-            shifted[shifted.length - 1] = rotated;
+        checkSameSize(that);
+        final int amount = rotateAmount(that);
+        if (amount == 0) {
+            return ExprInterner.intern(new BvLitExpr(size, bits, words, null));
+        } else if (words == null) {
+            return small((bits << amount) | (bits >>> (size - amount)), size, null);
+        } else {
+            return wide(
+                    or(shiftLeft(words, amount), logicShiftRight(words, size - amount)),
+                    size,
+                    null);
         }
-        return Bv(shifted);
     }
 
     public BvLitExpr rotateRight(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-
-        boolean[] shifted = Arrays.copyOf(this.getValue(), this.getValue().length);
-        for (BigInteger i = BigInteger.ZERO;
-                i.compareTo(neutralBvLitExprToBigInteger(that)) < 0;
-                i = i.add(BigInteger.ONE)) {
-            boolean rotated = shifted[shifted.length - 1];
-            for (int j = shifted.length - 1; j > 0; j--) {
-                shifted[j] = shifted[j - 1];
-            }
-            shifted[0] = rotated;
+        checkSameSize(that);
+        final int amount = rotateAmount(that);
+        if (amount == 0) {
+            return ExprInterner.intern(new BvLitExpr(size, bits, words, null));
+        } else if (words == null) {
+            return small((bits >>> amount) | (bits << (size - amount)), size, null);
+        } else {
+            return wide(
+                    or(logicShiftRight(words, amount), shiftLeft(words, size - amount)),
+                    size,
+                    null);
         }
-        return Bv(shifted);
     }
 
     public BvLitExpr smod(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        // Always positive semantics:
+        checkSameSize(that);
+        // Semantics (the sign of the result follows the divisor):
         // 5 mod 3 = 2
-        // 5 mod -3 = 2
+        // 5 mod -3 = -1
         // -5 mod 3 = 1
-        // -5 mod -3 = 1
-        BigInteger result =
-                signedBvLitExprToBigInteger(this).mod(signedBvLitExprToBigInteger(that));
-        if (result.compareTo(BigInteger.ZERO) < 0) {
-            result = result.add(signedBvLitExprToBigInteger(that).abs());
+        // -5 mod -3 = -2
+        if (words == null) {
+            return small(
+                    Math.floorMod(signExtend(this.bits, size), signExtend(that.bits, size)),
+                    size,
+                    true);
+        } else {
+            final BigInteger thatInt = that.toSignedBigInteger();
+            BigInteger result = this.toSignedBigInteger().mod(thatInt.abs());
+            if (thatInt.signum() < 0 && result.signum() != 0) {
+                result = result.add(thatInt);
+            }
+            return of(result, size, true);
         }
-        assert result.compareTo(BigInteger.ZERO) >= 0;
-        return bigIntegerToSignedBvLitExpr(result, getType().getSize());
     }
 
     public BvLitExpr urem(final BvLitExpr that) {
+        checkSameSize(that);
         // Semantics:
         // 5 rem 3 = 2
-        BigInteger thisInt = signedBvLitExprToBigInteger(this);
-        BigInteger thatInt = signedBvLitExprToBigInteger(that);
-        return bigIntegerToSignedBvLitExpr(thisInt.mod(thatInt), getType().getSize());
+        if (words == null) {
+            return small(Long.remainderUnsigned(this.bits, that.bits), size, false);
+        } else {
+            return of(this.toUnsignedBigInteger().mod(that.toUnsignedBigInteger()), size, false);
+        }
     }
 
     public BvLitExpr srem(final BvLitExpr that) {
-        // Semantics:
+        checkSameSize(that);
+        // Semantics (the sign of the result follows the dividend):
         // 5 rem 3 = 2
         // 5 rem -3 = 2
         // -5 rem 3 = -1
         // -5 rem -3 = -1
-        BigInteger thisInt = BvUtils.signedBvLitExprToBigInteger(this);
-        BigInteger thatInt = BvUtils.signedBvLitExprToBigInteger(that);
-        BigInteger thisAbs = thisInt.abs();
-        BigInteger thatAbs = thatInt.abs();
-        if (thisInt.compareTo(BigInteger.ZERO) < 0 && thatInt.compareTo(BigInteger.ZERO) < 0) {
-            return bigIntegerToSignedBvLitExpr(thisAbs.mod(thatAbs).negate(), getType().getSize());
-        } else if (thisInt.compareTo(BigInteger.ZERO) >= 0
-                && thatInt.compareTo(BigInteger.ZERO) < 0) {
-            return bigIntegerToSignedBvLitExpr(thisAbs.mod(thatAbs), getType().getSize());
-        } else if (thisInt.compareTo(BigInteger.ZERO) < 0
-                && thatInt.compareTo(BigInteger.ZERO) >= 0) {
-            return bigIntegerToSignedBvLitExpr(thisAbs.mod(thatAbs).negate(), getType().getSize());
+        if (words == null) {
+            return small(signExtend(this.bits, size) % signExtend(that.bits, size), size, true);
         } else {
-            return bigIntegerToSignedBvLitExpr(thisInt.mod(thatInt), getType().getSize());
+            return of(this.toSignedBigInteger().remainder(that.toSignedBigInteger()), size, true);
         }
     }
 
     public BoolLitExpr eq(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        return Bool(Arrays.equals(this.getValue(), that.getValue()));
+        checkSameSize(that);
+        return Bool(this.bits == that.bits && Arrays.equals(this.words, that.words));
     }
 
     public BoolLitExpr neq(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        return Bool(!Arrays.equals(this.getValue(), that.getValue()));
+        checkSameSize(that);
+        return Bool(this.bits != that.bits || !Arrays.equals(this.words, that.words));
     }
 
     public BoolLitExpr ult(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                unsignedBvLitExprToBigInteger(this).compareTo(unsignedBvLitExprToBigInteger(that))
-                        < 0);
+        checkSameSize(that);
+        return Bool(compareUnsigned(that) < 0);
     }
 
     public BoolLitExpr ule(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                unsignedBvLitExprToBigInteger(this).compareTo(unsignedBvLitExprToBigInteger(that))
-                        <= 0);
+        checkSameSize(that);
+        return Bool(compareUnsigned(that) <= 0);
     }
 
     public BoolLitExpr ugt(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                unsignedBvLitExprToBigInteger(this).compareTo(unsignedBvLitExprToBigInteger(that))
-                        > 0);
+        checkSameSize(that);
+        return Bool(compareUnsigned(that) > 0);
     }
 
     public BoolLitExpr uge(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                unsignedBvLitExprToBigInteger(this).compareTo(unsignedBvLitExprToBigInteger(that))
-                        >= 0);
+        checkSameSize(that);
+        return Bool(compareUnsigned(that) >= 0);
     }
 
     public BoolLitExpr slt(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                signedBvLitExprToBigInteger(this).compareTo(signedBvLitExprToBigInteger(that)) < 0);
+        checkSameSize(that);
+        return Bool(compareSigned(that) < 0);
     }
 
     public BoolLitExpr sle(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                signedBvLitExprToBigInteger(this).compareTo(signedBvLitExprToBigInteger(that))
-                        <= 0);
+        checkSameSize(that);
+        return Bool(compareSigned(that) <= 0);
     }
 
     public BoolLitExpr sgt(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                signedBvLitExprToBigInteger(this).compareTo(signedBvLitExprToBigInteger(that)) > 0);
+        checkSameSize(that);
+        return Bool(compareSigned(that) > 0);
     }
 
     public BoolLitExpr sge(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        return Bool(
-                signedBvLitExprToBigInteger(this).compareTo(signedBvLitExprToBigInteger(that))
-                        >= 0);
+        checkSameSize(that);
+        return Bool(compareSigned(that) >= 0);
     }
 
     @Override
@@ -399,7 +502,8 @@ public final class BvLitExpr extends NullaryExpr<BvType>
         int result = hashCode;
         if (result == 0) {
             result = HASH_SEED;
-            result = 31 * result + Arrays.hashCode(value);
+            result = 31 * result + size;
+            result = 31 * result + (words == null ? Long.hashCode(bits) : Arrays.hashCode(words));
             hashCode = result;
         }
         return result;
@@ -411,7 +515,9 @@ public final class BvLitExpr extends NullaryExpr<BvType>
             return true;
         } else if (obj != null && this.getClass() == obj.getClass()) {
             final BvLitExpr that = (BvLitExpr) obj;
-            return Arrays.equals(this.value, that.value);
+            return this.size == that.size
+                    && this.bits == that.bits
+                    && Arrays.equals(this.words, that.words);
         } else {
             return false;
         }
@@ -419,18 +525,200 @@ public final class BvLitExpr extends NullaryExpr<BvType>
 
     @Override
     public String toString() {
-        final StringBuilder sb = new StringBuilder();
-        //        sb.append(getType().getSize());
+        final StringBuilder sb = new StringBuilder(size + 2);
         sb.append("#b");
-        for (boolean bit : value) {
-            sb.append(bit ? "1" : "0");
+        for (int i = size - 1; i >= 0; i--) {
+            sb.append(testBit(i) ? '1' : '0');
         }
         return sb.toString();
     }
 
     @Override
     public int compareTo(final BvLitExpr that) {
-        checkArgument(this.getType().equals(that.getType()));
-        return neutralBvLitExprToBigInteger(this).compareTo(neutralBvLitExprToBigInteger(that));
+        checkSameSize(that);
+        return compareUnsigned(that);
+    }
+
+    ////
+
+    private static BvLitExpr small(final long bits, final int size, final Boolean signed) {
+        checkArgument(size > 0 && size <= WORD_SIZE);
+        final long mask = size == WORD_SIZE ? -1L : (1L << size) - 1;
+        return ExprInterner.intern(new BvLitExpr(size, bits & mask, null, signed));
+    }
+
+    /** Creates a literal from words that are not shared with anything else. */
+    private static BvLitExpr wide(final long[] words, final int size, final Boolean signed) {
+        if (size <= WORD_SIZE) {
+            return small(words[0], size, signed);
+        }
+        assert words.length == wordCount(size);
+        words[words.length - 1] &= topWordMask(size);
+        return ExprInterner.intern(new BvLitExpr(size, 0, words, signed));
+    }
+
+    private void checkSameSize(final BvLitExpr that) {
+        checkArgument(this.size == that.size);
+    }
+
+    private boolean isNegative() {
+        return testBit(size - 1);
+    }
+
+    private long[] toWords(final int n) {
+        if (words == null) {
+            final long[] result = new long[n];
+            result[0] = bits;
+            return result;
+        } else {
+            return Arrays.copyOf(words, n);
+        }
+    }
+
+    private int compareUnsigned(final BvLitExpr that) {
+        if (words == null) {
+            return Long.compareUnsigned(this.bits, that.bits);
+        }
+        for (int i = words.length - 1; i >= 0; i--) {
+            final int result = Long.compareUnsigned(this.words[i], that.words[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private int compareSigned(final BvLitExpr that) {
+        if (words == null) {
+            return Long.compare(signExtend(this.bits, size), signExtend(that.bits, size));
+        }
+        final boolean thisNegative = this.isNegative();
+        if (thisNegative != that.isNegative()) {
+            return thisNegative ? -1 : 1;
+        }
+        return compareUnsigned(that);
+    }
+
+    /** Unsigned value of the operand, saturated at the size of the bitvector. */
+    private int shiftAmount(final BvLitExpr that) {
+        if (that.words == null) {
+            return Long.compareUnsigned(that.bits, size) >= 0 ? size : (int) that.bits;
+        }
+        for (int i = 1; i < that.words.length; i++) {
+            if (that.words[i] != 0) {
+                return size;
+            }
+        }
+        return Long.compareUnsigned(that.words[0], size) >= 0 ? size : (int) that.words[0];
+    }
+
+    /** Unsigned value of the operand modulo the size of the bitvector. */
+    private int rotateAmount(final BvLitExpr that) {
+        if (that.words == null) {
+            return (int) Long.remainderUnsigned(that.bits, size);
+        }
+        return that.toUnsignedBigInteger().mod(BigInteger.valueOf(size)).intValue();
+    }
+
+    private static int wordCount(final int size) {
+        return (size + WORD_SIZE - 1) >>> 6;
+    }
+
+    private static long topWordMask(final int size) {
+        final int topBits = size & 63;
+        return topBits == 0 ? -1L : (1L << topBits) - 1;
+    }
+
+    private static long signExtend(final long bits, final int size) {
+        final int shift = WORD_SIZE - size;
+        return (bits << shift) >> shift;
+    }
+
+    private static long[] or(final long[] a, final long[] b) {
+        final long[] result = new long[a.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] | b[i];
+        }
+        return result;
+    }
+
+    private static long[] add(final long[] a, final long[] b) {
+        final long[] result = new long[a.length];
+        long carry = 0;
+        for (int i = 0; i < result.length; i++) {
+            final long sum = a[i] + b[i];
+            final long sumWithCarry = sum + carry;
+            carry =
+                    (Long.compareUnsigned(sum, a[i]) < 0
+                                    || Long.compareUnsigned(sumWithCarry, sum) < 0)
+                            ? 1
+                            : 0;
+            result[i] = sumWithCarry;
+        }
+        return result;
+    }
+
+    private static long[] negate(final long[] a) {
+        final long[] result = new long[a.length];
+        long carry = 1;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ~a[i] + carry;
+            carry = (carry == 1 && result[i] == 0) ? 1 : 0;
+        }
+        return result;
+    }
+
+    private static long[] multiply(final long[] a, final long[] b) {
+        final long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            long carry = 0;
+            for (int j = 0; i + j < result.length; j++) {
+                final long low = a[i] * b[j];
+                long high = unsignedMultiplyHigh(a[i], b[j]);
+                final long partial = result[i + j] + low;
+                if (Long.compareUnsigned(partial, low) < 0) {
+                    high++;
+                }
+                final long total = partial + carry;
+                if (Long.compareUnsigned(total, partial) < 0) {
+                    high++;
+                }
+                result[i + j] = total;
+                carry = high;
+            }
+        }
+        return result;
+    }
+
+    private static long unsignedMultiplyHigh(final long x, final long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    private static long[] shiftLeft(final long[] a, final int amount) {
+        final int wordShift = amount >>> 6;
+        final int bitShift = amount & 63;
+        final long[] result = new long[a.length];
+        for (int i = a.length - 1; i >= wordShift; i--) {
+            long word = a[i - wordShift] << bitShift;
+            if (bitShift != 0 && i - wordShift - 1 >= 0) {
+                word |= a[i - wordShift - 1] >>> (WORD_SIZE - bitShift);
+            }
+            result[i] = word;
+        }
+        return result;
+    }
+
+    private static long[] logicShiftRight(final long[] a, final int amount) {
+        final int wordShift = amount >>> 6;
+        final int bitShift = amount & 63;
+        final long[] result = new long[a.length];
+        for (int i = 0; i + wordShift < a.length; i++) {
+            long word = a[i + wordShift] >>> bitShift;
+            if (bitShift != 0 && i + wordShift + 1 < a.length) {
+                word |= a[i + wordShift + 1] << (WORD_SIZE - bitShift);
+            }
+            result[i] = word;
+        }
+        return result;
     }
 }
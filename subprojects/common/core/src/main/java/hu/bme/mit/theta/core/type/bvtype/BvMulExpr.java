@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.MulExpr;
 import hu.bme.mit.theta.core.utils.TypeUtils;
 import java.util.List;
@@ -36,7 +37,7 @@ public final class BvMulExpr extends MulExpr<BvType> {
     }
 
     public static BvMulExpr of(final Iterable<? extends Expr<BvType>> ops) {
-        return new BvMulExpr(ops);
+        return ExprInterner.intern(new BvMulExpr(ops));
     }
 
     public static BvMulExpr create(final List<? extends Expr<?>> ops) {
@@ -19,6 +19,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.castBv;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 
 public final class BvNotExpr extends UnaryExpr<BvType, BvType> {
@@ -31,7 +32,7 @@ public final class BvNotExpr extends UnaryExpr<BvType, BvType> {
     }
 
     public static BvNotExpr of(final Expr<BvType> op) {
-        return new BvNotExpr(op);
+        return ExprInterner.intern(new BvNotExpr(op));
     }
 
     public static BvNotExpr create(final Expr<?> op) {
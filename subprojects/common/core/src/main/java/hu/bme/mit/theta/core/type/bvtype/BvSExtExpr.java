@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import java.util.List;
 
@@ -46,11 +47,11 @@ public final class BvSExtExpr implements Expr<BvType> {
     }
 
     public static BvSExtExpr of(final Expr<BvType> op, final BvType extendType) {
-        return new BvSExtExpr(op, extendType);
+        return ExprInterner.intern(new BvSExtExpr(op, extendType));
     }
 
     public static BvSExtExpr create(final Expr<?> op, final BvType extendType) {
-        return new BvSExtExpr(castBv(op), extendType);
+        return ExprInterner.intern(new BvSExtExpr(castBv(op), extendType));
     }
 
     public Expr<BvType> getOp() {
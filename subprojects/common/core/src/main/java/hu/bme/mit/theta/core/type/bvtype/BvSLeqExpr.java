@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.abstracttype.LeqExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -36,7 +37,7 @@ public final class BvSLeqExpr extends LeqExpr<BvType> {
     }
 
     public static BvSLeqExpr of(final Expr<BvType> leftOp, final Expr<BvType> rightOp) {
-        return new BvSLeqExpr(leftOp, rightOp);
+        return ExprInterner.intern(new BvSLeqExpr(leftOp, rightOp));
     }
 
     public static BvSLeqExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
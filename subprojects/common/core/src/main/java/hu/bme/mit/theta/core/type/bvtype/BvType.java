@@ -27,6 +27,7 @@ import hu.bme.mit.theta.core.type.abstracttype.*;
 import hu.bme.mit.theta.core.type.fptype.FpRoundingMode;
 import hu.bme.mit.theta.core.type.fptype.FpType;
 import java.math.BigInteger;
+import java.util.Objects;
 
 public class BvType
         implements Additive<BvType>,
@@ -71,6 +72,14 @@ public class BvType
         return signed;
     }
 
+    /**
+     * Checks whether the other type has the same size and signedness. Unlike {@link
+     * #equals(Object)}, this also distinguishes neutral, signed and unsigned types.
+     */
+    public boolean equalsWithSignedness(final BvType that) {
+        return this.equals(that) && Objects.equals(this.signed, that.signed);
+    }
+
     @Override
     public EqExpr<BvType> Eq(Expr<BvType> leftOp, Expr<BvType> rightOp) {
         return BvEqExpr.of(leftOp, rightOp);
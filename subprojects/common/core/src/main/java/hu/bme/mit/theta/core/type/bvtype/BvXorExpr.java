@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.MultiaryExpr;
 import hu.bme.mit.theta.core.utils.TypeUtils;
 import java.util.List;
@@ -36,7 +37,7 @@ public final class BvXorExpr extends MultiaryExpr<BvType, BvType> {
     }
 
     public static BvXorExpr of(final Iterable<? extends Expr<BvType>> ops) {
-        return new BvXorExpr(ops);
+        return ExprInterner.intern(new BvXorExpr(ops));
     }
 
     public static BvXorExpr create(final List<? extends Expr<?>> ops) {
@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
 import hu.bme.mit.theta.core.type.bvtype.BvType;
@@ -53,7 +54,7 @@ public class FpFromBvExpr extends UnaryExpr<BvType, FpType> {
             final Expr<BvType> op,
             final FpType fpType,
             final boolean signed) {
-        return new FpFromBvExpr(roundingMode, op, fpType, signed);
+        return ExprInterner.intern(new FpFromBvExpr(roundingMode, op, fpType, signed));
     }
 
     public static FpFromBvExpr create(
@@ -110,7 +111,7 @@ public class FpFromBvExpr extends UnaryExpr<BvType, FpType> {
 
     @Override
     public FpFromBvExpr with(Expr<BvType> op) {
-        return new FpFromBvExpr(roundingMode, op, fpType, signed);
+        return ExprInterner.intern(new FpFromBvExpr(roundingMode, op, fpType, signed));
     }
 
     protected int getHashSeed() {
@@ -23,6 +23,7 @@ import static hu.bme.mit.theta.core.utils.FpUtils.getMathContext;
 
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.NullaryExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolExprs;
@@ -48,13 +49,13 @@ public class FpLitExpr extends NullaryExpr<FpType> implements LitExpr<FpType>, C
 
     public static FpLitExpr of(
             final boolean hidden, final BvLitExpr exponent, final BvLitExpr significand) {
-        return new FpLitExpr(hidden, exponent, significand);
+        return ExprInterner.intern(new FpLitExpr(hidden, exponent, significand));
     }
 
     public static FpLitExpr of(final BvLitExpr value, final FpType fpType) {
         boolean[] literal = value.getValue();
         checkArgument(fpType.getExponent() + fpType.getSignificand() + 1 == literal.length);
-        return new FpLitExpr(
+        return of(
                 literal[0],
                 BvLitExpr.of(Arrays.copyOfRange(literal, 1, fpType.getExponent() + 1)),
                 BvLitExpr.of(
@@ -67,7 +68,7 @@ public class FpLitExpr extends NullaryExpr<FpType> implements LitExpr<FpType>, C
     public static FpLitExpr of(
             final BvLitExpr hidden, final BvLitExpr exponent, final BvLitExpr significand) {
         boolean[] hiddenLit = hidden.getValue();
-        return new FpLitExpr(hiddenLit[0], exponent, significand);
+        return of(hiddenLit[0], exponent, significand);
     }
 
     public boolean getHidden() {
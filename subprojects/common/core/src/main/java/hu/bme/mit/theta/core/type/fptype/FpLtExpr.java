@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.LtExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -36,7 +37,7 @@ public final class FpLtExpr extends LtExpr<FpType> {
     }
 
     public static FpLtExpr of(final Expr<FpType> leftOp, final Expr<FpType> rightOp) {
-        return new FpLtExpr(leftOp, rightOp);
+        return ExprInterner.intern(new FpLtExpr(leftOp, rightOp));
     }
 
     public static FpLtExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
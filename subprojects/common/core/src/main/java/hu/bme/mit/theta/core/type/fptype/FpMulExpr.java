@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.MulExpr;
 import hu.bme.mit.theta.core.utils.TypeUtils;
 import java.util.List;
@@ -42,7 +43,7 @@ public class FpMulExpr extends MulExpr<FpType> {
 
     public static FpMulExpr of(
             final FpRoundingMode roundingMode, final Iterable<? extends Expr<FpType>> ops) {
-        return new FpMulExpr(roundingMode, ops);
+        return ExprInterner.intern(new FpMulExpr(roundingMode, ops));
     }
 
     public static FpMulExpr create(
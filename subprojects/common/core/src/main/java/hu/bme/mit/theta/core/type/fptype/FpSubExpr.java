@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.checkAllTypesEqual;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.SubExpr;
 
 public final class FpSubExpr extends SubExpr<FpType> {
@@ -42,7 +43,7 @@ public final class FpSubExpr extends SubExpr<FpType> {
             final FpRoundingMode roundingMode,
             final Expr<FpType> leftOp,
             final Expr<FpType> rightOp) {
-        return new FpSubExpr(roundingMode, leftOp, rightOp);
+        return ExprInterner.intern(new FpSubExpr(roundingMode, leftOp, rightOp));
     }
 
     public static FpSubExpr create(
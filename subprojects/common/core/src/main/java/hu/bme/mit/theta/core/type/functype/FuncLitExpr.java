@@ -24,6 +24,7 @@ import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.decl.ParamDecl;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.utils.TypeUtils;
@@ -48,7 +49,7 @@ public final class FuncLitExpr<ParamType extends Type, ResultType extends Type>
     public static <ParamType extends Type, ResultType extends Type>
             FuncLitExpr<ParamType, ResultType> of(
                     final ParamDecl<ParamType> param, final Expr<ResultType> result) {
-        return new FuncLitExpr<>(param, result);
+        return ExprInterner.intern(new FuncLitExpr<>(param, result));
     }
 
     public ParamDecl<ParamType> getParam() {
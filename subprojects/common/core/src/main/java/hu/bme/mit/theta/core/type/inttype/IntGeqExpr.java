@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.GeqExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -35,7 +36,7 @@ public final class IntGeqExpr extends GeqExpr<IntType> {
     }
 
     public static IntGeqExpr of(final Expr<IntType> leftOp, final Expr<IntType> rightOp) {
-        return new IntGeqExpr(leftOp, rightOp);
+        return ExprInterner.intern(new IntGeqExpr(leftOp, rightOp));
     }
 
     public static IntGeqExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.GtExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -35,7 +36,7 @@ public final class IntGtExpr extends GtExpr<IntType> {
     }
 
     public static IntGtExpr of(final Expr<IntType> leftOp, final Expr<IntType> rightOp) {
-        return new IntGtExpr(leftOp, rightOp);
+        return ExprInterner.intern(new IntGtExpr(leftOp, rightOp));
     }
 
     public static IntGtExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
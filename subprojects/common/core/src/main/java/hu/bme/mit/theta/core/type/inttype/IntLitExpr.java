@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
 import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
 
 import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.NullaryExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
@@ -39,7 +40,7 @@ public final class IntLitExpr extends NullaryExpr<IntType>
     }
 
     public static IntLitExpr of(final BigInteger value) {
-        return new IntLitExpr(value);
+        return ExprInterner.intern(new IntLitExpr(value));
     }
 
     public BigInteger getValue() {
@@ -118,10 +119,10 @@ public final class IntLitExpr extends NullaryExpr<IntType>
             if (result.compareTo(BigInteger.ZERO) != 0) {
                 result = result.subtract(thatAbs);
             }
-            return new IntLitExpr(result);
+            return ExprInterner.intern(new IntLitExpr(result));
         } else if (this.value.compareTo(BigInteger.ZERO) >= 0
                 && that.value.compareTo(BigInteger.ZERO) < 0) {
-            return new IntLitExpr(thisAbs.mod(thatAbs).negate());
+            return ExprInterner.intern(new IntLitExpr(thisAbs.mod(thatAbs).negate()));
         } else if (this.value.compareTo(BigInteger.ZERO) < 0
                 && that.value.compareTo(BigInteger.ZERO) >= 0) {
             var result = thisAbs.mod(thatAbs);
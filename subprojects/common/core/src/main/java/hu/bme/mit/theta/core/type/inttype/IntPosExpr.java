@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.PosExpr;
 
 public final class IntPosExpr extends PosExpr<IntType> {
@@ -32,7 +33,7 @@ public final class IntPosExpr extends PosExpr<IntType> {
     }
 
     public static IntPosExpr of(final Expr<IntType> op) {
-        return new IntPosExpr(op);
+        return ExprInterner.intern(new IntPosExpr(op));
     }
 
     public static IntPosExpr create(final Expr<?> op) {
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.RemExpr;
 
 public final class IntRemExpr extends RemExpr<IntType> {
@@ -33,7 +34,7 @@ public final class IntRemExpr extends RemExpr<IntType> {
     }
 
     public static IntRemExpr of(final Expr<IntType> leftOp, final Expr<IntType> rightOp) {
-        return new IntRemExpr(leftOp, rightOp);
+        return ExprInterner.intern(new IntRemExpr(leftOp, rightOp));
     }
 
     public static IntRemExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.AddExpr;
 import java.math.BigInteger;
 import java.util.List;
@@ -35,7 +36,7 @@ public final class RatAddExpr extends AddExpr<RatType> {
     }
 
     public static RatAddExpr of(final Iterable<? extends Expr<RatType>> ops) {
-        return new RatAddExpr(ops);
+        return ExprInterner.intern(new RatAddExpr(ops));
     }
 
     public static RatAddExpr create(final List<? extends Expr<?>> ops) {
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.GeqExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -35,7 +36,7 @@ public final class RatGeqExpr extends GeqExpr<RatType> {
     }
 
     public static RatGeqExpr of(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-        return new RatGeqExpr(leftOp, rightOp);
+        return ExprInterner.intern(new RatGeqExpr(leftOp, rightOp));
     }
 
     public static RatGeqExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -21,6 +21,7 @@ import static hu.bme.mit.theta.core.utils.TypeUtils.cast;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.LtExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -35,7 +36,7 @@ public final class RatLtExpr extends LtExpr<RatType> {
     }
 
     public static RatLtExpr of(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-        return new RatLtExpr(leftOp, rightOp);
+        return ExprInterner.intern(new RatLtExpr(leftOp, rightOp));
     }
 
     public static RatLtExpr create(final Expr<?> leftOp, final Expr<?> rightOp) {
@@ -61,7 +62,7 @@ public final class RatLtExpr extends LtExpr<RatType> {
         if (leftOp == getLeftOp() && rightOp == getRightOp()) {
             return this;
         } else {
-            return new RatLtExpr(leftOp, rightOp);
+            return ExprInterner.intern(new RatLtExpr(leftOp, rightOp));
         }
     }
 
@@ -1234,8 +1234,7 @@ public final class ExprSimplifier {
         }
 
         final BvLitExpr ZERO = Bv(new boolean[expr.getType().getSize()]);
-        final BvLitExpr ONE = Bv(new boolean[expr.getType().getSize()]);
-        ONE.getValue()[expr.getType().getSize() - 1] = true; // 1
+        final BvLitExpr ONE = BvLitExpr.of(1, expr.getType().getSize(), null);
 
         BvLitExpr value = ONE;
         for (final Iterator<Expr<BvType>> iterator = ops.iterator(); iterator.hasNext(); ) {
@@ -1275,8 +1274,7 @@ public final class ExprSimplifier {
 
         if (leftOp instanceof RefExpr && rightOp instanceof RefExpr) {
             if (leftOp.equals(rightOp)) {
-                final BvLitExpr ONE = Bv(new boolean[expr.getType().getSize()]);
-                ONE.getValue()[expr.getType().getSize() - 1] = true; // 1
+                final BvLitExpr ONE = BvLitExpr.of(1, expr.getType().getSize(), null);
                 return ONE;
             }
         }
@@ -1296,8 +1294,7 @@ public final class ExprSimplifier {
 
         if (leftOp instanceof RefExpr && rightOp instanceof RefExpr) {
             if (leftOp.equals(rightOp)) {
-                final BvLitExpr ONE = Bv(new boolean[expr.getType().getSize()]);
-                ONE.getValue()[expr.getType().getSize() - 1] = true; // 1
+                final BvLitExpr ONE = BvLitExpr.of(1, expr.getType().getSize(), null);
                 return ONE;
             }
         }
@@ -1374,10 +1371,7 @@ public final class ExprSimplifier {
                 ops.add(opVisited);
             }
         }
-        BvLitExpr ONES = Bv(new boolean[expr.getType().getSize()]);
-        for (int i = 0; i < expr.getType().getSize(); i++) {
-            ONES.getValue()[i] = true;
-        }
+        final BvLitExpr ONES = BvLitExpr.of(-1, expr.getType().getSize(), null);
 
         BvLitExpr value = ONES;
 
@@ -23,10 +23,12 @@ import hu.bme.mit.theta.core.decl.VarDecl;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
+import hu.bme.mit.theta.core.type.arraytype.ArrayType;
 import hu.bme.mit.theta.core.type.booltype.BoolExprs;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.type.bvtype.BvType;
 import hu.bme.mit.theta.core.type.fptype.FpType;
+import hu.bme.mit.theta.core.type.functype.FuncType;
 import hu.bme.mit.theta.core.type.inttype.IntExprs;
 import hu.bme.mit.theta.core.type.inttype.IntType;
 import hu.bme.mit.theta.core.type.rattype.RatExprs;
@@ -185,6 +187,30 @@ public final class TypeUtils {
         checkArgument(op1.getType().equals(op2.getType()), "All types must equal");
     }
 
+    /**
+     * Checks if two types are equal, also distinguishing the signedness of bitvector types (also
+     * inside array and function types), unlike {@link Type#equals(Object)}.
+     *
+     * @param type1 The first type
+     * @param type2 The second type
+     * @return Whether the types are equal, including their signedness
+     */
+    public static boolean equalsWithSignedness(final Type type1, final Type type2) {
+        if (type1 instanceof BvType bvType1 && type2 instanceof BvType bvType2) {
+            return bvType1.equalsWithSignedness(bvType2);
+        } else if (type1 instanceof ArrayType<?, ?> arrayType1
+                && type2 instanceof ArrayType<?, ?> arrayType2) {
+            return equalsWithSignedness(arrayType1.getIndexType(), arrayType2.getIndexType())
+                    && equalsWithSignedness(arrayType1.getElemType(), arrayType2.getElemType());
+        } else if (type1 instanceof FuncType<?, ?> funcType1
+                && type2 instanceof FuncType<?, ?> funcType2) {
+            return equalsWithSignedness(funcType1.getParamType(), funcType2.getParamType())
+                    && equalsWithSignedness(funcType1.getResultType(), funcType2.getResultType());
+        } else {
+            return type1.equals(type2);
+        }
+    }
+
     public static <T extends Type> LitExpr<T> getDefaultValue(final T type) {
         if (type instanceof BoolType) {
             return (LitExpr<T>) cast(BoolExprs.False(), type);
@@ -29,7 +29,7 @@ public class VarPoolUtil {
     private static final ArrayDeque<VarDecl<IntType>> intPool = new ArrayDeque<VarDecl<IntType>>();
     private static int counter = 0;
 
-    public static VarDecl<IntType> requestInt() {
+    public static synchronized VarDecl<IntType> requestInt() {
         if (intPool.isEmpty()) {
             return Decls.Var("__temp_" + counter++, Int());
         } else {
@@ -37,7 +37,7 @@ public class VarPoolUtil {
         }
     }
 
-    public static void returnInt(VarDecl<IntType> var) {
+    public static synchronized void returnInt(VarDecl<IntType> var) {
         if (!intPool.contains(var)) {
             intPool.addFirst(var);
         }
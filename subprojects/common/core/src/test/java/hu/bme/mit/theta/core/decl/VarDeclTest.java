@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.decl;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class VarDeclTest {
+
+    @Test
+    public void testGetConstDecl() {
+        final VarDecl<IntType> x = Var("x", Int());
+        final IndexedConstDecl<IntType> x0 = x.getConstDecl(0);
+        assertSame(x0, x.getConstDecl(0));
+        assertSame(x, x0.getVarDecl());
+        assertEquals(0, x0.getIndex());
+        assertEquals(3, x.getConstDecl(3).getIndex());
+    }
+
+    @Test
+    public void testGetConstDeclConcurrent() throws Exception {
+        final VarDecl<IntType> x = Var("x", Int());
+        final int threads = 8;
+        final int indices = 1000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<List<IndexedConstDecl<IntType>>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    final List<IndexedConstDecl<IntType>> consts =
+                                            new ArrayList<>();
+                                    for (int i = 0; i < indices; i++) {
+                                        consts.add(x.getConstDecl(i));
+                                    }
+                                    return consts;
+                                }));
+            }
+            final List<IndexedConstDecl<IntType>> expected = futures.get(0).get();
+            for (final Future<List<IndexedConstDecl<IntType>>> future : futures) {
+                final List<IndexedConstDecl<IntType>> consts = future.get();
+                for (int i = 0; i < indices; i++) {
+                    assertSame(expected.get(i), consts.get(i));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
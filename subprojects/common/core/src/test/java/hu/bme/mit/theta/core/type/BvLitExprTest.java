@@ -0,0 +1,248 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.type;
+
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import hu.bme.mit.theta.core.type.bvtype.BvExprs;
+import hu.bme.mit.theta.core.type.bvtype.BvLitExpr;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/** Compares the operations of {@link BvLitExpr} to a reference implementation on BigIntegers. */
+@RunWith(Parameterized.class)
+public class BvLitExprTest {
+
+    private static final int ITERATIONS = 200;
+
+    @Parameterized.Parameter(0)
+    public int size;
+
+    @Parameterized.Parameters(name = "size: {0}")
+    public static Collection<?> sizes() {
+        return Arrays.asList(1, 2, 7, 8, 31, 32, 33, 63, 64, 65, 100, 127, 128, 130);
+    }
+
+    @Test
+    public void testConversions() {
+        for (final BigInteger value : values()) {
+            final BvLitExpr lit = BvLitExpr.of(value, size, null);
+            assertEquals(value, lit.toUnsignedBigInteger());
+            assertEquals(signed(value), lit.toSignedBigInteger());
+
+            final BvLitExpr fromBits = BvExprs.Bv(lit.getValue());
+            assertEquals(lit, fromBits);
+            assertEquals(lit.hashCode(), fromBits.hashCode());
+            assertArrayEquals(lit.getValue(), fromBits.getValue());
+            assertEquals("#b" + binary(value), lit.toString());
+            assertEquals(lit, BvLitExpr.of(signed(value), size, null));
+            if (size <= Long.SIZE) {
+                assertEquals(lit, BvLitExpr.of(signed(value).longValue(), size, null));
+            }
+        }
+    }
+
+    @Test
+    public void testArithmetic() {
+        check(BvLitExpr::add, BigInteger::add, false);
+        check(BvLitExpr::sub, BigInteger::subtract, false);
+        check(BvLitExpr::mul, BigInteger::multiply, false);
+        check(BvLitExpr::udiv, BigInteger::divide, true);
+        check(BvLitExpr::urem, BigInteger::mod, true);
+        checkSigned(BvLitExpr::sdiv, BigInteger::divide);
+        checkSigned(BvLitExpr::srem, BigInteger::remainder);
+        checkSigned(
+                BvLitExpr::smod,
+                (a, b) -> {
+                    final BigInteger mod = a.mod(b.abs());
+                    return b.signum() < 0 && mod.signum() != 0 ? mod.add(b) : mod;
+                });
+        for (final BigInteger value : values()) {
+            final BvLitExpr lit = BvLitExpr.of(value, size, null);
+            assertEquals(BvLitExpr.of(value.negate(), size, null), lit.neg());
+            assertEquals(lit, lit.pos());
+        }
+    }
+
+    @Test
+    public void testBitwise() {
+        check(BvLitExpr::and, BigInteger::and, false);
+        check(BvLitExpr::or, BigInteger::or, false);
+        check(BvLitExpr::xor, BigInteger::xor, false);
+        for (final BigInteger value : values()) {
+            assertEquals(
+                    BvLitExpr.of(value.not(), size, null), BvLitExpr.of(value, size, null).not());
+        }
+    }
+
+    @Test
+    public void testShifts() {
+        for (final BigInteger value : values()) {
+            final BvLitExpr lit = BvLitExpr.of(value, size, null);
+            for (final BigInteger amount : amounts()) {
+                final BvLitExpr amountLit = BvLitExpr.of(amount, size, null);
+                final int saturated = amount.min(BigInteger.valueOf(size)).intValue();
+                final int rotation = amount.mod(BigInteger.valueOf(size)).intValue();
+
+                assertEquals(
+                        BvLitExpr.of(value.shiftLeft(saturated), size, null),
+                        lit.shiftLeft(amountLit));
+                assertEquals(
+                        BvLitExpr.of(value.shiftRight(saturated), size, null),
+                        lit.logicShiftRight(amountLit));
+                assertEquals(
+                        BvLitExpr.of(signed(value).shiftRight(saturated), size, null),
+                        lit.arithShiftRight(amountLit));
+                assertEquals(
+                        BvLitExpr.of(
+                                value.shiftLeft(rotation).or(value.shiftRight(size - rotation)),
+                                size,
+                                null),
+                        lit.rotateLeft(amountLit));
+                assertEquals(
+                        BvLitExpr.of(
+                                value.shiftRight(rotation).or(value.shiftLeft(size - rotation)),
+                                size,
+                                null),
+                        lit.rotateRight(amountLit));
+            }
+        }
+    }
+
+    @Test
+    public void testResize() {
+        final Random random = new Random(size);
+        for (final BigInteger value : values()) {
+            final BvLitExpr lit = BvLitExpr.of(value, size, null);
+            final int newSize = size + random.nextInt(100);
+            assertEquals(BvLitExpr.of(value, newSize, null), lit.zext(BvExprs.BvType(newSize)));
+            assertEquals(
+                    BvLitExpr.of(signed(value), newSize, null),
+                    lit.sext(BvExprs.BvType(newSize)));
+
+            final int from = random.nextInt(size);
+            final int until = from + 1 + random.nextInt(size - from);
+            assertEquals(
+                    BvLitExpr.of(value.shiftRight(from), until - from, null),
+                    lit.extract(Int(from), Int(until)));
+
+            final int otherSize = 1 + random.nextInt(100);
+            final BigInteger other = new BigInteger(otherSize, random);
+            assertEquals(
+                    BvLitExpr.of(value.shiftLeft(otherSize).or(other), size + otherSize, null),
+                    lit.concat(BvLitExpr.of(other, otherSize, null)));
+        }
+    }
+
+    @Test
+    public void testRelations() {
+        for (final BigInteger a : values()) {
+            for (final BigInteger b : values().subList(0, 20)) {
+                final BvLitExpr litA = BvLitExpr.of(a, size, null);
+                final BvLitExpr litB = BvLitExpr.of(b, size, null);
+                final int unsigned = Integer.signum(a.compareTo(b));
+                final int signed = Integer.signum(signed(a).compareTo(signed(b)));
+                assertEquals(unsigned, Integer.signum(litA.compareTo(litB)));
+                assertEquals(unsigned == 0, litA.eq(litB).getValue());
+                assertEquals(unsigned != 0, litA.neq(litB).getValue());
+                assertEquals(unsigned < 0, litA.ult(litB).getValue());
+                assertEquals(unsigned <= 0, litA.ule(litB).getValue());
+                assertEquals(unsigned > 0, litA.ugt(litB).getValue());
+                assertEquals(unsigned >= 0, litA.uge(litB).getValue());
+                assertEquals(signed < 0, litA.slt(litB).getValue());
+                assertEquals(signed <= 0, litA.sle(litB).getValue());
+                assertEquals(signed > 0, litA.sgt(litB).getValue());
+                assertEquals(signed >= 0, litA.sge(litB).getValue());
+            }
+        }
+    }
+
+    private void check(
+            final BinaryOperator<BvLitExpr> op,
+            final BinaryOperator<BigInteger> expected,
+            final boolean nonZeroDivisor) {
+        for (final BigInteger a : values()) {
+            for (final BigInteger b : values().subList(0, 20)) {
+                if (nonZeroDivisor && b.signum() == 0) {
+                    continue;
+                }
+                assertEquals(
+                        a + " " + b,
+                        BvLitExpr.of(expected.apply(a, b), size, null),
+                        op.apply(BvLitExpr.of(a, size, null), BvLitExpr.of(b, size, null)));
+            }
+        }
+    }
+
+    private void checkSigned(
+            final BinaryOperator<BvLitExpr> op, final BinaryOperator<BigInteger> expected) {
+        for (final BigInteger a : values()) {
+            for (final BigInteger b : values().subList(0, 20)) {
+                if (b.signum() == 0) {
+                    continue;
+                }
+                assertEquals(
+                        a + " " + b,
+                        BvLitExpr.of(expected.apply(signed(a), signed(b)), size, null),
+                        op.apply(BvLitExpr.of(a, size, null), BvLitExpr.of(b, size, null)));
+            }
+        }
+    }
+
+    /** Unsigned values including the corner cases and random ones. */
+    private List<BigInteger> values() {
+        final BigInteger max = BigInteger.ONE.shiftLeft(size);
+        final List<BigInteger> values = new ArrayList<>();
+        values.add(BigInteger.ZERO);
+        values.add(BigInteger.ONE.mod(max));
+        values.add(max.subtract(BigInteger.ONE));
+        values.add(BigInteger.ONE.shiftLeft(size - 1));
+        values.add(BigInteger.ONE.shiftLeft(size - 1).subtract(BigInteger.ONE));
+        final Random random = new Random(size);
+        while (values.size() < ITERATIONS) {
+            values.add(new BigInteger(random.nextInt(size) + 1, random));
+        }
+        return values;
+    }
+
+    private List<BigInteger> amounts() {
+        final List<BigInteger> amounts = new ArrayList<>();
+        for (int i = 0; i <= size + 1; i += Math.max(1, size / 16)) {
+            amounts.add(BigInteger.valueOf(i).mod(BigInteger.ONE.shiftLeft(size)));
+        }
+        amounts.add(BigInteger.ONE.shiftLeft(size).subtract(BigInteger.ONE));
+        return amounts;
+    }
+
+    private BigInteger signed(final BigInteger value) {
+        return value.testBit(size - 1) ? value.subtract(BigInteger.ONE.shiftLeft(size)) : value;
+    }
+
+    private String binary(final BigInteger value) {
+        final String digits = value.toString(2);
+        return "0".repeat(size - digits.length()) + digits;
+    }
+}
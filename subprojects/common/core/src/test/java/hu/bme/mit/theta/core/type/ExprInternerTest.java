@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.type;
+
+import static hu.bme.mit.theta.core.type.anytype.Exprs.Prime;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.Bv;
+import static hu.bme.mit.theta.core.type.bvtype.BvExprs.BvType;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import hu.bme.mit.theta.core.decl.Decls;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.bvtype.BvExprs;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ExprInternerTest {
+
+    private final VarDecl<IntType> vx = Decls.Var("x", Int());
+    private final VarDecl<IntType> vy = Decls.Var("y", Int());
+
+    @Before
+    public void before() {
+        ExprInterner.enable();
+    }
+
+    @After
+    public void after() {
+        ExprInterner.disable();
+    }
+
+    @Test
+    public void testEqualExprsAreSame() {
+        final Expr<?> expr1 =
+                And(Eq(vx.getRef(), Add(vy.getRef(), Int(1))), Not(Eq(vy.getRef(), Int(2))));
+        final Expr<?> expr2 =
+                And(Eq(vx.getRef(), Add(vy.getRef(), Int(1))), Not(Eq(vy.getRef(), Int(2))));
+        assertSame(expr1, expr2);
+        assertNotSame(Add(vx.getRef(), vy.getRef()), Add(vy.getRef(), vx.getRef()));
+    }
+
+    @Test
+    public void testTransformationsAreCanonical() {
+        final Expr<?> unfolded1 =
+                PathUtils.unfold(Eq(Prime(vx.getRef()), Add(vy.getRef(), Int(1))), 0);
+        final Expr<?> unfolded2 =
+                PathUtils.unfold(Eq(Prime(vx.getRef()), Add(vy.getRef(), Int(1))), 0);
+        assertSame(unfolded1, unfolded2);
+
+        final Expr<?> simplified = ExprUtils.simplify(Add(vx.getRef(), Int(1), Int(2)));
+        assertSame(Add(vx.getRef(), Int(3)), simplified);
+    }
+
+    @Test
+    public void testSignednessIsKept() {
+        final boolean[] bits = {false, true};
+        assertNotSame(Bv(bits, true), Bv(bits, false));
+        assertEquals(Bv(bits, true), Bv(bits, false));
+        assertSame(Bv(bits, true), Bv(bits, true));
+
+        final var x = Decls.Var("b", BvType(2));
+        assertNotSame(
+                BvExprs.Add(List.of(x.getRef(), Bv(bits, true))),
+                BvExprs.Add(List.of(x.getRef(), Bv(bits, false))));
+    }
+
+    @Test
+    public void testDisabled() {
+        ExprInterner.disable();
+        assertNotSame(Add(vx.getRef(), Int(1)), Add(vx.getRef(), Int(1)));
+        assertEquals(Add(vx.getRef(), Int(1)), Add(vx.getRef(), Int(1)));
+    }
+}
@@ -61,7 +61,7 @@ data class ArgAdapterHelper<S : State, A : Action>(
     initNodes.forEach {
       lut[it.key] =
         arg.createInitNode(it.value.first, it.value.second).also { n ->
-          if (it.value.third) n.expanded = true
+          if (it.value.third) n.isExpanded = true
         }
     }
     arg.initialized = true
@@ -79,7 +79,7 @@ data class ArgAdapterHelper<S : State, A : Action>(
             checkNotNull(nodes[entry]).state,
             checkNotNull(nodes[entry]).target,
           )
-          .also { n -> if (checkNotNull(nodes[entry]).expanded) n.expanded = true }
+          .also { n -> if (checkNotNull(nodes[entry]).expanded) n.isExpanded = true }
     }
     coveringEdges.forEach { checkNotNull(lut[it.key]).cover(lut[it.value]) }
     return arg
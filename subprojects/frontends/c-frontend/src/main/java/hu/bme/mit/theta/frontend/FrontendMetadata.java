@@ -21,22 +21,34 @@ import hu.bme.mit.theta.common.Tuple2;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.frontend.transformation.model.types.complex.CComplexType;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.jetbrains.annotations.NotNull;
 
 public class FrontendMetadata {
     private final Map<Integer, Map<String, Object>> lookupKeyValue;
     private final Map<Tuple2<Expr<?>, Integer>, CComplexType> types;
+    // Keys of owners that are strings: unlike identity hash codes, these are the same in every JVM
+    private final Set<Integer> stringOwners;
 
     public FrontendMetadata() {
         this.lookupKeyValue = new LinkedHashMap<>();
         this.types = new LinkedHashMap<>();
+        this.stringOwners = new LinkedHashSet<>();
     }
 
     public FrontendMetadata(@NotNull Map<Integer, Map<String, Object>> lookupKeyValue) {
+        this(lookupKeyValue, Set.of());
+    }
+
+    public FrontendMetadata(
+            @NotNull Map<Integer, Map<String, Object>> lookupKeyValue,
+            @NotNull Set<Integer> stringOwners) {
         this.lookupKeyValue = new LinkedHashMap<>(lookupKeyValue);
         this.types = new LinkedHashMap<>();
+        this.stringOwners = new LinkedHashSet<>(stringOwners);
     }
 
     public <X> Map<String, ?> lookupMetadata(X owner) {
@@ -69,6 +81,9 @@ public class FrontendMetadata {
                     lookupKeyValue.getOrDefault(getHashCode(owner), new LinkedHashMap<>());
             keyvalues.put(key, value);
             lookupKeyValue.put(getHashCode(owner), keyvalues);
+            if (owner instanceof String) {
+                stringOwners.add(getHashCode(owner));
+            }
         }
     }
 
@@ -76,6 +91,21 @@ public class FrontendMetadata {
         return new LinkedHashMap<>(lookupKeyValue);
     }
 
+    /**
+     * Gets the metadata of owners that are strings. Other owners are keyed by their identity, so
+     * their metadata cannot be looked up in another JVM.
+     */
+    public Map<Integer, Map<String, Object>> getStringOwnedLookupKeyValue() {
+        final Map<Integer, Map<String, Object>> result = new LinkedHashMap<>();
+        lookupKeyValue.forEach(
+                (owner, values) -> {
+                    if (stringOwners.contains(owner)) {
+                        result.put(owner, values);
+                    }
+                });
+        return result;
+    }
+
     private static int getHashCode(Object object) {
         if (object instanceof String) {
             return object.hashCode();
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.frontend.petrinet.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.base.Stopwatch;
+import hu.bme.mit.delta.java.mdd.JavaMddFactory;
+import hu.bme.mit.delta.java.mdd.MddHandle;
+import hu.bme.mit.delta.java.mdd.MddVariableOrder;
+import hu.bme.mit.delta.mdd.LatticeDefinition;
+import hu.bme.mit.delta.mdd.MddInterpreter;
+import hu.bme.mit.delta.mdd.MddVariableDescriptor;
+import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.GeneralizedSaturationProvider;
+import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.ParallelSaturationProvider;
+import hu.bme.mit.theta.frontend.petrinet.model.PetriNet;
+import hu.bme.mit.theta.frontend.petrinet.model.Place;
+import hu.bme.mit.theta.frontend.petrinet.pnml.PetriNetParser;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public final class ParallelSaturationTest {
+
+    @Parameterized.Parameter(0)
+    public String modelPath;
+
+    @Parameterized.Parameter(1)
+    public String orderingPath;
+
+    @Parameterized.Parameters(name = "{index}: {0}")
+    public static Collection<Object[]> data() {
+        return Arrays.asList(
+                new Object[][] {
+                    {TestData.MODELPATH, TestData.ORDERINGPATH},
+                    {"/dekker-15.pnml", "/dekker-15.pnml.gsat.order"},
+                    {"/Philosophers-50.pnml", "/Philosophers-50.pnml.gsat.order"},
+                });
+    }
+
+    @Test
+    public void testPS() throws Exception {
+        final File pnmlFile = new File(getClass().getResource(modelPath).toURI());
+        final List<PetriNet> petriNets = PetriNetParser.loadPnml(pnmlFile).parsePTNet();
+
+        assertEquals(1, petriNets.size());
+
+        final List<Place> ordering =
+                VariableOrderingFactory.fromPathString(
+                        getClass().getResource(orderingPath).toURI().getPath(), petriNets.get(0));
+
+        PtNetSystem system = new PtNetSystem(petriNets.get(0), ordering);
+
+        MddVariableOrder variableOrder =
+                JavaMddFactory.getDefault().createMddVariableOrder(LatticeDefinition.forSets());
+        for (Place p : ordering) {
+            variableOrder.createOnTop(MddVariableDescriptor.create(p));
+        }
+
+        final Stopwatch sequentialTimer = Stopwatch.createStarted();
+        GeneralizedSaturationProvider gs = new GeneralizedSaturationProvider(variableOrder);
+        final MddHandle expected =
+                gs.compute(
+                        system.getInitializer(),
+                        system.getTransitions(),
+                        variableOrder.getDefaultSetSignature().getTopVariableHandle());
+        sequentialTimer.stop();
+
+        final Stopwatch parallelTimer = Stopwatch.createStarted();
+        ParallelSaturationProvider ps = new ParallelSaturationProvider(variableOrder);
+        final MddHandle stateSpace =
+                ps.compute(
+                        system.getInitializer(),
+                        system.getTransitions(),
+                        variableOrder.getDefaultSetSignature().getTopVariableHandle());
+        parallelTimer.stop();
+        ps.dispose();
+
+        // Both providers work on the same unique table, so the results must be the same node
+        assertSame(expected.getNode(), stateSpace.getNode());
+
+        final Long stateSpaceSize = MddInterpreter.calculateNonzeroCount(stateSpace);
+        assertEquals(
+                MddInterpreter.calculateNonzeroCount(expected).longValue(),
+                stateSpaceSize.longValue());
+        System.out.println(
+                "Size of state space: "
+                        + stateSpaceSize
+                        + ", GSAT: "
+                        + sequentialTimer.elapsed(TimeUnit.MILLISECONDS)
+                        + " ms, PSAT: "
+                        + parallelTimer.elapsed(TimeUnit.MILLISECONDS)
+                        + " ms");
+    }
+}
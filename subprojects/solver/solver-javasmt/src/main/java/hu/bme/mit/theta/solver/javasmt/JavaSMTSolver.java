@@ -38,6 +38,7 @@ import hu.bme.mit.theta.solver.SolverStatus;
 import hu.bme.mit.theta.solver.Stack;
 import hu.bme.mit.theta.solver.UCSolver;
 import hu.bme.mit.theta.solver.impl.StackImpl;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -65,6 +66,7 @@ final class JavaSMTSolver implements UCSolver, Solver {
 
     private Valuation model;
     private Collection<Expr<BoolType>> unsatCore;
+    private Map<BooleanFormula, Expr<BoolType>> checkedAssumptions;
 
     private final Map<String, Expr<BoolType>> assumptions;
     private SolverStatus status;
@@ -143,6 +145,7 @@ final class JavaSMTSolver implements UCSolver, Solver {
 
     @Override
     public SolverStatus check() {
+        clearState();
         try {
             final boolean unsat = solver.isUnsat();
             status = unsat ? SolverStatus.UNSAT : SolverStatus.SAT;
@@ -152,6 +155,52 @@ final class JavaSMTSolver implements UCSolver, Solver {
         }
     }
 
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        checkNotNull(assumptions);
+        clearState();
+        final Map<BooleanFormula, Expr<BoolType>> termToAssumption = Containers.createMap();
+        for (final Expr<BoolType> assumption : assumptions) {
+            termToAssumption.put(
+                    (BooleanFormula) transformationManager.toTerm(assumption), assumption);
+        }
+        try {
+            final boolean unsat = solver.isUnsatWithAssumptions(termToAssumption.keySet());
+            checkedAssumptions = termToAssumption;
+            status = unsat ? SolverStatus.UNSAT : SolverStatus.SAT;
+            return status;
+        } catch (SolverException | InterruptedException e) {
+            throw new JavaSMTSolverException(e);
+        }
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        checkState(status == SolverStatus.UNSAT, "Cannot get unsat core if status is not UNSAT");
+        checkState(checkedAssumptions != null, "Last check was not called with assumptions");
+
+        final Optional<List<BooleanFormula>> core;
+        try {
+            core = solver.unsatCoreOverAssumptions(checkedAssumptions.keySet());
+        } catch (SolverException | InterruptedException e) {
+            throw new JavaSMTSolverException(e);
+        } catch (IllegalStateException | UnsupportedOperationException e) {
+            // The prover was not created with unsat core generation over assumptions
+            return List.copyOf(checkedAssumptions.values());
+        }
+        if (core.isEmpty()) {
+            return List.copyOf(checkedAssumptions.values());
+        }
+        final Collection<Expr<BoolType>> unsatAssumptions = new ArrayList<>();
+        for (final BooleanFormula term : core.get()) {
+            final Expr<BoolType> assumption = checkedAssumptions.get(term);
+            if (assumption != null) {
+                unsatAssumptions.add(assumption);
+            }
+        }
+        return Collections.unmodifiableCollection(unsatAssumptions);
+    }
+
     @Override
     public void push() {
         assertions.push();
@@ -215,6 +264,7 @@ final class JavaSMTSolver implements UCSolver, Solver {
         status = null;
         model = null;
         unsatCore = null;
+        checkedAssumptions = null;
     }
 
     public SolverContext getContext() {
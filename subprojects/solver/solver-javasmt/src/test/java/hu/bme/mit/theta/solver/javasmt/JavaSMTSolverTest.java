@@ -53,6 +53,7 @@ import hu.bme.mit.theta.core.type.bvtype.BvType;
 import hu.bme.mit.theta.core.type.functype.FuncType;
 import hu.bme.mit.theta.core.type.inttype.IntEqExpr;
 import hu.bme.mit.theta.core.type.inttype.IntExprs;
+import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
 import hu.bme.mit.theta.core.type.inttype.IntType;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverStatus;
@@ -134,6 +135,34 @@ public final class JavaSMTSolverTest {
         assertTrue(status.isUnsat());
     }
 
+    @Test
+    public void testAssumptions() {
+        final ConstDecl<IntType> cx = Const("x", Int());
+        final ConstDecl<BoolType> ca = Const("a", BoolExprs.Bool());
+        final ConstDecl<BoolType> cb = Const("b", BoolExprs.Bool());
+        final ConstDecl<BoolType> cc = Const("c", BoolExprs.Bool());
+
+        solver.add(BoolExprs.Iff(ca.getRef(), IntExprs.Gt(cx.getRef(), Int(5))));
+        solver.add(BoolExprs.Iff(cb.getRef(), IntExprs.Lt(cx.getRef(), Int(3))));
+        solver.add(BoolExprs.Iff(cc.getRef(), IntExprs.Gt(cx.getRef(), Int(0))));
+
+        final SolverStatus sat = solver.check(List.of(ca.getRef(), cc.getRef()));
+        assertTrue(sat.isSat());
+        final Optional<LitExpr<IntType>> x = solver.getModel().eval(cx);
+        assertTrue(x.isPresent());
+        assertTrue(((IntLitExpr) x.get()).getValue().intValue() > 5);
+
+        final SolverStatus unsat = solver.check(List.of(ca.getRef(), cb.getRef(), cc.getRef()));
+        assertTrue(unsat.isUnsat());
+        final Collection<Expr<BoolType>> core = solver.getUnsatAssumptions();
+        assertTrue(core.contains(ca.getRef()));
+        assertTrue(core.contains(cb.getRef()));
+
+        // Assumptions do not persist between checks
+        assertTrue(solver.check().isSat());
+        assertTrue(solver.check(List.of(BoolExprs.Not(ca.getRef()))).isSat());
+    }
+
     @Test
     public void testTrack() {
         final UCSolver solver =
@@ -20,17 +20,12 @@ import hu.bme.mit.theta.solver.smtlib.solver.interpolation.SmtLibItpMarker;
 public class MathSATSmtLibItpMarker extends SmtLibItpMarker {
 
     private static final String markerPattern = "_mathsat_marker_%d";
-    private static long markerCount = 0;
-
-    static void resetMarkerCount() {
-        markerCount = 0;
-    }
 
     private final String markerName;
 
-    public MathSATSmtLibItpMarker() {
+    public MathSATSmtLibItpMarker(final long id) {
         super();
-        markerName = String.format(markerPattern, markerCount++);
+        markerName = String.format(markerPattern, id);
     }
 
     public String getMarkerName() {
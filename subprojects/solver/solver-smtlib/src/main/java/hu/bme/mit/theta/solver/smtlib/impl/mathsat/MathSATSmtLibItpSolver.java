@@ -54,6 +54,8 @@ import org.antlr.v4.runtime.misc.Interval;
 
 public class MathSATSmtLibItpSolver extends SmtLibItpSolver<MathSATSmtLibItpMarker> {
 
+    private long markerCount = 0;
+
     public MathSATSmtLibItpSolver(
             final SmtLibSymbolTable symbolTable,
             final SmtLibTransformationManager transformationManager,
@@ -70,7 +72,7 @@ public class MathSATSmtLibItpSolver extends SmtLibItpSolver<MathSATSmtLibItpMark
 
     @Override
     public MathSATSmtLibItpMarker createMarker() {
-        final var marker = new MathSATSmtLibItpMarker();
+        final var marker = new MathSATSmtLibItpMarker(markerCount++);
         markers.add(marker);
         return marker;
     }
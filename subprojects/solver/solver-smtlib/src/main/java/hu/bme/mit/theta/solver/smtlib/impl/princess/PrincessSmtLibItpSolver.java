@@ -47,7 +47,7 @@ public final class PrincessSmtLibItpSolver extends SmtLibItpSolver<PrincessSmtLi
 
     private final Map<Expr<BoolType>, String> assertionNames = new IdentityHashMap<>();
     private static final String assertionNamePattern = "_princess_assertion_%d";
-    private static long assertionCount = 0;
+    private long assertionCount = 0;
 
     public PrincessSmtLibItpSolver(
             final SmtLibSymbolTable symbolTable,
@@ -47,7 +47,7 @@ public final class SMTInterpolSmtLibItpSolver extends SmtLibItpSolver<SMTInterpo
 
     private final Map<Expr<BoolType>, String> assertionNames = new IdentityHashMap<>();
     private static final String assertionNamePattern = "_smtinterpol_assertion_%d";
-    private static long assertionCount = 0;
+    private long assertionCount = 0;
 
     public SMTInterpolSmtLibItpSolver(
             final SmtLibSymbolTable symbolTable,
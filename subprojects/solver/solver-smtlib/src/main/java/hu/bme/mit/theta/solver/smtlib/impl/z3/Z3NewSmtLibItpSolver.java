@@ -47,7 +47,8 @@ public class Z3NewSmtLibItpSolver extends SmtLibItpSolver<Z3SmtLibItpMarker> {
 
     private final Map<Expr<BoolType>, String> assertionNames = new HashMap<>();
     private static final String assertionNamePattern = "_z3_assertion_%d";
-    private static long assertionCount = 0;
+    private long assertionCount = 0;
+    private long markerCount = 0;
 
     public Z3NewSmtLibItpSolver(
             final SmtLibSymbolTable symbolTable,
@@ -65,7 +66,7 @@ public class Z3NewSmtLibItpSolver extends SmtLibItpSolver<Z3SmtLibItpMarker> {
 
     @Override
     public Z3SmtLibItpMarker createMarker() {
-        final var marker = new Z3SmtLibItpMarker();
+        final var marker = new Z3SmtLibItpMarker(markerCount++);
         markers.add(marker);
         return marker;
     }
@@ -57,6 +57,7 @@ import org.antlr.v4.runtime.misc.Interval;
 public final class Z3OldSmtLibItpSolver extends SmtLibItpSolver<Z3SmtLibItpMarker> {
 
     private boolean topMostContainsAssertions = false;
+    private long markerCount = 0;
 
     public Z3OldSmtLibItpSolver(
             final SmtLibSymbolTable symbolTable,
@@ -74,7 +75,7 @@ public final class Z3OldSmtLibItpSolver extends SmtLibItpSolver<Z3SmtLibItpMarke
 
     @Override
     public Z3SmtLibItpMarker createMarker() {
-        final var marker = new Z3SmtLibItpMarker();
+        final var marker = new Z3SmtLibItpMarker(markerCount++);
         markers.add(marker);
         return marker;
     }
@@ -103,7 +104,7 @@ public final class Z3OldSmtLibItpSolver extends SmtLibItpSolver<Z3SmtLibItpMarke
             issueGeneralCommand("(pop 1)"); // Topmost frame contains marker assertions
             topMostContainsAssertions = false;
         }
-        Z3SmtLibItpMarker.resetMarkerCount();
+        markerCount = 0;
         issueGeneralCommand("(push 1)"); // Topmost frame contains marker assertions
         topMostContainsAssertions = true;
 
@@ -15,6 +15,7 @@
  */
 package hu.bme.mit.theta.solver.smtlib.solver;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import hu.bme.mit.theta.core.decl.ConstDecl;
@@ -42,10 +43,13 @@ import hu.bme.mit.theta.solver.smtlib.solver.parser.ThrowExceptionErrorListener;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibSymbolTable;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibTermTransformer;
 import hu.bme.mit.theta.solver.smtlib.solver.transformer.SmtLibTransformationManager;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.antlr.v4.runtime.CharStreams;
@@ -71,6 +75,8 @@ public class SmtLibSolver implements UCSolver, Solver {
     protected Valuation model;
     protected Collection<Expr<BoolType>> unsatCore;
     protected SolverStatus status;
+    private Map<String, Expr<BoolType>> checkedAssumptions;
+    private boolean unsatAssumptionsEnabled;
 
     public SmtLibSolver(
             final SmtLibSymbolTable symbolTable,
@@ -138,19 +144,9 @@ public class SmtLibSolver implements UCSolver, Solver {
     }
 
     public void add(final Expr<BoolType> assertion, final String term) {
-        final var consts =
-                ExprUtils.getConstants(assertion).stream()
-                        .filter(symbolTable::definesConst)
-                        .collect(Collectors.toSet());
-        consts.removeAll(declarationStack.toCollection());
-        declarationStack.add(consts);
+        declareConstants(assertion);
 
         assertions.add(assertion);
-        enumStrategy.declareDatatypes(
-                consts.stream().map(ConstDecl::getType).toList(),
-                typeStack,
-                this::issueGeneralCommand);
-        consts.stream().map(symbolTable::getDeclaration).forEach(this::issueGeneralCommand);
         issueGeneralCommand(
                 String.format(
                         "(assert %s)",
@@ -165,6 +161,21 @@ public class SmtLibSolver implements UCSolver, Solver {
         clearState();
     }
 
+    private void declareConstants(final Expr<BoolType> expr) {
+        final var consts =
+                ExprUtils.getConstants(expr).stream()
+                        .filter(symbolTable::definesConst)
+                        .collect(Collectors.toSet());
+        consts.removeAll(declarationStack.toCollection());
+        declarationStack.add(consts);
+
+        enumStrategy.declareDatatypes(
+                consts.stream().map(ConstDecl::getType).toList(),
+                typeStack,
+                this::issueGeneralCommand);
+        consts.stream().map(symbolTable::getDeclaration).forEach(this::issueGeneralCommand);
+    }
+
     @Override
     public void track(Expr<BoolType> assertion) {
         final var consts = ExprUtils.getConstants(assertion);
@@ -195,7 +206,89 @@ public class SmtLibSolver implements UCSolver, Solver {
 
     @Override
     public SolverStatus check() {
-        solverBinary.issueCommand("(check-sat)");
+        clearState();
+        status = checkSat("(check-sat)");
+        return status;
+    }
+
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        checkNotNull(assumptions);
+        clearState();
+        final Map<String, Expr<BoolType>> termToAssumption = new LinkedHashMap<>();
+        for (final Expr<BoolType> assumption : assumptions) {
+            final String term = transformationManager.toTerm(assumption);
+            declareConstants(assumption);
+            termToAssumption.put(normalizeTerm(term), assumption);
+        }
+        status =
+                checkSat(
+                        String.format(
+                                "(check-sat-assuming (%s))",
+                                String.join(" ", termToAssumption.keySet())));
+        checkedAssumptions = termToAssumption;
+        return status;
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        checkState(status == SolverStatus.UNSAT, "Cannot get unsat core if status is not UNSAT");
+        checkState(checkedAssumptions != null, "Last check was not called with assumptions");
+
+        if (!unsatAssumptionsEnabled) {
+            return List.copyOf(checkedAssumptions.values());
+        }
+        solverBinary.issueCommand("(get-unsat-assumptions)");
+        final String response = solverBinary.readResponse().trim();
+        if (!response.startsWith("(") || response.startsWith("(error")) {
+            // Every assumption is a valid (but not minimal) core
+            return List.copyOf(checkedAssumptions.values());
+        }
+
+        final Collection<Expr<BoolType>> unsatAssumptions = new ArrayList<>();
+        for (final String term : splitTerms(response.substring(1, response.length() - 1))) {
+            final Expr<BoolType> assumption = checkedAssumptions.get(normalizeTerm(term));
+            if (assumption != null) {
+                unsatAssumptions.add(assumption);
+            }
+        }
+        return Collections.unmodifiableCollection(unsatAssumptions);
+    }
+
+    private static String normalizeTerm(final String term) {
+        return term.trim().replaceAll("\\s+", " ").replace("( ", "(").replace(" )", ")");
+    }
+
+    private static List<String> splitTerms(final String terms) {
+        final List<String> result = new ArrayList<>();
+        int depth = 0;
+        int start = -1;
+        for (int i = 0; i < terms.length(); i++) {
+            final char c = terms.charAt(i);
+            if (Character.isWhitespace(c) && depth == 0) {
+                if (start >= 0) {
+                    result.add(terms.substring(start, i));
+                    start = -1;
+                }
+                continue;
+            }
+            if (start < 0) {
+                start = i;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            }
+        }
+        if (start >= 0) {
+            result.add(terms.substring(start));
+        }
+        return result;
+    }
+
+    private SolverStatus checkSat(final String command) {
+        solverBinary.issueCommand(command);
 
         final String rp = solverBinary.readResponse();
         final var res = parseResponse(rp);
@@ -207,12 +300,10 @@ public class SmtLibSolver implements UCSolver, Solver {
         }
         final CheckSatResponse checkSatResponse = res.asSpecific().asCheckSatResponse();
         if (checkSatResponse.isSat()) {
-            status = SolverStatus.SAT;
-            return status;
+            return SolverStatus.SAT;
         }
         if (checkSatResponse.isUnsat()) {
-            status = SolverStatus.UNSAT;
-            return status;
+            return SolverStatus.UNSAT;
         }
         throw new UnknownSolverStatusException();
     }
@@ -333,6 +424,13 @@ public class SmtLibSolver implements UCSolver, Solver {
         if (unsatCoreEnabled) {
             issueGeneralCommand("(set-option :produce-unsat-cores true)");
         }
+        // Optional, getUnsatAssumptions falls back to all assumptions if not supported
+        solverBinary.issueCommand("(set-option :produce-unsat-assumptions true)");
+        try {
+            unsatAssumptionsEnabled = !parseResponse(solverBinary.readResponse()).isError();
+        } catch (final SmtLibSolverException e) {
+            unsatAssumptionsEnabled = false;
+        }
         if (logic.equals("HORN")) {
             issueGeneralCommand("(set-option :produce-proofs true)");
         }
@@ -343,6 +441,7 @@ public class SmtLibSolver implements UCSolver, Solver {
         status = null;
         model = null;
         unsatCore = null;
+        checkedAssumptions = null;
     }
 
     protected void issueGeneralCommand(String command) {
@@ -57,6 +57,7 @@ final class Z3Solver implements UCSolver, Solver {
 
     private Valuation model;
     private Collection<Expr<BoolType>> unsatCore;
+    private Map<com.microsoft.z3legacy.Expr, Expr<BoolType>> checkedAssumptions;
     private SolverStatus status;
 
     public Z3Solver(
@@ -110,11 +111,43 @@ final class Z3Solver implements UCSolver, Solver {
 
     @Override
     public SolverStatus check() {
+        clearState();
         final Status z3Status = z3Solver.check();
         status = transformStatus(z3Status);
         return status;
     }
 
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        checkNotNull(assumptions);
+        clearState();
+        final Map<com.microsoft.z3legacy.Expr, Expr<BoolType>> termToAssumption = Containers.createMap();
+        for (final Expr<BoolType> assumption : assumptions) {
+            termToAssumption.put(transformationManager.toTerm(assumption), assumption);
+        }
+        final com.microsoft.z3legacy.BoolExpr[] terms =
+                termToAssumption.keySet().toArray(new com.microsoft.z3legacy.BoolExpr[0]);
+        final Status z3Status = z3Solver.check(terms);
+        checkedAssumptions = termToAssumption;
+        status = transformStatus(z3Status);
+        return status;
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        checkState(status == SolverStatus.UNSAT, "Cannot get unsat core if status is not UNSAT");
+        checkState(checkedAssumptions != null, "Last check was not called with assumptions");
+
+        final Collection<Expr<BoolType>> unsatAssumptions = new ArrayList<>();
+        for (final com.microsoft.z3legacy.Expr term : z3Solver.getUnsatCore()) {
+            final Expr<BoolType> assumption = checkedAssumptions.get(term);
+            if (assumption != null) {
+                unsatAssumptions.add(assumption);
+            }
+        }
+        return Collections.unmodifiableCollection(unsatAssumptions);
+    }
+
     private SolverStatus transformStatus(final Status z3Status) {
         switch (z3Status) {
             case SATISFIABLE:
@@ -205,8 +238,11 @@ final class Z3Solver implements UCSolver, Solver {
             final String label = term.toString();
             final Expr<BoolType> assumption = assumptions.get(label);
 
-            assert assumption != null;
-            unsatCore.add(assumption);
+            // Terms of assumptions passed to check(Collection) are not tracked expressions
+            assert assumption != null || checkedAssumptions != null;
+            if (assumption != null) {
+                unsatCore.add(assumption);
+            }
         }
 
         return unsatCore;
@@ -221,6 +257,7 @@ final class Z3Solver implements UCSolver, Solver {
         status = null;
         model = null;
         unsatCore = null;
+        checkedAssumptions = null;
     }
 
     @Override
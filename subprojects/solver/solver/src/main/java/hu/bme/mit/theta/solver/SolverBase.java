@@ -30,6 +30,34 @@ public interface SolverBase extends AutoCloseable {
      */
     SolverStatus check();
 
+    /**
+     * Check if the currently added expressions are satisfiable together with the given assumptions.
+     * Assumptions only hold during this check, they are not added to the solver. This allows
+     * keeping a long-lived set of expressions in the solver and enabling parts of it by activation
+     * literals instead of {@link #push()}, {@link #pop()} and adding expressions again. Assumptions
+     * should be Boolean constants or negated Boolean constants, as not all backends support
+     * arbitrary expressions.
+     *
+     * @param assumptions Assumptions
+     * @return Status
+     */
+    default SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " does not support checking with assumptions.");
+    }
+
+    /**
+     * Get a (not necessarily minimal) subset of the assumptions of the last {@link
+     * #check(Collection)} call that is already unsatisfiable together with the added expressions.
+     * Should only be called if the result of that call is UNSAT.
+     *
+     * @return Unsatisfiable assumptions
+     */
+    default Collection<Expr<BoolType>> getUnsatAssumptions() {
+        throw new UnsupportedOperationException(
+                getClass().getSimpleName() + " does not support checking with assumptions.");
+    }
+
     /**
      * Push the current solver state. When calling {@link #pop()}, all expressions added after the
      * last push will be removed.
@@ -15,85 +15,326 @@
  */
 package hu.bme.mit.theta.solver;
 
-import com.google.common.base.Preconditions;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * A thread-safe pool of solvers. Solvers are created lazily on demand up to a maximal size, after
+ * which requests block until a solver is returned. Solvers that are idle for longer than the idle
+ * timeout are closed and removed from the pool. With thread affinity enabled, a thread gets back
+ * the solver it returned most recently (if it is still idle), so that declarations cached in the
+ * solver can be reused.
+ */
 public class SolverPool implements AutoCloseable {
 
-    private static final int STARTING_SIZE = 10;
-    private static final int GROWING = 5;
-
-    private int created = 0;
-
-    private final LinkedList<Solver> available;
-    private final List<Solver> all;
-
-    private final SolverFactory solverFactory;
-
     public enum ClosingMode {
         ALL,
         RETURNED
     }
 
+    private final SolverFactory solverFactory;
     private final ClosingMode closingMode;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final boolean threadAffinity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition solverReturned = lock.newCondition();
+
+    private final Deque<IdleSolver> idle;
+    private final Set<Solver> borrowed;
+    private final Map<Long, Solver> lastReturnedByThread;
+    private int live;
+    private boolean closed;
+
+    private long created;
+    private long borrowCount;
+    private long affinityHits;
+    private long evicted;
+    private long waitNanos;
+    private int peakBorrowed;
 
     public SolverPool(SolverFactory solverFactory) {
         this(solverFactory, ClosingMode.ALL);
     }
 
     public SolverPool(SolverFactory solverFactory, ClosingMode closingMode) {
-        this.solverFactory = solverFactory;
-        this.available = new LinkedList<>();
-        this.all = new ArrayList<>();
-        for (int i = 0; i < STARTING_SIZE; i++) {
-            final var solver = solverFactory.createSolver();
-            this.available.add(solver);
-            this.all.add(solver);
-        }
-        this.closingMode = closingMode;
+        this(solverFactory, closingMode, Integer.MAX_VALUE, Duration.ZERO, true);
+    }
+
+    private SolverPool(
+            final SolverFactory solverFactory,
+            final ClosingMode closingMode,
+            final int maxSize,
+            final Duration idleTimeout,
+            final boolean threadAffinity) {
+        this.solverFactory = checkNotNull(solverFactory);
+        this.closingMode = checkNotNull(closingMode);
+        checkArgument(maxSize > 0, "Maximal size must be positive");
+        checkArgument(!idleTimeout.isNegative(), "Idle timeout must not be negative");
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.threadAffinity = threadAffinity;
+        this.idle = new ArrayDeque<>();
+        this.borrowed = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.lastReturnedByThread = new HashMap<>();
+    }
+
+    public static Builder builder(final SolverFactory solverFactory) {
+        return new Builder(solverFactory);
     }
 
+    /**
+     * Borrows a solver from the pool. A new solver is created if no solver is idle and the pool
+     * is not full, otherwise the call blocks until a solver is returned.
+     */
     public Solver requestSolver() {
-        if (this.available.isEmpty()) createNewSolvers();
-        return this.available.removeFirst();
+        final Solver solver;
+        lock.lock();
+        try {
+            checkState(!closed, "Solver pool is closed");
+            evictIdle(System.nanoTime());
+            if (idle.isEmpty() && live >= maxSize) {
+                final long waitStart = System.nanoTime();
+                while (idle.isEmpty() && live >= maxSize) {
+                    solverReturned.awaitUninterruptibly();
+                    checkState(!closed, "Solver pool is closed");
+                }
+                waitNanos += System.nanoTime() - waitStart;
+            }
+            final Solver reused = takeIdle();
+            if (reused != null) {
+                markBorrowed(reused);
+                return reused;
+            }
+            // Reserve a slot, the solver itself is created outside the lock
+            live++;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            solver = solverFactory.createSolver();
+        } catch (final RuntimeException e) {
+            lock.lock();
+            try {
+                live--;
+                solverReturned.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            created++;
+            markBorrowed(solver);
+        } finally {
+            lock.unlock();
+        }
+        return solver;
     }
 
+    /** Returns a borrowed solver to the pool. Only solvers without assertions can be returned. */
     public void returnSolver(Solver solver) {
-        Preconditions.checkState(
-                solver.getAssertions().isEmpty(), "Only empty solvers can be returned");
-        //        System.out.println("Returned solver");
-        this.available.add(solver);
+        checkState(solver.getAssertions().isEmpty(), "Only empty solvers can be returned");
+        lock.lock();
+        try {
+            if (closed) {
+                // Solvers still borrowed when closing in RETURNED mode are closed on return
+                if (borrowed.remove(solver) && closingMode == ClosingMode.RETURNED) {
+                    closeSolver(solver);
+                }
+                return;
+            }
+            checkArgument(borrowed.remove(solver), "Solver was not borrowed from this pool");
+            final long now = System.nanoTime();
+            idle.addLast(new IdleSolver(solver, now));
+            if (threadAffinity) {
+                lastReturnedByThread.put(Thread.currentThread().getId(), solver);
+            }
+            evictIdle(now);
+            solverReturned.signal();
+        } finally {
+            lock.unlock();
+        }
     }
 
-    private void createNewSolvers() {
-        for (int i = 0; i < GROWING; i++) {
-            final var solver = solverFactory.createSolver();
-            this.available.add(solver);
-            this.all.add(solver);
+    /** Gets the number of solvers currently owned by the pool (idle or borrowed). */
+    public int size() {
+        lock.lock();
+        try {
+            return live;
+        } finally {
+            lock.unlock();
         }
-        //        System.out.println(created + " solvers created");
-        //        System.out.println("Free size: " + Runtime.getRuntime().freeMemory());
-        this.created = created + GROWING;
     }
 
-    public int size() {
-        return this.created;
+    public Statistics getStatistics() {
+        lock.lock();
+        try {
+            return new Statistics(
+                    created,
+                    borrowCount,
+                    affinityHits,
+                    evicted,
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos),
+                    peakBorrowed,
+                    live,
+                    borrowed.size());
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public void close() throws Exception {
-        //        System.out.println(all.size() - available.size() + " solvers not returned");
-        if (closingMode == ClosingMode.ALL) {
-            for (Solver solver : all) solver.close();
-            //            System.out.println("Closed " + all.size() + " solvers");
-        } else {
-            for (Solver solver : available) solver.close();
-            //            System.out.println("Closed " + available.size() + " solvers");
-        }
-        this.available.clear();
-        this.all.clear();
-        this.created = 0;
+        final List<Solver> toClose = new ArrayList<>();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (final IdleSolver idleSolver : idle) {
+                toClose.add(idleSolver.solver());
+            }
+            if (closingMode == ClosingMode.ALL) {
+                toClose.addAll(borrowed);
+                borrowed.clear();
+            }
+            idle.clear();
+            lastReturnedByThread.clear();
+            live = borrowed.size();
+            solverReturned.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (final Solver solver : toClose) {
+            solver.close();
+        }
+    }
+
+    private Solver takeIdle() {
+        if (idle.isEmpty()) {
+            return null;
+        }
+        if (threadAffinity) {
+            final Solver preferred = lastReturnedByThread.get(Thread.currentThread().getId());
+            if (preferred != null) {
+                for (final Iterator<IdleSolver> it = idle.iterator(); it.hasNext(); ) {
+                    if (it.next().solver() == preferred) {
+                        it.remove();
+                        affinityHits++;
+                        return preferred;
+                    }
+                }
+            }
+        }
+        // Most recently returned solver is the warmest one
+        return idle.pollLast().solver();
+    }
+
+    private void markBorrowed(final Solver solver) {
+        borrowed.add(solver);
+        borrowCount++;
+        peakBorrowed = Math.max(peakBorrowed, borrowed.size());
+    }
+
+    private void evictIdle(final long now) {
+        if (idleTimeoutNanos == 0) {
+            return;
+        }
+        // Idle solvers are ordered by the time they were returned
+        while (!idle.isEmpty() && now - idle.peekFirst().since() > idleTimeoutNanos) {
+            final Solver solver = idle.pollFirst().solver();
+            lastReturnedByThread.values().remove(solver);
+            live--;
+            evicted++;
+            closeSolver(solver);
+        }
+    }
+
+    private static void closeSolver(final Solver solver) {
+        try {
+            solver.close();
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private record IdleSolver(Solver solver, long since) {}
+
+    /**
+     * Usage statistics of a pool. Counters are cumulative, except for the number of live and
+     * borrowed solvers.
+     */
+    public record Statistics(
+            long created,
+            long borrowed,
+            long affinityHits,
+            long evicted,
+            long waitTimeMs,
+            int peakBorrowed,
+            int live,
+            int currentlyBorrowed) {}
+
+    public static final class Builder {
+        private final SolverFactory solverFactory;
+        private ClosingMode closingMode;
+        private int maxSize;
+        private Duration idleTimeout;
+        private boolean threadAffinity;
+
+        private Builder(final SolverFactory solverFactory) {
+            this.solverFactory = checkNotNull(solverFactory);
+            this.closingMode = ClosingMode.ALL;
+            this.maxSize = Integer.MAX_VALUE;
+            this.idleTimeout = Duration.ZERO;
+            this.threadAffinity = true;
+        }
+
+        public Builder closingMode(final ClosingMode closingMode) {
+            this.closingMode = closingMode;
+            return this;
+        }
+
+        /** Sets the maximal number of solvers. Requests block if all of them are borrowed. */
+        public Builder maxSize(final int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /** Sets the time after which idle solvers are closed. Zero disables eviction. */
+        public Builder idleTimeout(final Duration idleTimeout) {
+            this.idleTimeout = checkNotNull(idleTimeout);
+            return this;
+        }
+
+        public Builder threadAffinity(final boolean threadAffinity) {
+            this.threadAffinity = threadAffinity;
+            return this;
+        }
+
+        public SolverPool build() {
+            return new SolverPool(solverFactory, closingMode, maxSize, idleTimeout, threadAffinity);
+        }
     }
 }
@@ -0,0 +1,143 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.utils;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Iff;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+
+import hu.bme.mit.theta.common.container.Containers;
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.decl.Decls;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.anytype.RefExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.booltype.NotExpr;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverStatus;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helper for keeping expressions asserted in a solver once and enabling them per query by
+ * activation literals. The first time an expression is used, a fresh Boolean constant is
+ * introduced and defined to be equivalent to the expression. Queries then pass the literals (or
+ * their negations) as assumptions to {@link Solver#check(Collection)} instead of pushing, adding
+ * the expressions again and popping.
+ *
+ * <p>Definitions are added at the current level of the solver, so the solver should not be popped
+ * below that level while the literals are in use. The helper never pushes or pops a frame that
+ * outlives a call: the frame the definitions belong to is owned by the caller. To drop the
+ * definitions after a query on a solver shared with other components, push a frame, create a table
+ * in it and pop the frame afterwards. If the solver does not support checking with assumptions,
+ * {@link #check(Collection)} falls back to push and pop.
+ */
+public final class ActivationLiterals {
+
+    private static final AtomicInteger instanceCounter = new AtomicInteger();
+
+    private final Solver solver;
+    private final String litPrefix;
+    private final Map<Expr<BoolType>, RefExpr<BoolType>> exprToLit;
+    private final Map<Expr<BoolType>, Expr<BoolType>> litToExpr;
+    private boolean assumptionsSupported = true;
+    private int literalCount = 0;
+
+    private ActivationLiterals(final Solver solver) {
+        this.solver = checkNotNull(solver);
+        this.litPrefix = "__act_" + instanceCounter.getAndIncrement() + "_";
+        this.exprToLit = Containers.createMap();
+        this.litToExpr = Containers.createMap();
+    }
+
+    public static ActivationLiterals create(final Solver solver) {
+        return new ActivationLiterals(solver);
+    }
+
+    /**
+     * Gets the activation literal of an expression, adding its definition to the solver if it is
+     * used for the first time.
+     */
+    public RefExpr<BoolType> of(final Expr<BoolType> expr) {
+        checkNotNull(expr);
+        RefExpr<BoolType> lit = exprToLit.get(expr);
+        if (lit == null) {
+            lit = newLiteral();
+            solver.add(Iff(lit, expr));
+            exprToLit.put(expr, lit);
+            litToExpr.put(lit, expr);
+        }
+        return lit;
+    }
+
+    /**
+     * Creates a fresh literal without a definition. Expressions can be guarded by adding {@code
+     * Imply(lit, expr)} to the solver, and enabled by passing the literal as an assumption.
+     */
+    public RefExpr<BoolType> fresh() {
+        final RefExpr<BoolType> lit = newLiteral();
+        litToExpr.put(lit, lit);
+        return lit;
+    }
+
+    private RefExpr<BoolType> newLiteral() {
+        final ConstDecl<BoolType> decl = Decls.Const(litPrefix + literalCount++, Bool());
+        return decl.getRef();
+    }
+
+    /**
+     * Checks the assertions of the solver together with the given literals obtained by {@link
+     * #of(Expr)} or {@link #fresh()} (or their negations). If the result is SAT, the model can be
+     * queried from the solver, unless the solver does not support assumptions.
+     */
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> literals) {
+        checkNotNull(literals);
+        if (assumptionsSupported) {
+            try {
+                return solver.check(literals);
+            } catch (final UnsupportedOperationException e) {
+                assumptionsSupported = false;
+            }
+        }
+        final List<Expr<BoolType>> exprs = new ArrayList<>(literals.size());
+        for (final Expr<BoolType> literal : literals) {
+            exprs.add(definitionOf(literal));
+        }
+        try (WithPushPop wpp = new WithPushPop(solver)) {
+            solver.add(exprs);
+            return solver.check();
+        }
+    }
+
+    private Expr<BoolType> definitionOf(final Expr<BoolType> literal) {
+        if (literal instanceof NotExpr notExpr) {
+            return Not(definitionOf(notExpr.getOp()));
+        }
+        final Expr<BoolType> expr = litToExpr.get(literal);
+        checkArgument(expr != null, "Unknown activation literal: %s", literal);
+        return expr;
+    }
+
+    /** Gets the number of expressions defined in the solver. */
+    public int size() {
+        return exprToLit.size();
+    }
+}
@@ -17,6 +17,7 @@ package hu.bme.mit.theta.solver.validator;
 
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
 
+import com.google.common.collect.Iterables;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -47,6 +48,27 @@ public class UCSolverValidatorWrapper implements UCSolver {
         return check;
     }
 
+    @Override
+    public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+        SolverStatus check = solver.check(assumptions);
+        if (check.isSat()) {
+            final Valuation model = solver.getModel();
+            for (Expr<BoolType> assertion :
+                    Iterables.concat(solver.getAssertions(), assumptions)) {
+                if (!assertion.eval(model).equals(True())) {
+                    throw new RuntimeException(
+                            "Solver problem: " + assertion + " not True over {" + model + "}");
+                }
+            }
+        }
+        return check;
+    }
+
+    @Override
+    public Collection<Expr<BoolType>> getUnsatAssumptions() {
+        return solver.getUnsatAssumptions();
+    }
+
     @Override
     public void push() {
         solver.push();
@@ -0,0 +1,58 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver;
+
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.anytype.RefExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.utils.ActivationLiterals;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ActivationLiteralsTest {
+
+    private final Expr<BoolType> a = Const("a", Bool()).getRef();
+
+    @Test
+    public void testDefinitionsInCallerFrame() {
+        final SolverStub solver = new SolverStub();
+        solver.push();
+        final ActivationLiterals lits = ActivationLiterals.create(solver);
+
+        final RefExpr<BoolType> lit = lits.of(a);
+        Assert.assertEquals(lit, lits.of(a));
+        Assert.assertEquals(1, lits.size());
+        Assert.assertEquals(1, solver.nPush);
+
+        solver.pop();
+        Assert.assertEquals(0, solver.nPush);
+    }
+
+    @Test
+    public void testFallbackIsBalanced() {
+        final SolverStub solver = new SolverStub();
+        final ActivationLiterals lits = ActivationLiterals.create(solver);
+
+        final RefExpr<BoolType> lit = lits.of(a);
+        lits.check(List.of(lit, Not(lits.fresh())));
+        Assert.assertEquals(0, solver.nPush);
+    }
+}
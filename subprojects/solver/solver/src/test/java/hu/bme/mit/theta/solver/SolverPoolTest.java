@@ -0,0 +1,147 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class SolverPoolTest {
+
+    private static final class PooledSolverStub extends SolverStub {
+        boolean closed = false;
+
+        @Override
+        public Collection<Expr<BoolType>> getAssertions() {
+            return List.of();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static final class StubFactory implements SolverFactory {
+        int created = 0;
+
+        @Override
+        public synchronized Solver createSolver() {
+            created++;
+            return new PooledSolverStub();
+        }
+
+        @Override
+        public UCSolver createUCSolver() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ItpSolver createItpSolver() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Test
+    public void testLazyCreationAndReuse() throws Exception {
+        final StubFactory factory = new StubFactory();
+        try (final SolverPool pool = new SolverPool(factory)) {
+            assertEquals(0, factory.created);
+            final Solver s1 = pool.requestSolver();
+            final Solver s2 = pool.requestSolver();
+            assertNotSame(s1, s2);
+            assertEquals(2, factory.created);
+            pool.returnSolver(s1);
+            assertSame(s1, pool.requestSolver());
+            assertEquals(2, pool.size());
+            assertEquals(3, pool.getStatistics().borrowed());
+            assertEquals(2, pool.getStatistics().peakBorrowed());
+        }
+    }
+
+    @Test
+    public void testThreadAffinity() throws Exception {
+        final StubFactory factory = new StubFactory();
+        try (final SolverPool pool = new SolverPool(factory)) {
+            final Solver own = pool.requestSolver();
+            final Solver other =
+                    CompletableFuture.supplyAsync(pool::requestSolver).get(10, TimeUnit.SECONDS);
+            pool.returnSolver(own);
+            CompletableFuture.runAsync(() -> pool.returnSolver(other)).get(10, TimeUnit.SECONDS);
+            // The most recently returned solver is other, but this thread gets back its own one
+            assertSame(own, pool.requestSolver());
+            assertEquals(1, pool.getStatistics().affinityHits());
+        }
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        final StubFactory factory = new StubFactory();
+        try (final SolverPool pool = SolverPool.builder(factory).maxSize(1).build()) {
+            final Solver solver = pool.requestSolver();
+            final CompletableFuture<Solver> waiting =
+                    CompletableFuture.supplyAsync(pool::requestSolver);
+            Thread.sleep(50);
+            assertFalse(waiting.isDone());
+            pool.returnSolver(solver);
+            assertSame(solver, waiting.get(10, TimeUnit.SECONDS));
+            assertEquals(1, factory.created);
+        }
+    }
+
+    @Test
+    public void testIdleEviction() throws Exception {
+        final StubFactory factory = new StubFactory();
+        try (final SolverPool pool =
+                SolverPool.builder(factory).idleTimeout(Duration.ofMillis(1)).build()) {
+            final PooledSolverStub solver = (PooledSolverStub) pool.requestSolver();
+            pool.returnSolver(solver);
+            Thread.sleep(20);
+            assertNotSame(solver, pool.requestSolver());
+            assertTrue(solver.closed);
+            assertEquals(1, pool.getStatistics().evicted());
+            assertEquals(1, pool.size());
+        }
+    }
+
+    @Test
+    public void testClosingModes() throws Exception {
+        final SolverPool all = new SolverPool(new StubFactory(), SolverPool.ClosingMode.ALL);
+        final PooledSolverStub borrowedAll = (PooledSolverStub) all.requestSolver();
+        all.close();
+        assertTrue(borrowedAll.closed);
+
+        final SolverPool returned =
+                new SolverPool(new StubFactory(), SolverPool.ClosingMode.RETURNED);
+        final PooledSolverStub idle = (PooledSolverStub) returned.requestSolver();
+        final PooledSolverStub borrowed = (PooledSolverStub) returned.requestSolver();
+        returned.returnSolver(idle);
+        returned.close();
+        assertTrue(idle.closed);
+        assertFalse(borrowed.closed);
+    }
+}
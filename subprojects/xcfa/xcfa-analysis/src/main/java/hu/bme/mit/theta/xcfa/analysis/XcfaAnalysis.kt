@@ -34,21 +34,15 @@ import hu.bme.mit.theta.analysis.ptr.PtrState
 import hu.bme.mit.theta.analysis.ptr.getPtrInitFunc
 import hu.bme.mit.theta.analysis.ptr.getPtrTransFunc
 import hu.bme.mit.theta.analysis.waitlist.Waitlist
-import hu.bme.mit.theta.common.Try
 import hu.bme.mit.theta.common.logging.Logger
-import hu.bme.mit.theta.core.decl.Decls.Var
-import hu.bme.mit.theta.core.decl.VarDecl
-import hu.bme.mit.theta.core.stmt.Stmts
 import hu.bme.mit.theta.core.type.booltype.BoolExprs.True
-import hu.bme.mit.theta.core.utils.TypeUtils
 import hu.bme.mit.theta.solver.Solver
 import hu.bme.mit.theta.xcfa.analysis.XcfaProcessState.Companion.createLookup
 import hu.bme.mit.theta.xcfa.analysis.coi.ConeOfInfluence
-import hu.bme.mit.theta.xcfa.getFlatLabels
 import hu.bme.mit.theta.xcfa.getGlobalVarsWithNeededMutexes
 import hu.bme.mit.theta.xcfa.isWritten
 import hu.bme.mit.theta.xcfa.model.*
-import hu.bme.mit.theta.xcfa.passes.changeVars
+import java.lang.ref.WeakReference
 import java.util.*
 import java.util.function.Predicate
 
@@ -74,10 +68,10 @@ open class XcfaAnalysis<S : ExprState, P : Prec>(
 }
 
 /// Common
-private var tempCnt: Int = 0
 
-fun getCoreXcfaLts() =
-  LTS<XcfaState<out PtrState<out ExprState>>, XcfaAction> { s ->
+fun getCoreXcfaLts(): LTS<XcfaState<out PtrState<out ExprState>>, XcfaAction> {
+  val compiledEdges = CompiledEdges()
+  return LTS<XcfaState<out PtrState<out ExprState>>, XcfaAction> { s ->
     s.processes
       .map { proc ->
         if (proc.value.locs.peek().final) {
@@ -113,93 +107,68 @@ fun getCoreXcfaLts() =
           )
         } else {
           proc.value.locs.peek().outgoingEdges.map { edge ->
-            val newLabel = edge.label.changeVars(proc.value.varLookup.peek())
-            val flatLabels = newLabel.getFlatLabels()
-            if (flatLabels.any { it is InvokeLabel || it is StartLabel }) {
-              val newNewLabel =
-                SequenceLabel(
-                  flatLabels.map { label ->
-                    if (label is InvokeLabel) {
-                      val procedure =
-                        s.xcfa?.procedures?.find { proc -> proc.name == label.name }
-                          ?: error("No such method ${label.name}.")
-                      val lookup: MutableMap<VarDecl<*>, VarDecl<*>> = LinkedHashMap()
-                      SequenceLabel(
-                        listOf(
-                            procedure.params
-                              .withIndex()
-                              .filter { it.value.second != ParamDirection.OUT }
-                              .map { iVal ->
-                                val originalVar = iVal.value.first
-                                val tempVar =
-                                  Var("tmp${tempCnt++}_" + originalVar.name, originalVar.type)
-                                lookup[originalVar] = tempVar
-                                StmtLabel(
-                                  Stmts.Assign(
-                                    TypeUtils.cast(tempVar, tempVar.type),
-                                    TypeUtils.cast(label.params[iVal.index], tempVar.type),
-                                  ),
-                                  metadata = label.metadata,
-                                )
-                              },
-                            listOf(label.copy(tempLookup = lookup)),
-                          )
-                          .flatten()
-                      )
-                    } else if (label is StartLabel) {
-                      val procedure =
-                        s.xcfa?.procedures?.find { proc -> proc.name == label.name }
-                          ?: error("No such method ${label.name}.")
-                      val lookup: MutableMap<VarDecl<*>, VarDecl<*>> = LinkedHashMap()
-                      SequenceLabel(
-                        listOf(
-                            procedure.params
-                              .withIndex()
-                              .filter { it.value.second != ParamDirection.OUT }
-                              .mapNotNull { iVal ->
-                                val originalVar = iVal.value.first
-                                val tempVar =
-                                  Var("tmp${tempCnt++}_" + originalVar.name, originalVar.type)
-                                lookup[originalVar] = tempVar
-                                val trial =
-                                  Try.attempt {
-                                    StmtLabel(
-                                      Stmts.Assign(
-                                        TypeUtils.cast(tempVar, tempVar.type),
-                                        TypeUtils.cast(label.params[iVal.index], tempVar.type),
-                                      ),
-                                      metadata = label.metadata,
-                                    )
-                                  }
-                                if (trial.isSuccess) {
-                                  trial.asSuccess().value
-                                } else {
-                                  null
-                                }
-                              },
-                            listOf(label.copy(tempLookup = lookup)),
-                          )
-                          .flatten()
-                      )
-                    } else label
-                  }
-                )
-              XcfaAction(proc.key, edge.withLabel(newNewLabel), nextCnt = s.sGlobal.nextCnt)
-            } else XcfaAction(proc.key, edge.withLabel(newLabel), nextCnt = s.sGlobal.nextCnt)
+            val compiledEdge = compiledEdges.get(s.xcfa, edge, proc.value.varLookup.peek())
+            XcfaAction(proc.key, compiledEdge, nextCnt = s.sGlobal.nextCnt)
           }
         }
       }
       .flatten()
       .toSet()
   }
+}
 
 fun getXcfaLts(): LTS<XcfaState<out PtrState<out ExprState>>, XcfaAction> {
   val lts = getCoreXcfaLts()
   return LTS<XcfaState<out PtrState<out ExprState>>, XcfaAction> { s ->
-    lts.getEnabledActionsFor(s).filter { !s.apply(it).first.bottom }.toSet()
+    val handoff = applyHandoff.get().startWith(s)
+    lts
+      .getEnabledActionsFor(s)
+      .filter {
+        val applied = s.apply(it)
+        if (!applied.first.bottom) handoff.put(it, applied)
+        !applied.first.bottom
+      }
+      .toSet()
+  }
+}
+
+/**
+ * Hands the successors computed by the LTS of [getXcfaLts] (to filter out actions with bottom
+ * successors) over to the transfer functions, which apply the same actions to the same state right
+ * afterwards. Only the successors of the state expanded last on the thread are kept, and only
+ * weakly, so the handoff never keeps states alive.
+ */
+private class ApplyHandoff {
+
+  private var source = WeakReference<XcfaState<*>>(null)
+  private val applied = IdentityHashMap<XcfaAction, WeakReference<Pair<XcfaState<*>, XcfaAction>>>()
+
+  fun startWith(state: XcfaState<*>): ApplyHandoff {
+    source = WeakReference(state)
+    applied.clear()
+    return this
+  }
+
+  fun put(action: XcfaAction, result: Pair<XcfaState<*>, XcfaAction>) {
+    applied[action] = WeakReference(result)
+  }
+
+  /** Returns the successor the LTS computed for the state and action, or null if there is none. */
+  fun <S : ExprState> take(
+    state: XcfaState<S>,
+    action: XcfaAction,
+  ): Pair<XcfaState<S>, XcfaAction>? {
+    if (source.get() !== state) return null
+    @Suppress("UNCHECKED_CAST")
+    return applied.remove(action)?.get() as Pair<XcfaState<S>, XcfaAction>?
   }
 }
 
+private val applyHandoff = ThreadLocal.withInitial { ApplyHandoff() }
+
+private fun <S : ExprState> XcfaState<S>.applyHandedOff(a: XcfaAction) =
+  applyHandoff.get().take(this, a) ?: apply(a)
+
 enum class ErrorDetection {
   ERROR_LOCATION,
   DATA_RACE,
@@ -325,9 +294,10 @@ private fun getExplXcfaInitFunc(
         )
       }
       .toMap()
+  val context = XcfaAnalysisContext()
   return { p ->
     ExplInitFunc.create(solver, True()).getPtrInitFunc().getInitStates(p.p).map {
-      XcfaState(xcfa, processInitState, it)
+      XcfaState(xcfa, processInitState, it, context = context)
     }
   }
 }
@@ -343,7 +313,7 @@ private fun getExplXcfaTransFunc(
     (ExplStmtTransFunc.create(solver, maxEnum) as TransFunc<ExplState, ExprAction, ExplPrec>)
       .getPtrTransFunc(isHavoc)
   return { s, a, p ->
-    val (newSt, newAct) = s.apply(a)
+    val (newSt, newAct) = s.applyHandedOff(a)
     explTransFunc
       .getSuccStates(
         newSt.sGlobal,
@@ -391,9 +361,10 @@ private fun getPredXcfaInitFunc(
         )
       }
       .toMap()
+  val context = XcfaAnalysisContext()
   return { p ->
     PredInitFunc.create(predAbstractor, True()).getPtrInitFunc().getInitStates(p.p).map {
-      XcfaState(xcfa, processInitState, it)
+      XcfaState(xcfa, processInitState, it, context = context)
     }
   }
 }
@@ -408,7 +379,7 @@ private fun getPredXcfaTransFunc(
     (PredTransFunc.create<StmtAction>(predAbstractor) as TransFunc<PredState, ExprAction, PredPrec>)
       .getPtrTransFunc(isHavoc)
   return { s, a, p ->
-    val (newSt, newAct) = s.apply(a)
+    val (newSt, newAct) = s.applyHandedOff(a)
     predTransFunc
       .getSuccStates(
         newSt.sGlobal,
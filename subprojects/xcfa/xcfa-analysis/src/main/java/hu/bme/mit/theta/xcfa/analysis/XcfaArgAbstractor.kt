@@ -25,18 +25,28 @@ import hu.bme.mit.theta.analysis.algorithm.arg.ArgNode
 import hu.bme.mit.theta.analysis.algorithm.cegar.AbstractorResult
 import hu.bme.mit.theta.analysis.algorithm.cegar.BasicArgAbstractor
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion
-import hu.bme.mit.theta.analysis.reachedset.Partition
+import hu.bme.mit.theta.analysis.reachedset.CoveringIndex
 import hu.bme.mit.theta.analysis.waitlist.Waitlist
 import hu.bme.mit.theta.common.logging.Logger
 import java.util.function.Function
+import java.util.function.Supplier
 
 class XcfaArgAbstractor<S : State, A : Action, P : Prec>(
   argBuilder: ArgBuilder<S, A, P>,
   projection: Function<in S?, *>?,
+  coveringIndexFactory: Supplier<out CoveringIndex<S, A>>,
   waitlist: Waitlist<ArgNode<S, A>>,
   stopCriterion: StopCriterion<S, A>,
   logger: Logger,
-) : BasicArgAbstractor<S, A, P>(argBuilder, projection, waitlist, stopCriterion, logger) {
+) :
+  BasicArgAbstractor<S, A, P>(
+    argBuilder,
+    projection,
+    coveringIndexFactory,
+    waitlist,
+    stopCriterion,
+    logger,
+  ) {
 
   override fun check(arg: ARG<S, A>, prec: P): AbstractorResult {
     logger.write(Logger.Level.DETAIL, "|  |  Precision: %s%n", prec)
@@ -58,8 +68,7 @@ class XcfaArgAbstractor<S : State, A : Action, P : Prec>(
     )
     logger.write(Logger.Level.SUBSTEP, "|  |  Building ARG...")
 
-    val reachedSet: Partition<ArgNode<S, A>, *> =
-      Partition.of { n: ArgNode<S, A> -> projection.apply(n.state) }
+    val reachedSet: CoveringIndex<S, A> = coveringIndexFactory.get()
     waitlist.clear()
 
     reachedSet.addAll(arg.nodes)
@@ -70,10 +79,10 @@ class XcfaArgAbstractor<S : State, A : Action, P : Prec>(
         val node = waitlist.remove()
         var newNodes: Collection<ArgNode<S, A>>? = emptyList()
         if ((node.state as XcfaState<*>).xcfa!!.isInlined) {
-          close(node, reachedSet[node])
+          close(node, reachedSet.getCandidates(node))
         } else {
           val expandProcedureCall = (node.state as XcfaState<*>) in (prec as XcfaPrec<P>).noPop
-          closePop(node, reachedSet[node], !expandProcedureCall)
+          closePop(node, reachedSet.getCandidates(node), !expandProcedureCall)
         }
         if (!node.isSubsumed && !node.isTarget) {
           newNodes = argBuilder.expand(node, prec)
@@ -137,7 +146,14 @@ class XcfaArgAbstractor<S : State, A : Action, P : Prec>(
     BasicArgAbstractor.Builder<S, A, P>(argBuilder) {
 
     override fun build(): BasicArgAbstractor<S, A, P> {
-      return XcfaArgAbstractor(argBuilder, projection, waitlist, stopCriterion, logger)
+      return XcfaArgAbstractor(
+        argBuilder,
+        projection,
+        getCoveringIndexFactory(),
+        waitlist,
+        stopCriterion,
+        logger,
+      )
     }
   }
 }
@@ -0,0 +1,229 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.analysis
+
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import hu.bme.mit.theta.common.Try
+import hu.bme.mit.theta.core.decl.Decls.Var
+import hu.bme.mit.theta.core.decl.VarDecl
+import hu.bme.mit.theta.core.stmt.Stmts
+import hu.bme.mit.theta.core.type.anytype.RefExpr
+import hu.bme.mit.theta.core.utils.TypeUtils
+import hu.bme.mit.theta.core.utils.TypeUtils.cast
+import hu.bme.mit.theta.xcfa.AssignStmtLabel
+import hu.bme.mit.theta.xcfa.getFlatLabels
+import hu.bme.mit.theta.xcfa.model.*
+import hu.bme.mit.theta.xcfa.passes.changeVars
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+/*
+ * Label semantics used by XcfaState.apply and the XCFA LTS, computed once instead of on every
+ * transition: fence labels are parsed into mutex effects, procedures are looked up by name in an
+ * index, and call labels (with their parameter passing) are built once per edge and stack frame.
+ */
+
+/** Effect of a single fence label on the state. */
+internal sealed class FenceEffect {
+
+  /** Acquires the mutex for the acting process, or for no process (-1) if not [byActor]. */
+  data class Enter(val mutex: String, val byActor: Boolean) : FenceEffect()
+
+  /** Releases the mutex held by the acting process, or by no process (-1) if not [byActor]. */
+  data class Exit(val mutex: String, val byActor: Boolean) : FenceEffect()
+
+  object ThreadExit : FenceEffect()
+}
+
+private val mutexLock = Regex("mutex_lock\\((.*)\\)")
+private val mutexUnlock = Regex("mutex_unlock\\((.*)\\)")
+private val startCondWait = Regex("start_cond_wait\\((.*)\\)")
+private val condWait = Regex("cond_wait\\((.*)\\)")
+private val condSignal = Regex("cond_signal\\((.*)\\)")
+
+private val fenceEffects = ConcurrentHashMap<String, List<FenceEffect>>()
+
+internal fun fenceEffects(label: String): List<FenceEffect> =
+  fenceEffects.getOrPut(label) { parseFenceLabel(label) }
+
+private fun parseFenceLabel(label: String): List<FenceEffect> {
+  when (label) {
+    "ATOMIC_BEGIN" -> return listOf(FenceEffect.Enter("", true))
+    "ATOMIC_END" -> return listOf(FenceEffect.Exit("", true))
+    "pthread_exit" -> return listOf(FenceEffect.ThreadExit)
+  }
+  mutexLock.matchEntire(label)?.let {
+    return listOf(FenceEffect.Enter(it.groupValues[1], true))
+  }
+  mutexUnlock.matchEntire(label)?.let {
+    return listOf(FenceEffect.Exit(it.groupValues[1], true))
+  }
+  startCondWait.matchEntire(label)?.let {
+    val args = it.groupValues[1].split(",")
+    return listOf(FenceEffect.Enter(args[0], false), FenceEffect.Exit(args[1], true))
+  }
+  condWait.matchEntire(label)?.let {
+    val args = it.groupValues[1].split(",")
+    return listOf(
+      FenceEffect.Enter(args[0], true),
+      FenceEffect.Exit(args[0], true),
+      FenceEffect.Enter(args[1], true),
+    )
+  }
+  condSignal.matchEntire(label)?.let {
+    return listOf(FenceEffect.Exit(it.groupValues[1], false))
+  }
+  error("Unknown fence label $label")
+}
+
+// keyed by the procedure set, as recreating an XCFA replaces it
+private val procedureIndex: Cache<Set<XcfaProcedure>, Map<String, XcfaProcedure>> =
+  CacheBuilder.newBuilder().weakKeys().build()
+
+internal fun XCFA.procedure(name: String): XcfaProcedure? =
+  procedureIndex
+    .get(procedures) { procedures.groupBy { it.name }.mapValues { it.value.first() } }[name]
+
+/** The invoked procedure and the label assigning its out parameters after returning. */
+internal data class InvokeSemantics(val procedure: XcfaProcedure, val returnStmt: XcfaLabel)
+
+private val invokeSemantics: Cache<InvokeLabel, InvokeSemantics> =
+  CacheBuilder.newBuilder().weakKeys().build()
+
+internal fun XCFA?.invokeSemantics(label: InvokeLabel): InvokeSemantics =
+  invokeSemantics.get(label) {
+    val proc = this?.procedure(label.name) ?: error("No such method ${label.name}.")
+    val returnStmt =
+      SequenceLabel(
+        proc.params
+          .withIndex()
+          .filter { it.value.second != ParamDirection.IN }
+          .map { iVal ->
+            AssignStmtLabel(
+              label.params[iVal.index] as RefExpr<*>,
+              cast(iVal.value.first.ref, iVal.value.first.type),
+              metadata = label.metadata,
+            )
+          }
+      )
+    InvokeSemantics(proc, returnStmt)
+  }
+
+/**
+ * Edges of the LTS for every stack frame (identified by its variable lookup) and original edge.
+ * Invoke labels get the same temporary variables whenever the same edge is taken in the same frame
+ * (the callee reads them in its first step); other frames and threads have their own. Edges
+ * starting threads are compiled on every traversal instead: a started thread reads its temporaries
+ * only when it is first scheduled, so another thread started by the same edge in the meantime must
+ * not overwrite them.
+ */
+internal class CompiledEdges {
+
+  private val edges: Cache<Map<VarDecl<*>, VarDecl<*>>, MutableMap<XcfaEdge, XcfaEdge>> =
+    CacheBuilder.newBuilder().weakKeys().build()
+
+  private val startsThreads: Cache<XcfaEdge, Boolean> = CacheBuilder.newBuilder().weakKeys().build()
+
+  private val tempCnt = AtomicInteger()
+
+  fun get(xcfa: XCFA?, edge: XcfaEdge, lookup: Map<VarDecl<*>, VarDecl<*>>): XcfaEdge {
+    if (startsThreads.get(edge) { edge.label.getFlatLabels().any { it is StartLabel } }) {
+      return compile(xcfa, edge, lookup)
+    }
+    return edges
+      .get(lookup) { Collections.synchronizedMap(IdentityHashMap()) }
+      .getOrPut(edge) { compile(xcfa, edge, lookup) }
+  }
+
+  private fun compile(
+    xcfa: XCFA?,
+    edge: XcfaEdge,
+    lookup: Map<VarDecl<*>, VarDecl<*>>,
+  ): XcfaEdge {
+    val newLabel = edge.label.changeVars(lookup)
+    val flatLabels = newLabel.getFlatLabels()
+    if (flatLabels.none { it is InvokeLabel || it is StartLabel }) {
+      return edge.withLabel(newLabel)
+    }
+    val newNewLabel =
+      SequenceLabel(
+        flatLabels.map { label ->
+          if (label is InvokeLabel) {
+            val procedure = xcfa?.procedure(label.name) ?: error("No such method ${label.name}.")
+            val lookup: MutableMap<VarDecl<*>, VarDecl<*>> = LinkedHashMap()
+            SequenceLabel(
+              listOf(
+                  procedure.params
+                    .withIndex()
+                    .filter { it.value.second != ParamDirection.OUT }
+                    .map { iVal ->
+                      val originalVar = iVal.value.first
+                      val tempVar =
+                        Var("tmp${tempCnt.getAndIncrement()}_" + originalVar.name, originalVar.type)
+                      lookup[originalVar] = tempVar
+                      StmtLabel(
+                        Stmts.Assign(
+                          TypeUtils.cast(tempVar, tempVar.type),
+                          TypeUtils.cast(label.params[iVal.index], tempVar.type),
+                        ),
+                        metadata = label.metadata,
+                      )
+                    },
+                  listOf(label.copy(tempLookup = lookup)),
+                )
+                .flatten()
+            )
+          } else if (label is StartLabel) {
+            val procedure = xcfa?.procedure(label.name) ?: error("No such method ${label.name}.")
+            val lookup: MutableMap<VarDecl<*>, VarDecl<*>> = LinkedHashMap()
+            SequenceLabel(
+              listOf(
+                  procedure.params
+                    .withIndex()
+                    .filter { it.value.second != ParamDirection.OUT }
+                    .mapNotNull { iVal ->
+                      val originalVar = iVal.value.first
+                      val tempVar =
+                        Var("tmp${tempCnt.getAndIncrement()}_" + originalVar.name, originalVar.type)
+                      lookup[originalVar] = tempVar
+                      val trial =
+                        Try.attempt {
+                          StmtLabel(
+                            Stmts.Assign(
+                              TypeUtils.cast(tempVar, tempVar.type),
+                              TypeUtils.cast(label.params[iVal.index], tempVar.type),
+                            ),
+                            metadata = label.metadata,
+                          )
+                        }
+                      if (trial.isSuccess) {
+                        trial.asSuccess().value
+                      } else {
+                        null
+                      }
+                    },
+                  listOf(label.copy(tempLookup = lookup)),
+                )
+                .flatten()
+            )
+          } else label
+        }
+      )
+    return edge.withLabel(newNewLabel)
+  }
+}
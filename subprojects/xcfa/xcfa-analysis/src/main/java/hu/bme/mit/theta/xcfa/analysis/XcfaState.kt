@@ -20,17 +20,28 @@ import hu.bme.mit.theta.core.decl.Decls.Var
 import hu.bme.mit.theta.core.decl.VarDecl
 import hu.bme.mit.theta.core.stmt.Stmts.Assign
 import hu.bme.mit.theta.core.type.Expr
-import hu.bme.mit.theta.core.type.anytype.RefExpr
 import hu.bme.mit.theta.core.type.booltype.BoolType
 import hu.bme.mit.theta.core.utils.TypeUtils.cast
-import hu.bme.mit.theta.xcfa.AssignStmtLabel
 import hu.bme.mit.theta.xcfa.getFlatLabels
 import hu.bme.mit.theta.xcfa.model.*
 import hu.bme.mit.theta.xcfa.passes.changeVars
 import java.util.*
+import java.util.concurrent.atomic.AtomicInteger
 
-private var pidCnt = 1
-private var procCnt = 1
+/**
+ * Counters naming the threads and procedure frames started during one analysis. The initial states
+ * of an analysis share a context, which is passed on to all of their successors. The context is not
+ * part of the abstract state, so it is ignored when comparing states.
+ */
+class XcfaAnalysisContext {
+
+  private val pidCnt = AtomicInteger(1)
+  private val procCnt = AtomicInteger(1)
+
+  internal fun nextPid(): Int = pidCnt.getAndIncrement()
+
+  internal fun nextProcedureFrame(): Int = procCnt.getAndIncrement()
+}
 
 data class XcfaState<S : ExprState>
 @JvmOverloads
@@ -41,6 +52,7 @@ constructor(
   val mutexes: Map<String, Int> = processes.keys.associateBy { "$it" },
   val threadLookup: Map<VarDecl<*>, Int> = emptyMap(),
   val bottom: Boolean = false,
+  val context: XcfaAnalysisContext = XcfaAnalysisContext(),
 ) : ExprState {
 
   constructor(
@@ -83,74 +95,29 @@ constructor(
           is FenceLabel ->
             it.labels
               .forEach { label ->
-                when (label) {
-                  "ATOMIC_BEGIN" -> changes.add { it.enterMutex("", a.pid) }
-                  "ATOMIC_END" -> changes.add { it.exitMutex("", a.pid) }
-                  in Regex("mutex_lock\\((.*)\\)") ->
-                    changes.add { state ->
-                      state.enterMutex(
-                        label.substring("mutex_lock".length + 1, label.length - 1),
-                        a.pid,
-                      )
+                fenceEffects(label).forEach { effect ->
+                  when (effect) {
+                    is FenceEffect.Enter -> {
+                      val pid = if (effect.byActor) a.pid else -1
+                      changes.add { state -> state.enterMutex(effect.mutex, pid) }
                     }
 
-                  in Regex("mutex_unlock\\((.*)\\)") ->
-                    changes.add { state ->
-                      state.exitMutex(
-                        label.substring("mutex_unlock".length + 1, label.length - 1),
-                        a.pid,
-                      )
+                    is FenceEffect.Exit -> {
+                      val pid = if (effect.byActor) a.pid else -1
+                      changes.add { state -> state.exitMutex(effect.mutex, pid) }
                     }
 
-                  in Regex("start_cond_wait\\((.*)\\)") -> {
-                    val args =
-                      label.substring("start_cond_wait".length + 1, label.length - 1).split(",")
-                    changes.add { state -> state.enterMutex(args[0], -1) }
-                    changes.add { state -> state.exitMutex(args[1], a.pid) }
-                  }
-
-                  in Regex("cond_wait\\((.*)\\)") -> {
-                    val args = label.substring("cond_wait".length + 1, label.length - 1).split(",")
-                    changes.add { state -> state.enterMutex(args[0], a.pid) }
-                    changes.add { state -> state.exitMutex(args[0], a.pid) }
-                    changes.add { state -> state.enterMutex(args[1], a.pid) }
-                  }
-
-                  in Regex("cond_signal\\((.*)\\)") ->
-                    changes.add { state ->
-                      state.exitMutex(
-                        label.substring("cond_signal".length + 1, label.length - 1),
-                        -1,
-                      )
+                    FenceEffect.ThreadExit -> {
+                      if (processState.locs.size > 1)
+                        error("pthread_exit not allowed in invoked function")
                     }
-
-                  "pthread_exit" -> {
-                    if (processState.locs.size > 1)
-                      error("pthread_exit not allowed in invoked function")
                   }
-
-                  else -> error("Unknown fence label $label")
                 }
               }
               .let { false }
 
           is InvokeLabel -> {
-            val proc =
-              xcfa?.procedures?.find { proc -> proc.name == it.name }
-                ?: error("No such method ${it.name}.")
-            val returnStmt =
-              SequenceLabel(
-                proc.params
-                  .withIndex()
-                  .filter { it.value.second != ParamDirection.IN }
-                  .map { iVal ->
-                    AssignStmtLabel(
-                      it.params[iVal.index] as RefExpr<*>,
-                      cast(iVal.value.first.ref, iVal.value.first.type),
-                      metadata = it.metadata,
-                    )
-                  }
-              )
+            val (proc, returnStmt) = xcfa.invokeSemantics(it)
             changes.add { state ->
               state.invokeFunction(a.pid, proc, returnStmt, proc.params.toMap(), it.tempLookup)
             }
@@ -189,7 +156,7 @@ constructor(
     val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
     val newThreadLookup: MutableMap<VarDecl<*>, Int> = LinkedHashMap(threadLookup)
 
-    val procedure = checkNotNull(xcfa?.procedures?.find { it.name == startLabel.name })
+    val procedure = checkNotNull(xcfa?.procedure(startLabel.name))
     val paramList = procedure.params.toMap()
     val tempLookup = startLabel.tempLookup
     val returnStmt =
@@ -206,7 +173,7 @@ constructor(
         //                }
       )
 
-    val pid = pidCnt++
+    val pid = context.nextPid()
     val lookup = XcfaProcessState.createLookup(procedure, "T$pid", "")
     newThreadLookup[startLabel.pidVar] = pid
     newProcesses[pid] =
@@ -272,7 +239,15 @@ constructor(
   ): XcfaState<S> {
     val newProcesses: MutableMap<Int, XcfaProcessState> = LinkedHashMap(processes)
     newProcesses[pid] =
-      checkNotNull(processes[pid]?.enterFunction(proc, returnStmt, paramList, tempLookup))
+      checkNotNull(
+        processes[pid]?.enterFunction(
+          proc,
+          returnStmt,
+          paramList,
+          tempLookup,
+          context.nextProcedureFrame(),
+        )
+      )
     return copy(processes = newProcesses)
   }
 
@@ -304,6 +279,32 @@ constructor(
     return copy(sGlobal = s)
   }
 
+  override fun equals(other: Any?): Boolean {
+    if (this === other) return true
+    if (javaClass != other?.javaClass) return false
+
+    other as XcfaState<*>
+
+    if (xcfa != other.xcfa) return false
+    if (processes != other.processes) return false
+    if (sGlobal != other.sGlobal) return false
+    if (mutexes != other.mutexes) return false
+    if (threadLookup != other.threadLookup) return false
+    if (bottom != other.bottom) return false
+
+    return true
+  }
+
+  override fun hashCode(): Int {
+    var result = xcfa?.hashCode() ?: 0
+    result = 31 * result + processes.hashCode()
+    result = 31 * result + sGlobal.hashCode()
+    result = 31 * result + mutexes.hashCode()
+    result = 31 * result + threadLookup.hashCode()
+    result = 31 * result + bottom.hashCode()
+    return result
+  }
+
   override fun toString(): String {
     return "$processes {$sGlobal, mutex=$mutexes${if (bottom) ", bottom" else ""}}"
   }
@@ -341,13 +342,14 @@ data class XcfaProcessState(
     returnStmt: XcfaLabel,
     paramList: Map<VarDecl<*>, ParamDirection>,
     tempLookup: Map<VarDecl<*>, VarDecl<*>>,
+    frame: Int,
   ): XcfaProcessState {
     val deque: LinkedList<XcfaLocation> = LinkedList(locs)
     val varLookup: LinkedList<Map<VarDecl<*>, VarDecl<*>>> = LinkedList(varLookup)
     val returnStmts: LinkedList<XcfaLabel> = LinkedList(returnStmts)
     val paramStmts: LinkedList<Pair<XcfaLabel, XcfaLabel>> = LinkedList(paramStmts)
     deque.push(xcfaProcedure.initLoc)
-    val lookup = createLookup(xcfaProcedure, prefix, "P${procCnt++}")
+    val lookup = createLookup(xcfaProcedure, prefix, "P$frame")
     varLookup.push(lookup)
     returnStmts.push(returnStmt)
     paramStmts.push(
@@ -80,6 +80,9 @@ class XcfaOcChecker(
   private val memoryDecl = Decls.Var("__oc_checker_memory_declaration__", Int())
 
   private val threads = mutableSetOf<Thread>()
+  private var threadCnt = 0
+  private var eventCnt = 0
+  private var clkCnt = 0
   private val events = mutableMapOf<VarDecl<*>, MutableMap<Int, MutableList<E>>>()
   private val violations = mutableListOf<Violation>() // OR!
   private val branchingConditions = mutableListOf<Expr<BoolType>>()
@@ -98,7 +101,7 @@ class XcfaOcChecker(
         if (xcfa.initProcedures.size > 1) exit("multiple entry points")
 
         logger.mainStep("Adding constraints...")
-        xcfa.initProcedures.forEach { ThreadProcessor(Thread(procedure = it.first)).process() }
+        xcfa.initProcedures.forEach { ThreadProcessor(Thread(threadCnt++, it.first)).process() }
         addCrossThreadRelations()
         if (!addToSolver(ocChecker.solver)) return@let SafetyResult.safe(EmptyProof.getInstance())
         val (preservedPos, preservedWss) = memoryModel.filter(events, pos, wss)
@@ -176,13 +179,13 @@ class XcfaOcChecker(
     private var atomicEntered: Boolean? = null
     private val multipleUsePidVars = mutableSetOf<VarDecl<*>>()
 
+    private fun clkId(useLastClk: Boolean): Int = if (useLastClk) last.first().clkId else clkCnt++
+
     fun event(d: VarDecl<*>, type: EventType, varPid: Int? = null): List<E> {
       check(!inEdge || last.size == 1)
       val decl = d.threadVar(varPid ?: pid)
       val useLastClk = inEdge || atomicEntered == true
-      val e =
-        if (useLastClk) E(decl.getNewIndexed(), type, guard, pid, edge, last.first().clkId)
-        else E(decl.getNewIndexed(), type, guard, pid, edge)
+      val e = E(decl.getNewIndexed(), type, guard, pid, edge, clkId(useLastClk), eventCnt++)
       last.forEach { po(it, e) }
       inEdge = true
       if (atomicEntered == false) atomicEntered = true
@@ -204,9 +207,17 @@ class XcfaOcChecker(
       val offset = deref.offset.with(consts)
       val useLastClk = inEdge || atomicEntered == true
       val e =
-        if (useLastClk)
-          E(memoryDecl.getNewIndexed(), type, guard, pid, edge, last.first().clkId, array, offset)
-        else E(memoryDecl.getNewIndexed(), type, guard, pid, edge, array = array, offset = offset)
+        E(
+          memoryDecl.getNewIndexed(),
+          type,
+          guard,
+          pid,
+          edge,
+          clkId(useLastClk),
+          eventCnt++,
+          array,
+          offset,
+        )
       last.forEach { po(it, e) }
       inEdge = true
       if (atomicEntered == false) atomicEntered = true
@@ -352,7 +363,7 @@ class XcfaOcChecker(
                 val procedure =
                   xcfa.procedures.find { it.name == label.name }
                     ?: exit("unknown procedure name: ${label.name}")
-                val newPid = Thread.uniqueId()
+                val newPid = threadCnt++
 
                 // assign parameter
                 val consts = label.params[1].toEvents()
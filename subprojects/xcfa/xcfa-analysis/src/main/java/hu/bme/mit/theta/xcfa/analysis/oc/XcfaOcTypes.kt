@@ -88,10 +88,10 @@ internal class XcfaEvent(
   guard: Set<Expr<BoolType>>,
   pid: Int,
   val edge: XcfaEdge,
-  clkId: Int = uniqueClkId(),
+  clkId: Int,
+  val id: Int,
   val array: Expr<*>? = null,
   val offset: Expr<*>? = null,
-  val id: Int = uniqueId(),
 ) : Event(const, type, guard, pid, clkId) {
 
   private var arrayStatic: LitExpr<*>? = null
@@ -107,16 +107,6 @@ internal class XcfaEvent(
     offsetStatic = tryOrNull { offset?.eval(ImmutableValuation.empty()) }
   }
 
-  companion object {
-
-    private var idCnt: Int = 0
-    private var clkCnt: Int = 0
-
-    private fun uniqueId(): Int = idCnt++
-
-    private fun uniqueClkId(): Int = clkCnt++
-  }
-
   // A (memory) event is only considered enabled if the array and offset expressions are also known
   override fun enabled(valuation: Valuation): Boolean? {
     when (val e = super.enabled(valuation)) {
@@ -201,7 +191,7 @@ internal data class Violation(
 )
 
 internal data class Thread(
-  val pid: Int = uniqueId(),
+  val pid: Int,
   val procedure: XcfaProcedure,
   val guard: Set<Expr<BoolType>> = setOf(),
   val pidVar: VarDecl<*>? = null,
@@ -212,13 +202,6 @@ internal data class Thread(
 ) {
 
   val finalEvents: MutableSet<XcfaEvent> = mutableSetOf()
-
-  companion object {
-
-    private var cnt: Int = 0
-
-    fun uniqueId(): Int = cnt++
-  }
 }
 
 internal data class SearchItem(val loc: XcfaLocation) {
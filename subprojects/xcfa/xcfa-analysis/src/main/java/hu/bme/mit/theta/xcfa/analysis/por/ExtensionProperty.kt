@@ -15,34 +15,69 @@
  */
 package hu.bme.mit.theta.xcfa.analysis.por
 
+import com.google.common.collect.MapMaker
 import java.util.*
 import kotlin.properties.ReadWriteProperty
 import kotlin.reflect.KProperty
 
+/*
+ * Extension properties backed by side tables. The tables compare their keys by identity and hold
+ * them weakly, so the data of a state, action or location lives exactly as long as the object
+ * itself (e.g., until its ARG node is pruned and it becomes unreachable) instead of for the rest of
+ * the run.
+ */
+
+private fun <R, T> weakIdentityMap(): MutableMap<R & Any, T & Any> = MapMaker().weakKeys().makeMap()
+
 fun <R, T> extension() = ExtensionProperty<R, T>()
 
 fun <R, T> nullableExtension() = NullableExtensionProperty<R, T?>()
 
+fun <R> flagExtension() = FlagExtensionProperty<R>()
+
 class ExtensionProperty<R, T> : ReadWriteProperty<R, T> {
 
-  private val map = IdentityHashMap<R, T>()
+  private val map = weakIdentityMap<R, T>()
 
-  override fun getValue(thisRef: R, property: KProperty<*>) = checkNotNull(map[thisRef])
+  override fun getValue(thisRef: R, property: KProperty<*>): T = checkNotNull(map[thisRef])
 
   override fun setValue(thisRef: R, property: KProperty<*>, value: T) {
-    map[thisRef] = value
+    map[thisRef!!] = value!!
   }
+
+  /** Whether the property is set for the given object. */
+  fun isSetFor(thisRef: R): Boolean = map.containsKey(thisRef)
 }
 
 open class NullableExtensionProperty<R, T> : ReadWriteProperty<R, T?> {
 
-  protected val map = IdentityHashMap<R, T?>()
+  protected val map = weakIdentityMap<R, T>()
 
-  override fun getValue(thisRef: R, property: KProperty<*>) = map[thisRef]
+  override fun getValue(thisRef: R, property: KProperty<*>): T? = map[thisRef]
 
   override fun setValue(thisRef: R, property: KProperty<*>, value: T?) {
-    map[thisRef] = value
+    if (value == null) map.remove(thisRef) else map[thisRef!!] = value
   }
 
   fun clear() = map.clear()
+
+  /** Whether the property is set for the given object. */
+  fun isSetFor(thisRef: R): Boolean = map.containsKey(thisRef)
+}
+
+/** A boolean property stored as a set of the objects it holds for (false by default). */
+class FlagExtensionProperty<R> : ReadWriteProperty<R, Boolean> {
+
+  private val set: MutableSet<R & Any> = Collections.newSetFromMap(weakIdentityMap<R, Boolean>())
+
+  override fun getValue(thisRef: R, property: KProperty<*>): Boolean = set.contains(thisRef)
+
+  override fun setValue(thisRef: R, property: KProperty<*>, value: Boolean) {
+    if (value) set.add(thisRef!!) else set.remove(thisRef)
+  }
+
+  fun clear() = set.clear()
+
+  /** Whether the property holds for the given object. */
+  fun isSetFor(thisRef: R): Boolean = set.contains(thisRef)
 }
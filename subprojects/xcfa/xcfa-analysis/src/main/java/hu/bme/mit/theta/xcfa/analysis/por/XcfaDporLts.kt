@@ -43,17 +43,20 @@ private typealias A = XcfaAction
 private typealias Node = ArgNode<out S, A>
 
 /** Backtrack set of a state: actions to be explored when backtracking in DFS. */
-private var State.backtrack: MutableSet<A> by extension()
+private val backtrackDelegate = extension<State, MutableSet<A>>()
+private var State.backtrack: MutableSet<A> by backtrackDelegate
 
 /** Sleep set of a state: actions that need not be explored. */
-private var State.sleep: MutableSet<A> by extension()
+private val sleepDelegate = extension<State, MutableSet<A>>()
+private var State.sleep: MutableSet<A> by sleepDelegate
 
 /** Set of explored actions from a state. */
-private var State.explored: MutableSet<A> by extension()
+private val exploredDelegate = extension<State, MutableSet<A>>()
+private var State.explored: MutableSet<A> by exploredDelegate
 
 /** Reexplored actions in a new CEGAR iteration (only relevant when lazy pruning is used). */
-private val reExploredDelegate = nullableExtension<State, Boolean?>()
-private var State.reExplored: Boolean? by reExploredDelegate
+private val reExploredDelegate = flagExtension<State>()
+private var State.reExplored: Boolean by reExploredDelegate
 
 /** Explored actions from an ARG node. */
 private val Node.explored: Set<A>
@@ -73,6 +76,16 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
     var random: Random =
       Random.Default // use Random(seed) with a seed or Random.Default without seed
 
+    /**
+     * Whether the state has DPOR data (backtrack, sleep or explored set or the reexplored flag) in
+     * the side tables.
+     */
+    internal fun hasStateData(state: State): Boolean =
+      backtrackDelegate.isSetFor(state) ||
+        sleepDelegate.isSetFor(state) ||
+        exploredDelegate.isSetFor(state) ||
+        reExploredDelegate.isSetFor(state)
+
     /** Simple LTS that returns the enabled actions in a state. */
     private val simpleXcfaLts = getXcfaLts()
 
@@ -84,7 +97,7 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
     fun <E : ExprState> getPartialOrder(partialOrd: PartialOrd<E>) =
       PartialOrd<E> { s1, s2 ->
         partialOrd.isLeq(s1, s2) &&
-          s2.reExplored == true &&
+          s2.reExplored &&
           s1.sleep.containsAll(s2.sleep - s2.explored)
       }
   }
@@ -382,7 +395,7 @@ open class XcfaDporLts(private val xcfa: XCFA) : LTS<S, A> {
           val lazilyExplorable =
             last.node.outEdges
               .toList()
-              .filter { it.target.state.reExplored != true && it.action !in last.sleep }
+              .filter { !it.target.state.reExplored && it.action !in last.sleep }
               .toSet()
           if (lazilyExplorable.isEmpty()) return
 
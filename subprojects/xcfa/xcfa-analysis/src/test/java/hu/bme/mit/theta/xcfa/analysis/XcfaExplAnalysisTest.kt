@@ -16,6 +16,7 @@
 package hu.bme.mit.theta.xcfa.analysis
 
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult
+import hu.bme.mit.theta.analysis.algorithm.arg.ARG
 import hu.bme.mit.theta.analysis.algorithm.arg.ArgNodeComparators
 import hu.bme.mit.theta.analysis.algorithm.cegar.ArgAbstractor
 import hu.bme.mit.theta.analysis.algorithm.cegar.ArgCegarChecker
@@ -38,9 +39,11 @@ import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory
 import hu.bme.mit.theta.xcfa.analysis.coi.ConeOfInfluence
 import hu.bme.mit.theta.xcfa.analysis.coi.XcfaCoiMultiThread
 import hu.bme.mit.theta.xcfa.analysis.por.*
+import java.lang.ref.WeakReference
 import java.util.*
 import kotlin.random.Random
 import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.MethodSource
 
@@ -175,6 +178,36 @@ class XcfaExplAnalysisTest {
   @ParameterizedTest
   @MethodSource("data")
   fun testDporExpl(filepath: String, verdict: (SafetyResult<*, *>) -> Boolean) {
+    Assertions.assertTrue(verdict(checkDporExpl(filepath)))
+  }
+
+  @Test
+  fun testDporSideTablesReleased() {
+    val references = dporArgAfterCheck("/04multithread.c")
+
+    // the DPOR data of the states must not keep them alive after the analysis finished
+    for (i in 1..50) {
+      if (references.all { it.get() == null }) break
+      System.gc()
+      Thread.sleep(10)
+    }
+    Assertions.assertTrue(references.all { it.get() == null })
+  }
+
+  /**
+   * Runs DPOR on the given model and returns weak references to its ARG and to the states having
+   * DPOR data, so the test itself does not keep them alive.
+   */
+  private fun dporArgAfterCheck(filepath: String): List<WeakReference<Any>> {
+    val safetyResult = checkDporExpl(filepath)
+    Assertions.assertTrue(safetyResult.isUnsafe)
+    val arg = safetyResult.proof as ARG<*, *>
+    val states = arg.nodes.map { it.state }.filter { XcfaDporLts.hasStateData(it) }.toList()
+    Assertions.assertTrue(states.isNotEmpty())
+    return listOf(WeakReference<Any>(arg)) + states.map { WeakReference<Any>(it) }
+  }
+
+  private fun checkDporExpl(filepath: String): SafetyResult<*, *> {
     XcfaDporLts.random = Random(seed)
     println("Testing DPOR on $filepath...")
     val stream = javaClass.getResourceAsStream(filepath)
@@ -222,9 +255,7 @@ class XcfaExplAnalysisTest {
 
     val cegarChecker = ArgCegarChecker.create(abstractor, refiner)
 
-    val safetyResult = cegarChecker.check(XcfaPrec(PtrPrec(ExplPrec.empty(), emptySet())))
-
-    Assertions.assertTrue(verdict(safetyResult))
+    return cegarChecker.check(XcfaPrec(PtrPrec(ExplPrec.empty(), emptySet())))
   }
 
   @ParameterizedTest
@@ -18,13 +18,27 @@ package hu.bme.mit.theta.xcfa.analysis
 import hu.bme.mit.theta.analysis.expl.ExplPrec
 import hu.bme.mit.theta.analysis.expl.ExplState
 import hu.bme.mit.theta.analysis.ptr.PtrState
+import hu.bme.mit.theta.core.stmt.AssignStmt
+import hu.bme.mit.theta.core.stmt.Stmt
+import hu.bme.mit.theta.core.type.anytype.RefExpr
 import hu.bme.mit.theta.core.type.inttype.IntExprs
 import hu.bme.mit.theta.xcfa.analysis.XcfaProcessState.Companion.createLookup
 import hu.bme.mit.theta.xcfa.analysis.por.XcfaAasporLts
 import hu.bme.mit.theta.xcfa.analysis.por.XcfaSporLts
+import hu.bme.mit.theta.xcfa.analysis.por.extension
+import hu.bme.mit.theta.xcfa.analysis.por.flagExtension
+import hu.bme.mit.theta.xcfa.analysis.por.nullableExtension
+import hu.bme.mit.theta.xcfa.getFlatLabels
 import hu.bme.mit.theta.xcfa.model.*
+import java.lang.ref.WeakReference
 import java.util.*
 import java.util.function.Predicate
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertThrows
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 
@@ -164,6 +178,221 @@ class XcfaStateLtsTest {
       println("Test $index OK")
     }
   }
+
+  @Test
+  fun testFenceEffects() {
+    assertEquals(listOf(FenceEffect.Enter("m", true)), fenceEffects("mutex_lock(m)"))
+    assertEquals(listOf(FenceEffect.Exit("m", true)), fenceEffects("mutex_unlock(m)"))
+    assertEquals(
+      listOf(FenceEffect.Enter("c", false), FenceEffect.Exit("m", true)),
+      fenceEffects("start_cond_wait(c,m)"),
+    )
+    assertEquals(
+      listOf(
+        FenceEffect.Enter("c", true),
+        FenceEffect.Exit("c", true),
+        FenceEffect.Enter("m", true),
+      ),
+      fenceEffects("cond_wait(c,m)"),
+    )
+    assertEquals(listOf(FenceEffect.Exit("c", false)), fenceEffects("cond_signal(c)"))
+    assertEquals(listOf(FenceEffect.Enter("", true)), fenceEffects("ATOMIC_BEGIN"))
+    assertSame(fenceEffects("mutex_lock(m)"), fenceEffects("mutex_lock(m)"))
+    assertThrows(IllegalStateException::class.java) { fenceEffects("mutex_lock") }
+  }
+
+  @Test
+  fun testCompiledCalls() {
+    val edges: MutableList<XcfaEdge> = ArrayList()
+    val xcfa =
+      xcfa("example") {
+        val proc1 =
+          procedure("proc1") {
+            "a" type IntExprs.Int() direction ParamDirection.IN
+            edges.add((init to final) { nop() })
+          }
+        val main =
+          procedure("main") {
+            edges.add((init to final) { proc1("1") })
+          }
+        main.start()
+      }
+    val state =
+      XcfaState(
+        xcfa,
+        mapOf(
+          Pair(
+            0,
+            XcfaProcessState(
+              locs = LinkedList(listOf(edges[1].source)),
+              varLookup = LinkedList(listOf(createLookup(xcfa.initProcedures[0].first, "T0", ""))),
+              paramsInitialized = true,
+            ),
+          )
+        ),
+        PtrState(ExplState.top()),
+      )
+    val lts = getXcfaLts()
+    val action = lts.getEnabledActionsFor(state).single()
+    // the parameter passing of the call is built once per edge and frame
+    assertEquals(action, lts.getEnabledActionsFor(state).single())
+    val successor = state.apply(action)
+    assertEquals(2, successor.first.processes[0]!!.locs.size)
+    assertEquals(successor, state.apply(action))
+  }
+
+  @Test
+  fun testStartsInLoop() {
+    val edges: MutableList<XcfaEdge> = ArrayList()
+    val xcfa =
+      xcfa("example") {
+        val thread =
+          procedure("thread") {
+            "a" type IntExprs.Int() direction ParamDirection.IN
+            edges.add((init to final) { nop() })
+          }
+        val main =
+          procedure("main") {
+            val i = "i" type IntExprs.Int()
+            val handle = "handle" type IntExprs.Int()
+            edges.add((init to "L1") { nop() })
+            edges.add(("L1" to "L1") { handle.start(thread, i.ref) })
+          }
+        main.start()
+      }
+    val state =
+      XcfaState(
+        xcfa,
+        mapOf(
+          Pair(
+            0,
+            XcfaProcessState(
+              locs = LinkedList(listOf(edges[2].source)),
+              varLookup = LinkedList(listOf(createLookup(xcfa.initProcedures[0].first, "T0", ""))),
+              paramsInitialized = true,
+            ),
+          )
+        ),
+        PtrState(ExplState.top()),
+      )
+    val lts = getXcfaLts()
+    val start1 = lts.getEnabledActionsFor(state).single()
+    val afterStart1 = state.apply(start1).first
+    val start2 = lts.getEnabledActionsFor(afterStart1).single { it.pid == 0 }
+    val afterStart2 = afterStart1.apply(start2).first
+
+    // each start passes its argument through its own temporary, which the started thread reads
+    // only when it is first scheduled
+    val writtenTemps = listOf(start1, start2).map { it.firstStmt<AssignStmt<*>>().varDecl }
+    assertNotEquals(writtenTemps[0], writtenTemps[1])
+    val readTemps =
+      afterStart2.processes.keys
+        .filter { it != 0 }
+        .sorted()
+        .map { pid ->
+          val init = lts.getEnabledActionsFor(afterStart2).single { it.pid == pid }
+          (init.firstStmt<AssignStmt<*>>().expr as RefExpr<*>).decl
+        }
+    assertEquals(writtenTemps, readTemps)
+  }
+
+  @Test
+  fun testNamesArePerAnalysis() {
+    val edges: MutableList<XcfaEdge> = ArrayList()
+    val xcfa =
+      xcfa("example") {
+        val thread =
+          procedure("thread") {
+            "a" type IntExprs.Int() direction ParamDirection.IN
+            edges.add((init to final) { nop() })
+          }
+        val main =
+          procedure("main") {
+            val i = "i" type IntExprs.Int()
+            val handle = "handle" type IntExprs.Int()
+            edges.add((init to "L1") { handle.start(thread, i.ref) })
+          }
+        main.start()
+      }
+    val process =
+      XcfaProcessState(
+        locs = LinkedList(listOf(edges[1].source)),
+        varLookup = LinkedList(listOf(createLookup(xcfa.initProcedures[0].first, "T0", ""))),
+        paramsInitialized = true,
+      )
+
+    // two analyses of the same model (e.g., portfolio steps in the same JVM) name their threads
+    // and temporaries the same way
+    val results =
+      (1..2).map {
+        val state =
+          XcfaState(
+            xcfa,
+            mapOf(Pair(0, process)),
+            PtrState(ExplState.top()),
+            context = XcfaAnalysisContext(),
+          )
+        val lts = getXcfaLts()
+        val start = lts.getEnabledActionsFor(state).single()
+        Pair(state.apply(start).first, start.firstStmt<AssignStmt<*>>().varDecl.name)
+      }
+    assertEquals(2, results[0].first.processes.size)
+    assertEquals(results[0].first, results[1].first)
+    assertEquals(results[0].second, results[1].second)
+  }
+
+  private inline fun <reified T : Stmt> XcfaAction.firstStmt(): T =
+    edge.label.getFlatLabels().filterIsInstance<StmtLabel>().map { it.stmt }.filterIsInstance<T>()
+      .first()
+
+  private class Key
+
+  private val value = extension<Key, MutableSet<Int>>()
+  private val nullableValue = nullableExtension<Key, Int?>()
+  private val flag = flagExtension<Key>()
+
+  private var Key.value: MutableSet<Int> by value
+  private var Key.nullableValue: Int? by nullableValue
+  private var Key.flag: Boolean by flag
+
+  @Test
+  fun testExtensionProperties() {
+    val key = Key()
+    key.value = mutableSetOf(1)
+    key.nullableValue = 2
+    key.flag = true
+    assertEquals(setOf(1), key.value)
+    assertEquals(2, key.nullableValue)
+    assertTrue(key.flag)
+    assertNull(Key().nullableValue)
+    assertFalse(Key().flag)
+    assertThrows(IllegalStateException::class.java) { Key().value }
+
+    key.nullableValue = null
+    key.flag = false
+    assertNull(key.nullableValue)
+    assertFalse(key.flag)
+    assertFalse(nullableValue.isSetFor(key))
+    assertFalse(flag.isSetFor(key))
+
+    // entries must not keep their keys alive (e.g., states of pruned ARG nodes)
+    val references =
+      (1..1000).map {
+        val k = Key()
+        k.value = mutableSetOf(it)
+        k.nullableValue = it
+        k.flag = true
+        WeakReference(k)
+      }
+    for (i in 1..50) {
+      if (references.all { it.get() == null }) break
+      System.gc()
+      Thread.sleep(10)
+    }
+    assertTrue(references.all { it.get() == null })
+    assertTrue(value.isSetFor(key))
+    assertEquals(setOf(1), key.value)
+  }
 }
 
 private fun XcfaState<*>.foreignKey(): Int? = processes.keys.firstOrNull { key -> key != 0 }
@@ -48,6 +48,7 @@ import hu.bme.mit.theta.xcfa.analysis.coi.XcfaCoiSingleThread
 import hu.bme.mit.theta.xcfa.analysis.oc.OcDecisionProcedureType
 import hu.bme.mit.theta.xcfa.analysis.por.XcfaDporLts
 import hu.bme.mit.theta.xcfa.analysis.por.XcfaSporLts
+import hu.bme.mit.theta.xcfa.binary.readXcfaBinary
 import hu.bme.mit.theta.xcfa.cli.checkers.getChecker
 import hu.bme.mit.theta.xcfa.cli.params.*
 import hu.bme.mit.theta.xcfa.cli.utils.*
@@ -177,16 +178,22 @@ fun frontend(
     "Parsing the input $input as ${config.frontendConfig.inputType}\n",
   )
 
-  val parseContext = ParseContext()
+  val (xcfa, parseContext) =
+    if (config.frontendConfig.inputType == InputType.BINARY) {
+      // the parse context is stored together with the XCFA
+      readXcfaBinary(input, memoryMapped = true)
+    } else {
+      val parseContext = ParseContext()
 
-  if (config.frontendConfig.inputType == InputType.C) {
-    val cConfig = config.frontendConfig.specConfig
-    cConfig as CFrontendConfig
-    parseContext.arithmetic = cConfig.arithmetic
-    parseContext.architecture = cConfig.architecture
-  }
+      if (config.frontendConfig.inputType == InputType.C) {
+        val cConfig = config.frontendConfig.specConfig
+        cConfig as CFrontendConfig
+        parseContext.arithmetic = cConfig.arithmetic
+        parseContext.architecture = cConfig.architecture
+      }
 
-  val xcfa = getXcfa(config, parseContext, logger, uniqueLogger)
+      Pair(getXcfa(config, parseContext, logger, uniqueLogger), parseContext)
+    }
   val mcm =
     if (config.inputConfig.catFile != null) {
       CatDslManager.createMCM(config.inputConfig.catFile!!)
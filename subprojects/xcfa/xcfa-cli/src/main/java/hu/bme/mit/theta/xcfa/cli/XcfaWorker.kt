@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.cli
+
+import hu.bme.mit.theta.analysis.algorithm.mdd.expressionnode.LitExprConverter
+import hu.bme.mit.theta.common.logging.ConsoleLogger
+import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.common.logging.NullLogger
+import hu.bme.mit.theta.common.logging.UniqueWarningLogger
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.True
+import hu.bme.mit.theta.frontend.ParseContext
+import hu.bme.mit.theta.solver.smtlib.SmtLibSolverManager
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory
+import hu.bme.mit.theta.xcfa.binary.readXcfaBinary
+import hu.bme.mit.theta.xcfa.cli.params.ErrorCodeException
+import hu.bme.mit.theta.xcfa.cli.params.ExitCodes
+import hu.bme.mit.theta.xcfa.cli.params.InputType
+import hu.bme.mit.theta.xcfa.cli.params.XcfaConfig
+import hu.bme.mit.theta.xcfa.cli.params.exitOnError
+import hu.bme.mit.theta.xcfa.cli.utils.getGson
+import hu.bme.mit.theta.xcfa.cli.utils.registerAllSolverManagers
+import hu.bme.mit.theta.xcfa.model.XCFA
+import java.io.File
+import java.io.FileReader
+import kotlin.system.exitProcess
+
+/**
+ * Long-running worker process of the in-process checker pool. The worker warms up (class loading,
+ * native solver libraries, and the binary model if given by `--model`) before the first request,
+ * then reads configuration file paths from its standard input, one per line. Each configuration is
+ * run like `XcfaCli -c <file>` would, followed by a [DONE_MARKER] line holding the exit code.
+ *
+ * A failed analysis step (e.g., a solver error or an unsupported element) is reported with its code
+ * like a successful one, and the worker serves the next request, so the steps of a portfolio keep
+ * using the same warm JVM. Only when running out of memory does the worker exit after reporting,
+ * as the JVM may be left in an inconsistent state; timed out workers are killed by the pool. After
+ * each run, the literal table of the MDD encoding is reset; the counters naming threads, procedure
+ * frames, call temporaries and OC events belong to the analysis. Global state kept between
+ * requests:
+ * - the loaded model, and with it the XCFA location counter;
+ * - the DPOR LTS, which shares its compiled edges (and their temporaries) between analyses;
+ * - the registered solver managers and the native state of loaded solver libraries;
+ * - the expression interner and the POR and label semantics side tables, which only hold their
+ *   entries weakly;
+ * - the temporaries returned to the VarPoolUtil pool.
+ */
+object XcfaWorker {
+
+  const val DONE_MARKER = "__THETA_WORKER_DONE"
+
+  private var model: Pair<File, Pair<XCFA, ParseContext>>? = null
+
+  @JvmStatic
+  fun main(args: Array<String>) {
+    val modelArg = args.indexOf("--model")
+    warmUp(if (modelArg >= 0) File(args[modelArg + 1]) else null)
+
+    val stdin = System.`in`.bufferedReader()
+    while (true) {
+      val request = stdin.readLine() ?: break
+      if (request.isBlank()) continue
+      val code =
+        try {
+          exitOnError(stacktrace = false, throwDontExit = true) { runRequest(File(request)) }
+          0
+        } catch (e: ErrorCodeException) {
+          e.code
+        }
+      resetGlobalState()
+      println("$DONE_MARKER $code")
+      System.out.flush()
+      if (code == ExitCodes.OUT_OF_MEMORY.code) {
+        exitProcess(code)
+      }
+    }
+  }
+
+  private fun warmUp(modelFile: File?) {
+    if (modelFile != null) {
+      loadModel(modelFile)
+    }
+    try {
+      registerAllSolverManagers(
+        SmtLibSolverManager.HOME.toAbsolutePath().toString(),
+        NullLogger.getInstance(),
+      )
+      Z3LegacySolverFactory.getInstance().createSolver().use {
+        it.add(True())
+        it.check()
+      }
+    } catch (e: Throwable) {
+      // the analysis reports solver problems itself, warming up is best effort
+      System.err.println("Could not warm up solvers: $e")
+    }
+  }
+
+  private fun resetGlobalState() {
+    LitExprConverter.clear()
+  }
+
+  private fun loadModel(file: File): Pair<XCFA, ParseContext> =
+    model?.takeIf { it.first == file.absoluteFile }?.second
+      ?: readXcfaBinary(file, memoryMapped = true).also { model = Pair(file.absoluteFile, it) }
+
+  private fun runRequest(configFile: File) {
+    val config = getGson().fromJson(FileReader(configFile), XcfaConfig::class.java)
+    val input = config.inputConfig.input
+    if (
+      config.frontendConfig.inputType == InputType.BINARY &&
+        input != null &&
+        config.inputConfig.catFile == null
+    ) {
+      val (xcfa, parseContext) = loadModel(input)
+      config.inputConfig.xcfaWCtx = Triple(xcfa, emptySet(), parseContext)
+    }
+
+    val logger =
+      if (config.debugConfig.logLevel == Logger.Level.DISABLE) {
+        NullLogger.getInstance()
+      } else {
+        ConsoleLogger(config.debugConfig.logLevel)
+      }
+    runConfig(config, logger, UniqueWarningLogger(logger), true)
+  }
+}
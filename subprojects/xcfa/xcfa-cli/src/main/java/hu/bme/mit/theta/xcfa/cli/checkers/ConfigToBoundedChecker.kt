@@ -61,15 +61,21 @@ fun getBoundedChecker(
       bmcEnabled = { !boundedConfig.bmcConfig.disable },
       lfPathOnly = { !boundedConfig.bmcConfig.nonLfPath },
       itpSolver =
-        tryGetSolver(boundedConfig.itpConfig.itpSolver, boundedConfig.itpConfig.validateItpSolver)
-          ?.createItpSolver(),
+        if (boundedConfig.itpConfig.disable) null
+        else
+          tryGetSolver(boundedConfig.itpConfig.itpSolver, boundedConfig.itpConfig.validateItpSolver)
+            ?.createItpSolver(),
       imcEnabled = { !boundedConfig.itpConfig.disable },
       indSolver =
-        tryGetSolver(boundedConfig.indConfig.indSolver, boundedConfig.indConfig.validateIndSolver)
-          ?.createSolver(),
+        if (boundedConfig.indConfig.disable) null
+        else
+          tryGetSolver(boundedConfig.indConfig.indSolver, boundedConfig.indConfig.validateIndSolver)
+            ?.createSolver(),
       kindEnabled = { !boundedConfig.indConfig.disable },
       logger = logger,
       needProof = true,
+      parallel = boundedConfig.parallelEngines,
+      lazySimplePath = !boundedConfig.bmcConfig.eagerLfPath,
     )
   }
 
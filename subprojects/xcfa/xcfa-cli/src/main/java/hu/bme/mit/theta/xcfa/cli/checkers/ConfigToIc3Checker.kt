@@ -26,7 +26,9 @@ import hu.bme.mit.theta.analysis.algorithm.bounded.pipeline.passes.L2SMEPass
 import hu.bme.mit.theta.analysis.algorithm.bounded.pipeline.passes.PredicateAbstractionMEPass
 import hu.bme.mit.theta.analysis.algorithm.bounded.pipeline.passes.ReverseMEPass
 import hu.bme.mit.theta.analysis.algorithm.ic3.Ic3Checker
+import hu.bme.mit.theta.analysis.algorithm.ic3.ParallelIc3Checker
 import hu.bme.mit.theta.analysis.expl.ExplState
+import hu.bme.mit.theta.analysis.expr.ExprAction
 import hu.bme.mit.theta.analysis.expr.refinement.createFwBinItpCheckerFactory
 import hu.bme.mit.theta.analysis.ptr.PtrState
 import hu.bme.mit.theta.analysis.unit.UnitPrec
@@ -53,19 +55,25 @@ fun getIc3Checker(
   val ic3Config = config.backendConfig.specConfig as Ic3Config
   val solverFactory: SolverFactory = getSolver(ic3Config.solver, ic3Config.validateSolver)
 
-  val baseChecker = { monolithicExpr: MonolithicExpr ->
-    Ic3Checker(
-      /* monolithicExpr = */ monolithicExpr,
-      /* solverFactory = */ solverFactory,
-      /* formerFramesOpt = */ true,
-      /* unSatOpt = */ true,
-      /* notBOpt = */ true,
-      /* propagateOpt = */ true,
-      /* filterOpt = */ true,
-      /* propertyOpt = */ true,
-      /* logger = */ logger,
-    )
-  }
+  val baseChecker:
+    (MonolithicExpr) -> SafetyChecker<EmptyProof, Trace<ExplState, ExprAction>, UnitPrec> =
+    { monolithicExpr: MonolithicExpr ->
+      if (ic3Config.workers > 1) {
+        ParallelIc3Checker(monolithicExpr, solverFactory, ic3Config.workers, logger)
+      } else {
+        Ic3Checker(
+          /* monolithicExpr = */ monolithicExpr,
+          /* solverFactory = */ solverFactory,
+          /* formerFramesOpt = */ true,
+          /* unSatOpt = */ true,
+          /* notBOpt = */ true,
+          /* propagateOpt = */ true,
+          /* filterOpt = */ true,
+          /* propertyOpt = */ true,
+          /* logger = */ logger,
+        )
+      }
+    }
 
   val passes = mutableListOf<MonolithicExprPass<EmptyProof>>()
   if (config.inputConfig.property == ErrorDetection.TERMINATION) {
@@ -83,6 +83,7 @@ fun getMddChecker(
             .toList(),
           20,
         ),
+      countStates = mddConfig.countStates,
     )
   }
 
@@ -25,7 +25,9 @@ import hu.bme.mit.theta.analysis.algorithm.SafetyResult
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.frontend.ParseContext
 import hu.bme.mit.theta.xcfa.analysis.XcfaPrec
+import hu.bme.mit.theta.xcfa.binary.writeBinary
 import hu.bme.mit.theta.xcfa.cli.XcfaCli
+import hu.bme.mit.theta.xcfa.cli.XcfaWorker
 import hu.bme.mit.theta.xcfa.cli.params.*
 import hu.bme.mit.theta.xcfa.cli.utils.CachingFileSerializer
 import hu.bme.mit.theta.xcfa.cli.utils.getGson
@@ -34,7 +36,9 @@ import java.io.File
 import java.lang.System.err
 import java.nio.ByteBuffer
 import java.util.*
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
 import kotlin.io.path.createTempDirectory
 
 class InProcessChecker<F : SpecFrontendConfig, B : SpecBackendConfig>(
@@ -59,6 +63,7 @@ class InProcessChecker<F : SpecFrontendConfig, B : SpecBackendConfig>(
         }
       )
 
+    var binaryInput: File? = null
     val configJson =
       if (config.backendConfig.parseInProcess) {
 
@@ -71,17 +76,28 @@ class InProcessChecker<F : SpecFrontendConfig, B : SpecBackendConfig>(
       } else {
         xcfa!!
         parseContext!!
-        val xcfaJson =
-          CachingFileSerializer.serialize("xcfa.json", xcfa) { getGson(xcfa).toJson(xcfa) }
-        val parseContextJson =
-          CachingFileSerializer.serialize("parseContext.json", parseContext) {
-            getGson(xcfa).toJson(parseContext)
+        val inputConfig =
+          try {
+            val handoff = Pair(xcfa, parseContext)
+            val xcfaBinary =
+              CachingFileSerializer.serializeBinary("xcfa.bin", handoff) { _, out ->
+                xcfa.writeBinary(out, parseContext)
+              }
+            config.inputConfig.copy(input = xcfaBinary)
+          } catch (e: UnsupportedOperationException) {
+            logger.write(
+              Logger.Level.INFO,
+              "Binary serialization failed (${e.message}), falling back to JSON\n",
+            )
+            null
           }
+        val inputType = if (inputConfig != null) InputType.BINARY else InputType.JSON
+        binaryInput = inputConfig?.input
 
         val config =
           config.copy(
-            inputConfig = config.inputConfig.copy(input = xcfaJson, parseCtx = parseContextJson),
-            frontendConfig = config.frontendConfig.copy(inputType = InputType.JSON),
+            inputConfig = inputConfig ?: serializeJson(xcfa, parseContext),
+            frontendConfig = config.frontendConfig.copy(inputType = inputType),
             backendConfig = config.backendConfig.copy(inProcess = false, timeoutMs = 0),
             outputConfig =
               config.outputConfig.copy(
@@ -100,8 +116,79 @@ class InProcessChecker<F : SpecFrontendConfig, B : SpecBackendConfig>(
 
     val heapSize =
       "-Xmx${if(config.backendConfig.memlimit == 0L) 1420L else config.backendConfig.memlimit/1024/1024 }m"
-    logger.write(Logger.Level.INFO, "Starting process with $heapSize of heap\n")
 
+    val worker =
+      if (config.backendConfig.workerPool) {
+        WorkerPool.acquire(
+            WorkerKey(heapSize, binaryInput),
+            logger,
+            config.backendConfig.workerPoolSpare,
+          )
+          .also {
+            logger.write(Logger.Level.INFO, "Using worker process with $heapSize of heap\n")
+            it.submit(configJson)
+          }
+      } else {
+        null
+      }
+    val (process, processHandler) =
+      if (worker != null) {
+        Pair(worker.process, worker.handler)
+      } else {
+        logger.write(Logger.Level.INFO, "Starting process with $heapSize of heap\n")
+        startProcess(heapSize, configJson)
+      }
+
+    var reusable = false
+    val booleanSafetyResult =
+      try {
+        val retCode = processHandler.waitFor(config.backendConfig.timeoutMs)
+        if (retCode == Int.MIN_VALUE) {
+          if (processHandler.safetyResult == null) {
+            process.destroy(true)
+            throw ErrorCodeException(ExitCodes.TIMEOUT.code)
+          } else {
+            logger.write(
+              Logger.Level.RESULT,
+              "Config timed out but started writing result, trying to wait an additional 10%...",
+            )
+            val retCode = processHandler.waitFor(config.backendConfig.timeoutMs / 10)
+            reusable = retCode != Int.MIN_VALUE && retCode != ExitCodes.OUT_OF_MEMORY.code
+            if (retCode != 0) {
+              throw ErrorCodeException(retCode)
+            } else {
+              processHandler.safetyResult
+            }
+          }
+        } else {
+          // a worker that answered can serve the next step even if the analysis failed, unless it
+          // exits after running out of memory
+          reusable = retCode != ExitCodes.OUT_OF_MEMORY.code
+          if (retCode != 0) {
+            throw ErrorCodeException(retCode)
+          }
+          processHandler.safetyResult
+        }
+      } catch (e: InterruptedException) {
+        // cancelled (e.g., by a parallel portfolio node): the process must not outlive the check
+        process.destroy(true)
+        Thread.currentThread().interrupt()
+        throw e
+      } finally {
+        if (worker != null) {
+          if (reusable) WorkerPool.release(worker) else WorkerPool.discard(worker)
+        }
+      }
+
+    tempDir.toFile().listFiles()?.forEach {
+      it.copyTo(config.outputConfig.resultFolder.resolve(it.name), overwrite = true)
+    }
+    tempDir.toFile().deleteRecursively()
+
+    return booleanSafetyResult as SafetyResult<EmptyProof, EmptyCex>
+  }
+
+  private fun startProcess(heapSize: String, configJson: File): Pair<NuProcess, ProcessHandler> {
     val pb =
       NuProcessBuilder(
         listOf(
@@ -121,40 +208,20 @@ class InProcessChecker<F : SpecFrontendConfig, B : SpecBackendConfig>(
     pb.setProcessListener(processHandler)
     val process: NuProcess = pb.start()
     pb.environment().putAll(System.getenv())
+    return Pair(process, processHandler)
+  }
 
-    val retCode = process.waitFor(config.backendConfig.timeoutMs, TimeUnit.MILLISECONDS)
-    val booleanSafetyResult =
-      if (retCode == Int.MIN_VALUE) {
-        if (processHandler.safetyResult == null) {
-          process.destroy(true)
-          throw ErrorCodeException(ExitCodes.TIMEOUT.code)
-        } else {
-          logger.write(
-            Logger.Level.RESULT,
-            "Config timed out but started writing result, trying to wait an additional 10%...",
-          )
-          val retCode = process.waitFor(config.backendConfig.timeoutMs / 10, TimeUnit.MILLISECONDS)
-          if (retCode != 0) {
-            throw ErrorCodeException(retCode)
-          } else {
-            processHandler.safetyResult
-          }
-        }
-      } else if (retCode != 0) {
-        throw ErrorCodeException(retCode)
-      } else {
-        processHandler.safetyResult
+  private fun serializeJson(xcfa: XCFA, parseContext: ParseContext): InputConfig {
+    val xcfaJson =
+      CachingFileSerializer.serialize("xcfa.json", xcfa) { getGson(xcfa).toJson(xcfa) }
+    val parseContextJson =
+      CachingFileSerializer.serialize("parseContext.json", parseContext) {
+        getGson(xcfa).toJson(parseContext)
       }
-
-    tempDir.toFile().listFiles()?.forEach {
-      it.copyTo(config.outputConfig.resultFolder.resolve(it.name), overwrite = true)
-    }
-    tempDir.toFile().deleteRecursively()
-
-    return booleanSafetyResult as SafetyResult<EmptyProof, EmptyCex>
+    return config.inputConfig.copy(input = xcfaJson, parseCtx = parseContextJson)
   }
 
-  private class ProcessHandler : NuAbstractProcessHandler() {
+  internal class ProcessHandler : NuAbstractProcessHandler() {
 
     private val stdout = LinkedList<String>()
     private var stdoutRemainder = ""
@@ -163,6 +230,39 @@ class InProcessChecker<F : SpecFrontendConfig, B : SpecBackendConfig>(
     var safetyResult: SafetyResult<*, *>? = null
       private set
 
+    @Volatile private var exitCode = CompletableFuture<Int>()
+    private var exited = false
+
+    /**
+     * Forgets the result of the previous request, so that a worker process can be reused. Returns
+     * false if the process has already exited: its completed result is kept, as a new one would
+     * never be completed.
+     */
+    @Synchronized
+    fun reset(): Boolean {
+      if (exited) return false
+      safetyResult = null
+      exitCode = CompletableFuture()
+      return true
+    }
+
+    /**
+     * Waits for the process to exit or, for a worker, to finish its current request. Returns the
+     * exit code, or Int.MIN_VALUE on timeout like [NuProcess.waitFor] (0 means no timeout).
+     */
+    fun waitFor(timeoutMs: Long): Int =
+      try {
+        if (timeoutMs == 0L) exitCode.get() else exitCode.get(timeoutMs, TimeUnit.MILLISECONDS)
+      } catch (e: TimeoutException) {
+        Int.MIN_VALUE
+      }
+
+    @Synchronized
+    override fun onExit(statusCode: Int) {
+      exited = true
+      exitCode.complete(statusCode)
+    }
+
     override fun onStdout(buffer: ByteBuffer, closed: Boolean) {
       if (!closed) {
         val bytes = ByteArray(buffer.remaining())
@@ -182,8 +282,12 @@ class InProcessChecker<F : SpecFrontendConfig, B : SpecBackendConfig>(
 
         val newLines = stdoutRemainder.split("\n") // if ends with \n, last element will be ""
         newLines.subList(0, newLines.size - 1).forEach {
-          stdout.add(it)
-          println("server: $it")
+          if (it.startsWith(XcfaWorker.DONE_MARKER)) {
+            exitCode.complete(it.substringAfter(' ').trim().toInt())
+          } else {
+            stdout.add(it)
+            println("server: $it")
+          }
         }
         stdoutRemainder = newLines[newLines.size - 1]
       }
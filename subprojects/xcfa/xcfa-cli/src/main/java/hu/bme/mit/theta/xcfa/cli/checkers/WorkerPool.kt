@@ -0,0 +1,162 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.cli.checkers
+
+import com.zaxxer.nuprocess.NuProcess
+import com.zaxxer.nuprocess.NuProcessBuilder
+import hu.bme.mit.theta.common.logging.Logger
+import hu.bme.mit.theta.xcfa.cli.XcfaCli
+import hu.bme.mit.theta.xcfa.cli.XcfaWorker
+import hu.bme.mit.theta.xcfa.cli.params.ErrorCodeException
+import hu.bme.mit.theta.xcfa.cli.params.ExitCodes
+import java.io.File
+import java.lang.management.ManagementFactory
+import java.nio.ByteBuffer
+
+/**
+ * Worker processes of the pool are interchangeable if they have the same heap size and were warmed
+ * up with the same model (null if the workers parse their input themselves).
+ */
+internal data class WorkerKey(val heapSize: String, val model: File?) {
+
+  /** Maximum heap of the worker in bytes, or null if [heapSize] is not of the form -Xmx<n>m. */
+  val heapBytes: Long?
+    get() =
+      heapSize.removePrefix("-Xmx").removeSuffix("m").toLongOrNull()?.let { it * 1024 * 1024 }
+}
+
+internal class Worker(
+  val key: WorkerKey,
+  val process: NuProcess,
+  val handler: InProcessChecker.ProcessHandler,
+) {
+
+  /** Sends a configuration to the worker; its completion is signalled through [handler]. */
+  fun submit(configJson: File) {
+    process.writeStdin(ByteBuffer.wrap("${configJson.absolutePath}\n".toByteArray()))
+  }
+}
+
+/**
+ * Pool of pre-started worker processes. Workers that answered a request are reused, whether the
+ * analysis succeeded or failed; timed out workers are killed and never returned to the pool, and
+ * workers that exited are dropped. An idle worker that died in the meantime is replaced by a new one
+ * when acquired.
+ *
+ * @param command the command line starting a worker for a key
+ */
+internal open class WorkerProcessPool(private val command: (WorkerKey) -> List<String>) {
+
+  private val idle = LinkedHashMap<WorkerKey, ArrayDeque<Worker>>()
+  private val all = LinkedHashSet<Worker>()
+
+  init {
+    Runtime.getRuntime().addShutdownHook(Thread { shutdown() })
+  }
+
+  /**
+   * Takes an idle worker for [key], or starts a new one. With [spare], a spare worker with the same
+   * key is started in the background if none is idle and the free physical memory allows another
+   * heap of this size besides the current one, so the next request does not pay for JVM startup.
+   */
+  fun acquire(key: WorkerKey, logger: Logger, spare: Boolean = false): Worker {
+    val worker =
+      synchronized(this) {
+        val queue = idle[key]
+        var worker = queue?.removeFirstOrNull()
+        while (worker != null && !worker.handler.reset()) {
+          discard(worker)
+          worker = queue?.removeFirstOrNull()
+        }
+        worker
+      }
+    if (worker != null) {
+      logger.write(Logger.Level.INFO, "Reusing worker process ${worker.process.pid}\n")
+    }
+    val result = worker ?: start(key)
+    if (spare && synchronized(this) { idle[key].isNullOrEmpty() } && canAffordSpare(key)) {
+      release(start(key))
+    }
+    return result
+  }
+
+  fun release(worker: Worker) {
+    synchronized(this) {
+      val queue = idle.getOrPut(worker.key) { ArrayDeque() }
+      if (worker.process.isRunning && queue.size < MAX_IDLE) {
+        queue.addLast(worker)
+        return
+      }
+    }
+    discard(worker)
+  }
+
+  fun discard(worker: Worker) {
+    worker.process.destroy(true)
+    synchronized(this) {
+      idle[worker.key]?.remove(worker)
+      all.remove(worker)
+    }
+  }
+
+  /** Kills all workers started by the pool, idle or not. */
+  fun shutdown() {
+    synchronized(this) { all.toList() }.forEach { discard(it) }
+  }
+
+  /** Number of started workers that have not been discarded yet. */
+  val size: Int
+    get() = synchronized(this) { all.size }
+
+  private fun canAffordSpare(key: WorkerKey): Boolean {
+    val heapBytes = key.heapBytes ?: return false
+    val os =
+      ManagementFactory.getOperatingSystemMXBean() as? com.sun.management.OperatingSystemMXBean
+        ?: return false
+    return os.freeMemorySize > 2 * heapBytes
+  }
+
+  private fun start(key: WorkerKey): Worker {
+    val pb = NuProcessBuilder(command(key))
+    pb.environment().putAll(System.getenv())
+    val handler = InProcessChecker.ProcessHandler()
+    pb.setProcessListener(handler)
+    val process = pb.start() ?: throw ErrorCodeException(ExitCodes.SERVER_ERROR.code)
+    val worker = Worker(key, process, handler)
+    synchronized(this) { all.add(worker) }
+    return worker
+  }
+
+  private companion object {
+
+    const val MAX_IDLE = 2
+  }
+}
+
+/** Pool of [XcfaWorker] processes used by the [InProcessChecker] when `--worker-pool` is given. */
+internal object WorkerPool :
+  WorkerProcessPool({ key ->
+    listOfNotNull(
+      ProcessHandle.current().info().command().orElse("java"),
+      "-Xss120m",
+      key.heapSize,
+      "-cp",
+      File(XcfaCli::class.java.protectionDomain.codeSource.location.toURI()).absolutePath,
+      XcfaWorker::class.qualifiedName,
+      key.model?.let { "--model" },
+      key.model?.absolutePath,
+    )
+  })
@@ -57,6 +57,7 @@ enum class InputType {
   C,
   LLVM,
   JSON,
+  BINARY,
   DSL,
   CHC,
   LITMUS,
@@ -139,6 +139,7 @@ data class FrontendConfig<T : SpecFrontendConfig>(
         InputType.C -> CFrontendConfig() as T
         InputType.LLVM -> null
         InputType.JSON -> null
+        InputType.BINARY -> null
         InputType.DSL -> null
         InputType.LITMUS -> null
         InputType.CFA -> null
@@ -194,6 +195,17 @@ data class BackendConfig<T : SpecBackendConfig>(
     description = "Maximum memory to use when --in-process (in bytes, 0 for default)",
   )
   var memlimit: Long = 0L,
+  @Parameter(
+    names = ["--worker-pool"],
+    description = "Reuse pre-started worker processes when --in-process (the model is sent once)",
+  )
+  var workerPool: Boolean = false,
+  @Parameter(
+    names = ["--worker-pool-spare"],
+    description =
+      "Start a spare worker in the background when --worker-pool, if free memory allows it",
+  )
+  var workerPoolSpare: Boolean = false,
   override var specConfig: T? = null,
 ) : SpecializableConfig<T> {
 
@@ -338,6 +350,11 @@ data class BoundedConfig(
   var cegar: Boolean = false,
   @Parameter(names = ["--initprec"], description = "Wrap the check in a predicate-based CEGAR loop")
   var initPrec: InitPrec = InitPrec.EMPTY,
+  @Parameter(
+    names = ["--parallel-engines"],
+    description = "Run the enabled BMC, k-induction and IMC engines concurrently",
+  )
+  var parallelEngines: Boolean = false,
   val bmcConfig: BMCConfig = BMCConfig(),
   val indConfig: InductionConfig = InductionConfig(),
   val itpConfig: InterpolationConfig = InterpolationConfig(),
@@ -358,6 +375,11 @@ data class BMCConfig(
   @Parameter(names = ["--no-bmc"], description = "Disable SAT check") var disable: Boolean = false,
   @Parameter(names = ["--non-lf-path"], description = "Disable loop-freeness check")
   var nonLfPath: Boolean = false,
+  @Parameter(
+    names = ["--eager-lf-path"],
+    description = "Add loop-freeness constraints for all pairs of states instead of lazily",
+  )
+  var eagerLfPath: Boolean = false,
   @Parameter(names = ["--bmc-solver"], description = "BMC solver name")
   var bmcSolver: String = "Z3",
   @Parameter(
@@ -439,7 +461,17 @@ data class OcConfig(
 
 data class PortfolioConfig(
   @Parameter(names = ["--portfolio"], description = "Portfolio to run")
-  var portfolio: String = "COMPLEX"
+  var portfolio: String = "COMPLEX",
+  @Parameter(
+    names = ["--parallel-engines"],
+    description = "Run BMC and k-induction concurrently in the k-induction steps of BOUNDED25",
+  )
+  var parallelEngines: Boolean = false,
+  @Parameter(
+    names = ["--parallel-branches"],
+    description = "Run the in-process pointer configurations of COMPLEX25 concurrently",
+  )
+  var parallelBranches: Boolean = false,
 ) : SpecBackendConfig
 
 data class MddConfig(
@@ -462,6 +494,11 @@ data class MddConfig(
   var cegar: Boolean = false,
   @Parameter(names = ["--initprec"], description = "Wrap the check in a predicate-based CEGAR loop")
   var initPrec: InitPrec = InitPrec.EMPTY,
+  @Parameter(
+    names = ["--count-states"],
+    description = "Count the reachable and violating states for the statistics (can be expensive)",
+  )
+  var countStates: Boolean = false,
 ) : SpecBackendConfig
 
 data class Ic3Config(
@@ -479,6 +516,11 @@ data class Ic3Config(
   var cegar: Boolean = false,
   @Parameter(names = ["--initprec"], description = "Wrap the check in a predicate-based CEGAR loop")
   var initPrec: InitPrec = InitPrec.EMPTY,
+  @Parameter(
+    names = ["--workers"],
+    description = "Number of parallel IC3 workers, each with its own solver, sharing lemmas",
+  )
+  var workers: Int = 1,
 ) : SpecBackendConfig
 
 data class OutputConfig(
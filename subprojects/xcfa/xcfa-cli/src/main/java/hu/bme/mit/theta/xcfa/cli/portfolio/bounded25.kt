@@ -39,6 +39,8 @@ fun boundedPortfolio25(
 ): STM {
 
   val checker = { config: XcfaConfig<*, *> -> runConfig(config, logger, uniqueLogger, true) }
+  val parallelEngines =
+    (portfolioConfig.backendConfig.specConfig as? PortfolioConfig)?.parallelEngines ?: false
 
   var boundedBaseConfig =
     XcfaConfig(
@@ -155,6 +157,7 @@ fun boundedPortfolio25(
     reversed: Boolean = false,
     cegar: Boolean = false,
     initprec: InitPrec = InitPrec.EMPTY,
+    parallelEngines: Boolean = false,
   ): XcfaConfig<*, BoundedConfig> {
     return copy(
       backendConfig =
@@ -166,6 +169,7 @@ fun boundedPortfolio25(
               reversed = reversed,
               cegar = cegar,
               initPrec = initprec,
+              parallelEngines = parallelEngines,
               bmcConfig =
                 backendConfig.specConfig!!
                   .bmcConfig
@@ -253,6 +257,7 @@ fun boundedPortfolio25(
           inProcess = inProcess,
           bmcEnabled = true,
           indEnabled = true,
+          parallelEngines = parallelEngines,
           timeoutMs = 300_000,
         ),
         checker,
@@ -266,6 +271,7 @@ fun boundedPortfolio25(
           inProcess = inProcess,
           bmcEnabled = true,
           indEnabled = true,
+          parallelEngines = parallelEngines,
           bmcSolver = "cvc5:1.0.8",
           indSolver = "cvc5:1.0.8",
           timeoutMs = 300_000,
@@ -283,6 +289,7 @@ fun boundedPortfolio25(
             inProcess = inProcess,
             bmcEnabled = true,
             indEnabled = true,
+            parallelEngines = parallelEngines,
             bmcSolver = "mathsat:5.6.10",
             indSolver = "mathsat:5.6.10",
             timeoutMs = 300_000,
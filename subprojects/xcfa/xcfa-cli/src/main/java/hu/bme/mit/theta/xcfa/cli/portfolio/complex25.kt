@@ -249,8 +249,15 @@ fun complexPortfolio25(
         baseConfig.adaptConfig(inProcess = true, domain = PRED_CART),
         checker,
       )
-    inProcEdges.add(Edge(explTrue, predTrue, timeoutOrNotSolvableError))
-    val inproc = HierarchicalNode("inProc", STM(explTrue, inProcEdges))
+    val parallelBranches =
+      (portfolioConfig.backendConfig.specConfig as? PortfolioConfig)?.parallelBranches ?: false
+    val inproc =
+      if (parallelBranches) {
+        ParallelNode("inProc", listOf(explTrue, predTrue))
+      } else {
+        inProcEdges.add(Edge(explTrue, predTrue, timeoutOrNotSolvableError))
+        HierarchicalNode("inProc", STM(explTrue, inProcEdges))
+      }
 
     val explFalse =
       ConfigNode(
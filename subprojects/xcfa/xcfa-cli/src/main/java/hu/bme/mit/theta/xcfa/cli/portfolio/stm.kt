@@ -15,10 +15,16 @@
  */
 package hu.bme.mit.theta.xcfa.cli.portfolio
 
+import com.google.common.base.Stopwatch
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult
 import hu.bme.mit.theta.xcfa.cli.params.Backend
 import hu.bme.mit.theta.xcfa.cli.params.BoundedConfig
 import hu.bme.mit.theta.xcfa.cli.params.XcfaConfig
+import java.util.Collections
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorCompletionService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
 
 abstract class Node(val name: String) {
 
@@ -41,6 +47,108 @@ ${innerSTM.visualize()}
       .trimIndent()
 }
 
+/**
+ * Runs its branches concurrently and returns the first conclusive result, cancelling the others. A
+ * result is conclusive if [conclusive] holds for it (by default, if it is not an unknown safety
+ * result). If no branch is conclusive, the first inconclusive result is returned; if all of them
+ * failed, the exception of the first branch is rethrown, so the outgoing edges of this node are
+ * triggered the same way as for a [ConfigNode].
+ *
+ * At most [maxParallelism] branches run at the same time. The memory and time quotas of a branch
+ * are the ones of its configurations; cancelled in-process configurations kill their process.
+ * Analyses running in this JVM cannot be stopped and share global state (e.g., the solver
+ * managers), so every configuration reachable from the branches must be an in-process one, which
+ * is checked when the node is built.
+ */
+class ParallelNode(
+  name: String,
+  val branches: List<Node>,
+  private val maxParallelism: Int = branches.size,
+  private val conclusive: (Pair<Any, Any>) -> Boolean = { result ->
+    (result.second as? SafetyResult<*, *>)?.let { it.isSafe || it.isUnsafe } ?: true
+  },
+) : Node(name) {
+
+  /** Wall-clock time of the branches during the last execution (in ms). */
+  val timings: MutableMap<String, Long> = Collections.synchronizedMap(LinkedHashMap())
+
+  init {
+    check(branches.isNotEmpty()) { "Parallel node $name has no branches" }
+    check(maxParallelism > 0) { "Parallel node $name cannot run $maxParallelism branches" }
+    branches
+      .flatMap { it.configNodes() }
+      .firstOrNull { !it.config.backendConfig.inProcess }
+      ?.let { error("Branch configuration ${it.name} of parallel node $name is not in-process") }
+  }
+
+  override fun execute(): Pair<Any, Any> {
+    timings.clear()
+    val stopwatch = Stopwatch.createStarted()
+    val executor = Executors.newFixedThreadPool(minOf(maxParallelism, branches.size))
+    val completionService = ExecutorCompletionService<Pair<Any, Any>>(executor)
+    val futures =
+      branches.map { branch ->
+        completionService.submit {
+          val branchStopwatch = Stopwatch.createStarted()
+          try {
+            branch.execute()
+          } finally {
+            timings[branch.name] = branchStopwatch.elapsed(TimeUnit.MILLISECONDS)
+          }
+        }
+      }
+    val failures = arrayOfNulls<Throwable>(branches.size)
+    var inconclusive: Pair<Any, Any>? = null
+    try {
+      repeat(branches.size) {
+        val future = completionService.take()
+        val branch = branches[futures.indexOf(future)]
+        try {
+          val result = future.get()
+          if (conclusive(result)) {
+            println("Branch ${branch.name} of $name is conclusive: ${result.second}")
+            return result
+          }
+          println("Branch ${branch.name} of $name is inconclusive: ${result.second}")
+          inconclusive = inconclusive ?: result
+        } catch (e: ExecutionException) {
+          val cause = e.cause ?: e
+          println("Branch ${branch.name} of $name failed: $cause")
+          failures[futures.indexOf(future)] = cause
+        }
+      }
+    } finally {
+      futures.forEachIndexed { i, future ->
+        if (future.cancel(true)) {
+          timings.putIfAbsent(branches[i].name, stopwatch.elapsed(TimeUnit.MILLISECONDS))
+          println("Cancelled branch ${branches[i].name} of $name")
+        }
+      }
+      executor.shutdownNow()
+      println("Branch timings of $name (ms): ${synchronized(timings) { timings.toMap() }}")
+    }
+    return inconclusive ?: throw failures.first { it != null }!!
+  }
+
+  override fun visualize(): String =
+    """state $name {
+${branches.joinToString("\n--\n") { it.visualize() }}
+}"""
+      .trimIndent()
+}
+
+/** The configuration nodes that may be executed by this node. */
+private fun Node.configNodes(): List<ConfigNode> =
+  when (this) {
+    is ConfigNode -> listOf(this)
+    is HierarchicalNode ->
+      (listOf(innerSTM.initNode) + innerSTM.edges.flatMap { listOf(it.source, it.target) })
+        .distinct()
+        .flatMap { it.configNodes() }
+    is ParallelNode -> branches.flatMap { it.configNodes() }
+    else -> emptyList()
+  }
+
 fun XcfaConfig<*, *>.visualize(): String =
   if (backendConfig.backend == Backend.BOUNDED) {
     val specConfig = backendConfig.specConfig as BoundedConfig
@@ -61,7 +169,7 @@ fun XcfaConfig<*, *>.visualize(): String =
 
 class ConfigNode(
   name: String,
-  private val config: XcfaConfig<*, *>,
+  val config: XcfaConfig<*, *>,
   private val check: (config: XcfaConfig<*, *>) -> SafetyResult<*, *>,
 ) : Node(name) {
 
@@ -153,6 +261,10 @@ ${edges.map { it.visualize() }.reduce { a, b -> "$a\n$b" }}
       try {
         return currentNode.execute()
       } catch (e: Throwable) {
+        if (Thread.currentThread().isInterrupted) {
+          // cancelled by a parallel node, do not start the next configuration
+          throw e
+        }
         println("Caught exception: $e")
         val edge: Edge? = currentNode.outEdges.find { it.trigger(e) }
         if (edge != null) {
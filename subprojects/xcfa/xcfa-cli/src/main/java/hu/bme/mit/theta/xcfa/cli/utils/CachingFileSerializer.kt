@@ -15,21 +15,41 @@
  */
 package hu.bme.mit.theta.xcfa.cli.utils
 
+import java.io.BufferedOutputStream
 import java.io.File
+import java.io.OutputStream
 
 object CachingFileSerializer {
 
   private val cache: MutableMap<Pair<String, Any>, File> = LinkedHashMap()
+  private val unsupported: MutableMap<Pair<String, Any>, UnsupportedOperationException> =
+    LinkedHashMap()
 
   /**
    * key: unique id for serialization groups obj: object to serialize func: generator function if a
    * cache miss occurs
    */
   fun serialize(key: String, obj: Any, func: (Any) -> String): File =
+    serializeTo(key, obj) { file -> file.writeText(func(obj)) }
+
+  /**
+   * key: unique id for serialization groups obj: object to serialize func: writes the object to the
+   * stream if a cache miss occurs. If the object cannot be written (func throws an
+   * UnsupportedOperationException), later calls with the same key and object throw the same
+   * exception without trying again.
+   */
+  fun serializeBinary(key: String, obj: Any, func: (Any, OutputStream) -> Unit): File =
+    serializeTo(key, obj) { file ->
+      BufferedOutputStream(file.outputStream()).use { func(obj, it) }
+    }
+
+  @Synchronized
+  private fun serializeTo(key: String, obj: Any, write: (File) -> Unit): File =
     if (cache.containsKey(Pair(key, obj))) {
       cache[Pair(key, obj)]!!
+    } else if (unsupported.containsKey(Pair(key, obj))) {
+      throw unsupported[Pair(key, obj)]!!
     } else {
-      val str = func(obj)
       val pattern = key.split(".")
       val file =
         File.createTempFile(
@@ -37,7 +57,15 @@ object CachingFileSerializer {
           "." + pattern.last(),
         )
       file.deleteOnExit()
-      file.writeText(str)
+      try {
+        write(file)
+      } catch (e: Exception) {
+        file.delete()
+        if (e is UnsupportedOperationException) {
+          unsupported[Pair(key, obj)] = e
+        }
+        throw e
+      }
       cache[Pair(key, obj)] = file
       file
     }
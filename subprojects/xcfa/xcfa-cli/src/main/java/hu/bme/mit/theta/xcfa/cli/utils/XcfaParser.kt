@@ -27,6 +27,7 @@ import hu.bme.mit.theta.frontend.transformation.grammar.preprocess.ArithmeticTra
 import hu.bme.mit.theta.llvm2xcfa.ArithmeticType
 import hu.bme.mit.theta.llvm2xcfa.XcfaUtils
 import hu.bme.mit.theta.xcfa.analysis.ErrorDetection
+import hu.bme.mit.theta.xcfa.binary.readXcfaBinary
 import hu.bme.mit.theta.xcfa.cli.params.CHCFrontendConfig
 import hu.bme.mit.theta.xcfa.cli.params.ExitCodes
 import hu.bme.mit.theta.xcfa.cli.params.InputType
@@ -81,6 +82,8 @@ fun getXcfa(
         gson.fromJson(config.inputConfig.input!!.readText(), XCFA::class.java)
       }
 
+      InputType.BINARY -> readXcfaBinary(config.inputConfig.input!!, memoryMapped = true).first
+
       InputType.DSL -> {
         val kotlinEngine: ScriptEngine = ScriptEngineManager().getEngineByExtension("kts")
         kotlinEngine.eval(FileReader(config.inputConfig.input!!)) as XCFA
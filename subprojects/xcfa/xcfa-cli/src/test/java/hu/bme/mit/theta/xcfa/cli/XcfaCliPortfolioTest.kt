@@ -15,10 +15,14 @@
  */
 package hu.bme.mit.theta.xcfa.cli
 
+import hu.bme.mit.theta.analysis.EmptyCex
+import hu.bme.mit.theta.analysis.algorithm.EmptyProof
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.common.logging.NullLogger
 import hu.bme.mit.theta.frontend.ParseContext
 import hu.bme.mit.theta.graphsolver.patterns.constraints.MCM
+import hu.bme.mit.theta.xcfa.cli.params.BackendConfig
 import hu.bme.mit.theta.xcfa.cli.params.SpecBackendConfig
 import hu.bme.mit.theta.xcfa.cli.params.SpecFrontendConfig
 import hu.bme.mit.theta.xcfa.cli.params.XcfaConfig
@@ -26,6 +30,7 @@ import hu.bme.mit.theta.xcfa.cli.portfolio.*
 import hu.bme.mit.theta.xcfa.model.XCFA
 import java.util.stream.Stream
 import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.Test
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.Arguments
 import org.junit.jupiter.params.provider.MethodSource
@@ -121,4 +126,72 @@ class XcfaCliPortfolioTest {
     System.err.println(vis)
     Assertions.assertTrue(vis.isNotEmpty())
   }
+
+  private class SleepingNode(name: String, val sleepMs: Long, val result: () -> Any) :
+    Node(name) {
+
+    override fun execute(): Pair<Any, Any> {
+      Thread.sleep(sleepMs)
+      return Pair(name, result())
+    }
+
+    override fun visualize(): String = "state $name"
+  }
+
+  @Test
+  fun testParallelNode() {
+    val safe = { SafetyResult.safe<EmptyProof, EmptyCex>(EmptyProof.getInstance()) }
+    val unknown = { SafetyResult.unknown<EmptyProof, EmptyCex>() }
+    val parallel =
+      ParallelNode(
+        "parallel",
+        listOf(
+          SleepingNode("slow", 60_000, safe),
+          SleepingNode("fast", 100, safe),
+          SleepingNode("unknown", 10, unknown),
+        ),
+      )
+    Assertions.assertEquals("fast", STM(parallel, setOf()).execute().first)
+    Assertions.assertEquals(setOf("slow", "fast", "unknown"), parallel.timings.keys)
+    Assertions.assertTrue(parallel.timings["slow"]!! < 60_000)
+
+    val exception = RuntimeException("failed")
+    val failing =
+      ParallelNode(
+        "failing",
+        listOf(
+          SleepingNode("first", 50) { throw exception },
+          SleepingNode("second", 10) { throw IllegalStateException() },
+        ),
+      )
+    val fallback = SleepingNode("fallback", 0, safe)
+    val stm = STM(failing, setOf(Edge(failing, fallback, ExceptionTrigger(exception))))
+    Assertions.assertEquals("fallback", stm.execute().first)
+  }
+
+  @Test
+  fun testParallelNodeRejectsConfigsInThisJvm() {
+    val unknown = { _: XcfaConfig<*, *> -> SafetyResult.unknown<EmptyProof, EmptyCex>() }
+    val config = { inProcess: Boolean ->
+      XcfaConfig<SpecFrontendConfig, SpecBackendConfig>(
+        backendConfig = BackendConfig(inProcess = inProcess)
+      )
+    }
+    ParallelNode(
+      "inProcess",
+      listOf(
+        ConfigNode("first", config(true), unknown),
+        ConfigNode("second", config(true), unknown),
+      ),
+    )
+
+    // the configuration in this JVM is only reached as a fallback within a hierarchical node
+    val outer = ConfigNode("outer", config(true), unknown)
+    val inner = ConfigNode("inner", config(false), unknown)
+    val hierarchical =
+      HierarchicalNode("hierarchical", STM(outer, setOf(Edge(outer, inner, ExceptionTrigger()))))
+    Assertions.assertThrows(IllegalStateException::class.java) {
+      ParallelNode("notInProcess", listOf(hierarchical))
+    }
+  }
 }
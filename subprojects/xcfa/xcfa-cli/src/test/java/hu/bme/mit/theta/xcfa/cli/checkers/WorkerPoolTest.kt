@@ -0,0 +1,171 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.cli.checkers
+
+import hu.bme.mit.theta.common.logging.NullLogger
+import hu.bme.mit.theta.xcfa.cli.XcfaWorker
+import java.io.File
+import java.nio.ByteBuffer
+import kotlin.system.exitProcess
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+/**
+ * Stands in for [XcfaWorker]: requests named `die*` make it exit, requests named `fail*` fail with
+ * code 3 and others succeed as safe.
+ */
+object FakeWorker {
+
+  @JvmStatic
+  fun main(args: Array<String>) {
+    val stdin = System.`in`.bufferedReader()
+    while (true) {
+      val request = stdin.readLine() ?: break
+      val name = File(request).name
+      if (name.startsWith("die")) exitProcess(3)
+      if (name.startsWith("fail")) {
+        println("${XcfaWorker.DONE_MARKER} 3")
+      } else {
+        println("SafetyResult Safe")
+        println("${XcfaWorker.DONE_MARKER} 0")
+      }
+      System.out.flush()
+    }
+  }
+}
+
+class WorkerPoolTest {
+
+  private val pool =
+    WorkerProcessPool {
+      listOf(
+        ProcessHandle.current().info().command().orElse("java"),
+        "-cp",
+        System.getProperty("java.class.path"),
+        FakeWorker::class.java.name,
+      )
+    }
+
+  private val key = WorkerKey("-Xmx64m", null)
+
+  private val logger = NullLogger.getInstance()
+
+  @AfterEach
+  fun tearDown() {
+    pool.shutdown()
+  }
+
+  @Test
+  fun testDoneMarker() {
+    val handler = InProcessChecker.ProcessHandler()
+    val output = "SafetyResult Safe\n${XcfaWorker.DONE_MARKER} 0\n"
+    handler.onStdout(ByteBuffer.wrap(output.take(25).toByteArray()), false)
+    assertEquals(Int.MIN_VALUE, handler.waitFor(10))
+    handler.onStdout(ByteBuffer.wrap(output.drop(25).toByteArray()), false)
+    assertEquals(0, handler.waitFor(1000))
+    assertTrue(handler.safetyResult!!.isSafe)
+
+    assertTrue(handler.reset())
+    assertNull(handler.safetyResult)
+    assertEquals(Int.MIN_VALUE, handler.waitFor(10))
+  }
+
+  @Test
+  fun testResetAfterExit() {
+    val handler = InProcessChecker.ProcessHandler()
+    handler.onExit(3)
+    assertFalse(handler.reset())
+    assertEquals(3, handler.waitFor(1000))
+  }
+
+  @Test
+  fun testAcquireAndReuse() {
+    val worker = pool.acquire(key, logger)
+    assertEquals(1, pool.size)
+    worker.submit(File("first.json"))
+    assertEquals(0, worker.handler.waitFor(TIMEOUT))
+    assertTrue(worker.handler.safetyResult!!.isSafe)
+    pool.release(worker)
+
+    val reused = pool.acquire(key, logger)
+    assertSame(worker, reused)
+    assertNull(reused.handler.safetyResult)
+    reused.submit(File("second.json"))
+    assertEquals(0, reused.handler.waitFor(TIMEOUT))
+    assertEquals(1, pool.size)
+    pool.discard(reused)
+    assertEquals(0, pool.size)
+  }
+
+  @Test
+  fun testFailedWorkerIsReused() {
+    val worker = pool.acquire(key, logger)
+    worker.submit(File("fail.json"))
+    assertEquals(3, worker.handler.waitFor(TIMEOUT))
+    assertNull(worker.handler.safetyResult)
+    pool.release(worker)
+    assertEquals(1, pool.size)
+
+    val reused = pool.acquire(key, logger)
+    assertSame(worker, reused)
+    reused.submit(File("next.json"))
+    assertEquals(0, reused.handler.waitFor(TIMEOUT))
+    assertTrue(reused.handler.safetyResult!!.isSafe)
+    pool.discard(reused)
+  }
+
+  @Test
+  fun testExitedWorkerIsNotReused() {
+    val worker = pool.acquire(key, logger)
+    worker.submit(File("die.json"))
+    assertEquals(3, worker.handler.waitFor(TIMEOUT))
+    pool.release(worker)
+    assertEquals(0, pool.size)
+  }
+
+  @Test
+  fun testDeadWorkerReplaced() {
+    val worker = pool.acquire(key, logger)
+    pool.release(worker)
+    worker.process.destroy(true)
+    assertNotEquals(0, worker.handler.waitFor(TIMEOUT))
+
+    val replacement = pool.acquire(key, logger)
+    assertNotEquals(worker.process.pid, replacement.process.pid)
+    assertEquals(1, pool.size)
+    replacement.submit(File("after.json"))
+    assertEquals(0, replacement.handler.waitFor(TIMEOUT))
+    pool.discard(replacement)
+  }
+
+  @Test
+  fun testNoSpareByDefault() {
+    val worker = pool.acquire(key, logger)
+    assertEquals(1, pool.size)
+    pool.discard(worker)
+  }
+
+  companion object {
+
+    private const val TIMEOUT = 60_000L
+  }
+}
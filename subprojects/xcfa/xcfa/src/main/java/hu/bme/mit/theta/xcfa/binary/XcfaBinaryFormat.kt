@@ -0,0 +1,237 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.binary
+
+import hu.bme.mit.theta.core.decl.VarDecl
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.fptype.FpRoundingMode
+import hu.bme.mit.theta.frontend.ParseContext
+import hu.bme.mit.theta.xcfa.model.XCFA
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.File
+import java.io.InputStream
+import java.io.OutputStream
+import java.lang.reflect.Method
+import java.lang.reflect.Modifier
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.StandardOpenOption
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+
+/*
+ * Binary serialization of an XCFA together with its ParseContext, used to hand the model over to
+ * another JVM without printing and re-parsing the labels.
+ *
+ * Layout: magic, version, parse context, XCFA. Strings and declarations are stored in shared tables
+ * (defined inline at their first occurrence, referred to by index + 1 afterwards), and expressions
+ * are encoded structurally with back-references to already written subexpressions (the same
+ * instances, as equal expressions may still differ in bitvector signedness). Expressions,
+ * statements or types without a binary encoding make the writer throw an
+ * UnsupportedOperationException, so callers can fall back to JSON. Of the frontend metadata, only
+ * entries owned by strings are kept, as other owners are keyed by their identity hash code.
+ */
+
+internal const val MAGIC = 0x54584346 // "TXCF"
+internal const val VERSION = 1
+
+// table entries
+internal const val NEW = 0
+
+// metadata
+internal const val METADATA_EMPTY = 0
+internal const val METADATA_JSON = 1
+
+// declarations
+internal const val DECL_VAR = 0
+internal const val DECL_CONST = 1
+internal const val DECL_PARAM = 2
+
+// types
+internal const val TYPE_BOOL = 0
+internal const val TYPE_INT = 1
+internal const val TYPE_RAT = 2
+internal const val TYPE_BV = 3
+internal const val TYPE_FP = 4
+internal const val TYPE_ARRAY = 5
+internal const val TYPE_ENUM = 6
+
+// expressions
+internal const val EXPR_BACKREF = 0
+internal const val EXPR_TRUE = 1
+internal const val EXPR_FALSE = 2
+internal const val EXPR_INT_LIT = 3
+internal const val EXPR_RAT_LIT = 4
+internal const val EXPR_BV_LIT = 5
+internal const val EXPR_FP_LIT = 6
+internal const val EXPR_ENUM_LIT = 7
+internal const val EXPR_ARRAY_LIT = 8
+internal const val EXPR_ARRAY_INIT = 9
+internal const val EXPR_REF = 10
+internal const val EXPR_DEREF = 11
+internal const val EXPR_REFERENCE = 12
+internal const val EXPR_BV_EXTRACT = 13
+internal const val EXPR_BV_SEXT = 14
+internal const val EXPR_BV_ZEXT = 15
+internal const val EXPR_BV_SIGN_CHANGE = 16
+internal const val EXPR_FP_TO_BV = 17
+internal const val EXPR_FP_TO_FP = 18
+internal const val EXPR_FP_FROM_BV = 19
+internal const val EXPR_GENERIC = 20
+
+// statements
+internal const val STMT_SKIP = 0
+internal const val STMT_ASSIGN = 1
+internal const val STMT_ASSUME = 2
+internal const val STMT_HAVOC = 3
+internal const val STMT_MEMORY_ASSIGN = 4
+internal const val STMT_SEQUENCE = 5
+internal const val STMT_NONDET = 6
+internal const val STMT_IF = 7
+
+// labels
+internal const val LABEL_NOP = 0
+internal const val LABEL_STMT = 1
+internal const val LABEL_SEQUENCE = 2
+internal const val LABEL_NONDET = 3
+internal const val LABEL_INVOKE = 4
+internal const val LABEL_RETURN = 5
+internal const val LABEL_START = 6
+internal const val LABEL_JOIN = 7
+internal const val LABEL_READ = 8
+internal const val LABEL_WRITE = 9
+internal const val LABEL_FENCE = 10
+
+// frontend metadata values
+internal const val VALUE_STRING = 0
+internal const val VALUE_BOOLEAN = 1
+internal const val VALUE_INT = 2
+
+/**
+ * Static factory (`of` or `create`) of an expression class that rebuilds the expression from its
+ * operands (and optionally a rounding mode). Expressions with such a factory are stored as their
+ * class name and operands.
+ */
+internal class ExprFactory
+private constructor(
+  private val method: Method,
+  val hasRoundingMode: Boolean,
+  val isMultiary: Boolean,
+  val arity: Int,
+) {
+
+  fun getRoundingMode(expr: Expr<*>): FpRoundingMode =
+    expr.javaClass.getMethod("getRoundingMode").invoke(expr) as FpRoundingMode
+
+  fun create(roundingMode: FpRoundingMode?, ops: List<Expr<*>>): Expr<*> {
+    val args = ArrayList<Any?>()
+    if (hasRoundingMode) args.add(roundingMode)
+    if (isMultiary) args.add(ops) else args.addAll(ops)
+    return method.invoke(null, *args.toTypedArray()) as Expr<*>
+  }
+
+  companion object {
+
+    private val factories = ConcurrentHashMap<Class<*>, Optional<ExprFactory>>()
+
+    fun of(clazz: Class<*>): ExprFactory? =
+      factories
+        .computeIfAbsent(clazz) {
+          Optional.ofNullable(
+            if (Modifier.isAbstract(clazz.modifiers)) null
+            else
+              clazz.methods
+                .filter {
+                  Modifier.isStatic(it.modifiers) &&
+                    (it.name == "of" || it.name == "create") &&
+                    clazz.isAssignableFrom(it.returnType)
+                }
+                .sortedBy { if (it.name == "of") 0 else 1 }
+                .firstNotNullOfOrNull { of(it) }
+          )
+        }
+        .orElse(null)
+
+    private fun of(method: Method): ExprFactory? {
+      val params = method.parameterTypes.toList()
+      val hasRoundingMode = params.firstOrNull() == FpRoundingMode::class.java
+      val opParams = if (hasRoundingMode) params.drop(1) else params
+      return when {
+        opParams.size == 1 && opParams[0] == Iterable::class.java ->
+          ExprFactory(method, hasRoundingMode, true, -1)
+        opParams.isNotEmpty() && opParams.all { it == Expr::class.java } ->
+          ExprFactory(method, hasRoundingMode, false, opParams.size)
+        else -> null
+      }
+    }
+  }
+}
+
+/** Writes the XCFA and its parse context in binary form to the given stream. */
+fun XCFA.writeBinary(output: OutputStream, parseContext: ParseContext) {
+  XcfaBinaryWriter(output).write(this, parseContext)
+}
+
+/** Writes the XCFA and its parse context in binary form to the given file. */
+fun XCFA.writeBinary(file: File, parseContext: ParseContext) {
+  BufferedOutputStream(file.outputStream()).use { writeBinary(it, parseContext) }
+}
+
+/**
+ * Reads an XCFA and its parse context written by [writeBinary].
+ *
+ * @param vars variables to reuse (by name and type) instead of creating new declarations
+ */
+@JvmOverloads
+fun readXcfaBinary(
+  input: InputStream,
+  vars: Collection<VarDecl<*>> = emptyList(),
+): Pair<XCFA, ParseContext> = XcfaBinaryReader(input, vars).read()
+
+/**
+ * Reads an XCFA and its parse context written by [writeBinary] from a file. If [memoryMapped] is
+ * set, the file is mapped into memory instead of being read through a buffered stream.
+ */
+@JvmOverloads
+fun readXcfaBinary(
+  file: File,
+  memoryMapped: Boolean = false,
+  vars: Collection<VarDecl<*>> = emptyList(),
+): Pair<XCFA, ParseContext> =
+  if (memoryMapped && file.length() <= Int.MAX_VALUE) {
+    FileChannel.open(file.toPath(), StandardOpenOption.READ).use { channel ->
+      val buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+      readXcfaBinary(ByteBufferInputStream(buffer), vars)
+    }
+  } else {
+    BufferedInputStream(file.inputStream()).use { readXcfaBinary(it, vars) }
+  }
+
+private class ByteBufferInputStream(private val buffer: ByteBuffer) : InputStream() {
+
+  override fun read(): Int = if (buffer.hasRemaining()) buffer.get().toInt() and 0xff else -1
+
+  override fun read(b: ByteArray, off: Int, len: Int): Int {
+    if (len == 0) return 0
+    if (!buffer.hasRemaining()) return -1
+    val n = minOf(len, buffer.remaining())
+    buffer.get(b, off, n)
+    return n
+  }
+
+  override fun available(): Int = buffer.remaining()
+}
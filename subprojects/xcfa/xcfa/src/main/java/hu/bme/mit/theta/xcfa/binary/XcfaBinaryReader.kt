@@ -0,0 +1,401 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.binary
+
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import hu.bme.mit.theta.common.Tuple2
+import hu.bme.mit.theta.core.decl.Decl
+import hu.bme.mit.theta.core.decl.Decls.Const
+import hu.bme.mit.theta.core.decl.Decls.Param
+import hu.bme.mit.theta.core.decl.Decls.Var
+import hu.bme.mit.theta.core.decl.VarDecl
+import hu.bme.mit.theta.core.stmt.*
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.LitExpr
+import hu.bme.mit.theta.core.type.Type
+import hu.bme.mit.theta.core.type.anytype.Dereference
+import hu.bme.mit.theta.core.type.anytype.Reference
+import hu.bme.mit.theta.core.type.arraytype.ArrayInitExpr
+import hu.bme.mit.theta.core.type.arraytype.ArrayLitExpr
+import hu.bme.mit.theta.core.type.arraytype.ArrayType
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.False
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.True
+import hu.bme.mit.theta.core.type.booltype.BoolType
+import hu.bme.mit.theta.core.type.bvtype.*
+import hu.bme.mit.theta.core.type.enumtype.EnumLitExpr
+import hu.bme.mit.theta.core.type.enumtype.EnumType
+import hu.bme.mit.theta.core.type.fptype.*
+import hu.bme.mit.theta.core.type.inttype.IntExprs.Int
+import hu.bme.mit.theta.core.type.inttype.IntLitExpr
+import hu.bme.mit.theta.core.type.inttype.IntType
+import hu.bme.mit.theta.core.type.rattype.RatExprs.Rat
+import hu.bme.mit.theta.core.type.rattype.RatLitExpr
+import hu.bme.mit.theta.frontend.FrontendMetadata
+import hu.bme.mit.theta.frontend.ParseContext
+import hu.bme.mit.theta.frontend.transformation.ArchitectureConfig
+import hu.bme.mit.theta.frontend.transformation.CStmtCounter
+import hu.bme.mit.theta.frontend.transformation.grammar.preprocess.ArithmeticTrait
+import hu.bme.mit.theta.xcfa.gson.MetaDataAdapter
+import hu.bme.mit.theta.xcfa.model.*
+import java.io.DataInputStream
+import java.io.InputStream
+import java.math.BigInteger
+import java.util.*
+
+/**
+ * Reads an XCFA and its parse context written by [XcfaBinaryWriter].
+ *
+ * @param vars variables to reuse (by name and type) instead of creating new declarations
+ */
+@Suppress("UNCHECKED_CAST")
+class XcfaBinaryReader(input: InputStream, vars: Collection<VarDecl<*>> = emptyList()) {
+
+  private val input = DataInputStream(input)
+  private val knownVars = vars.associateBy { it.name }
+  private val strings = ArrayList<String>()
+  private val decls = ArrayList<Decl<*>>()
+  private val exprs = ArrayList<Expr<*>>()
+  private val metadataCache = HashMap<String, MetaData>()
+  private val metadataGson: Gson =
+    GsonBuilder().registerTypeHierarchyAdapter(MetaData::class.java, MetaDataAdapter()).create()
+
+  fun read(): Pair<XCFA, ParseContext> {
+    check(input.readInt() == MAGIC) { "Input is not a binary XCFA." }
+    val version = input.readShort().toInt()
+    check(version == VERSION) { "Unsupported binary XCFA version $version (expected $VERSION)." }
+    val parseContext = readParseContext()
+    return Pair(readXcfa(), parseContext)
+  }
+
+  private fun readParseContext(): ParseContext {
+    val arithmeticTraits =
+      readList { ArithmeticTrait.valueOf(readString()) }.toCollection(LinkedHashSet())
+    val architecture = ArchitectureConfig.ArchitectureType.valueOf(readString())
+    val arithmetic = ArchitectureConfig.ArithmeticType.valueOf(readString())
+    val multiThreading = input.readBoolean()
+    val cStmtCounter = CStmtCounter()
+    repeat(readVarInt()) { cStmtCounter.incrementForLoops() }
+    repeat(readVarInt()) { cStmtCounter.incrementWhileLoops() }
+    repeat(readVarInt()) { cStmtCounter.incrementBranches() }
+    val lookupKeyValue = LinkedHashMap<Int, Map<String, Any>>()
+    repeat(readVarInt()) {
+      val owner = input.readInt()
+      val values = LinkedHashMap<String, Any>()
+      repeat(readVarInt()) {
+        val key = readString()
+        values[key] =
+          when (val tag = input.readUnsignedByte()) {
+            VALUE_STRING -> readString()
+            VALUE_BOOLEAN -> input.readBoolean()
+            VALUE_INT -> input.readInt()
+            else -> error("Unknown metadata value tag $tag.")
+          }
+      }
+      lookupKeyValue[owner] = values
+    }
+    return ParseContext(
+      FrontendMetadata(lookupKeyValue, lookupKeyValue.keys),
+      cStmtCounter,
+      arithmeticTraits,
+      architecture,
+      multiThreading,
+      arithmetic,
+    )
+  }
+
+  private fun readXcfa(): XCFA {
+    val name = readString()
+    val unsafeUnrollUsed = input.readBoolean()
+    val globalVars =
+      readList {
+          XcfaGlobalVar(
+            readDecl() as VarDecl<*>,
+            readExpr() as LitExpr<*>,
+            input.readBoolean(),
+            input.readBoolean(),
+          )
+        }
+        .toCollection(LinkedHashSet())
+    val xcfa = XCFA(name, globalVars, unsafeUnrollUsed = unsafeUnrollUsed)
+    val procedures = LinkedHashMap<String, XcfaProcedure>()
+    repeat(readVarInt()) {
+      val procedure = readProcedure()
+      procedure.parent = xcfa
+      procedures[procedure.name] = procedure
+    }
+    val initProcedures = readList {
+      Pair(checkNotNull(procedures[readString()]), readList { readExpr() })
+    }
+    return xcfa.recreate(procedures.values.toSet(), initProcedures)
+  }
+
+  private fun readProcedure(): XcfaProcedure {
+    val name = readString()
+    val params = readList {
+      Pair(readDecl() as VarDecl<*>, ParamDirection.entries[input.readUnsignedByte()])
+    }
+    val vars = readList { readDecl() as VarDecl<*> }.toCollection(LinkedHashSet())
+    val locs = readList {
+      val locName = readString()
+      val initial = input.readBoolean()
+      val final = input.readBoolean()
+      val error = input.readBoolean()
+      XcfaLocation(locName, initial, final, error, readMetadata())
+    }
+    val initLoc = locs[readVarInt()]
+    val finalLoc = Optional.ofNullable(readVarInt().let { if (it == 0) null else locs[it - 1] })
+    val errorLoc = Optional.ofNullable(readVarInt().let { if (it == 0) null else locs[it - 1] })
+    val edges = LinkedHashSet<XcfaEdge>()
+    repeat(readVarInt()) {
+      val source = locs[readVarInt()]
+      val target = locs[readVarInt()]
+      val edge = XcfaEdge(source, target, readLabel(), readMetadata())
+      edges.add(edge)
+      source.outgoingEdges.add(edge)
+      target.incomingEdges.add(edge)
+    }
+    return XcfaProcedure(
+      name,
+      params,
+      vars,
+      locs.toCollection(LinkedHashSet()),
+      edges,
+      initLoc,
+      finalLoc,
+      errorLoc,
+    )
+  }
+
+  private fun readLabel(): XcfaLabel =
+    when (val tag = input.readUnsignedByte()) {
+      LABEL_NOP -> NopLabel
+      LABEL_STMT ->
+        StmtLabel(readStmt(), ChoiceType.entries[input.readUnsignedByte()], readMetadata())
+      LABEL_SEQUENCE -> SequenceLabel(readList { readLabel() }, readMetadata())
+      LABEL_NONDET ->
+        NondetLabel(readList { readLabel() }.toCollection(LinkedHashSet()), readMetadata())
+      LABEL_INVOKE ->
+        InvokeLabel(readString(), readList { readExpr() }, readMetadata(), readTempLookup())
+      LABEL_RETURN -> ReturnLabel(readLabel())
+      LABEL_START ->
+        StartLabel(
+          readString(),
+          readList { readExpr() },
+          readDecl() as VarDecl<*>,
+          readMetadata(),
+          readTempLookup(),
+        )
+      LABEL_JOIN -> JoinLabel(readDecl() as VarDecl<*>, readMetadata())
+      LABEL_READ ->
+        ReadLabel(
+          readDecl() as VarDecl<*>,
+          readDecl() as VarDecl<*>,
+          readList { readString() }.toCollection(LinkedHashSet()),
+          readMetadata(),
+        )
+      LABEL_WRITE ->
+        WriteLabel(
+          readDecl() as VarDecl<*>,
+          readDecl() as VarDecl<*>,
+          readList { readString() }.toCollection(LinkedHashSet()),
+          readMetadata(),
+        )
+      LABEL_FENCE ->
+        FenceLabel(readList { readString() }.toCollection(LinkedHashSet()), readMetadata())
+      else -> error("Unknown label tag $tag.")
+    }
+
+  private fun readTempLookup(): Map<VarDecl<*>, VarDecl<*>> {
+    val tempLookup = LinkedHashMap<VarDecl<*>, VarDecl<*>>()
+    repeat(readVarInt()) { tempLookup[readDecl() as VarDecl<*>] = readDecl() as VarDecl<*> }
+    return tempLookup
+  }
+
+  private fun readStmt(): Stmt =
+    when (val tag = input.readUnsignedByte()) {
+      STMT_SKIP -> SkipStmt.getInstance()
+      STMT_ASSIGN -> AssignStmt.of(readDecl() as VarDecl<Type>, readExpr() as Expr<Type>)
+      STMT_ASSUME -> AssumeStmt.of(readExpr() as Expr<BoolType>)
+      STMT_HAVOC -> HavocStmt.of(readDecl() as VarDecl<*>)
+      STMT_MEMORY_ASSIGN ->
+        MemoryAssignStmt.of(readExpr() as Dereference<Type, Type, Type>, readExpr() as Expr<Type>)
+      STMT_SEQUENCE -> SequenceStmt.of(readList { readStmt() })
+      STMT_NONDET -> NonDetStmt.of(readList { readStmt() })
+      STMT_IF -> IfStmt.of(readExpr() as Expr<BoolType>, readStmt(), readStmt())
+      else -> error("Unknown statement tag $tag.")
+    }
+
+  private fun readExpr(): Expr<*> {
+    val tag = input.readUnsignedByte()
+    if (tag == EXPR_BACKREF) return exprs[readVarInt()]
+    val expr: Expr<*> =
+      when (tag) {
+        EXPR_TRUE -> True()
+        EXPR_FALSE -> False()
+        EXPR_INT_LIT -> Int(readBigInteger())
+        EXPR_RAT_LIT -> Rat(readBigInteger(), readBigInteger())
+        EXPR_BV_LIT -> readBvLit()
+        EXPR_FP_LIT -> FpLitExpr.of(input.readBoolean(), readBvLit(), readBvLit())
+        EXPR_ENUM_LIT -> EnumLitExpr.of(readType() as EnumType, readString())
+        EXPR_ARRAY_LIT -> {
+          val type = readType() as ArrayType<Type, Type>
+          val elems = readList { Tuple2.of(readExpr() as Expr<Type>, readExpr() as Expr<Type>) }
+          ArrayLitExpr.of(elems, readExpr() as Expr<Type>, type)
+        }
+        EXPR_ARRAY_INIT -> {
+          val type = readType() as ArrayType<Type, Type>
+          val elems = readList { Tuple2.of(readExpr() as Expr<Type>, readExpr() as Expr<Type>) }
+          ArrayInitExpr.of(elems, readExpr() as Expr<Type>, type)
+        }
+        EXPR_REF -> readDecl().ref
+        EXPR_DEREF -> {
+          val array = readExpr()
+          val offset = readExpr()
+          val uniquenessIdx = if (input.readBoolean()) readExpr() as Expr<IntType> else null
+          val deref = Dereference.of(array, offset, readType())
+          if (uniquenessIdx != null) deref.withUniquenessExpr(uniquenessIdx) else deref
+        }
+        EXPR_REFERENCE -> Reference.of(readExpr(), readType())
+        EXPR_BV_EXTRACT ->
+          BvExtractExpr.of(
+            readExpr() as Expr<BvType>,
+            readExpr() as IntLitExpr,
+            readExpr() as IntLitExpr,
+          )
+        EXPR_BV_SEXT -> BvSExtExpr.of(readExpr() as Expr<BvType>, readType() as BvType)
+        EXPR_BV_ZEXT -> BvZExtExpr.of(readExpr() as Expr<BvType>, readType() as BvType)
+        EXPR_BV_SIGN_CHANGE -> BvSignChangeExpr.of(readExpr() as Expr<BvType>, readType() as BvType)
+        EXPR_FP_TO_BV ->
+          FpToBvExpr.of(
+            readRoundingMode(),
+            readExpr() as Expr<FpType>,
+            readVarInt(),
+            input.readBoolean(),
+          )
+        EXPR_FP_TO_FP ->
+          FpToFpExpr.of(readRoundingMode(), readExpr() as Expr<FpType>, readVarInt(), readVarInt())
+        EXPR_FP_FROM_BV ->
+          FpFromBvExpr.of(
+            readRoundingMode(),
+            readExpr() as Expr<BvType>,
+            readType() as FpType,
+            input.readBoolean(),
+          )
+        EXPR_GENERIC -> {
+          val className = readString()
+          val factory =
+            checkNotNull(ExprFactory.of(Class.forName(className))) {
+              "$className cannot be created from its operands."
+            }
+          val roundingMode = if (factory.hasRoundingMode) readRoundingMode() else null
+          val arity = if (factory.isMultiary) readVarInt() else factory.arity
+          factory.create(roundingMode, List(arity) { readExpr() })
+        }
+        else -> error("Unknown expression tag $tag.")
+      }
+    exprs.add(expr)
+    return expr
+  }
+
+  private fun readBvLit(): BvLitExpr {
+    val size = readVarInt()
+    val signed = readSignedness()
+    val bytes = ByteArray((size + 7) / 8)
+    input.readFully(bytes)
+    val bits = BooleanArray(size) { i -> (bytes[i / 8].toInt() shr (i % 8)) and 1 == 1 }
+    return BvLitExpr.of(bits, signed)
+  }
+
+  private fun readRoundingMode(): FpRoundingMode = FpRoundingMode.entries[input.readUnsignedByte()]
+
+  private fun readType(): Type =
+    when (val tag = input.readUnsignedByte()) {
+      TYPE_BOOL -> Bool()
+      TYPE_INT -> Int()
+      TYPE_RAT -> Rat()
+      TYPE_BV -> BvType.of(readVarInt(), readSignedness())
+      TYPE_FP -> FpType.of(readVarInt(), readVarInt())
+      TYPE_ARRAY -> ArrayType.of(readType(), readType())
+      TYPE_ENUM -> EnumType.of(readString(), readList { readString() })
+      else -> error("Unknown type tag $tag.")
+    }
+
+  private fun readSignedness(): Boolean? =
+    when (val value = input.readUnsignedByte()) {
+      0 -> null
+      1 -> false
+      2 -> true
+      else -> error("Unknown signedness $value.")
+    }
+
+  private fun readDecl(): Decl<*> {
+    val index = readVarInt()
+    if (index != NEW) return decls[index - 1]
+    val kind = input.readUnsignedByte()
+    val name = readString()
+    val type = readType()
+    val decl =
+      when (kind) {
+        DECL_VAR -> knownVars[name]?.takeIf { it.type == type } ?: Var(name, type)
+        DECL_CONST -> Const(name, type)
+        DECL_PARAM -> Param(name, type)
+        else -> error("Unknown declaration kind $kind.")
+      }
+    decls.add(decl)
+    return decl
+  }
+
+  private fun readMetadata(): MetaData =
+    when (val tag = input.readUnsignedByte()) {
+      METADATA_EMPTY -> EmptyMetaData
+      METADATA_JSON -> {
+        val json = readString()
+        metadataCache.getOrPut(json) { metadataGson.fromJson(json, MetaData::class.java) }
+      }
+      else -> error("Unknown metadata tag $tag.")
+    }
+
+  private fun readString(): String {
+    val index = readVarInt()
+    if (index != NEW) return strings[index - 1]
+    val bytes = ByteArray(readVarInt())
+    input.readFully(bytes)
+    val s = String(bytes, Charsets.UTF_8)
+    strings.add(s)
+    return s
+  }
+
+  private fun readBigInteger(): BigInteger {
+    val bytes = ByteArray(readVarInt())
+    input.readFully(bytes)
+    return BigInteger(bytes)
+  }
+
+  private fun <T> readList(readElement: () -> T): List<T> = List(readVarInt()) { readElement() }
+
+  private fun readVarInt(): Int {
+    var result = 0
+    var shift = 0
+    while (true) {
+      val b = input.readUnsignedByte()
+      result = result or ((b and 0x7f) shl shift)
+      if (b and 0x80 == 0) return result
+      shift += 7
+    }
+  }
+}
@@ -0,0 +1,494 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.binary
+
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import hu.bme.mit.theta.core.decl.ConstDecl
+import hu.bme.mit.theta.core.decl.Decl
+import hu.bme.mit.theta.core.decl.ParamDecl
+import hu.bme.mit.theta.core.decl.VarDecl
+import hu.bme.mit.theta.core.stmt.*
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.Type
+import hu.bme.mit.theta.core.type.anytype.Dereference
+import hu.bme.mit.theta.core.type.anytype.RefExpr
+import hu.bme.mit.theta.core.type.anytype.Reference
+import hu.bme.mit.theta.core.type.arraytype.ArrayInitExpr
+import hu.bme.mit.theta.core.type.arraytype.ArrayLitExpr
+import hu.bme.mit.theta.core.type.arraytype.ArrayType
+import hu.bme.mit.theta.core.type.booltype.BoolType
+import hu.bme.mit.theta.core.type.booltype.FalseExpr
+import hu.bme.mit.theta.core.type.booltype.TrueExpr
+import hu.bme.mit.theta.core.type.bvtype.*
+import hu.bme.mit.theta.core.type.enumtype.EnumLitExpr
+import hu.bme.mit.theta.core.type.enumtype.EnumType
+import hu.bme.mit.theta.core.type.fptype.FpFromBvExpr
+import hu.bme.mit.theta.core.type.fptype.FpLitExpr
+import hu.bme.mit.theta.core.type.fptype.FpToBvExpr
+import hu.bme.mit.theta.core.type.fptype.FpToFpExpr
+import hu.bme.mit.theta.core.type.fptype.FpType
+import hu.bme.mit.theta.core.type.inttype.IntLitExpr
+import hu.bme.mit.theta.core.type.inttype.IntType
+import hu.bme.mit.theta.core.type.rattype.RatLitExpr
+import hu.bme.mit.theta.core.type.rattype.RatType
+import hu.bme.mit.theta.frontend.ParseContext
+import hu.bme.mit.theta.xcfa.gson.MetaDataAdapter
+import hu.bme.mit.theta.xcfa.model.*
+import java.io.DataOutputStream
+import java.io.OutputStream
+import java.math.BigInteger
+import java.util.IdentityHashMap
+
+/** Writes an XCFA and its parse context in binary form, see [writeBinary]. */
+class XcfaBinaryWriter(output: OutputStream) {
+
+  private val out = DataOutputStream(output)
+  private val strings = HashMap<String, Int>()
+  private val decls = HashMap<Decl<*>, Int>()
+  // by identity: equal expressions may differ in bitvector signedness (see BvType.equals)
+  private val exprs = IdentityHashMap<Expr<*>, Int>()
+  private val metadataGson: Gson =
+    GsonBuilder().registerTypeHierarchyAdapter(MetaData::class.java, MetaDataAdapter()).create()
+
+  fun write(xcfa: XCFA, parseContext: ParseContext) {
+    out.writeInt(MAGIC)
+    out.writeShort(VERSION)
+    writeParseContext(parseContext)
+    writeXcfa(xcfa)
+    out.flush()
+  }
+
+  private fun writeParseContext(parseContext: ParseContext) {
+    writeCollection(parseContext.arithmeticTraits) { writeString(it.name) }
+    writeString(parseContext.architecture.name)
+    writeString(parseContext.arithmetic.name)
+    out.writeBoolean(parseContext.multiThreading)
+    writeVarInt(parseContext.cStmtCounter.forLoops)
+    writeVarInt(parseContext.cStmtCounter.whileLoops)
+    writeVarInt(parseContext.cStmtCounter.branches)
+    // owners other than strings are keyed by identity hash codes, which are meaningless in the
+    // reading JVM
+    writeCollection(parseContext.metadata.stringOwnedLookupKeyValue.entries) { (owner, values) ->
+      out.writeInt(owner)
+      val supported = values.filterValues { it is String || it is Boolean || it is Int }
+      writeCollection(supported.entries) { (key, value) ->
+        writeString(key)
+        when (value) {
+          is String -> out.writeByte(VALUE_STRING).also { writeString(value) }
+          is Boolean -> out.writeByte(VALUE_BOOLEAN).also { out.writeBoolean(value) }
+          is Int -> out.writeByte(VALUE_INT).also { out.writeInt(value) }
+        }
+      }
+    }
+  }
+
+  private fun writeXcfa(xcfa: XCFA) {
+    writeString(xcfa.name)
+    out.writeBoolean(xcfa.unsafeUnrollUsed)
+    writeCollection(xcfa.globalVars) {
+      writeDecl(it.wrappedVar)
+      writeExpr(it.initValue)
+      out.writeBoolean(it.threadLocal)
+      out.writeBoolean(it.atomic)
+    }
+    writeCollection(xcfa.procedures) { writeProcedure(it) }
+    writeCollection(xcfa.initProcedures) { (procedure, params) ->
+      writeString(procedure.name)
+      writeCollection(params) { writeExpr(it) }
+    }
+  }
+
+  private fun writeProcedure(procedure: XcfaProcedure) {
+    writeString(procedure.name)
+    writeCollection(procedure.params) { (param, direction) ->
+      writeDecl(param)
+      out.writeByte(direction.ordinal)
+    }
+    writeCollection(procedure.vars) { writeDecl(it) }
+    val locs = HashMap<XcfaLocation, Int>()
+    writeCollection(procedure.locs) {
+      locs[it] = locs.size
+      writeString(it.name)
+      out.writeBoolean(it.initial)
+      out.writeBoolean(it.final)
+      out.writeBoolean(it.error)
+      writeMetadata(it.metadata)
+    }
+    writeVarInt(locs[procedure.initLoc]!!)
+    writeVarInt(procedure.finalLoc.map { locs[it]!! + 1 }.orElse(0))
+    writeVarInt(procedure.errorLoc.map { locs[it]!! + 1 }.orElse(0))
+    writeCollection(procedure.edges) {
+      writeVarInt(locs[it.source]!!)
+      writeVarInt(locs[it.target]!!)
+      writeLabel(it.label)
+      writeMetadata(it.metadata)
+    }
+  }
+
+  private fun writeLabel(label: XcfaLabel) {
+    when (label) {
+      is NopLabel -> out.writeByte(LABEL_NOP)
+      is StmtLabel -> {
+        out.writeByte(LABEL_STMT)
+        writeStmt(label.stmt)
+        out.writeByte(label.choiceType.ordinal)
+        writeMetadata(label.metadata)
+      }
+      is SequenceLabel -> {
+        out.writeByte(LABEL_SEQUENCE)
+        writeCollection(label.labels) { writeLabel(it) }
+        writeMetadata(label.metadata)
+      }
+      is NondetLabel -> {
+        out.writeByte(LABEL_NONDET)
+        writeCollection(label.labels) { writeLabel(it) }
+        writeMetadata(label.metadata)
+      }
+      is InvokeLabel -> {
+        out.writeByte(LABEL_INVOKE)
+        writeString(label.name)
+        writeCollection(label.params) { writeExpr(it) }
+        writeMetadata(label.metadata)
+        writeTempLookup(label.tempLookup)
+      }
+      is ReturnLabel -> {
+        out.writeByte(LABEL_RETURN)
+        writeLabel(label.enclosedLabel)
+      }
+      is StartLabel -> {
+        out.writeByte(LABEL_START)
+        writeString(label.name)
+        writeCollection(label.params) { writeExpr(it) }
+        writeDecl(label.pidVar)
+        writeMetadata(label.metadata)
+        writeTempLookup(label.tempLookup)
+      }
+      is JoinLabel -> {
+        out.writeByte(LABEL_JOIN)
+        writeDecl(label.pidVar)
+        writeMetadata(label.metadata)
+      }
+      is ReadLabel -> {
+        out.writeByte(LABEL_READ)
+        writeDecl(label.local)
+        writeDecl(label.global)
+        writeCollection(label.labels) { writeString(it) }
+        writeMetadata(label.metadata)
+      }
+      is WriteLabel -> {
+        out.writeByte(LABEL_WRITE)
+        writeDecl(label.local)
+        writeDecl(label.global)
+        writeCollection(label.labels) { writeString(it) }
+        writeMetadata(label.metadata)
+      }
+      is FenceLabel -> {
+        out.writeByte(LABEL_FENCE)
+        writeCollection(label.labels) { writeString(it) }
+        writeMetadata(label.metadata)
+      }
+    }
+  }
+
+  private fun writeTempLookup(tempLookup: Map<VarDecl<*>, VarDecl<*>>) {
+    writeCollection(tempLookup.entries) { (key, value) ->
+      writeDecl(key)
+      writeDecl(value)
+    }
+  }
+
+  private fun writeStmt(stmt: Stmt) {
+    when (stmt) {
+      is SkipStmt -> out.writeByte(STMT_SKIP)
+      is AssignStmt<*> -> {
+        out.writeByte(STMT_ASSIGN)
+        writeDecl(stmt.varDecl)
+        writeExpr(stmt.expr)
+      }
+      is AssumeStmt -> {
+        out.writeByte(STMT_ASSUME)
+        writeExpr(stmt.cond)
+      }
+      is HavocStmt<*> -> {
+        out.writeByte(STMT_HAVOC)
+        writeDecl(stmt.varDecl)
+      }
+      is MemoryAssignStmt<*, *, *> -> {
+        out.writeByte(STMT_MEMORY_ASSIGN)
+        writeExpr(stmt.deref)
+        writeExpr(stmt.expr)
+      }
+      is SequenceStmt -> {
+        out.writeByte(STMT_SEQUENCE)
+        writeCollection(stmt.stmts) { writeStmt(it) }
+      }
+      is NonDetStmt -> {
+        out.writeByte(STMT_NONDET)
+        writeCollection(stmt.stmts) { writeStmt(it) }
+      }
+      is IfStmt -> {
+        out.writeByte(STMT_IF)
+        writeExpr(stmt.cond)
+        writeStmt(stmt.then)
+        writeStmt(stmt.elze)
+      }
+      else -> unsupported(stmt)
+    }
+  }
+
+  private fun writeExpr(expr: Expr<*>) {
+    val index = exprs[expr]
+    if (index != null) {
+      out.writeByte(EXPR_BACKREF)
+      writeVarInt(index)
+      return
+    }
+    when (expr) {
+      is TrueExpr -> out.writeByte(EXPR_TRUE)
+      is FalseExpr -> out.writeByte(EXPR_FALSE)
+      is IntLitExpr -> {
+        out.writeByte(EXPR_INT_LIT)
+        writeBigInteger(expr.value)
+      }
+      is RatLitExpr -> {
+        out.writeByte(EXPR_RAT_LIT)
+        writeBigInteger(expr.num)
+        writeBigInteger(expr.denom)
+      }
+      is BvLitExpr -> {
+        out.writeByte(EXPR_BV_LIT)
+        writeBvLit(expr)
+      }
+      is FpLitExpr -> {
+        out.writeByte(EXPR_FP_LIT)
+        out.writeBoolean(expr.hidden)
+        writeBvLit(expr.exponent)
+        writeBvLit(expr.significand)
+      }
+      is EnumLitExpr -> {
+        out.writeByte(EXPR_ENUM_LIT)
+        writeType(expr.type)
+        writeString(expr.value)
+      }
+      is ArrayLitExpr<*, *> -> {
+        out.writeByte(EXPR_ARRAY_LIT)
+        writeType(expr.type)
+        writeCollection(expr.elements) {
+          writeExpr(it.get1())
+          writeExpr(it.get2())
+        }
+        writeExpr(expr.elseElem)
+      }
+      is ArrayInitExpr<*, *> -> {
+        out.writeByte(EXPR_ARRAY_INIT)
+        writeType(expr.type)
+        writeCollection(expr.elements) {
+          writeExpr(it.get1())
+          writeExpr(it.get2())
+        }
+        writeExpr(expr.elseElem)
+      }
+      is RefExpr<*> -> {
+        out.writeByte(EXPR_REF)
+        writeDecl(expr.decl)
+      }
+      is Dereference<*, *, *> -> {
+        out.writeByte(EXPR_DEREF)
+        writeExpr(expr.array)
+        writeExpr(expr.offset)
+        out.writeBoolean(expr.uniquenessIdx.isPresent)
+        expr.uniquenessIdx.ifPresent { writeExpr(it) }
+        writeType(expr.type)
+      }
+      is Reference<*, *> -> {
+        out.writeByte(EXPR_REFERENCE)
+        writeExpr(expr.expr)
+        writeType(expr.type)
+      }
+      is BvExtractExpr -> {
+        out.writeByte(EXPR_BV_EXTRACT)
+        writeExpr(expr.bitvec)
+        writeExpr(expr.from)
+        writeExpr(expr.until)
+      }
+      is BvSExtExpr -> {
+        out.writeByte(EXPR_BV_SEXT)
+        writeExpr(expr.op)
+        writeType(expr.extendType)
+      }
+      is BvZExtExpr -> {
+        out.writeByte(EXPR_BV_ZEXT)
+        writeExpr(expr.op)
+        writeType(expr.extendType)
+      }
+      is BvSignChangeExpr -> {
+        out.writeByte(EXPR_BV_SIGN_CHANGE)
+        writeExpr(expr.op)
+        writeType(expr.type)
+      }
+      is FpToBvExpr -> {
+        out.writeByte(EXPR_FP_TO_BV)
+        out.writeByte(expr.roundingMode.ordinal)
+        writeExpr(expr.op)
+        writeVarInt(expr.size)
+        out.writeBoolean(expr.sgn)
+      }
+      is FpToFpExpr -> {
+        out.writeByte(EXPR_FP_TO_FP)
+        out.writeByte(expr.roundingMode.ordinal)
+        writeExpr(expr.op)
+        writeVarInt(expr.expBits)
+        writeVarInt(expr.signBits)
+      }
+      is FpFromBvExpr -> {
+        out.writeByte(EXPR_FP_FROM_BV)
+        out.writeByte(expr.roundingMode.ordinal)
+        writeExpr(expr.op)
+        writeType(expr.fpType)
+        out.writeBoolean(expr.isSigned)
+      }
+      else -> {
+        val factory = ExprFactory.of(expr.javaClass)
+        if (factory == null || (!factory.isMultiary && factory.arity != expr.ops.size)) {
+          unsupported(expr)
+        }
+        out.writeByte(EXPR_GENERIC)
+        writeString(expr.javaClass.name)
+        if (factory.hasRoundingMode) out.writeByte(factory.getRoundingMode(expr).ordinal)
+        if (factory.isMultiary) writeVarInt(expr.ops.size)
+        expr.ops.forEach { writeExpr(it) }
+      }
+    }
+    exprs[expr] = exprs.size
+  }
+
+  private fun writeBvLit(lit: BvLitExpr) {
+    val bits = lit.value
+    writeVarInt(bits.size)
+    writeSignedness(lit.type.signed)
+    val bytes = ByteArray((bits.size + 7) / 8)
+    bits.forEachIndexed { i, bit ->
+      if (bit) bytes[i / 8] = (bytes[i / 8].toInt() or (1 shl (i % 8))).toByte()
+    }
+    out.write(bytes)
+  }
+
+  private fun writeType(type: Type) {
+    when (type) {
+      is BoolType -> out.writeByte(TYPE_BOOL)
+      is IntType -> out.writeByte(TYPE_INT)
+      is RatType -> out.writeByte(TYPE_RAT)
+      is BvType -> {
+        out.writeByte(TYPE_BV)
+        writeVarInt(type.size)
+        writeSignedness(type.signed)
+      }
+      is FpType -> {
+        out.writeByte(TYPE_FP)
+        writeVarInt(type.exponent)
+        writeVarInt(type.significand)
+      }
+      is ArrayType<*, *> -> {
+        out.writeByte(TYPE_ARRAY)
+        writeType(type.indexType)
+        writeType(type.elemType)
+      }
+      is EnumType -> {
+        out.writeByte(TYPE_ENUM)
+        writeString(type.name)
+        writeCollection(type.values) { writeString(it) }
+      }
+      else -> unsupported(type)
+    }
+  }
+
+  private fun writeSignedness(signed: Boolean?) {
+    out.writeByte(
+      when (signed) {
+        null -> 0
+        false -> 1
+        true -> 2
+      }
+    )
+  }
+
+  private fun writeDecl(decl: Decl<*>) {
+    val index = decls[decl]
+    if (index != null) {
+      writeVarInt(index + 1)
+      return
+    }
+    writeVarInt(NEW)
+    out.writeByte(
+      when (decl) {
+        is VarDecl<*> -> DECL_VAR
+        is ConstDecl<*> -> DECL_CONST
+        is ParamDecl<*> -> DECL_PARAM
+        else -> unsupported(decl)
+      }
+    )
+    writeString(decl.name)
+    writeType(decl.type)
+    decls[decl] = decls.size
+  }
+
+  private fun writeMetadata(metadata: MetaData) {
+    if (metadata == EmptyMetaData) {
+      out.writeByte(METADATA_EMPTY)
+    } else {
+      out.writeByte(METADATA_JSON)
+      writeString(metadataGson.toJson(metadata, MetaData::class.java))
+    }
+  }
+
+  private fun writeString(s: String) {
+    val index = strings[s]
+    if (index != null) {
+      writeVarInt(index + 1)
+      return
+    }
+    writeVarInt(NEW)
+    val bytes = s.toByteArray(Charsets.UTF_8)
+    writeVarInt(bytes.size)
+    out.write(bytes)
+    strings[s] = strings.size
+  }
+
+  private fun writeBigInteger(value: BigInteger) {
+    val bytes = value.toByteArray()
+    writeVarInt(bytes.size)
+    out.write(bytes)
+  }
+
+  private fun <T> writeCollection(collection: Collection<T>, writeElement: (T) -> Unit) {
+    writeVarInt(collection.size)
+    collection.forEach(writeElement)
+  }
+
+  private fun writeVarInt(value: Int) {
+    check(value >= 0) { "Negative value $value cannot be written as a varint." }
+    var v = value
+    while (v and 0x7f.inv() != 0) {
+      out.writeByte((v and 0x7f) or 0x80)
+      v = v ushr 7
+    }
+    out.writeByte(v)
+  }
+
+  private fun unsupported(obj: Any): Nothing =
+    throw UnsupportedOperationException("${obj.javaClass.simpleName} has no binary encoding.")
+}
@@ -20,6 +20,7 @@ import hu.bme.mit.theta.core.type.Expr
 import hu.bme.mit.theta.core.type.LitExpr
 import hu.bme.mit.theta.xcfa.lazyPointsToGraph
 import java.util.*
+import java.util.concurrent.atomic.AtomicInteger
 
 class XCFA(
   val name: String,
@@ -125,9 +126,9 @@ constructor(
 
   companion object {
 
-    private var cnt: Int = 0
+    private val cnt = AtomicInteger()
 
-    fun uniqueCounter(): Int = cnt++
+    fun uniqueCounter(): Int = cnt.getAndIncrement()
   }
 
   override fun toString(): String {
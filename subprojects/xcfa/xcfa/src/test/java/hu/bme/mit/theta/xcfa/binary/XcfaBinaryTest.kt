@@ -0,0 +1,407 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xcfa.binary
+
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import hu.bme.mit.theta.common.dsl.Env
+import hu.bme.mit.theta.core.decl.Decls.Param
+import hu.bme.mit.theta.core.decl.VarDecl
+import hu.bme.mit.theta.core.stmt.Stmt
+import hu.bme.mit.theta.core.stmt.AssignStmt
+import hu.bme.mit.theta.core.type.Expr
+import hu.bme.mit.theta.core.type.Type
+import hu.bme.mit.theta.core.type.anytype.Dereference
+import hu.bme.mit.theta.core.type.anytype.IteExpr
+import hu.bme.mit.theta.core.type.anytype.RefExpr
+import hu.bme.mit.theta.core.type.arraytype.ArrayReadExpr
+import hu.bme.mit.theta.core.type.arraytype.ArrayType
+import hu.bme.mit.theta.core.type.arraytype.ArrayWriteExpr
+import hu.bme.mit.theta.core.type.booltype.AndExpr
+import hu.bme.mit.theta.core.type.booltype.BoolExprs.Forall
+import hu.bme.mit.theta.core.type.bvtype.*
+import hu.bme.mit.theta.core.type.fptype.*
+import hu.bme.mit.theta.core.type.inttype.IntExprs.Eq
+import hu.bme.mit.theta.core.type.inttype.IntExprs.Int
+import hu.bme.mit.theta.core.type.inttype.IntType
+import hu.bme.mit.theta.core.utils.TypeUtils.equalsWithSignedness
+import hu.bme.mit.theta.core.utils.indexings.BasicVarIndexing
+import hu.bme.mit.theta.core.utils.indexings.VarIndexing
+import hu.bme.mit.theta.frontend.ParseContext
+import hu.bme.mit.theta.frontend.transformation.ArchitectureConfig
+import hu.bme.mit.theta.frontend.transformation.grammar.preprocess.ArithmeticTrait
+import hu.bme.mit.theta.grammar.dsl.expr.ExpressionWrapper
+import hu.bme.mit.theta.grammar.dsl.stmt.StatementWrapper
+import hu.bme.mit.theta.grammar.dsl.type.TypeWrapper
+import hu.bme.mit.theta.grammar.gson.OptionalAdapter
+import hu.bme.mit.theta.grammar.gson.PairAdapter
+import hu.bme.mit.theta.grammar.gson.StringTypeAdapter
+import hu.bme.mit.theta.grammar.gson.VarDeclAdapter
+import hu.bme.mit.theta.xcfa.XcfaScope
+import hu.bme.mit.theta.xcfa.collectVars
+import hu.bme.mit.theta.xcfa.getFlatLabels
+import hu.bme.mit.theta.xcfa.getSymbols
+import hu.bme.mit.theta.xcfa.gson.*
+import hu.bme.mit.theta.xcfa.model.*
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.File
+import java.util.*
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class XcfaBinaryTest {
+
+  private fun getXcfa() =
+    xcfa("example") {
+      lateinit var x: VarDecl<*>
+      lateinit var y: VarDecl<*>
+      global {
+        x = "x" type Int() init "1"
+        "thr1" type Int() init "0"
+      }
+      threadlocal { y = "y" type Int() init "2" }
+      val proc1 =
+        procedure("proc1") {
+          "a" type Int() direction ParamDirection.IN
+          "b" type Int() direction ParamDirection.OUT
+          val c = "c" type Int() direction ParamDirection.INOUT
+          val d = "d" type Int()
+
+          (init to final) {
+            d assign "a + c"
+            havoc("b")
+            havoc(c)
+            "x" assign d.ref
+          }
+        }
+      val main =
+        procedure("main") {
+          val ret = "ret" type Int()
+          val param = "param" type Int()
+
+          (init to "L0") {
+            param assign "0"
+            proc1("1", ret.ref, param.ref)
+            "thr1".start("proc1", "1", ret.ref, param.ref)
+          }
+          ("L0" to "L1") {
+            nondet {
+              "thr1".join()
+              fence("F")
+            }
+          }
+          ("L1" to final) { assume(Eq(x.ref as RefExpr<IntType>, y.ref as RefExpr<IntType>)) }
+          ("L1" to err) { assume("(/= x y)") }
+        }
+
+      main.start()
+    }
+
+  private fun roundtrip(xcfa: XCFA, parseContext: ParseContext = ParseContext()): XCFA {
+    val output = ByteArrayOutputStream()
+    xcfa.writeBinary(output, parseContext)
+    return readXcfaBinary(ByteArrayInputStream(output.toByteArray()), xcfa.allVars()).first
+  }
+
+  private fun XCFA.allVars(): List<VarDecl<*>> =
+    (collectVars() + procedures.flatMap { p -> p.params.map { it.first } }).distinct()
+
+  @Test
+  fun testRoundtrip() {
+    val xcfaSource = getXcfa()
+    val output = roundtrip(xcfaSource)
+    assertEquals(xcfaSource, output)
+    assertEquals(xcfaSource.toString(), output.toString())
+  }
+
+  @Test
+  fun testFreshDeclarations() {
+    val xcfaSource = getXcfa()
+    val output = ByteArrayOutputStream()
+    xcfaSource.writeBinary(output, ParseContext())
+    val xcfa = readXcfaBinary(ByteArrayInputStream(output.toByteArray())).first
+
+    assertEquals(xcfaSource.toString(), xcfa.toString())
+    val x = xcfa.globalVars.single { it.wrappedVar.name == "x" }.wrappedVar
+    val proc1 = xcfa.procedures.single { it.name == "proc1" }
+    val assignedVars =
+      proc1.edges.flatMap { edge ->
+        (edge.label as SequenceLabel).labels.mapNotNull {
+          ((it as? StmtLabel)?.stmt as? AssignStmt<*>)?.varDecl
+        }
+      }
+    assertTrue(assignedVars.any { it === x })
+    assertTrue(assignedVars.all { it === x || it in proc1.vars })
+  }
+
+  @Test
+  fun testExpressionRoundtrip() {
+    val bv = BvType.of(32, true)
+    val ubv = BvType.of(32, false)
+    val fp = FpType.of(8, 24)
+    val xcfaSource =
+      xcfa("exprs") {
+        procedure("main") {
+          val b = "b" type bv
+          val f = "f" type fp
+          val arr = "arr" type ArrayType.of(bv, bv)
+          val bRef = b.ref as Expr<BvType>
+          val fRef = f.ref as Expr<FpType>
+          val arrRef = arr.ref as Expr<ArrayType<BvType, BvType>>
+          val one = BvLitExpr.of(1L, 32, true)
+          val wide = BvLitExpr.of(BooleanArray(100) { it % 3 == 0 }, false)
+          val byte = BvExtractExpr.of(bRef, Int(0), Int(8))
+          val bvExprs =
+            listOf(
+              BvAddExpr.of(listOf(bRef, one, one)),
+              BvSExtExpr.of(byte, bv),
+              BvZExtExpr.of(byte, bv),
+              FpToBvExpr.of(FpRoundingMode.RNE, fRef, 32, true),
+              ArrayReadExpr.of(ArrayWriteExpr.of(arrRef, bRef, one), one),
+              IteExpr.of(BvSLtExpr.of(bRef, one), bRef, one),
+              Dereference.of(bRef, one, bv),
+              Dereference.of(bRef, one, bv).withUniquenessExpr(Int(3)),
+            )
+          val fpExprs =
+            listOf(
+              FpAddExpr.of(FpRoundingMode.RNE, listOf(fRef, fRef)),
+              FpSubExpr.of(FpRoundingMode.RTZ, fRef, fRef),
+              FpSqrtExpr.of(FpRoundingMode.RTP, fRef),
+              FpFromBvExpr.of(FpRoundingMode.RNE, bRef, fp, true),
+              FpLitExpr.of(false, BvLitExpr.of(127L, 8, false), BvLitExpr.of(0L, 23, false)),
+            )
+          val boolExprs =
+            listOf(
+              BvULtExpr.of(BvSignChangeExpr.of(bRef, ubv), BvLitExpr.of(3L, 32, false)),
+              BvEqExpr.of(BvExtractExpr.of(wide, Int(0), Int(1)), BvLitExpr.of(1L, 1, false)),
+              FpLeqExpr.of(FpToFpExpr.of(FpRoundingMode.RNE, fRef, 8, 24), fRef),
+            )
+          (init to "L0") {
+            bvExprs.forEach { b assign it }
+            fpExprs.map { f assign it }.last()
+          }
+          ("L0" to final) { assume(AndExpr.of(boolExprs)) }
+        }
+      }
+
+    assertEquals(xcfaSource, roundtrip(xcfaSource))
+  }
+
+  @Test
+  fun testSignednessRoundtrip() {
+    val signed = BvLitExpr.of(1L, 32, true)
+    val unsigned = BvLitExpr.of(1L, 32, false)
+    val xcfaSource =
+      xcfa("signedness") {
+        procedure("main") {
+          val s = "s" type BvType.of(32, true)
+          val u = "u" type BvType.of(32, false)
+          (init to final) {
+            s assign signed
+            u assign unsigned
+            s assign BvAddExpr.of(listOf(signed, signed))
+            u assign BvAddExpr.of(listOf(unsigned, unsigned))
+          }
+        }
+      }
+
+    val expected = xcfaSource.assignedExprs()
+    val actual = roundtrip(xcfaSource).assignedExprs()
+    assertEquals(expected, actual)
+    expected.zip(actual).forEach { (e, a) -> assertSameTypes(e, a) }
+  }
+
+  private fun XCFA.assignedExprs(): List<Expr<*>> =
+    procedures.flatMap { proc ->
+      proc.edges.flatMap { edge ->
+        edge.getFlatLabels().mapNotNull { ((it as? StmtLabel)?.stmt as? AssignStmt<*>)?.expr }
+      }
+    }
+
+  private fun assertSameTypes(expected: Expr<*>, actual: Expr<*>) {
+    assertTrue(equalsWithSignedness(expected.type, actual.type), "$expected vs $actual")
+    expected.ops.zip(actual.ops).forEach { (e, a) -> assertSameTypes(e, a) }
+  }
+
+  @Test
+  fun testParseContextRoundtrip() {
+    val parseContext = ParseContext()
+    parseContext.metadata.create("owner", "key", "value")
+    parseContext.metadata.create("owner", "flag", true)
+    parseContext.addArithmeticTrait(ArithmeticTrait.BITWISE)
+    parseContext.architecture = ArchitectureConfig.ArchitectureType.ILP32
+    parseContext.arithmetic = ArchitectureConfig.ArithmeticType.bitvector
+    parseContext.multiThreading = true
+    parseContext.cStmtCounter.incrementBranches()
+    parseContext.cStmtCounter.incrementForLoops()
+
+    val output = ByteArrayOutputStream()
+    getXcfa().writeBinary(output, parseContext)
+    val (_, read) = readXcfaBinary(ByteArrayInputStream(output.toByteArray()))
+
+    assertEquals(parseContext.metadata.lookupKeyValue, read.metadata.lookupKeyValue)
+    assertEquals(parseContext.arithmeticTraits, read.arithmeticTraits)
+    assertEquals(parseContext.architecture, read.architecture)
+    assertEquals(parseContext.arithmetic, read.arithmetic)
+    assertEquals(parseContext.multiThreading, read.multiThreading)
+    assertEquals(1, read.cStmtCounter.branches)
+    assertEquals(1, read.cStmtCounter.forLoops)
+    assertEquals(0, read.cStmtCounter.whileLoops)
+  }
+
+  @Test
+  fun testMetadataOfIdentityOwnersDropped() {
+    val parseContext = ParseContext()
+    val owner = Eq(Int(1), Int(2))
+    parseContext.metadata.create("owner", "key", "value")
+    parseContext.metadata.create(owner, "cTruth", true)
+
+    val output = ByteArrayOutputStream()
+    getXcfa().writeBinary(output, parseContext)
+    val (_, read) = readXcfaBinary(ByteArrayInputStream(output.toByteArray()))
+
+    assertEquals(1, read.metadata.lookupKeyValue.size)
+    assertEquals(Optional.of("value"), read.metadata.getMetadataValue("owner", "key"))
+    assertEquals(Optional.empty<Any>(), read.metadata.getMetadataValue(owner, "cTruth"))
+
+    val rewritten = ByteArrayOutputStream()
+    getXcfa().writeBinary(rewritten, read)
+    val (_, reread) = readXcfaBinary(ByteArrayInputStream(rewritten.toByteArray()))
+    assertEquals(read.metadata.lookupKeyValue, reread.metadata.lookupKeyValue)
+  }
+
+  @Test
+  fun testFileRoundtrip() {
+    val xcfaSource = getXcfa()
+    val file = File.createTempFile("xcfa", ".bin")
+    file.deleteOnExit()
+    xcfaSource.writeBinary(file, ParseContext())
+
+    assertEquals(xcfaSource, readXcfaBinary(file, false, xcfaSource.allVars()).first)
+    assertEquals(xcfaSource, readXcfaBinary(file, true, xcfaSource.allVars()).first)
+  }
+
+  @Test
+  fun testUnsupportedExpression() {
+    val xcfaSource =
+      xcfa("unsupported") {
+        procedure("main") {
+          (init to final) {
+            assume(Forall(listOf(Param("p", Int())), Eq(Param("q", Int()).ref, Int(0))))
+          }
+        }
+      }
+    assertThrows(UnsupportedOperationException::class.java) {
+      xcfaSource.writeBinary(ByteArrayOutputStream(), ParseContext())
+    }
+  }
+
+  @Test
+  fun testVersionCheck() {
+    val output = ByteArrayOutputStream()
+    getXcfa().writeBinary(output, ParseContext())
+    val bytes = output.toByteArray()
+    bytes[5] = (bytes[5] + 1).toByte()
+    assertThrows(IllegalStateException::class.java) {
+      readXcfaBinary(ByteArrayInputStream(bytes))
+    }
+  }
+
+  @Test
+  fun testComparisonWithJson() {
+    val xcfaSource =
+      xcfa("large") {
+        global { "g" type Int() init "0" }
+        procedure("main") {
+          "x" type Int()
+          "y" type Int()
+          (init to "L0") { "x" assign "0" }
+          for (i in 0 until 500) {
+            ("L$i" to "L${i + 1}") {
+              "x" assign "(+ x (* y $i))"
+              "g" assign "(ite (< x $i) (+ g 1) (- g 1))"
+            }
+          }
+          ("L500" to final) { assume("(= x g)") }
+        }
+      }
+
+    val (scope, env) = xcfaSource.getSymbols()
+    val gson = getGson(scope, env)
+
+    var start = System.nanoTime()
+    val json = gson.toJson(xcfaSource)
+    val jsonWrite = System.nanoTime() - start
+    start = System.nanoTime()
+    val fromJson = gson.fromJson(json, XCFA::class.java)
+    val jsonRead = System.nanoTime() - start
+
+    start = System.nanoTime()
+    val output = ByteArrayOutputStream()
+    xcfaSource.writeBinary(output, ParseContext())
+    val binaryWrite = System.nanoTime() - start
+    start = System.nanoTime()
+    val fromBinary =
+      readXcfaBinary(ByteArrayInputStream(output.toByteArray()), xcfaSource.allVars()).first
+    val binaryRead = System.nanoTime() - start
+
+    println("JSON: ${json.length} chars, write ${jsonWrite / 1000} us, read ${jsonRead / 1000} us")
+    println(
+      "Binary: ${output.size()} bytes, write ${binaryWrite / 1000} us, read ${binaryRead / 1000} us"
+    )
+    assertEquals(fromJson, fromBinary)
+    assertTrue(output.size() < json.length)
+  }
+
+  private fun getGson(scope: XcfaScope, env: Env): Gson {
+    val gsonBuilder = GsonBuilder()
+    lateinit var gson: Gson
+    gsonBuilder.registerTypeHierarchyAdapter(XcfaLocation::class.java, XcfaLocationAdapter { gson })
+    gsonBuilder.registerTypeHierarchyAdapter(XCFA::class.java, XcfaAdapter { gson })
+    gsonBuilder.registerTypeHierarchyAdapter(
+      VarDecl::class.java,
+      VarDeclAdapter({ gson }, scope, env, false),
+    )
+    gsonBuilder.registerTypeHierarchyAdapter(
+      Stmt::class.java,
+      StringTypeAdapter { StatementWrapper(it, scope).instantiate(env) },
+    )
+    gsonBuilder.registerTypeHierarchyAdapter(
+      Expr::class.java,
+      StringTypeAdapter { ExpressionWrapper(scope, it).instantiate(env) },
+    )
+    gsonBuilder.registerTypeHierarchyAdapter(
+      Type::class.java,
+      StringTypeAdapter { TypeWrapper(it).instantiate() },
+    )
+    gsonBuilder.registerTypeHierarchyAdapter(
+      VarIndexing::class.java,
+      StringTypeAdapter { BasicVarIndexing.fromString(it, scope, env) },
+    )
+    gsonBuilder.registerTypeHierarchyAdapter(
+      XcfaLabel::class.java,
+      XcfaLabelAdapter(scope, env, { gson }),
+    )
+    gsonBuilder.registerTypeHierarchyAdapter(MetaData::class.java, MetaDataAdapter())
+    gsonBuilder.registerTypeHierarchyAdapter(Pair::class.java, PairAdapter<Any, Any> { gson })
+    gsonBuilder.registerTypeHierarchyAdapter(Optional::class.java, OptionalAdapter<Any> { gson })
+    gson = gsonBuilder.create()
+    return gson
+  }
+}
@@ -16,6 +16,7 @@
 plugins {
     id("java-common")
     id("kotlin-common")
+    id("jmh-benchmarks")
 }
 
 dependencies {
@@ -28,4 +29,5 @@ dependencies {
     testImplementation(project(":theta-solver-z3-legacy"))
     testImplementation(project(":theta-solver-smtlib"))
     testImplementation(project(":theta-solver-javasmt"))
+    "jmhImplementation"(project(":theta-solver-z3-legacy"))
 }
@@ -0,0 +1,215 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xsts.analysis;
+
+import hu.bme.mit.theta.analysis.algorithm.bounded.MonolithicExprVarOrderingKt;
+import hu.bme.mit.theta.analysis.algorithm.mdd.MddChecker;
+import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.MddCachePolicy;
+import hu.bme.mit.theta.common.logging.NullLogger;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.ItpSolver;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverFactory;
+import hu.bme.mit.theta.solver.SolverPool;
+import hu.bme.mit.theta.solver.SolverStatus;
+import hu.bme.mit.theta.solver.UCSolver;
+import hu.bme.mit.theta.solver.z3legacy.Z3LegacySolverFactory;
+import hu.bme.mit.theta.xsts.XSTS;
+import hu.bme.mit.theta.xsts.analysis.pipeline.XstsPipelineChecker;
+import hu.bme.mit.theta.xsts.dsl.XstsDslManager;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the MDD checker with finite domains encoded as bounded levels to the unbounded encoding
+ * (maxFiniteDomainSize = 0) on the XSTS test models. Besides the time, the number of solver checks
+ * per run is reported as the secondary metric {@code solverChecks}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class XstsMddSolverCallBenchmark {
+
+    private static final String RESOURCES = "src/test/resources/";
+
+    @Param({
+        "trafficlight_v2.xsts:green_and_red.prop",
+        "sequential.xsts:sequential.prop",
+        "choices.xsts:choices.prop",
+        "bhmr2007.xsts:bhmr2007.prop",
+        "counter5.xsts:x_between_0_and_5.prop"
+    })
+    public String model;
+
+    @Param({"0", "" + MddChecker.DEFAULT_MAX_FINITE_DOMAIN_SIZE})
+    public int maxFiniteDomainSize;
+
+    private XSTS xsts;
+
+    /** Solver checks of the last invocation, reported by JMH next to the time. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SolverCalls {
+        public long solverChecks;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final String[] paths = model.split(":");
+        try (InputStream inputStream =
+                new SequenceInputStream(
+                        new FileInputStream(RESOURCES + "model/" + paths[0]),
+                        new FileInputStream(RESOURCES + "property/" + paths[1]))) {
+            xsts = XstsDslManager.createXsts(inputStream);
+        }
+    }
+
+    @Benchmark
+    public boolean check(final SolverCalls calls) throws Exception {
+        final CountingSolverFactory solverFactory =
+                new CountingSolverFactory(Z3LegacySolverFactory.getInstance());
+        final boolean safe;
+        try (var solverPool = new SolverPool(solverFactory)) {
+            final var checker =
+                    new XstsPipelineChecker<>(
+                            xsts,
+                            monolithicExpr ->
+                                    new MddChecker(
+                                            monolithicExpr,
+                                            solverPool,
+                                            NullLogger.getInstance(),
+                                            MddChecker.IterationStrategy.GSAT,
+                                            10,
+                                            MonolithicExprVarOrderingKt.orderVars(monolithicExpr),
+                                            MddCachePolicy.unbounded(),
+                                            true,
+                                            0,
+                                            maxFiniteDomainSize));
+            safe = checker.check().isSafe();
+        }
+        calls.solverChecks += solverFactory.checks.get();
+        return safe;
+    }
+
+    private static final class CountingSolverFactory implements SolverFactory {
+        private final SolverFactory factory;
+        private final AtomicLong checks = new AtomicLong();
+
+        private CountingSolverFactory(final SolverFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public Solver createSolver() {
+            return new CountingSolver(factory.createSolver(), checks);
+        }
+
+        @Override
+        public UCSolver createUCSolver() {
+            return factory.createUCSolver();
+        }
+
+        @Override
+        public ItpSolver createItpSolver() {
+            return factory.createItpSolver();
+        }
+    }
+
+    private static final class CountingSolver implements Solver {
+        private final Solver solver;
+        private final AtomicLong checks;
+
+        private CountingSolver(final Solver solver, final AtomicLong checks) {
+            this.solver = solver;
+            this.checks = checks;
+        }
+
+        @Override
+        public void add(final Expr<BoolType> assertion) {
+            solver.add(assertion);
+        }
+
+        @Override
+        public SolverStatus check() {
+            checks.incrementAndGet();
+            return solver.check();
+        }
+
+        @Override
+        public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+            checks.incrementAndGet();
+            return solver.check(assumptions);
+        }
+
+        @Override
+        public void push() {
+            solver.push();
+        }
+
+        @Override
+        public void pop(final int n) {
+            solver.pop(n);
+        }
+
+        @Override
+        public void reset() {
+            solver.reset();
+        }
+
+        @Override
+        public SolverStatus getStatus() {
+            return solver.getStatus();
+        }
+
+        @Override
+        public Valuation getModel() {
+            return solver.getModel();
+        }
+
+        @Override
+        public Collection<Expr<BoolType>> getAssertions() {
+            return solver.getAssertions();
+        }
+
+        @Override
+        public void close() throws Exception {
+            solver.close();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xsts.analysis;
+
+import hu.bme.mit.theta.analysis.algorithm.mdd.MddChecker.IterationStrategy;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(value = Parameterized.class)
+public class XstsPsatMddCheckerTest {
+
+    @Parameterized.Parameter(value = 0)
+    public String filePath;
+
+    @Parameterized.Parameter(value = 1)
+    public String propPath;
+
+    @Parameterized.Parameter(value = 2)
+    public boolean safe;
+
+    @Parameterized.Parameters(name = "{index}: {0}, {1}, {2}")
+    public static java.util.Collection<Object[]> data() {
+        return XstsMddCheckerTest.data();
+    }
+
+    @Test
+    public void test() throws Exception {
+        XstsMddCheckerTest.runTestWithIterationStrategy(
+                filePath, propPath, safe, IterationStrategy.PSAT);
+    }
+}
@@ -79,7 +79,16 @@ class XstsCliHeader : CliktCommand(name = "header") {
 
   private fun printMddHeader() {
     printCommonHeader()
-    listOf("ViolatingSize", "StateSpaceSize", "HitCount", "QueryCount", "CacheSize")
+    listOf(
+        "ViolatingSize",
+        "StateSpaceSize",
+        "HitCount",
+        "QueryCount",
+        "CacheSize",
+        "EvictionCount",
+        "NodesBeforeReordering",
+        "NodesAfterReordering",
+      )
       .forEach(writer::cell)
     writer.newRow()
   }
@@ -106,14 +115,23 @@ class XstsCliHeader : CliktCommand(name = "header") {
       .forEach(writer::cell)
     if (
       iterationStrategy in
-        setOf(MddChecker.IterationStrategy.GSAT, MddChecker.IterationStrategy.SAT)
+        setOf(
+          MddChecker.IterationStrategy.GSAT,
+          MddChecker.IterationStrategy.SAT,
+          MddChecker.IterationStrategy.PSAT,
+        )
     ) {
       listOf("saturateCacheSize", "saturateQueryCount", "saturateHitCount").forEach(writer::cell)
     }
     listOf("relProdCacheSize", "relProdQueryCount", "relProdHitCount").forEach(writer::cell)
+    listOf("evictionCount").forEach(writer::cell)
     if (
       iterationStrategy in
-        setOf(MddChecker.IterationStrategy.GSAT, MddChecker.IterationStrategy.SAT)
+        setOf(
+          MddChecker.IterationStrategy.GSAT,
+          MddChecker.IterationStrategy.SAT,
+          MddChecker.IterationStrategy.PSAT,
+        )
     ) {
       listOf("saturatedNodeCount").forEach(writer::cell)
     }
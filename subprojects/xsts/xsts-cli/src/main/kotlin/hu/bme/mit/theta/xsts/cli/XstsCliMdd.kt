@@ -18,12 +18,16 @@ package hu.bme.mit.theta.xsts.cli
 import com.github.ajalt.clikt.parameters.options.default
 import com.github.ajalt.clikt.parameters.options.option
 import com.github.ajalt.clikt.parameters.types.enum
+import com.github.ajalt.clikt.parameters.types.long
 import com.google.common.base.Stopwatch
 import hu.bme.mit.theta.analysis.Trace
 import hu.bme.mit.theta.analysis.algorithm.InvariantProof
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult
 import hu.bme.mit.theta.analysis.algorithm.mdd.MddAnalysisStatistics
+import hu.bme.mit.theta.analysis.algorithm.bounded.orderVars
 import hu.bme.mit.theta.analysis.algorithm.mdd.MddChecker
+import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.MddCachePolicy
+import hu.bme.mit.theta.analysis.algorithm.mdd.varordering.VarOrderingStrategy
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.solver.SolverManager
 import hu.bme.mit.theta.solver.SolverPool
@@ -43,6 +47,26 @@ class XstsCliMdd :
     option(help = "The state space enumeration algorithm to use")
       .enum<MddChecker.IterationStrategy>()
       .default(MddChecker.IterationStrategy.GSAT)
+  private val cacheMemoryBudget: Long by
+    option(
+        help =
+          "Memory budget of the operation caches in MB. The caches become lossy and are cleared " +
+            "on memory pressure. 0 means unbounded caches."
+      )
+      .long()
+      .default(0)
+  private val variableOrdering: VarOrderingStrategy by
+    option(help = "The heuristic to compute the static variable ordering with")
+      .enum<VarOrderingStrategy>()
+      .default(VarOrderingStrategy.FORCE)
+  private val reorderNodeLimit: Long by
+    option(
+        help =
+          "Restart enumeration with a sifted variable ordering when the unique table grows " +
+            "larger than this many nodes. 0 disables dynamic reordering."
+      )
+      .long()
+      .default(0)
 
   private fun printResult(
     status: SafetyResult<InvariantProof, out Trace<XstsState<*>, XstsAction>>,
@@ -61,6 +85,9 @@ class XstsCliMdd :
         stats.hitCount,
         stats.queryCount,
         stats.cacheSize,
+        stats.evictionCount,
+        stats.nodesBeforeReordering,
+        stats.nodesAfterReordering,
       )
       .forEach(writer::cell)
     writer.newRow()
@@ -84,7 +111,24 @@ class XstsCliMdd :
       SolverPool(solverFactory).use { solverPool ->
         val checker =
           createChecker(xsts, solverFactory) {
-            MddChecker(it, solverPool, logger, iterationStrategy)
+            val cachePolicy =
+              if (cacheMemoryBudget > 0)
+                MddCachePolicy.forMemoryBudget(
+                  cacheMemoryBudget shl 20,
+                  it.vars.size.coerceAtLeast(1),
+                )
+              else MddCachePolicy.unbounded()
+            MddChecker(
+              it,
+              solverPool,
+              logger,
+              iterationStrategy,
+              variableOrdering = it.orderVars(variableOrdering),
+              cachePolicy = cachePolicy,
+              // the sizes are only printed in benchmark mode
+              countStates = outputOptions.benchmarkMode,
+              reorderNodeLimit = reorderNodeLimit,
+            )
           }
         checker.check(null)
       }
@@ -20,6 +20,7 @@ import com.github.ajalt.clikt.parameters.options.default
 import com.github.ajalt.clikt.parameters.options.option
 import com.github.ajalt.clikt.parameters.types.enum
 import com.github.ajalt.clikt.parameters.types.file
+import com.github.ajalt.clikt.parameters.types.long
 import com.google.common.base.Preconditions.checkArgument
 import com.google.common.base.Stopwatch
 import hu.bme.mit.delta.java.mdd.JavaMddFactory
@@ -31,6 +32,9 @@ import hu.bme.mit.delta.mdd.MddVariableDescriptor
 import hu.bme.mit.theta.analysis.algorithm.mdd.MddAnalysisStatistics
 import hu.bme.mit.theta.analysis.algorithm.mdd.MddChecker
 import hu.bme.mit.theta.analysis.algorithm.mdd.fixedpoint.*
+import hu.bme.mit.theta.analysis.algorithm.mdd.varordering.VarOrderingStrategy
+import hu.bme.mit.theta.analysis.algorithm.mdd.varordering.forceOrder
+import hu.bme.mit.theta.analysis.algorithm.mdd.varordering.siftOrder
 import hu.bme.mit.theta.common.logging.Logger
 import hu.bme.mit.theta.frontend.petrinet.analysis.PtNetDependency2Gxl
 import hu.bme.mit.theta.frontend.petrinet.analysis.PtNetSystem
@@ -55,20 +59,49 @@ class XstsCliPetrinetMdd :
   private val ordering: File? by
     option(help = "Path of the input variable ordering")
       .file(mustExist = true, canBeDir = false, mustBeReadable = true)
+  private val variableOrdering: VarOrderingStrategy by
+    option(
+        help =
+          "The heuristic to compute the variable ordering with when no ordering file is given. " +
+            "DECLARATION keeps the default ordering of places by their reversed IDs."
+      )
+      .enum<VarOrderingStrategy>()
+      .default(VarOrderingStrategy.DECLARATION)
   private val id: String by
     option(help = "ID of the input model. Used for symbolic output").default("")
   private val iterationStrategy: MddChecker.IterationStrategy by
     option(help = "The state space generation algorithm to use")
       .enum<MddChecker.IterationStrategy>()
       .default(MddChecker.IterationStrategy.GSAT)
+  private val cacheMemoryBudget: Long by
+    option(
+        help =
+          "Memory budget of the operation caches in MB. The caches become lossy and are cleared " +
+            "on memory pressure. 0 means unbounded caches."
+      )
+      .long()
+      .default(0)
   private val dependencyOutput by PetrinetDependencyOutputOptions()
 
   private fun loadOrdering(petriNet: PetriNet): List<Place> =
-    if (ordering == null)
+    if (ordering == null) computeOrdering(petriNet)
+    else VariableOrderingFactory.fromFile(ordering, petriNet)
+
+  private fun computeOrdering(petriNet: PetriNet): List<Place> {
+    val defaultOrdering =
       petriNet.places.sortedWith { p1: Place, p2: Place ->
         String.CASE_INSENSITIVE_ORDER.compare(p1.id.reversed(), p2.id.reversed())
       }
-    else VariableOrderingFactory.fromFile(ordering, petriNet)
+    val events =
+      petriNet.transitions.map { t ->
+        t.incomingArcs.map { it.source } + t.outgoingArcs.map { it.target }
+      }
+    return when (variableOrdering) {
+      VarOrderingStrategy.DECLARATION -> defaultOrdering
+      VarOrderingStrategy.FORCE -> forceOrder(defaultOrdering, events)
+      VarOrderingStrategy.SIFTING -> siftOrder(forceOrder(defaultOrdering, events), events)
+    }
+  }
 
   private fun petrinetAnalysis() {
     checkArgument(inputOptions.pnProperty == PropType.FULL_EXPLORATION) {
@@ -86,19 +119,37 @@ class XstsCliPetrinetMdd :
     val variableOrder =
       JavaMddFactory.getDefault().createMddVariableOrder(LatticeDefinition.forSets())
     effectiveOrdering.forEach { variableOrder.createOnTop(MddVariableDescriptor.create(it)) }
+    val cachePolicy =
+      if (cacheMemoryBudget > 0)
+        MddCachePolicy.forMemoryBudget(
+          cacheMemoryBudget shl 20,
+          effectiveOrdering.size.coerceAtLeast(1),
+        )
+      else MddCachePolicy.unbounded()
     val ssgTimer = Stopwatch.createStarted()
     val provider: StateSpaceEnumerationProvider =
       when (iterationStrategy) {
         MddChecker.IterationStrategy.BFS -> BfsProvider(variableOrder)
-        MddChecker.IterationStrategy.SAT -> SimpleSaturationProvider(variableOrder)
-        MddChecker.IterationStrategy.GSAT -> GeneralizedSaturationProvider(variableOrder)
+        MddChecker.IterationStrategy.SAT -> SimpleSaturationProvider(variableOrder, cachePolicy)
+        MddChecker.IterationStrategy.GSAT ->
+          GeneralizedSaturationProvider(variableOrder, cachePolicy)
+        MddChecker.IterationStrategy.PSAT ->
+          ParallelSaturationProvider(
+            variableOrder,
+            Runtime.getRuntime().availableProcessors(),
+            cachePolicy,
+          )
       }
     val stateSpace =
-      provider.compute(
-        system.initializer,
-        system.transitions,
-        variableOrder.defaultSetSignature.topVariableHandle,
-      )
+      try {
+        provider.compute(
+          system.initializer,
+          system.transitions,
+          variableOrder.defaultSetSignature.topVariableHandle,
+        )
+      } finally {
+        provider.dispose()
+      }
     ssgTimer.stop()
     totalTimer.stop()
 
@@ -110,6 +161,7 @@ class XstsCliPetrinetMdd :
           provider.hitCount,
           provider.queryCount,
           provider.cacheSize,
+          provider.evictionCount,
         )
       logger.writeln(Logger.Level.MAINSTEP, statistics.toString())
       logger.writeln(Logger.Level.RESULT, "(SafetyResult Safe)")
@@ -131,14 +183,23 @@ class XstsCliPetrinetMdd :
         .forEach(writer::cell)
       if (
         iterationStrategy in
-          setOf(MddChecker.IterationStrategy.GSAT, MddChecker.IterationStrategy.SAT)
+          setOf(
+            MddChecker.IterationStrategy.GSAT,
+            MddChecker.IterationStrategy.SAT,
+            MddChecker.IterationStrategy.PSAT,
+          )
       ) {
         listOf(provider.cacheSize, provider.queryCount, provider.hitCount).forEach(writer::cell)
       }
       listOf(provider.cacheSize, provider.queryCount, provider.hitCount).forEach(writer::cell)
+      listOf(provider.evictionCount).forEach(writer::cell)
       if (
         iterationStrategy in
-          setOf(MddChecker.IterationStrategy.GSAT, MddChecker.IterationStrategy.SAT)
+          setOf(
+            MddChecker.IterationStrategy.GSAT,
+            MddChecker.IterationStrategy.SAT,
+            MddChecker.IterationStrategy.PSAT,
+          )
       ) {
         val collector: MutableSet<MddNode> = mutableSetOf()
         provider.clear()
@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2025 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.xta.analysis.zone;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.reachedset.CoveringIndex;
+import hu.bme.mit.theta.analysis.reachedset.PartitionedCoveringIndex;
+import hu.bme.mit.theta.analysis.zone.ZoneState;
+import hu.bme.mit.theta.analysis.zone.ZoneStateIndex;
+import hu.bme.mit.theta.xta.analysis.XtaAction;
+import hu.bme.mit.theta.xta.analysis.XtaState;
+import java.util.function.Function;
+
+public final class XtaZoneCoveringIndexes {
+
+    private XtaZoneCoveringIndexes() {}
+
+    /**
+     * Creates a covering index for the reached set of an ARG that partitions the nodes by their
+     * locations and looks up covering candidates by the bounds of their zones. The rest of the
+     * state (e.g., the explicit data state of a product) is not indexed, candidates still have to
+     * be checked with the partial order. Bottom states are indexed with the bottom zone, as their
+     * zone may not be available (e.g., in a product whose other component is bottom).
+     */
+    public static <S extends State> CoveringIndex<XtaState<S>, XtaAction> create(
+            final Function<? super S, ZoneState> lens) {
+        checkNotNull(lens);
+        return PartitionedCoveringIndex.create(
+                XtaState::getLocs,
+                s -> s.isBottom() ? ZoneState.bottom() : lens.apply(s.getState()),
+                ZoneStateIndex::create);
+    }
+}
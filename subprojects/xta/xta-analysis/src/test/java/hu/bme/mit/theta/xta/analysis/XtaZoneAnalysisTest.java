@@ -15,6 +15,9 @@
  */
 package hu.bme.mit.theta.xta.analysis;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import hu.bme.mit.theta.analysis.Analysis;
 import hu.bme.mit.theta.analysis.LTS;
 import hu.bme.mit.theta.analysis.algorithm.arg.ARG;
@@ -32,6 +35,7 @@ import hu.bme.mit.theta.analysis.zone.ZoneState;
 import hu.bme.mit.theta.xta.XtaSystem;
 import hu.bme.mit.theta.xta.analysis.expl.XtaExplAnalysis;
 import hu.bme.mit.theta.xta.analysis.zone.XtaZoneAnalysis;
+import hu.bme.mit.theta.xta.analysis.zone.XtaZoneCoveringIndexes;
 import hu.bme.mit.theta.xta.dsl.XtaDslManager;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -96,5 +100,20 @@ public final class XtaZoneAnalysisTest {
         System.out.println(arg.getNodes().collect(Collectors.toSet()));
 
         System.out.println(arg.getNodes().count());
+
+        final ArgAbstractor<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction, ZonePrec>
+                indexedAbstractor =
+                        BasicArgAbstractor.builder(argBuilder)
+                                .coveringIndex(
+                                        () -> XtaZoneCoveringIndexes.create(Prod2State::getState2))
+                                .build();
+
+        final ARG<XtaState<Prod2State<ExplState, ZoneState>>, XtaAction> indexedArg =
+                indexedAbstractor.createProof();
+        indexedAbstractor.check(indexedArg, prec);
+
+        assertTrue(indexedArg.isComplete());
+        assertEquals(arg.size(), indexedArg.size());
+        assertEquals(arg.getExcludedNodeCount(), indexedArg.getExcludedNodeCount());
     }
 }